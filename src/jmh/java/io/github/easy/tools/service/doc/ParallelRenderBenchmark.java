@@ -0,0 +1,120 @@
+package io.github.easy.tools.service.doc;
+
+import io.github.easy.tools.entity.doc.TemplateParameter;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.apache.velocity.VelocityContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 并行渲染阶段的扩展性基准测试
+ * <p>
+ * 按不同并行度渲染一批方法注释，渲染方式与 JavaCommentGenerationStrategy 一致（模板渲染两次），
+ * 对比吞吐量即可得到从1个核心到N个核心的加速比。并行度为0时使用全部CPU核数，
+ * 其他核数可以通过 {@code -p parallelism=...} 指定。
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class ParallelRenderBenchmark {
+
+    /**
+     * 并行度
+     */
+    @Param({"1", "2", "4", "8", "0"})
+    public int parallelism;
+
+    /**
+     * 每批渲染的元素数量
+     */
+    @Param({"2000"})
+    public int elements;
+
+    /**
+     * 模板服务
+     */
+    private VelocityTemplateService service;
+
+    /**
+     * 方法模板
+     */
+    private String template;
+
+    /**
+     * 每个元素独立的上下文
+     */
+    private List<VelocityContext> contexts;
+
+    /**
+     * 并行渲染阶段
+     */
+    private ParallelRenderStage stage;
+
+    /**
+     * 初始化模板服务、上下文和线程池
+     */
+    @Setup
+    public void setup() {
+        DocConfigService config = new DocConfigService();
+        this.service = new VelocityTemplateService(config.macroLibrary);
+        this.template = config.methodTemplate;
+        this.contexts = new ArrayList<>(this.elements);
+        for (int i = 0; i < this.elements; i++) {
+            this.contexts.add(this.createContext(config, i));
+        }
+        this.stage = new ParallelRenderStage(this.parallelism);
+    }
+
+    /**
+     * 关闭线程池
+     */
+    @TearDown
+    public void tearDown() {
+        this.stage.close();
+    }
+
+    /**
+     * 渲染一批方法注释
+     *
+     * @return 渲染结果
+     */
+    @Benchmark
+    public String[] renderBatch() {
+        return this.stage.render(this.contexts,
+                context -> this.service.evaluate(this.service.render("template", this.template, context), context));
+    }
+
+    /**
+     * 构建方法上下文
+     *
+     * @param config 默认配置
+     * @param index  元素下标
+     * @return 上下文
+     */
+    private VelocityContext createContext(DocConfigService config, int index) {
+        VelocityContext context = new VelocityContext();
+        for (TemplateParameter param : config.getBaseParameters()) {
+            context.put(param.getName(), param.getValue());
+        }
+        context.put("description", "method" + index + " method");
+        context.put("returnType", "List<String>");
+        List<Map<String, String>> parameters = new ArrayList<>();
+        for (String[] parameter : new String[][]{{"name", "String"}, {"count", "int"}}) {
+            Map<String, String> param = new HashMap<>();
+            param.put("name", parameter[0]);
+            param.put("description", parameter[1]);
+            parameters.add(param);
+        }
+        context.put("parameters", parameters);
+        context.put("exceptions", List.of("IOException"));
+        return context;
+    }
+}
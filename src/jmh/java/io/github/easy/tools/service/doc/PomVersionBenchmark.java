@@ -0,0 +1,80 @@
+package io.github.easy.tools.service.doc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * pom.xml 版本号提取基准测试
+ * <p>
+ * 使用包含 parent、properties 和指定数量依赖的 pom.xml 内容，模拟真实项目。
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class PomVersionBenchmark {
+
+    /**
+     * 依赖数量
+     */
+    @Param({"10", "100", "500"})
+    public int dependencies;
+
+    /**
+     * pom.xml 内容
+     */
+    private String pomContent;
+
+    /**
+     * 生成 pom.xml 内容
+     */
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0"
+                         xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>org.springframework.boot</groupId>
+                        <artifactId>spring-boot-starter-parent</artifactId>
+                        <version>3.2.5</version>
+                        <relativePath/>
+                    </parent>
+                    <groupId>io.github.easy</groupId>
+                    <artifactId>benchmark-service</artifactId>
+                    <version>2.4.1-SNAPSHOT</version>
+                    <properties>
+                        <java.version>17</java.version>
+                        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+                    </properties>
+                    <dependencies>
+                """);
+        for (int i = 0; i < this.dependencies; i++) {
+            builder.append("""
+                            <dependency>
+                                <groupId>com.example.group%d</groupId>
+                                <artifactId>artifact-%d</artifactId>
+                                <version>1.%d.0</version>
+                            </dependency>
+                    """.formatted(i, i, i));
+        }
+        builder.append("""
+                    </dependencies>
+                </project>
+                """);
+        this.pomContent = builder.toString();
+    }
+
+    /**
+     * 提取版本号
+     *
+     * @return 版本号
+     */
+    @Benchmark
+    public String extractVersionFromPom() {
+        return ProjectVersionResolver.extractVersionFromPom(this.pomContent);
+    }
+}
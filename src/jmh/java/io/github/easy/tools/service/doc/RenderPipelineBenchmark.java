@@ -0,0 +1,146 @@
+package io.github.easy.tools.service.doc;
+
+import io.github.easy.tools.entity.doc.TemplateParameter;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.apache.velocity.VelocityContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 渲染流程基准测试
+ * <p>
+ * 覆盖默认类、方法、字段模板的渲染，以及按照 AbstractDocHandler.createContext 的方式构建上下文。
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class RenderPipelineBenchmark {
+
+    /**
+     * 模板服务
+     */
+    private VelocityTemplateService service;
+
+    /**
+     * 默认配置（只读取模板和基础参数）
+     */
+    private DocConfigService config;
+
+    /**
+     * 自定义参数
+     */
+    private Map<String, String> customParameters;
+
+    /**
+     * 预先构建的类上下文
+     */
+    private VelocityContext classContext;
+
+    /**
+     * 预先构建的方法上下文
+     */
+    private VelocityContext methodContext;
+
+    /**
+     * 预先构建的字段上下文
+     */
+    private VelocityContext fieldContext;
+
+    /**
+     * 初始化模板服务和上下文
+     */
+    @Setup
+    public void setup() {
+        this.service = new VelocityTemplateService();
+        this.config = new DocConfigService();
+        this.customParameters = new LinkedHashMap<>();
+        this.customParameters.put("company", "easy-tools");
+        this.customParameters.put("email", "dev@easy-tools.io");
+        this.classContext = this.createContext("class");
+        this.methodContext = this.createContext("method");
+        this.fieldContext = this.createContext("field");
+    }
+
+    /**
+     * 渲染默认类模板
+     *
+     * @return 渲染结果
+     */
+    @Benchmark
+    public String renderClassTemplate() {
+        return this.service.render("class", this.config.classTemplate, this.classContext);
+    }
+
+    /**
+     * 渲染默认方法模板
+     *
+     * @return 渲染结果
+     */
+    @Benchmark
+    public String renderMethodTemplate() {
+        return this.service.render("method", this.config.methodTemplate, this.methodContext);
+    }
+
+    /**
+     * 渲染默认字段模板
+     *
+     * @return 渲染结果
+     */
+    @Benchmark
+    public String renderFieldTemplate() {
+        return this.service.render("field", this.config.fieldTemplate, this.fieldContext);
+    }
+
+    /**
+     * 构建方法上下文
+     *
+     * @return 上下文
+     */
+    @Benchmark
+    public VelocityContext createMethodContext() {
+        return this.createContext("method");
+    }
+
+    /**
+     * 按照 AbstractDocHandler.createContext 的方式构建上下文：基础参数、自定义参数、特定元素参数
+     *
+     * @param kind 元素类型
+     * @return 上下文
+     */
+    private VelocityContext createContext(String kind) {
+        VelocityContext context = new VelocityContext();
+        List<TemplateParameter> baseParameters = this.config.getBaseParameters();
+        for (TemplateParameter param : baseParameters) {
+            context.put(param.getName(), param.getValue());
+        }
+        this.customParameters.forEach(context::put);
+        switch (kind) {
+            case "class" -> {
+                context.put("description", "OrderService");
+                context.put("since", "1.0.0");
+            }
+            case "method" -> {
+                context.put("description", "createOrder method");
+                context.put("returnType", "Order");
+                List<Map<String, String>> parameters = new ArrayList<>();
+                for (String[] parameter : new String[][]{{"userId", "Long"}, {"items", "List<OrderItem>"}, {"coupon", "String"}}) {
+                    Map<String, String> param = new HashMap<>();
+                    param.put("name", parameter[0]);
+                    param.put("description", parameter[1]);
+                    parameters.add(param);
+                }
+                context.put("parameters", parameters);
+                context.put("exceptions", List.of("IllegalArgumentException", "IOException"));
+            }
+            default -> context.put("fieldName", "orderRepository");
+        }
+        return context;
+    }
+}
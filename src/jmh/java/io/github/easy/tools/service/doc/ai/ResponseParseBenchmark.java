@@ -0,0 +1,64 @@
+package io.github.easy.tools.service.doc.ai;
+
+import cn.hutool.json.JSONUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * AI响应解析基准测试
+ * <p>
+ * 构造 OpenAI 兼容格式的响应体，内容为包含代码块的注释，长度由参数控制。
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class ResponseParseBenchmark {
+
+    /**
+     * 注释内容的行数
+     */
+    @Param({"10", "200", "2000"})
+    public int lines;
+
+    /**
+     * 响应体
+     */
+    private String responseBody;
+
+    /**
+     * 生成响应体
+     */
+    @Setup
+    public void setup() {
+        StringBuilder content = new StringBuilder("下面是生成的注释：\n```java\n/**\n");
+        for (int i = 0; i < this.lines; i++) {
+            content.append(" * 第").append(i).append("行描述，说明参数 param").append(i).append(" 的含义和取值范围\n");
+        }
+        content.append(" */\n```\n以上注释符合JavaDoc规范。");
+        this.responseBody = JSONUtil.createObj()
+                .set("id", "chatcmpl-benchmark")
+                .set("object", "chat.completion")
+                .set("choices", JSONUtil.createArray().put(JSONUtil.createObj()
+                        .set("index", 0)
+                        .set("finish_reason", "stop")
+                        .set("message", JSONUtil.createObj()
+                                .set("role", "assistant")
+                                .set("content", content.toString()))))
+                .set("usage", JSONUtil.createObj()
+                        .set("prompt_tokens", 512)
+                        .set("completion_tokens", this.lines * 20))
+                .toString();
+    }
+
+    /**
+     * 从响应中提取注释
+     *
+     * @return 注释内容
+     */
+    @Benchmark
+    public String extractCommentFromResponse() {
+        return AITemplateRenderer.extractCommentFromResponse(this.responseBody);
+    }
+}
@@ -1,85 +1,56 @@
 package io.github.easy.tools.action.doc.actions;
 
 import com.intellij.openapi.actionSystem.AnAction;
-import com.intellij.psi.PsiClass;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.editor.Caret;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiMethod;
-import com.intellij.psi.javadoc.PsiDocComment;
+import io.github.easy.tools.service.doc.DocumentableElementIndex;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 所有动作类的基类，封装了通用逻辑
  * <p>
  * 该抽象类提供了查找Java元素的通用方法，被其他具体的动作类继承。
- * 它定义了如何从光标位置开始查找Java元素（类、方法、字段或文档注释）的逻辑。
+ * 支持多光标和选区：每个光标处的元素以及选区内的所有成员都会被处理，
+ * 查找基于每次动作构建一次的可注释元素偏移区间索引。
  * </p>
  */
 public abstract class AbstractEasyDocAction extends AnAction {
 
     /**
-     * Java元素类型列表，包括文档注释、类、方法和字段
-     */
-    private static final List<Class<?>> JAVA_ELEMENTS = List.of(PsiDocComment.class,
-            PsiClass.class,
-            PsiMethod.class,
-            PsiField.class);
-
-    /**
-     * 从光标位置开始向下查找第一个Java元素或文档注释
-     *
-     * @param file   当前文件
-     * @param offset 光标位置偏移量
-     * @return 第一个找到的Java元素或文档注释，如果未找到则返回null
-     */
-    protected PsiElement findFirstElementFromCaret(PsiFile file, int offset) {
-        PsiElement element = file.findElementAt(offset);
-        // 先检查当前元素是否匹配
-        if (this.match(element)) {
-            return element;
-        }
-
-        // 向后查找同级元素
-        PsiElement nextElement = element;
-        while (nextElement != null) {
-            nextElement = nextElement.getNextSibling();
-            // 如果是Java元素或文档注释，直接返回
-            if (this.match(nextElement)) {
-                return nextElement;
-            }
-        }
-
-        // 向上查找父级元素
-        PsiElement parentElement = element;
-        while (parentElement != null) {
-            parentElement = parentElement.getParent();
-            // 如果是Java元素或文档注释，直接返回
-            if (this.match(parentElement)) {
-                return parentElement;
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * 检查元素是否匹配Java元素类型列表中的任意一种
+     * 查找当前动作需要处理的元素
+     * <p>
+     * 在编辑器中执行时，收集每个光标处的元素和每个选区内的元素；
+     * 没有编辑器时（例如在结构视图中执行）使用上下文中的元素。
+     * </p>
      *
-     * @param element 待检查的Psi元素
-     * @return 如果元素匹配返回true，否则返回false
+     * @param e    动作事件对象
+     * @param file 当前文件
+     * @return 需要处理的元素列表，按偏移排序且不重复
      */
-    private boolean match(PsiElement element) {
-        if (element == null) {
-            return false;
+    protected List<PsiElement> findElements(AnActionEvent e, PsiFile file) {
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        if (editor == null) {
+            PsiElement element = e.getData(CommonDataKeys.PSI_ELEMENT);
+            return element == null ? List.of() : List.of(element);
         }
-        for (Class<?> javaElement : JAVA_ELEMENTS) {
-            if (javaElement.isAssignableFrom(element.getClass())) {
-                return true;
+        PsiDocumentManager.getInstance(file.getProject()).commitDocument(editor.getDocument());
+        List<TextRange> ranges = new ArrayList<>();
+        for (Caret caret : editor.getCaretModel().getAllCarets()) {
+            if (caret.hasSelection()) {
+                ranges.add(new TextRange(caret.getSelectionStart(), caret.getSelectionEnd()));
+            } else {
+                ranges.add(TextRange.from(caret.getOffset(), 0));
             }
         }
-        return false;
+        return new DocumentableElementIndex(file).find(ranges);
     }
 
-}
\ No newline at end of file
+}
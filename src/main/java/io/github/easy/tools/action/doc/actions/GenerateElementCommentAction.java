@@ -1,18 +1,21 @@
 package io.github.easy.tools.action.doc.actions;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.actionSystem.PlatformDataKeys;
-import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import io.github.easy.tools.processor.doc.JavaCommentProcessor;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * 为当前元素生成注释的动作类
  * <p>
  * 该动作类负责为光标所在的Java元素（类、方法或字段）生成注释。
  * 如果光标位置没有直接对应元素，则会向下查找第一个匹配的Java元素。
+ * 多光标时为每个光标处的元素生成注释，有选区时为选区内的所有成员生成注释。
+ * 渲染在后台任务中进行，开启AI时等待请求不会阻塞EDT。
  * </p>
  */
 public class GenerateElementCommentAction extends AbstractEasyDocAction {
@@ -23,26 +26,20 @@ public class GenerateElementCommentAction extends AbstractEasyDocAction {
     private final JavaCommentProcessor processor = new JavaCommentProcessor();
 
     /**
-     * 执行动作事件，为当前元素生成注释
+     * 执行动作事件，为当前元素（或所有光标、选区内的元素）生成注释
      *
      * @param e 动作事件对象，包含执行上下文信息
      */
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
-        PsiFile file = e.getData(PlatformDataKeys.PSI_FILE);
-        PsiElement element = e.getData(PlatformDataKeys.PSI_ELEMENT);
-
-        // 如果当前元素为空，则调用AbstractEasyDocAction中向下查找第一个java元素的方法
-        if (element == null && file != null) {
-            Editor editor = e.getData(PlatformDataKeys.EDITOR);
-            if (editor != null) {
-                int offset = editor.getCaretModel().getOffset();
-                element = this.findFirstElementFromCaret(file, offset);
-            }
+        PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
+        if (file == null) {
+            return;
         }
-
-        if (file != null && element != null) {
-            this.processor.generateElementComment(file, element);
+        // 收集所有光标处和选区内的元素，在后台渲染后一次写命令中写入
+        List<PsiElement> elements = this.findElements(e, file);
+        if (!elements.isEmpty()) {
+            this.processor.generateElementComments(file, elements);
         }
     }
-}
\ No newline at end of file
+}
@@ -3,15 +3,25 @@ package io.github.easy.tools.action.doc.actions;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
 import io.github.easy.tools.processor.doc.JavaCommentProcessor;
+import io.github.easy.tools.service.doc.SlicedGenerationTask;
+import io.github.easy.tools.service.doc.ai.AiRunEstimator;
+import io.github.easy.tools.ui.config.DocConfigService;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * 为当前文件生成注释的动作类
  * <p>
  * 该动作类负责为整个Java文件生成注释，会遍历文件中的所有元素（类、方法、字段）
- * 并为每个元素生成相应的文档注释。
+ * 并为每个元素生成相应的文档注释。成员较多的文件交给后台分片任务处理，避免长时间占用EDT。
+ * 开启AI时先显示预估的令牌用量和耗时，确认后在配置的令牌预算内生成，预算用完时保留已生成的成员注释。
+ * 其余文件同样在后台任务中渲染，不阻塞EDT。
  * </p>
  */
 public class GenerateFileCommentAction extends AnAction {
@@ -29,7 +39,24 @@ public class GenerateFileCommentAction extends AnAction {
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
-        // 1. 使用 processor 生成整个文件的注释
-        this.processor.generateFileComment(file);
+        if (file == null) {
+            return;
+        }
+        List<PsiElement> elements = CommentGenerationStrategyFactory.getInstance().getStrategy(file).collectElements(file);
+        DocConfigSnapshot config = DocConfigService.getInstance().getSnapshot();
+        if (config.isAiAvailable()) {
+            AiRunEstimator estimator = new AiRunEstimator(config);
+            estimator.add(elements);
+            if (!AiRunEstimator.confirm(file.getProject(), estimator.getEstimate(), config)) {
+                return;
+            }
+        }
+        if (elements.size() > SlicedGenerationTask.SLICE_THRESHOLD) {
+            // 成员较多时分片处理，可以取消并从断点继续
+            new SlicedGenerationTask(file.getProject(), file).queue();
+            return;
+        }
+        // 1. 使用 processor 在后台任务中生成已收集元素的注释
+        this.processor.generateElementComments(file, elements);
     }
-}
\ No newline at end of file
+}
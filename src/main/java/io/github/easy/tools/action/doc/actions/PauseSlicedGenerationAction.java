@@ -0,0 +1,68 @@
+package io.github.easy.tools.action.doc.actions;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import io.github.easy.tools.service.doc.GenerationCheckpointService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 暂停或恢复分片生成注释的动作类
+ * <p>
+ * 只在项目中有正在运行的分片任务时可用。暂停后任务写入当前分片并在分片之间等待，
+ * 再次执行该动作后继续处理；暂停期间仍然可以在进度条中取消任务。
+ * </p>
+ */
+public class PauseSlicedGenerationAction extends ToggleAction implements DumbAware {
+
+    /**
+     * 判断分片任务是否已暂停
+     *
+     * @param e 动作事件对象，包含执行上下文信息
+     * @return 已暂停返回true
+     */
+    @Override
+    public boolean isSelected(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        return project != null && GenerationCheckpointService.getInstance(project).isPaused();
+    }
+
+    /**
+     * 暂停或恢复分片任务
+     *
+     * @param e     动作事件对象，包含执行上下文信息
+     * @param state 是否暂停
+     */
+    @Override
+    public void setSelected(@NotNull AnActionEvent e, boolean state) {
+        Project project = e.getProject();
+        if (project != null) {
+            GenerationCheckpointService.getInstance(project).setPaused(state);
+        }
+    }
+
+    /**
+     * 只在有正在运行的分片任务时显示
+     *
+     * @param e 动作事件对象，包含执行上下文信息
+     */
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        super.update(e);
+        Project project = e.getProject();
+        e.getPresentation().setEnabledAndVisible(project != null
+                && GenerationCheckpointService.getInstance(project).isRunning());
+    }
+
+    /**
+     * 在后台线程中更新动作状态
+     *
+     * @return 更新线程
+     */
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
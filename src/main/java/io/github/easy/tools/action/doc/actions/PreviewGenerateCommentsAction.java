@@ -0,0 +1,196 @@
+package io.github.easy.tools.action.doc.actions;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.service.doc.CommentGenerationStrategy;
+import io.github.easy.tools.service.doc.GenerationPriority;
+import io.github.easy.tools.service.doc.GitFileInfoService;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.preview.DocPreviewDialog;
+import io.github.easy.tools.ui.preview.DocPreviewEntry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 预览并生成注释的动作类
+ * <p>
+ * 在编辑器中对当前文件执行，在项目视图中对选中的文件和目录（递归，只包含项目内容中的文件）执行。
+ * 先在后台准备所有元素的渲染输入，然后立即打开预览对话框，由对话框在后台按需渲染；
+ * 确认后渲染剩余接受的元素，在一次写命令中写入所有接受的修改。
+ * 预览中的渲染结果要等用户确认后才使用，AI请求按预取优先级调度，排在编辑器中触发的生成之后。
+ * </p>
+ */
+public class PreviewGenerateCommentsAction extends AnAction {
+
+    /**
+     * 执行动作事件，准备渲染输入并打开预览
+     *
+     * @param e 动作事件对象，包含执行上下文信息
+     */
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        List<VirtualFile> files = this.collectFiles(e);
+        if (files.isEmpty()) {
+            return;
+        }
+        List<DocPreviewEntry> entries = new ArrayList<>();
+        boolean completed = ProgressManager.getInstance().runProcessWithProgressSynchronously(() -> {
+            // 模板用到Git变量时先在读操作之外读取Git信息
+            GitFileInfoService.getInstance(project).prefetch(files);
+            for (VirtualFile virtualFile : files) {
+                ProgressManager.checkCanceled();
+                entries.addAll(ReadAction.nonBlocking(() -> this.prepare(project, virtualFile))
+                        .inSmartMode(project)
+                        .executeSynchronously());
+            }
+        }, "准备预览", true, project);
+        if (!completed) {
+            return;
+        }
+        if (entries.isEmpty()) {
+            Messages.showInfoMessage(project, "没有需要生成注释的元素", "预览生成的注释");
+            return;
+        }
+
+        DocPreviewDialog dialog = new DocPreviewDialog(project, entries);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+        List<DocPreviewEntry> acceptedEntries = dialog.getAcceptedEntries();
+        List<DocPreviewEntry> unrendered = acceptedEntries.stream().filter(entry -> !entry.isRendered()).toList();
+        if (!unrendered.isEmpty() && !ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> this.render(unrendered), "渲染注释", true, project)) {
+            return;
+        }
+        Map<PsiFile, Map<PsiElement, String>> accepted = new LinkedHashMap<>();
+        for (DocPreviewEntry entry : acceptedEntries) {
+            PsiElement element = entry.getElement();
+            if (element != null && entry.getDoc() != null) {
+                accepted.computeIfAbsent(entry.getFile(), file -> new LinkedHashMap<>()).put(element, entry.getDoc());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        // 所有文件的修改合并为一次写命令，可以一次撤销
+        WriteCommandAction.writeCommandAction(project, accepted.keySet().toArray(PsiFile[]::new))
+                .withName("生成注释")
+                .run(() -> accepted.forEach((file, docs) ->
+                        CommentGenerationStrategyFactory.getInstance().getStrategy(file).apply(file, docs)));
+    }
+
+    /**
+     * 准备文件中所有元素的渲染输入，不渲染，需要在读操作中调用
+     *
+     * @param project     项目
+     * @param virtualFile 文件
+     * @return 预览的元素
+     */
+    private List<DocPreviewEntry> prepare(Project project, VirtualFile virtualFile) {
+        PsiFile file = PsiManager.getInstance(project).findFile(virtualFile);
+        if (file == null) {
+            return List.of();
+        }
+        CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(file);
+        List<DocPreviewEntry> entries = new ArrayList<>();
+        for (RenderRequest request : strategy.prepare(file, strategy.collectElements(file))) {
+            entries.add(new DocPreviewEntry(file, request));
+        }
+        return entries;
+    }
+
+    /**
+     * 在读操作之外渲染预览中还没有渲染的元素，用户正在等待结果，按交互优先级调度
+     *
+     * @param entries 元素
+     */
+    private void render(List<DocPreviewEntry> entries) {
+        DocMetrics.getInstance().runStarted();
+        try {
+            for (DocPreviewEntry entry : entries) {
+                ProgressManager.checkCanceled();
+                if (entry.isRendered()) {
+                    continue;
+                }
+                RenderRequest request = entry.getRequest();
+                entry.setDoc(GenerationPriority.INTERACTIVE.compute(() -> CommentGenerationStrategyFactory.getInstance()
+                        .getStrategy(entry.getFile()).render(List.of(request)).get(request)));
+            }
+        } finally {
+            DocMetrics.getInstance().runFinished();
+        }
+    }
+
+    /**
+     * 收集需要处理的Java文件
+     *
+     * @param e 动作事件对象
+     * @return Java文件列表
+     */
+    private List<VirtualFile> collectFiles(AnActionEvent e) {
+        VirtualFile[] selected = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (selected == null || selected.length == 0 || e.getData(CommonDataKeys.EDITOR) != null) {
+            PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
+            return file != null && file.getVirtualFile() != null ? List.of(file.getVirtualFile()) : List.of();
+        }
+        // 跳过排除目录、构建输出和依赖库等不属于项目内容的文件
+        ProjectFileIndex index = ProjectFileIndex.getInstance(e.getProject());
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        for (VirtualFile root : selected) {
+            VfsUtilCore.iterateChildrenRecursively(root, index::isInContent, file -> {
+                if (!file.isDirectory() && file.getFileType() == JavaFileType.INSTANCE) {
+                    files.add(file);
+                }
+                return true;
+            });
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * 没有可处理的文件时隐藏动作
+     *
+     * @param e 动作事件对象
+     */
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null
+                && (e.getData(CommonDataKeys.PSI_FILE) != null || e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY) != null));
+    }
+
+    /**
+     * 在后台线程中更新动作状态
+     *
+     * @return 更新线程
+     */
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
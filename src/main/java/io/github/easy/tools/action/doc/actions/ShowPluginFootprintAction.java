@@ -0,0 +1,26 @@
+package io.github.easy.tools.action.doc.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ui.Messages;
+import io.github.easy.tools.service.doc.PluginFootprint;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 显示插件类加载与初始化统计的动作类
+ * <p>
+ * 展示插件类加载器已加载的类数量、类加载耗时、模板引擎初始化耗时以及AI子系统是否已加载。
+ * </p>
+ */
+public class ShowPluginFootprintAction extends AnAction {
+
+    /**
+     * 执行动作事件，弹窗显示统计信息
+     *
+     * @param e 动作事件对象，包含执行上下文信息
+     */
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Messages.showInfoMessage(e.getProject(), PluginFootprint.report(), "Easy Tools 类加载与初始化统计");
+    }
+}
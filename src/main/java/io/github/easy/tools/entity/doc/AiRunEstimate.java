@@ -0,0 +1,48 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+/**
+ * 一次AI批量生成的预估用量
+ * <p>
+ * 在调用AI之前按本地分词器统计，作为确认对话框和批量命令输出的依据。
+ * 复用已有注释、继承父方法注释的成员不会调用AI，因此预估是上限。
+ * </p>
+ */
+@Value
+public class AiRunEstimate {
+
+    /**
+     * AI请求数量
+     */
+    int requests;
+
+    /**
+     * 提示词令牌数量
+     */
+    long promptTokens;
+
+    /**
+     * 返回内容的令牌数量（按历史平均值估算）
+     */
+    long completionTokens;
+
+    /**
+     * 预计耗时（毫秒），没有历史请求时为-1
+     */
+    long estimatedMillis;
+
+    /**
+     * 是否按词表精确统计提示词，false表示估算
+     */
+    boolean exact;
+
+    /**
+     * 获取令牌总数
+     *
+     * @return 提示词与返回内容的令牌数量之和
+     */
+    public long getTotalTokens() {
+        return this.promptTokens + this.completionTokens;
+    }
+}
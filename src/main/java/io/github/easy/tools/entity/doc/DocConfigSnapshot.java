@@ -0,0 +1,120 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * 配置快照，插件配置在某一时刻的不可变副本
+ * <p>
+ * 每次应用或加载配置时生成新的快照并原子替换，版本号单调递增。
+ * 后台线程和并行生成任务读取快照即可得到一致的配置，无需加锁；缓存可以使用版本号作为失效依据。
+ * </p>
+ */
+@Value
+public class DocConfigSnapshot {
+
+    /**
+     * 快照版本号，每次配置变更后递增
+     */
+    long version;
+
+    /**
+     * 是否启用AI功能
+     */
+    boolean enableAi;
+
+    /**
+     * AI模型的基础URL
+     */
+    String baseUrl;
+
+    /**
+     * AI模型名称
+     */
+    String modelName;
+
+    /**
+     * AI模型类型
+     */
+    String modelType;
+
+    /**
+     * AI模型API密钥
+     */
+    String apiKey;
+
+    /**
+     * 类注释模板
+     */
+    String classTemplate;
+
+    /**
+     * 方法注释模板
+     */
+    String methodTemplate;
+
+    /**
+     * 字段注释模板
+     */
+    String fieldTemplate;
+
+    /**
+     * Velocity宏库，所有模板都可以调用其中定义的宏
+     */
+    String macroLibrary;
+
+    /**
+     * 解析后的自定义参数（参数名 -> 参数值），不可修改
+     */
+    Map<String, String> customParameters;
+
+    /**
+     * 是否启用合并模式
+     */
+    boolean mergeMode;
+
+    /**
+     * 批量生成时的渲染并行度，0表示使用CPU核数
+     */
+    int renderParallelism;
+
+    /**
+     * 启发式描述的语言：zh 或 en
+     */
+    String descriptionLanguage;
+
+    /**
+     * 复用相似成员已有注释的相似度阈值（百分比），0表示不复用
+     */
+    int similarityThreshold;
+
+    /**
+     * 重写方法的注释方式：off、inheritDoc 或 copy
+     */
+    String inheritDocMode;
+
+    /**
+     * 每次批量生成可以使用的AI令牌数量，0表示不限制
+     */
+    int aiTokenBudget;
+
+    /**
+     * tiktoken 格式的分词词表文件路径，为空时估算令牌数量
+     */
+    String tokenizerVocabulary;
+
+    /**
+     * 同时进行的AI请求数量，大于1时保留一个给交互请求
+     */
+    int aiConcurrency;
+
+    /**
+     * 是否已配置可用的AI服务
+     *
+     * @return 启用AI且配置了基础URL时返回true
+     */
+    public boolean isAiAvailable() {
+        return this.enableAi && this.baseUrl != null && !this.baseUrl.isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Data;
+
+/**
+ * 注释覆盖统计
+ * <p>
+ * 汇总一组文件（模块、包或整个项目）的覆盖情况，文件变化时按差值增减，不重新统计整个范围。
+ * </p>
+ */
+@Data
+public class DocCoverageCounts {
+
+    /**
+     * 可注释成员总数
+     */
+    private int total;
+
+    /**
+     * 已有注释的成员数量
+     */
+    private int documented;
+
+    /**
+     * 缺少注释的成员数量
+     */
+    private int missing;
+
+    /**
+     * 注释过期的成员数量
+     */
+    private int stale;
+
+    /**
+     * 加上一个文件的覆盖情况
+     *
+     * @param coverage 文件的覆盖情况
+     */
+    public void add(FileDocCoverage coverage) {
+        this.total += coverage.getTotal();
+        this.documented += coverage.getDocumented();
+        this.missing += coverage.getMissing().size();
+        this.stale += coverage.getStale().size();
+    }
+
+    /**
+     * 减去一个文件的覆盖情况
+     *
+     * @param coverage 文件的覆盖情况
+     */
+    public void subtract(FileDocCoverage coverage) {
+        this.total -= coverage.getTotal();
+        this.documented -= coverage.getDocumented();
+        this.missing -= coverage.getMissing().size();
+        this.stale -= coverage.getStale().size();
+    }
+
+    /**
+     * 获取覆盖率
+     *
+     * @return 已有注释的成员占比（0~100），没有成员时返回100
+     */
+    public double getPercent() {
+        return this.total == 0 ? 100 : this.documented * 100.0 / this.total;
+    }
+}
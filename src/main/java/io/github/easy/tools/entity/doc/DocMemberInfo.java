@@ -0,0 +1,28 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+/**
+ * 索引中记录的成员信息
+ * <p>
+ * 只保存定位和展示需要的最少信息，使用时按偏移在文件中查找对应的PSI元素。
+ * </p>
+ */
+@Value
+public class DocMemberInfo {
+
+    /**
+     * 成员类型：class、method、field
+     */
+    String kind;
+
+    /**
+     * 成员名称
+     */
+    String name;
+
+    /**
+     * 成员名称在文件中的偏移
+     */
+    int offset;
+}
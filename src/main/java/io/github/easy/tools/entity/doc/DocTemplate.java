@@ -0,0 +1,24 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+/**
+ * 注释模板
+ * <p>
+ * 模板引擎按标识缓存解析结果。标识包含配置快照的版本或项目模板文件的修改戳，
+ * 模板内容变化后标识随之变化，相同标识的模板只解析一次。
+ * </p>
+ */
+@Value
+public class DocTemplate {
+
+    /**
+     * 模板标识，用于缓存解析结果
+     */
+    String key;
+
+    /**
+     * 模板内容
+     */
+    String content;
+}
@@ -0,0 +1,44 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 单个文件的注释覆盖情况
+ * <p>
+ * 由注释覆盖索引计算，文件修改后由平台增量更新。
+ * </p>
+ */
+@Value
+public class FileDocCoverage {
+
+    /**
+     * 可注释成员总数
+     */
+    int total;
+
+    /**
+     * 已有注释的成员数量
+     */
+    int documented;
+
+    /**
+     * 缺少注释的成员
+     */
+    List<DocMemberInfo> missing;
+
+    /**
+     * 注释中的 @param 与方法签名不一致的成员
+     */
+    List<DocMemberInfo> stale;
+
+    /**
+     * 是否所有成员都有注释且没有过期的 @param
+     *
+     * @return 没有需要处理的成员时返回true
+     */
+    public boolean isComplete() {
+        return this.missing.isEmpty() && this.stale.isEmpty();
+    }
+}
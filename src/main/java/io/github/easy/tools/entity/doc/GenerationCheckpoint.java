@@ -0,0 +1,33 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+/**
+ * 分片生成注释的断点
+ * <p>
+ * 记录文件中已经处理完成的成员数量，文件在断点之后没有被其他操作修改时可以从断点继续。
+ * </p>
+ */
+@Value
+public class GenerationCheckpoint {
+
+    /**
+     * 文件路径
+     */
+    String path;
+
+    /**
+     * 下一个需要处理的成员下标
+     */
+    int nextIndex;
+
+    /**
+     * 成员总数
+     */
+    int total;
+
+    /**
+     * 最后一个分片写入后文件的修改戳
+     */
+    long modificationStamp;
+}
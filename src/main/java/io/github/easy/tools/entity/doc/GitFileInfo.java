@@ -0,0 +1,28 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+/**
+ * 文件的Git提交信息
+ * <p>
+ * 用于填充模板中的原始作者、最后提交人和最后修改时间变量。
+ * </p>
+ */
+@Value
+public class GitFileInfo {
+
+    /**
+     * 首次提交该文件的作者
+     */
+    String originalAuthor;
+
+    /**
+     * 最后一次提交该文件的提交人
+     */
+    String lastCommitter;
+
+    /**
+     * 最后一次提交该文件的时间
+     */
+    String lastModified;
+}
@@ -0,0 +1,64 @@
+package io.github.easy.tools.entity.doc;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.SmartPsiElementPointer;
+import lombok.Value;
+import org.apache.velocity.context.Context;
+
+/**
+ * 单个元素的渲染输入
+ * <p>
+ * 在读操作中一次性读取元素的模板和上下文参数，之后的渲染不再访问PSI，
+ * 在读操作之外执行（可以交给多个线程并行，也可以等待AI请求），写入前通过智能指针找回元素。输入中不保存PSI元素本身，
+ * 渲染阶段需要的文件路径、元素类型和构建AI提示词的源代码都在准备阶段读取成字符串，渲染期间文件被修改也不影响本次输入。
+ * 准备阶段已经确定注释内容时（例如重写方法继承父方法的注释）跳过渲染。
+ * </p>
+ */
+@Value
+public class RenderRequest {
+
+    /**
+     * 元素的智能指针，渲染结束后在写入前用它找回元素，元素失效时跳过
+     */
+    SmartPsiElementPointer<PsiElement> pointer;
+
+    /**
+     * 元素的描述（文件名和元素名称），用于日志和指标
+     */
+    String displayName;
+
+    /**
+     * 元素所在文件的路径，在准备阶段读取，用于JFR事件
+     */
+    String filePath;
+
+    /**
+     * 元素类型：class、method、field，在准备阶段读取，用于JFR事件
+     */
+    String kind;
+
+    /**
+     * 元素的源代码，在准备阶段读取，用于构建AI提示词；未启用AI或不需要调用AI时为null
+     */
+    String sourceText;
+
+    /**
+     * 模板，已确定注释内容时为null
+     */
+    DocTemplate template;
+
+    /**
+     * 渲染上下文，创建后不再修改；已确定注释内容时为null
+     */
+    Context context;
+
+    /**
+     * 复用的已有注释来源，没有复用时为null；复用时只使用Velocity渲染，不调用AI
+     */
+    String reusedFrom;
+
+    /**
+     * 不需要渲染、直接写入的注释内容（例如继承父方法的注释），需要渲染时为null
+     */
+    String resolvedDoc;
+}
@@ -0,0 +1,30 @@
+package io.github.easy.tools.entity.doc;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * 可复用的已有注释
+ * <p>
+ * 从项目中已注释的成员提取的描述和参数说明，相似成员生成注释时直接填入模板，不再调用AI。
+ * </p>
+ */
+@Value
+public class ReusableDoc {
+
+    /**
+     * 注释的描述（第一段，合并为一行）
+     */
+    String description;
+
+    /**
+     * 参数说明（参数名 -> 说明），不可修改
+     */
+    Map<String, String> parameters;
+
+    /**
+     * 注释来源（文件名和成员名称），用于日志
+     */
+    String source;
+}
@@ -0,0 +1,358 @@
+package io.github.easy.tools.index.doc;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.impl.source.tree.JavaDocElementType;
+import com.intellij.psi.impl.source.tree.JavaElementType;
+import com.intellij.psi.impl.source.tree.LightTreeUtil;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.PsiDependentFileContent;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import io.github.easy.tools.entity.doc.DocMemberInfo;
+import io.github.easy.tools.entity.doc.FileDocCoverage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 注释覆盖索引
+ * <p>
+ * 为每个Java文件记录可注释成员的数量、缺少注释的成员，以及注释中 {@code @param} 与参数列表不一致的方法。
+ * 索引基于词法分析得到的轻量语法树（LighterAST）计算，不构建完整的PSI；文件修改后由平台只重新索引该文件。
+ * 每个文件在 {@link #ALL} 键下保存覆盖情况，存在需要处理的成员时还会出现在 {@link #INCOMPLETE} 键下，
+ * 项目范围的查询只需要遍历对应键下的文件，不需要打开任何文件。
+ * </p>
+ */
+public class DocCoverageIndex extends FileBasedIndexExtension<String, FileDocCoverage> {
+
+    /**
+     * 索引名称
+     */
+    public static final ID<String, FileDocCoverage> NAME = ID.create("io.github.easy.tools.docCoverage");
+
+    /**
+     * 包含可注释成员的所有文件
+     */
+    public static final String ALL = "all";
+
+    /**
+     * 存在缺少注释或注释过期的成员的文件
+     */
+    public static final String INCOMPLETE = "incomplete";
+
+    /**
+     * 注释中的 @param 标签，泛型参数 {@code <T>} 不参与比较
+     */
+    private static final Pattern PARAM_TAG = Pattern.compile("@param\\s+([\\w$]+)");
+
+    /**
+     * 注释覆盖数据的序列化器
+     */
+    private static final DataExternalizer<FileDocCoverage> EXTERNALIZER = new DataExternalizer<>() {
+        @Override
+        public void save(@NotNull DataOutput out, FileDocCoverage value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.getTotal());
+            DataInputOutputUtil.writeINT(out, value.getDocumented());
+            writeMembers(out, value.getMissing());
+            writeMembers(out, value.getStale());
+        }
+
+        @Override
+        public FileDocCoverage read(@NotNull DataInput in) throws IOException {
+            int total = DataInputOutputUtil.readINT(in);
+            int documented = DataInputOutputUtil.readINT(in);
+            return new FileDocCoverage(total, documented, readMembers(in), readMembers(in));
+        }
+    };
+
+    @Override
+    public @NotNull ID<String, FileDocCoverage> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, FileDocCoverage, FileContent> getIndexer() {
+        return inputData -> {
+            FileDocCoverage coverage = compute(((PsiDependentFileContent) inputData).getLighterAST(),
+                    inputData.getContentAsText());
+            if (coverage.getTotal() == 0) {
+                return Map.of();
+            }
+            Map<String, FileDocCoverage> result = new HashMap<>();
+            result.put(ALL, coverage);
+            if (!coverage.isComplete()) {
+                result.put(INCOMPLETE, coverage);
+            }
+            return result;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<FileDocCoverage> getValueExternalizer() {
+        return EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * 获取文件的注释覆盖情况，需要在读操作和智能模式中调用
+     *
+     * @param project 项目
+     * @param file    文件
+     * @return 覆盖情况，文件中没有可注释成员时返回null
+     */
+    public static FileDocCoverage getCoverage(Project project, VirtualFile file) {
+        return FileBasedIndex.getInstance().getFileData(NAME, file, project).get(ALL);
+    }
+
+    /**
+     * 遍历范围内的文件及其注释覆盖情况，需要在读操作和智能模式中调用
+     *
+     * @param key       {@link #ALL} 或 {@link #INCOMPLETE}
+     * @param scope     搜索范围
+     * @param processor 处理器，返回false时停止遍历
+     */
+    public static void process(String key, GlobalSearchScope scope, FileBasedIndex.ValueProcessor<FileDocCoverage> processor) {
+        FileBasedIndex.getInstance().processValues(NAME, key, null, processor, scope);
+    }
+
+    /**
+     * 查找范围内需要生成或更新注释的文件，需要在读操作和智能模式中调用
+     *
+     * @param scope 搜索范围
+     * @return 文件与覆盖情况的映射
+     */
+    public static Map<VirtualFile, FileDocCoverage> findIncomplete(GlobalSearchScope scope) {
+        Map<VirtualFile, FileDocCoverage> result = new HashMap<>();
+        process(INCOMPLETE, scope, (file, coverage) -> {
+            result.put(file, coverage);
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * 根据轻量语法树计算文件的注释覆盖情况
+     *
+     * @param tree 轻量语法树
+     * @param text 文件内容
+     * @return 覆盖情况
+     */
+    static FileDocCoverage compute(LighterAST tree, CharSequence text) {
+        Collector collector = new Collector(tree, text);
+        collector.visit(tree.getRoot());
+        return new FileDocCoverage(collector.total, collector.documented, collector.missing, collector.stale);
+    }
+
+    /**
+     * 写出成员列表
+     *
+     * @param out     输出
+     * @param members 成员列表
+     * @throws IOException 写出失败时抛出
+     */
+    private static void writeMembers(DataOutput out, List<DocMemberInfo> members) throws IOException {
+        DataInputOutputUtil.writeINT(out, members.size());
+        for (DocMemberInfo member : members) {
+            IOUtil.writeUTF(out, member.getKind());
+            IOUtil.writeUTF(out, member.getName());
+            DataInputOutputUtil.writeINT(out, member.getOffset());
+        }
+    }
+
+    /**
+     * 读取成员列表
+     *
+     * @param in 输入
+     * @return 成员列表
+     * @throws IOException 读取失败时抛出
+     */
+    private static List<DocMemberInfo> readMembers(DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<DocMemberInfo> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new DocMemberInfo(IOUtil.readUTF(in), IOUtil.readUTF(in), DataInputOutputUtil.readINT(in)));
+        }
+        return members;
+    }
+
+    /**
+     * 遍历轻量语法树并收集成员的注释状态
+     */
+    private static final class Collector {
+
+        /**
+         * 轻量语法树
+         */
+        private final LighterAST tree;
+
+        /**
+         * 文件内容
+         */
+        private final CharSequence text;
+
+        /**
+         * 可注释成员总数
+         */
+        private int total;
+
+        /**
+         * 已有注释的成员数量
+         */
+        private int documented;
+
+        /**
+         * 缺少注释的成员
+         */
+        private final List<DocMemberInfo> missing = new ArrayList<>();
+
+        /**
+         * 注释过期的成员
+         */
+        private final List<DocMemberInfo> stale = new ArrayList<>();
+
+        /**
+         * 构造函数
+         *
+         * @param tree 轻量语法树
+         * @param text 文件内容
+         */
+        private Collector(LighterAST tree, CharSequence text) {
+            this.tree = tree;
+            this.text = text;
+        }
+
+        /**
+         * 递归访问节点
+         *
+         * @param node 当前节点
+         */
+        private void visit(LighterASTNode node) {
+            String kind = kindOf(node.getTokenType());
+            if (kind != null) {
+                this.check(node, kind);
+            }
+            for (LighterASTNode child : this.tree.getChildren(node)) {
+                this.visit(child);
+            }
+        }
+
+        /**
+         * 检查成员的注释
+         *
+         * @param node 成员节点
+         * @param kind 成员类型
+         */
+        private void check(LighterASTNode node, String kind) {
+            LighterASTNode identifier = LightTreeUtil.firstChildOfType(this.tree, node, JavaTokenType.IDENTIFIER);
+            if (identifier == null) {
+                return;
+            }
+            this.total++;
+            DocMemberInfo member = new DocMemberInfo(kind,
+                    this.text.subSequence(identifier.getStartOffset(), identifier.getEndOffset()).toString(),
+                    identifier.getStartOffset());
+            LighterASTNode docComment = LightTreeUtil.firstChildOfType(this.tree, node, JavaDocElementType.DOC_COMMENT);
+            if (docComment == null) {
+                this.missing.add(member);
+                return;
+            }
+            this.documented++;
+            if ("method".equals(kind) && this.isStale(node, docComment)) {
+                this.stale.add(member);
+            }
+        }
+
+        /**
+         * 判断方法注释中的 @param 是否与参数列表不一致
+         * <p>
+         * 只比较注释中已经写了 {@code @param} 的方法，没有任何 {@code @param} 的注释视为只有描述，不算过期。
+         * </p>
+         *
+         * @param method     方法节点
+         * @param docComment 注释节点
+         * @return 不一致时返回true
+         */
+        private boolean isStale(LighterASTNode method, LighterASTNode docComment) {
+            Set<String> documentedParams = new LinkedHashSet<>();
+            Matcher matcher = PARAM_TAG.matcher(this.text.subSequence(docComment.getStartOffset(), docComment.getEndOffset()));
+            while (matcher.find()) {
+                documentedParams.add(matcher.group(1));
+            }
+            if (documentedParams.isEmpty()) {
+                return false;
+            }
+            Set<String> actualParams = new LinkedHashSet<>();
+            LighterASTNode parameterList = LightTreeUtil.firstChildOfType(this.tree, method, JavaElementType.PARAMETER_LIST);
+            if (parameterList != null) {
+                for (LighterASTNode parameter : LightTreeUtil.getChildrenOfType(this.tree, parameterList, JavaElementType.PARAMETER)) {
+                    LighterASTNode name = LightTreeUtil.firstChildOfType(this.tree, parameter, JavaTokenType.IDENTIFIER);
+                    if (name != null) {
+                        actualParams.add(this.text.subSequence(name.getStartOffset(), name.getEndOffset()).toString());
+                    }
+                }
+            }
+            return !documentedParams.equals(actualParams);
+        }
+
+        /**
+         * 获取节点对应的成员类型，与缺少注释检查的范围一致：不包括匿名类和类型参数
+         *
+         * @param type 节点类型
+         * @return class、method、field，不是可注释成员时返回null
+         */
+        private static String kindOf(IElementType type) {
+            if (type == JavaElementType.CLASS) {
+                return "class";
+            } else if (type == JavaElementType.METHOD || type == JavaElementType.ANNOTATION_METHOD) {
+                return "method";
+            } else if (type == JavaElementType.FIELD || type == JavaElementType.ENUM_CONSTANT) {
+                return "field";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.easy.tools.inspection.doc;
+
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaDocumentedElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.service.doc.CommentGenerationStrategy;
+import io.github.easy.tools.service.doc.InteractiveGenerationTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成注释的快速修复
+ * <p>
+ * 渲染可能调用AI，修复交给后台任务在读操作之外渲染，EDT上只写入结果。批量应用时按文件分组，
+ * 每个文件的所有修复在一次写命令中完成，避免每个问题单独执行一次写命令和重新格式化。
+ * </p>
+ */
+public class GenerateDocQuickFix implements LocalQuickFix, BatchQuickFix {
+
+    /**
+     * 是否为整个文件中所有缺少注释的元素生成注释
+     */
+    private final boolean wholeFile;
+
+    /**
+     * 构造函数
+     *
+     * @param wholeFile 是否处理整个文件
+     */
+    public GenerateDocQuickFix(boolean wholeFile) {
+        this.wholeFile = wholeFile;
+    }
+
+    /**
+     * 获取快速修复的名称
+     *
+     * @return 快速修复名称
+     */
+    @Override
+    public @NotNull String getFamilyName() {
+        return this.wholeFile ? "为当前文件所有缺少注释的元素生成注释" : "生成注释";
+    }
+
+    /**
+     * 渲染注释可能耗时（例如调用AI），因此不在写操作中启动，由后台任务渲染后执行写命令
+     *
+     * @return 始终返回false
+     */
+    @Override
+    public boolean startInWriteAction() {
+        return false;
+    }
+
+    /**
+     * 注释在后台任务中渲染，无法在预览副本上同步生成，因此不提供预览
+     *
+     * @param project           项目
+     * @param previewDescriptor 预览副本上的问题描述
+     * @return 空预览
+     */
+    @Override
+    public @NotNull IntentionPreviewInfo generatePreview(@NotNull Project project, @NotNull ProblemDescriptor previewDescriptor) {
+        return IntentionPreviewInfo.EMPTY;
+    }
+
+    /**
+     * 应用单个快速修复
+     *
+     * @param project    项目
+     * @param descriptor 问题描述
+     */
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        PsiElement element = this.getDocumentedElement(descriptor);
+        if (element == null) {
+            return;
+        }
+        PsiFile file = element.getContainingFile();
+        if (this.wholeFile) {
+            List<PsiElement> elements = new ArrayList<>();
+            for (PsiElement candidate : this.getStrategy(file).collectElements(file)) {
+                if (MissingJavadocInspection.isUndocumented(candidate)) {
+                    elements.add(candidate);
+                }
+            }
+            this.generate(project, Map.of(file, elements), null);
+        } else {
+            this.generate(project, Map.of(file, List.of(element)), null);
+        }
+    }
+
+    /**
+     * 批量应用快速修复，按文件分组后每个文件只执行一次写命令
+     *
+     * @param project             项目
+     * @param descriptors         问题描述列表
+     * @param psiElementsToIgnore 需要忽略的元素
+     * @param refreshViews        应用完成后刷新视图的回调
+     */
+    @Override
+    public void applyFix(@NotNull Project project,
+                         CommonProblemDescriptor @NotNull [] descriptors,
+                         @NotNull List<PsiElement> psiElementsToIgnore,
+                         @Nullable Runnable refreshViews) {
+        Map<PsiFile, List<PsiElement>> elementsByFile = new LinkedHashMap<>();
+        for (CommonProblemDescriptor commonDescriptor : descriptors) {
+            if (!(commonDescriptor instanceof ProblemDescriptor descriptor)) {
+                continue;
+            }
+            PsiElement element = this.getDocumentedElement(descriptor);
+            if (element == null || psiElementsToIgnore.contains(descriptor.getPsiElement())) {
+                continue;
+            }
+            elementsByFile.computeIfAbsent(element.getContainingFile(), file -> new ArrayList<>()).add(element);
+        }
+        this.generate(project, elementsByFile, refreshViews);
+    }
+
+    /**
+     * 在后台任务中渲染注释，每个文件在一次写命令中写入
+     *
+     * @param project      项目
+     * @param elements     每个文件中需要生成注释的元素
+     * @param whenFinished 写入完成后在EDT上执行的回调，可以为null
+     */
+    private void generate(Project project, Map<PsiFile, List<PsiElement>> elements, @Nullable Runnable whenFinished) {
+        Map<PsiFile, List<PsiElement>> pending = new LinkedHashMap<>(elements);
+        pending.values().removeIf(List::isEmpty);
+        if (pending.isEmpty()) {
+            if (whenFinished != null) {
+                whenFinished.run();
+            }
+            return;
+        }
+        new InteractiveGenerationTask(project, pending, whenFinished).queue();
+    }
+
+    /**
+     * 获取文件对应的注释生成策略
+     *
+     * @param file 文件
+     * @return 注释生成策略
+     */
+    private CommentGenerationStrategy getStrategy(PsiFile file) {
+        return CommentGenerationStrategyFactory.getInstance().getStrategy(file);
+    }
+
+    /**
+     * 获取问题对应的可注释元素
+     *
+     * @param descriptor 问题描述
+     * @return 可注释元素，元素已失效时返回null
+     */
+    private PsiElement getDocumentedElement(ProblemDescriptor descriptor) {
+        PsiElement psiElement = descriptor.getPsiElement();
+        if (psiElement == null || !psiElement.isValid()) {
+            return null;
+        }
+        return PsiTreeUtil.getParentOfType(psiElement, PsiJavaDocumentedElement.class, false);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.easy.tools.inspection.doc;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.PsiAnonymousClass;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiJavaDocumentedElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.PsiTypeParameter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 缺少注释检查
+ * <p>
+ * 标记没有文档注释的类、方法和字段。检查只调用 {@code getDocComment()}，
+ * 对基于存根的元素会先读取存根上的注释标记，不会额外构建语法树，保证高亮足够快。
+ * 快速修复复用注释生成策略，在后台任务中渲染，批量修复时同一文件只执行一次写命令。
+ * 大多数项目并不要求每个成员都有注释，检查默认关闭，由用户在检查设置中按需启用。
+ * </p>
+ */
+public class MissingJavadocInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    /**
+     * 生成当前元素注释的快速修复
+     */
+    private static final LocalQuickFix ELEMENT_FIX = new GenerateDocQuickFix(false);
+
+    /**
+     * 生成当前文件所有缺失注释的快速修复
+     */
+    private static final LocalQuickFix FILE_FIX = new GenerateDocQuickFix(true);
+
+    /**
+     * 构建检查访问器
+     *
+     * @param holder     问题收集器
+     * @param isOnTheFly 是否为编辑器实时检查
+     * @return Java元素访问器
+     */
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitClass(@NotNull PsiClass aClass) {
+                if (aClass instanceof PsiAnonymousClass || aClass instanceof PsiTypeParameter) {
+                    return;
+                }
+                check(holder, aClass, "类缺少注释");
+            }
+
+            @Override
+            public void visitMethod(@NotNull PsiMethod method) {
+                check(holder, method, "方法缺少注释");
+            }
+
+            @Override
+            public void visitField(@NotNull PsiField field) {
+                check(holder, field, "字段缺少注释");
+            }
+        };
+    }
+
+    /**
+     * 检查元素是否缺少注释，缺少时在元素名称上注册问题
+     *
+     * @param holder  问题收集器
+     * @param element 被检查的元素
+     * @param message 问题描述
+     */
+    private static void check(ProblemsHolder holder, PsiJavaDocumentedElement element, String message) {
+        if (element.getDocComment() != null || !(element instanceof PsiNameIdentifierOwner owner)) {
+            return;
+        }
+        PsiElement nameIdentifier = owner.getNameIdentifier();
+        if (nameIdentifier == null) {
+            return;
+        }
+        holder.registerProblem(nameIdentifier, message, ProblemHighlightType.GENERIC_ERROR_OR_WARNING, ELEMENT_FIX, FILE_FIX);
+    }
+
+    /**
+     * 判断元素是否为缺少注释的可注释元素
+     *
+     * @param element 元素
+     * @return 缺少注释返回true
+     */
+    static boolean isUndocumented(PsiElement element) {
+        if (element instanceof PsiAnonymousClass || element instanceof PsiTypeParameter) {
+            return false;
+        }
+        return (element instanceof PsiClass || element instanceof PsiMethod || element instanceof PsiField)
+                && ((PsiJavaDocumentedElement) element).getDocComment() == null;
+    }
+}
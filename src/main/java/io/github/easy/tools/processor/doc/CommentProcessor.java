@@ -3,6 +3,8 @@ package io.github.easy.tools.processor.doc;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 
+import java.util.List;
+
 /**
  * 注释处理器接口，定义注释处理契约
  * <p>
@@ -27,6 +29,14 @@ public interface CommentProcessor {
      */
     void generateElementComment(PsiFile file, PsiElement element);
 
+    /**
+     * 生成多个元素的注释，所有修改在一次写命令中完成
+     *
+     * @param file     需要生成注释的文件
+     * @param elements 需要生成注释的元素
+     */
+    void generateElementComments(PsiFile file, List<? extends PsiElement> elements);
+
     /**
      * 删除整个文件的注释
      *
@@ -42,4 +52,12 @@ public interface CommentProcessor {
      */
     void removeElementComment(PsiFile file, PsiElement element);
 
+    /**
+     * 删除多个元素的注释，所有修改在一次写命令中完成
+     *
+     * @param file     需要删除注释的文件
+     * @param elements 需要删除注释的元素
+     */
+    void removeElementComments(PsiFile file, List<? extends PsiElement> elements);
+
 }
\ No newline at end of file
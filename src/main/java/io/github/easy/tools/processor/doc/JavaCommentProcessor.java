@@ -4,6 +4,9 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
 import io.github.easy.tools.service.doc.CommentGenerationStrategy;
+import io.github.easy.tools.service.doc.InteractiveGenerationTask;
+
+import java.util.List;
 
 /**
  * Java注释处理器，实现删除与生成逻辑
@@ -50,7 +53,7 @@ public class JavaCommentProcessor implements CommentProcessor {
     /**
      * 生成整个文件的注释
      * <p>
-     * 通过策略工厂获取Java注释生成策略，并调用其生成方法来为整个文件生成注释。
+     * 收集文件中所有可注释的元素，交给后台任务渲染后写入，不阻塞EDT。
      * </p>
      *
      * @param file 需要生成注释的文件
@@ -59,14 +62,14 @@ public class JavaCommentProcessor implements CommentProcessor {
     public void generateFileComment(PsiFile file) {
         // 1. 获取合适的生成策略（如Java）
         CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(file);
-        // 2. 执行生成逻辑
-        strategy.generate(file);
+        // 2. 在后台任务中生成
+        this.generateElementComments(file, strategy.collectElements(file));
     }
 
     /**
      * 生成指定元素的注释
      * <p>
-     * 通过策略工厂获取Java注释生成策略，并调用其生成方法来为指定元素生成注释。
+     * 交给后台任务渲染后写入，不阻塞EDT。
      * </p>
      *
      * @param file    需要生成注释的文件
@@ -74,9 +77,37 @@ public class JavaCommentProcessor implements CommentProcessor {
      */
     @Override
     public void generateElementComment(PsiFile file, PsiElement element) {
+        this.generateElementComments(file, List.of(element));
+    }
+
+    /**
+     * 生成多个元素的注释
+     * <p>
+     * 渲染可能调用AI，交给后台任务在读操作之外渲染，再通过策略在一次写命令中写入。
+     * </p>
+     *
+     * @param file     需要生成注释的文件
+     * @param elements 需要生成注释的元素
+     */
+    @Override
+    public void generateElementComments(PsiFile file, List<? extends PsiElement> elements) {
+        new InteractiveGenerationTask(file.getProject(), file, elements).queue();
+    }
+
+    /**
+     * 删除多个元素的注释
+     * <p>
+     * 通过策略在一次写命令中删除所有元素的注释。
+     * </p>
+     *
+     * @param file     需要删除注释的文件
+     * @param elements 需要删除注释的元素
+     */
+    @Override
+    public void removeElementComments(PsiFile file, List<? extends PsiElement> elements) {
         // 1. 获取合适的生成策略（如Java）
         CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(file);
-        // 2. 执行生成逻辑
-        strategy.generate(file, element);
+        // 2. 执行删除逻辑
+        strategy.remove(file, elements);
     }
-}
\ No newline at end of file
+}
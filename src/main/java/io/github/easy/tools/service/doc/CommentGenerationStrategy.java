@@ -2,6 +2,10 @@ package io.github.easy.tools.service.doc;
 
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiElement;
+import io.github.easy.tools.entity.doc.RenderRequest;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * 注释生成策略接口，定义了基本操作
@@ -26,6 +30,73 @@ public interface CommentGenerationStrategy {
      */
     void generate(PsiFile file, PsiElement element);
 
+    /**
+     * 收集文件中所有可注释的元素
+     *
+     * @param file 需要生成注释的文件
+     * @return 可注释的元素列表
+     */
+    List<PsiElement> collectElements(PsiFile file);
+
+    /**
+     * 在当前线程中准备并渲染元素的注释，不修改文件，需要在读操作中调用
+     * <p>
+     * 渲染可能调用AI，耗时较长的场景应分别调用 {@link #prepare}、{@link #render(List)} 和 {@link #restore}，
+     * 只在准备和找回元素时持有读锁。
+     * </p>
+     *
+     * @param file     需要生成注释的文件
+     * @param elements 需要生成注释的元素
+     * @return 元素与注释内容的映射
+     */
+    Map<PsiElement, String> render(PsiFile file, List<? extends PsiElement> elements);
+
+    /**
+     * 读取元素的模板和上下文，不渲染，需要在读操作中调用
+     *
+     * @param file     需要生成注释的文件
+     * @param elements 需要生成注释的元素
+     * @return 渲染输入
+     */
+    List<RenderRequest> prepare(PsiFile file, List<? extends PsiElement> elements);
+
+    /**
+     * 渲染准备好的输入，不访问PSI，应在读操作之外的后台线程中调用
+     * <p>
+     * 开启AI时会等待调度器名额并发送请求，不能在EDT上或读操作中调用。
+     * </p>
+     *
+     * @param requests 渲染输入
+     * @return 渲染输入与注释内容的映射
+     */
+    Map<RenderRequest, String> render(List<RenderRequest> requests);
+
+    /**
+     * 找回渲染输入对应的元素，已失效的元素跳过，需要在读操作中调用
+     *
+     * @param docs 渲染输入与注释内容的映射
+     * @return 元素与注释内容的映射
+     */
+    Map<PsiElement, String> restore(Map<RenderRequest, String> docs);
+
+    /**
+     * 计算写入时元素的最终注释（合并已有注释之后的内容），不修改文件，需要在读操作中调用
+     *
+     * @param file    文件
+     * @param element 元素
+     * @param doc     渲染好的注释内容
+     * @return 最终注释内容，与已有注释相同或无需写入时返回null
+     */
+    String resolve(PsiFile file, PsiElement element, String doc);
+
+    /**
+     * 在一次写命令中写入渲染好的注释
+     *
+     * @param file 需要生成注释的文件
+     * @param docs 元素与注释内容的映射
+     */
+    void apply(PsiFile file, Map<? extends PsiElement, String> docs);
+
     /**
      * 删除文件中的所有注释
      *
@@ -40,4 +111,12 @@ public interface CommentGenerationStrategy {
      * @param element 需要删除注释的元素
      */
     void remove(PsiFile file, PsiElement element);
+
+    /**
+     * 在一次写命令中删除多个元素的注释
+     *
+     * @param file     需要删除注释的文件
+     * @param elements 需要删除注释的元素
+     */
+    void remove(PsiFile file, List<? extends PsiElement> elements);
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.util.PsiTreeUtil;
+import io.github.easy.tools.entity.doc.DocMemberInfo;
+import io.github.easy.tools.entity.doc.FileDocCoverage;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.index.doc.DocCoverageIndex;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 为覆盖统计中的成员批量生成注释的后台任务
+ * <p>
+ * 每批读取若干文件当前的索引数据，只为缺少注释和注释过期的成员渲染注释：先在非阻塞读操作中准备整批成员的渲染输入，
+ * 再在读操作之外渲染（包括AI请求和调度器排队），最后交给EDT通过智能指针找回成员并写入（每个文件一次写命令），
+ * 减少读写切换的次数，渲染期间不持有读锁。任务可以取消，已写入的批次不会回滚。整个任务共用一个AI令牌预算，预算用完时写入已渲染的成员后停止。
+ * AI请求按批量优先级调度。开始时先把所有需要处理的成员写入 {@link GenerationJournalService}，
+ * 每批写入后记为已完成，IDE重启后可以继续剩余的成员。
+ * </p>
+ */
+public class CoverageGenerationTask extends Task.Backgroundable {
+
+    /**
+     * 每批处理的文件数量
+     */
+    private static final int BATCH_SIZE = 20;
+
+    /**
+     * 需要生成注释的文件
+     */
+    private final List<VirtualFile> files;
+
+    /**
+     * 只处理该成员，为null时处理文件中所有需要处理的成员
+     */
+    private final DocMemberInfo member;
+
+    /**
+     * 本次任务的AI令牌预算
+     */
+    private final TokenBudget budget = TokenBudget.fromConfig(DocConfigService.getInstance().getSnapshot());
+
+    /**
+     * 预算用完时的异常，没有用完时为null
+     */
+    private TokenBudget.ExceededException exceeded;
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     * @param files   需要生成注释的文件
+     * @param member  只处理该成员，为null时处理文件中所有需要处理的成员
+     */
+    public CoverageGenerationTask(Project project, List<VirtualFile> files, DocMemberInfo member) {
+        super(project, "生成注释", true);
+        this.files = files;
+        this.member = member;
+    }
+
+    /**
+     * 执行生成，同时记录本次运行的墙钟时间
+     *
+     * @param indicator 进度指示器
+     */
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        DocMetrics.getInstance().runStarted();
+        try {
+            this.generateAll(indicator);
+        } finally {
+            DocMetrics.getInstance().runFinished();
+        }
+    }
+
+    /**
+     * 分批渲染并写入注释
+     *
+     * @param indicator 进度指示器
+     */
+    private void generateAll(ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        DumbService dumbService = DumbService.getInstance(this.myProject);
+        GenerationJournalService journal = GenerationJournalService.getInstance(this.myProject);
+        indicator.setText("记录待处理的成员");
+        for (int start = 0; start < this.files.size(); start += BATCH_SIZE) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) start / this.files.size());
+            List<VirtualFile> batch = this.files.subList(start, Math.min(start + BATCH_SIZE, this.files.size()));
+            dumbService.runReadActionInSmartMode(() -> this.plan(batch, journal));
+        }
+        indicator.setText(this.getTitle());
+        // 模板用到Git变量时先在读操作之外读取所有文件的Git信息，每个仓库只调用一次git
+        GitFileInfoService.getInstance(this.myProject).prefetch(this.files);
+
+        for (int start = 0; start < this.files.size(); start += BATCH_SIZE) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) start / this.files.size());
+            indicator.setText2(start + " / " + this.files.size());
+
+            List<VirtualFile> batch = this.files.subList(start, Math.min(start + BATCH_SIZE, this.files.size()));
+            // 只有准备阶段持有读锁，有写操作时非阻塞读操作会让出并重新执行
+            Map<PsiFile, List<RenderRequest>> prepared = ReadAction.nonBlocking(() -> this.prepareBatch(batch))
+                    .inSmartMode(this.myProject)
+                    .wrapProgress(indicator)
+                    .executeSynchronously();
+            Map<PsiFile, Map<RenderRequest, String>> rendered = GenerationPriority.BULK.compute(() -> this.renderBatch(prepared));
+            if (!rendered.isEmpty()) {
+                ApplicationManager.getApplication().invokeAndWait(() -> rendered.forEach((file, docs) -> {
+                    if (file.isValid()) {
+                        CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(file);
+                        Map<PsiElement, String> restored = strategy.restore(docs);
+                        strategy.apply(file, restored);
+                        journal.completed(file, restored.keySet());
+                    }
+                }), ModalityState.defaultModalityState());
+            }
+            if (this.exceeded != null) {
+                String message = this.exceeded.getMessage();
+                ApplicationManager.getApplication().invokeLater(() -> Messages.showWarningDialog(this.myProject, message, "生成注释"));
+                return;
+            }
+        }
+        indicator.setFraction(1);
+    }
+
+    /**
+     * 把一批文件中需要处理的成员记为待处理
+     *
+     * @param batch   文件
+     * @param journal 生成日志
+     */
+    private void plan(List<VirtualFile> batch, GenerationJournalService journal) {
+        for (VirtualFile virtualFile : batch) {
+            List<PsiElement> elements = this.selectMembers(virtualFile);
+            if (!elements.isEmpty()) {
+                journal.planned(elements.get(0).getContainingFile(), elements);
+            }
+        }
+    }
+
+    /**
+     * 准备一批文件中需要处理的成员的渲染输入，需要在读操作中调用
+     *
+     * @param batch 文件
+     * @return 文件与渲染输入的映射，没有需要处理的成员的文件不包含在内
+     */
+    private Map<PsiFile, List<RenderRequest>> prepareBatch(List<VirtualFile> batch) {
+        Map<PsiFile, List<RenderRequest>> prepared = new LinkedHashMap<>();
+        for (VirtualFile virtualFile : batch) {
+            List<PsiElement> elements = this.selectMembers(virtualFile);
+            if (elements.isEmpty()) {
+                continue;
+            }
+            PsiFile file = elements.get(0).getContainingFile();
+            prepared.put(file, CommentGenerationStrategyFactory.getInstance().getStrategy(file).prepare(file, elements));
+        }
+        return prepared;
+    }
+
+    /**
+     * 在读操作之外渲染一批文件的成员
+     *
+     * @param prepared 文件与渲染输入的映射
+     * @return 文件与渲染结果的映射；预算用完时只包含已渲染的成员
+     */
+    private Map<PsiFile, Map<RenderRequest, String>> renderBatch(Map<PsiFile, List<RenderRequest>> prepared) {
+        Map<PsiFile, Map<RenderRequest, String>> rendered = new LinkedHashMap<>();
+        for (Map.Entry<PsiFile, List<RenderRequest>> entry : prepared.entrySet()) {
+            CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(entry.getKey());
+            if (this.budget.getLimit() == 0) {
+                rendered.put(entry.getKey(), strategy.render(entry.getValue()));
+                continue;
+            }
+            // 设置了预算时逐个渲染，预算用完时保留已渲染的成员
+            Map<RenderRequest, String> docs = new LinkedHashMap<>();
+            rendered.put(entry.getKey(), docs);
+            for (RenderRequest request : entry.getValue()) {
+                try {
+                    docs.putAll(this.budget.compute(() -> strategy.render(List.of(request))));
+                } catch (TokenBudget.ExceededException e) {
+                    this.exceeded = e;
+                    rendered.values().removeIf(Map::isEmpty);
+                    return rendered;
+                }
+            }
+        }
+        return rendered;
+    }
+
+    /**
+     * 选择文件中需要生成注释的成员，需要在读操作中调用
+     *
+     * @param virtualFile 文件
+     * @return 成员
+     */
+    protected List<PsiElement> selectMembers(VirtualFile virtualFile) {
+        return findMembers(this.myProject, virtualFile, this.member);
+    }
+
+    /**
+     * 查找文件中缺少注释和注释过期的成员，需要在读操作中调用
+     *
+     * @param project     项目
+     * @param virtualFile 文件
+     * @param member      只查找该成员，为null时查找所有需要处理的成员
+     * @return 成员，文件无效或没有索引数据时返回空列表
+     */
+    public static List<PsiElement> findMembers(Project project, VirtualFile virtualFile, DocMemberInfo member) {
+        PsiFile file = virtualFile.isValid() ? PsiManager.getInstance(project).findFile(virtualFile) : null;
+        FileDocCoverage coverage = file == null ? null : DocCoverageIndex.getCoverage(project, virtualFile);
+        if (coverage == null) {
+            return List.of();
+        }
+        List<PsiElement> elements = new ArrayList<>();
+        collect(file, coverage.getMissing(), member, elements);
+        collect(file, coverage.getStale(), member, elements);
+        return elements;
+    }
+
+    /**
+     * 按索引中记录的偏移查找成员，名称不一致（文件已变化）的成员跳过
+     *
+     * @param file     文件
+     * @param members  索引中的成员
+     * @param member   只查找该成员，为null时查找所有成员
+     * @param elements 查找结果
+     */
+    private static void collect(PsiFile file, List<DocMemberInfo> members, DocMemberInfo member, List<PsiElement> elements) {
+        for (DocMemberInfo info : members) {
+            if (member != null && !member.equals(info)) {
+                continue;
+            }
+            PsiMember element = PsiTreeUtil.getParentOfType(file.findElementAt(info.getOffset()), PsiMember.class, false);
+            if (element != null && info.getName().equals(element.getName())) {
+                elements.add(element);
+            }
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package io.github.easy.tools.service.doc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 启发式描述生成器
+ * <p>
+ * 不调用AI，根据标识符生成注释描述：按驼峰和下划线拆分名称，用动词词典识别方法的动作，
+ * 结合返回值类型和参数类型补全宾语，支持中文和英文输出。生成过程只有字符串处理，
+ * 每个元素耗时在微秒级，用于填充模板中的 {@code ${description}}。
+ * </p>
+ */
+public class DescriptionGenerator {
+
+    /**
+     * 中文
+     */
+    public static final String ZH = "zh";
+
+    /**
+     * 英文
+     */
+    public static final String EN = "en";
+
+    /**
+     * 中文描述生成器
+     */
+    private static final DescriptionGenerator CHINESE = new DescriptionGenerator(true);
+
+    /**
+     * 英文描述生成器
+     */
+    private static final DescriptionGenerator ENGLISH = new DescriptionGenerator(false);
+
+    /**
+     * 动词词典：动词 -> [英文第三人称, 中文]
+     */
+    private static final Map<String, String[]> VERBS = Map.ofEntries(
+            Map.entry("get", new String[]{"Gets the", "获取"}),
+            Map.entry("set", new String[]{"Sets the", "设置"}),
+            Map.entry("find", new String[]{"Finds", "查找"}),
+            Map.entry("query", new String[]{"Queries", "查询"}),
+            Map.entry("search", new String[]{"Searches", "搜索"}),
+            Map.entry("select", new String[]{"Selects", "查询"}),
+            Map.entry("list", new String[]{"Lists", "列出"}),
+            Map.entry("load", new String[]{"Loads", "加载"}),
+            Map.entry("fetch", new String[]{"Fetches", "获取"}),
+            Map.entry("read", new String[]{"Reads", "读取"}),
+            Map.entry("write", new String[]{"Writes", "写入"}),
+            Map.entry("create", new String[]{"Creates", "创建"}),
+            Map.entry("new", new String[]{"Creates", "创建"}),
+            Map.entry("build", new String[]{"Builds", "构建"}),
+            Map.entry("make", new String[]{"Makes", "生成"}),
+            Map.entry("generate", new String[]{"Generates", "生成"}),
+            Map.entry("render", new String[]{"Renders", "渲染"}),
+            Map.entry("convert", new String[]{"Converts", "转换"}),
+            Map.entry("parse", new String[]{"Parses", "解析"}),
+            Map.entry("resolve", new String[]{"Resolves", "解析"}),
+            Map.entry("format", new String[]{"Formats", "格式化"}),
+            Map.entry("add", new String[]{"Adds", "添加"}),
+            Map.entry("put", new String[]{"Puts", "放入"}),
+            Map.entry("insert", new String[]{"Inserts", "插入"}),
+            Map.entry("save", new String[]{"Saves", "保存"}),
+            Map.entry("update", new String[]{"Updates", "更新"}),
+            Map.entry("remove", new String[]{"Removes", "移除"}),
+            Map.entry("delete", new String[]{"Deletes", "删除"}),
+            Map.entry("clear", new String[]{"Clears", "清空"}),
+            Map.entry("reset", new String[]{"Resets", "重置"}),
+            Map.entry("check", new String[]{"Checks", "检查"}),
+            Map.entry("validate", new String[]{"Validates", "校验"}),
+            Map.entry("init", new String[]{"Initializes", "初始化"}),
+            Map.entry("initialize", new String[]{"Initializes", "初始化"}),
+            Map.entry("handle", new String[]{"Handles", "处理"}),
+            Map.entry("process", new String[]{"Processes", "处理"}),
+            Map.entry("apply", new String[]{"Applies", "应用"}),
+            Map.entry("count", new String[]{"Counts", "统计"}),
+            Map.entry("compute", new String[]{"Computes", "计算"}),
+            Map.entry("calculate", new String[]{"Calculates", "计算"}),
+            Map.entry("register", new String[]{"Registers", "注册"}),
+            Map.entry("send", new String[]{"Sends", "发送"}),
+            Map.entry("collect", new String[]{"Collects", "收集"}),
+            Map.entry("merge", new String[]{"Merges", "合并"}),
+            Map.entry("copy", new String[]{"Copies", "复制"}),
+            Map.entry("open", new String[]{"Opens", "打开"}),
+            Map.entry("close", new String[]{"Closes", "关闭"}),
+            Map.entry("start", new String[]{"Starts", "启动"}),
+            Map.entry("stop", new String[]{"Stops", "停止"}),
+            Map.entry("run", new String[]{"Runs", "运行"}),
+            Map.entry("execute", new String[]{"Executes", "执行"}),
+            Map.entry("call", new String[]{"Calls", "调用"}),
+            Map.entry("refresh", new String[]{"Refreshes", "刷新"}),
+            Map.entry("sort", new String[]{"Sorts", "排序"}),
+            Map.entry("filter", new String[]{"Filters", "过滤"}),
+            Map.entry("to", new String[]{"Converts to", "转换为"}),
+            Map.entry("is", new String[]{"Checks whether it is", "是否"}),
+            Map.entry("has", new String[]{"Checks whether it has", "是否包含"}),
+            Map.entry("can", new String[]{"Checks whether it can", "是否可以"}),
+            Map.entry("should", new String[]{"Checks whether it should", "是否应该"})
+    );
+
+    /**
+     * 判断类动词，生成的描述不追加返回值
+     */
+    private static final Set<String> PREDICATES = Set.of("is", "has", "can", "should");
+
+    /**
+     * 宾语来自参数类型的动词（没有宾语时）
+     */
+    private static final Set<String> PARAMETER_VERBS = Set.of("set", "add", "put", "insert", "save", "update", "remove",
+            "delete", "check", "validate", "handle", "process", "apply", "register", "send", "convert", "parse",
+            "format", "write", "copy", "merge");
+
+    /**
+     * 常用名词的中文翻译
+     */
+    private static final Map<String, String> NOUNS = Map.ofEntries(
+            Map.entry("id", "ID"),
+            Map.entry("ids", "ID列表"),
+            Map.entry("name", "名称"),
+            Map.entry("user", "用户"),
+            Map.entry("users", "用户列表"),
+            Map.entry("order", "订单"),
+            Map.entry("orders", "订单列表"),
+            Map.entry("list", "列表"),
+            Map.entry("map", "映射"),
+            Map.entry("set", "集合"),
+            Map.entry("value", "值"),
+            Map.entry("values", "值列表"),
+            Map.entry("type", "类型"),
+            Map.entry("key", "键"),
+            Map.entry("config", "配置"),
+            Map.entry("configuration", "配置"),
+            Map.entry("file", "文件"),
+            Map.entry("files", "文件列表"),
+            Map.entry("path", "路径"),
+            Map.entry("count", "数量"),
+            Map.entry("size", "大小"),
+            Map.entry("index", "索引"),
+            Map.entry("message", "消息"),
+            Map.entry("result", "结果"),
+            Map.entry("data", "数据"),
+            Map.entry("info", "信息"),
+            Map.entry("status", "状态"),
+            Map.entry("state", "状态"),
+            Map.entry("time", "时间"),
+            Map.entry("date", "日期"),
+            Map.entry("content", "内容"),
+            Map.entry("template", "模板"),
+            Map.entry("context", "上下文"),
+            Map.entry("element", "元素"),
+            Map.entry("elements", "元素列表"),
+            Map.entry("project", "项目"),
+            Map.entry("version", "版本"),
+            Map.entry("item", "项"),
+            Map.entry("items", "项列表"),
+            Map.entry("text", "文本"),
+            Map.entry("string", "字符串"),
+            Map.entry("number", "数字"),
+            Map.entry("code", "代码"),
+            Map.entry("doc", "注释"),
+            Map.entry("comment", "注释"),
+            Map.entry("parameter", "参数"),
+            Map.entry("parameters", "参数列表"),
+            Map.entry("param", "参数"),
+            Map.entry("method", "方法"),
+            Map.entry("field", "字段"),
+            Map.entry("class", "类"),
+            Map.entry("event", "事件"),
+            Map.entry("request", "请求"),
+            Map.entry("response", "响应"),
+            Map.entry("client", "客户端"),
+            Map.entry("cache", "缓存"),
+            Map.entry("service", "服务"),
+            Map.entry("controller", "控制器"),
+            Map.entry("util", "工具类"),
+            Map.entry("utils", "工具类"),
+            Map.entry("factory", "工厂"),
+            Map.entry("builder", "构建器"),
+            Map.entry("handler", "处理器"),
+            Map.entry("processor", "处理器"),
+            Map.entry("listener", "监听器"),
+            Map.entry("manager", "管理器"),
+            Map.entry("exception", "异常"),
+            Map.entry("repository", "仓库"),
+            Map.entry("dao", "数据访问对象"),
+            Map.entry("dto", "数据传输对象"),
+            Map.entry("entity", "实体"),
+            Map.entry("impl", "实现"),
+            Map.entry("mapper", "映射器"),
+            Map.entry("converter", "转换器"),
+            Map.entry("provider", "提供者"),
+            Map.entry("strategy", "策略"),
+            Map.entry("adapter", "适配器"),
+            Map.entry("validator", "校验器"),
+            Map.entry("parser", "解析器"),
+            Map.entry("helper", "辅助类"),
+            Map.entry("task", "任务"),
+            Map.entry("action", "动作"),
+            Map.entry("node", "节点"),
+            Map.entry("tree", "树"),
+            Map.entry("enabled", "启用"),
+            Map.entry("empty", "为空"),
+            Map.entry("valid", "有效"),
+            Map.entry("all", "所有"),
+            Map.entry("default", "默认"),
+            Map.entry("current", "当前"),
+            Map.entry("total", "总"),
+            Map.entry("max", "最大"),
+            Map.entry("min", "最小"),
+            Map.entry("first", "第一个"),
+            Map.entry("last", "最后一个"),
+            Map.entry("new", "新"),
+            Map.entry("old", "旧"),
+            Map.entry("abstract", "抽象"),
+            Map.entry("base", "基础"),
+            Map.entry("and", "和"),
+            Map.entry("of", "的"),
+            Map.entry("to", "到"),
+            Map.entry("in", "中的"),
+            Map.entry("with", "带")
+    );
+
+    /**
+     * 返回值类型为这些类型时不追加返回值描述
+     */
+    private static final Set<String> PLAIN_TYPES = Set.of("void", "boolean", "Boolean", "int", "Integer", "long", "Long",
+            "short", "Short", "byte", "Byte", "char", "Character", "float", "Float", "double", "Double", "String", "Object");
+
+    /**
+     * 是否输出中文
+     */
+    private final boolean chinese;
+
+    /**
+     * 构造函数
+     *
+     * @param chinese 是否输出中文
+     */
+    private DescriptionGenerator(boolean chinese) {
+        this.chinese = chinese;
+    }
+
+    /**
+     * 获取指定语言的描述生成器
+     *
+     * @param language {@link #ZH} 或 {@link #EN}，其他值使用中文
+     * @return 描述生成器
+     */
+    public static DescriptionGenerator of(String language) {
+        return EN.equals(language) ? ENGLISH : CHINESE;
+    }
+
+    /**
+     * 生成类的描述
+     *
+     * @param name 类名
+     * @return 描述
+     */
+    public String describeClass(String name) {
+        return this.phrase(splitIdentifier(name), true);
+    }
+
+    /**
+     * 生成字段的描述
+     *
+     * @param name 字段名
+     * @param type 字段类型
+     * @return 描述
+     */
+    public String describeField(String name, String type) {
+        List<String> words = splitIdentifier(name);
+        boolean flag = ("boolean".equals(type) || "Boolean".equals(type)) && words.size() > 1 && PREDICATES.contains(words.get(0));
+        if (flag) {
+            String[] verb = VERBS.get(words.get(0));
+            List<String> rest = words.subList(1, words.size());
+            return this.chinese ? verb[1] + this.phrase(rest, false) : "Whether " + this.phrase(rest, false);
+        }
+        return this.chinese ? this.phrase(words, false) : "The " + this.phrase(words, false);
+    }
+
+    /**
+     * 生成方法的描述
+     *
+     * @param name           方法名，构造函数为类名
+     * @param returnType     返回值类型，构造函数为null
+     * @param parameterTypes 参数类型
+     * @param constructor    是否为构造函数
+     * @return 描述
+     */
+    public String describeMethod(String name, String returnType, List<String> parameterTypes, boolean constructor) {
+        if (constructor) {
+            String className = this.phrase(splitIdentifier(name), false);
+            return this.chinese ? "创建" + className + "实例" : "Creates a new " + className + " instance";
+        }
+        List<String> words = splitIdentifier(name);
+        if (words.isEmpty()) {
+            return name;
+        }
+        String verbWord = words.get(0);
+        String[] verb = VERBS.get(verbWord);
+        if (verb == null) {
+            return this.phrase(words, true);
+        }
+        List<String> object = words.subList(1, words.size());
+        if (object.isEmpty()) {
+            if (!parameterTypes.isEmpty() && (PARAMETER_VERBS.contains(verbWord) || returnType == null || "void".equals(returnType))) {
+                object = splitIdentifier(simpleTypeName(parameterTypes.get(0)));
+            } else if (returnType != null && !"void".equals(returnType)) {
+                object = splitIdentifier(simpleTypeName(returnType));
+            }
+        }
+
+        String description = this.chinese ? this.chineseAction(verbWord, verb[1], object) : this.englishAction(verb[0], object);
+        if (PREDICATES.contains(verbWord) || "get".equals(verbWord) || "to".equals(verbWord)
+                || returnType == null || PLAIN_TYPES.contains(simpleTypeName(returnType))) {
+            return description;
+        }
+        List<String> returned = splitIdentifier(simpleTypeName(returnType));
+        if (object.containsAll(returned)) {
+            return description;
+        }
+        return this.chinese
+                ? description + "，返回" + this.phrase(returned, false)
+                : description + " and returns the " + this.phrase(returned, false);
+    }
+
+    /**
+     * 拆分标识符
+     * <p>
+     * 支持驼峰（包括连续大写的缩写，如 {@code XMLParser}）、下划线、美元符号和数字边界，结果为小写单词。
+     * </p>
+     *
+     * @param identifier 标识符
+     * @return 小写单词列表
+     */
+    public static List<String> splitIdentifier(String identifier) {
+        List<String> words = new ArrayList<>();
+        if (identifier == null) {
+            return words;
+        }
+        int length = identifier.length();
+        int start = -1;
+        for (int i = 0; i < length; i++) {
+            char c = identifier.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                if (start >= 0) {
+                    words.add(identifier.substring(start, i).toLowerCase(Locale.ROOT));
+                    start = -1;
+                }
+                continue;
+            }
+            if (start >= 0 && isBoundary(identifier, i)) {
+                words.add(identifier.substring(start, i).toLowerCase(Locale.ROOT));
+                start = i;
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            words.add(identifier.substring(start).toLowerCase(Locale.ROOT));
+        }
+        return words;
+    }
+
+    /**
+     * 判断位置i是否为新单词的开始
+     *
+     * @param identifier 标识符
+     * @param i          位置
+     * @return 是新单词的开始返回true
+     */
+    private static boolean isBoundary(String identifier, int i) {
+        char previous = identifier.charAt(i - 1);
+        char current = identifier.charAt(i);
+        if (Character.isDigit(previous) != Character.isDigit(current)) {
+            return true;
+        }
+        if (Character.isLowerCase(previous) && Character.isUpperCase(current)) {
+            return true;
+        }
+        // 缩写后紧跟单词：XMLParser 在 P 处拆分
+        return Character.isUpperCase(previous) && Character.isUpperCase(current)
+                && i + 1 < identifier.length() && Character.isLowerCase(identifier.charAt(i + 1));
+    }
+
+    /**
+     * 获取类型的简单名称，去掉包名、泛型参数和数组
+     *
+     * @param type 类型文本
+     * @return 简单名称
+     */
+    static String simpleTypeName(String type) {
+        String name = type;
+        int generic = name.indexOf('<');
+        if (generic >= 0) {
+            name = name.substring(0, generic);
+        }
+        int array = name.indexOf('[');
+        if (array >= 0) {
+            name = name.substring(0, array);
+        }
+        int dot = name.lastIndexOf('.');
+        return (dot >= 0 ? name.substring(dot + 1) : name).trim();
+    }
+
+    /**
+     * 生成英文动作描述
+     *
+     * @param verb   动词短语
+     * @param object 宾语单词
+     * @return 描述
+     */
+    private String englishAction(String verb, List<String> object) {
+        return object.isEmpty() ? verb.replace(" the", "") : verb + " " + this.phrase(object, false);
+    }
+
+    /**
+     * 生成中文动作描述，宾语中的 by、from、for 调整为中文语序
+     *
+     * @param verbWord 动词
+     * @param verb     中文动词
+     * @param object   宾语单词
+     * @return 描述
+     */
+    private String chineseAction(String verbWord, String verb, List<String> object) {
+        for (int i = 0; i < object.size(); i++) {
+            String preposition = switch (object.get(i)) {
+                case "by" -> "根据";
+                case "from" -> "从";
+                case "for" -> "为";
+                default -> null;
+            };
+            if (preposition != null && i > 0 && i < object.size() - 1) {
+                return preposition + this.phrase(object.subList(i + 1, object.size()), false)
+                        + verb + this.phrase(object.subList(0, i), false);
+            }
+            if ("to".equals(object.get(i)) && "convert".equals(verbWord) && i > 0 && i < object.size() - 1) {
+                return "将" + this.phrase(object.subList(0, i), false) + "转换为"
+                        + this.phrase(object.subList(i + 1, object.size()), false);
+            }
+        }
+        return verb + this.phrase(object, false);
+    }
+
+    /**
+     * 将单词组合为短语
+     * <p>
+     * 英文用空格连接，可选首字母大写；中文逐个翻译常用名词，未收录的单词保留原文，相邻的英文单词之间保留空格。
+     * </p>
+     *
+     * @param words      单词
+     * @param capitalize 英文是否首字母大写
+     * @return 短语
+     */
+    private String phrase(List<String> words, boolean capitalize) {
+        StringBuilder builder = new StringBuilder();
+        boolean previousAscii = false;
+        for (String word : words) {
+            String text = this.chinese ? NOUNS.getOrDefault(word, word) : word;
+            boolean ascii = text.chars().allMatch(c -> c < 128);
+            if (builder.length() > 0 && (!this.chinese || (ascii && previousAscii))) {
+                builder.append(' ');
+            }
+            builder.append(text);
+            previousAscii = ascii;
+        }
+        if (capitalize && !this.chinese && builder.length() > 0) {
+            builder.setCharAt(0, Character.toUpperCase(builder.charAt(0)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,352 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiJavaDocumentedElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypes;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.PsiTypeParameterListOwner;
+import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.psi.javadoc.PsiDocTag;
+import com.intellij.psi.javadoc.PsiDocTagValue;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.util.IncorrectOperationException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 文档注释合并器
+ * <p>
+ * 在合并模式下保留已有注释的描述和标签，只补充缺失的 @param、@return、@throws 标签，
+ * 并删除已经过时的标签：不存在的参数对应的 @param、无返回值方法和构造函数的 @return、
+ * 方法不再声明的受检异常对应的 @throws（未声明的非受检异常是常见的文档写法，予以保留）。
+ * 同时提供注释内容比较，用于在结果不变时跳过写入。
+ * </p>
+ */
+public class DocCommentMerger {
+
+    /**
+     * 合并已有注释和新生成的注释
+     *
+     * @param element   目标元素
+     * @param existing  已有的文档注释
+     * @param generated 新生成的文档注释
+     * @return 合并后的注释文本
+     */
+    public String merge(PsiJavaDocumentedElement element, PsiDocComment existing, PsiDocComment generated) {
+        List<String> description = this.descriptionLines(existing);
+        if (description.isEmpty()) {
+            description = this.descriptionLines(generated);
+        }
+
+        Set<String> validParams = this.collectParameterNames(element);
+        boolean hasReturn = element instanceof PsiMethod method
+                && method.getReturnType() != null
+                && !PsiTypes.voidType().equals(method.getReturnType());
+        Set<String> declaredThrows = this.collectDeclaredThrows(element);
+
+        // 1. 保留已有标签，删除已不存在的参数、返回值和异常
+        List<String> tagNames = new ArrayList<>();
+        List<List<String>> tags = new ArrayList<>();
+        Set<String> existingParams = new HashSet<>();
+        Set<String> existingThrows = new HashSet<>();
+        for (PsiDocTag tag : existing.getTags()) {
+            String name = tag.getName();
+            if ("param".equals(name)) {
+                String paramName = this.tagValue(tag);
+                if (validParams != null && !validParams.contains(paramName)) {
+                    continue;
+                }
+                existingParams.add(paramName);
+            } else if ("return".equals(name)) {
+                if (element instanceof PsiMethod && !hasReturn) {
+                    continue;
+                }
+            } else if ("throws".equals(name) || "exception".equals(name)) {
+                if (!this.isDocumentedException(element, declaredThrows, this.tagValue(tag))) {
+                    continue;
+                }
+                existingThrows.add(this.simpleName(this.tagValue(tag)));
+            }
+            tagNames.add(name);
+            tags.add(this.tagLines(tag));
+        }
+        boolean existingReturn = tagNames.contains("return");
+
+        // 2. 按照 param -> return -> throws 的顺序插入新注释中缺失的标签
+        for (PsiDocTag tag : generated.getTags()) {
+            String name = tag.getName();
+            if ("param".equals(name)) {
+                String paramName = this.tagValue(tag);
+                if (existingParams.add(paramName) && (validParams == null || validParams.contains(paramName))) {
+                    this.insertTag(tagNames, tags, name, this.tagLines(tag), this.insertIndex(tagNames, "param"));
+                }
+            } else if ("return".equals(name)) {
+                if (!existingReturn && hasReturn) {
+                    existingReturn = true;
+                    this.insertTag(tagNames, tags, name, this.tagLines(tag), this.insertIndex(tagNames, "param", "return"));
+                }
+            } else if ("throws".equals(name) || "exception".equals(name)) {
+                if (this.isDocumentedException(element, declaredThrows, this.tagValue(tag))
+                        && existingThrows.add(this.simpleName(this.tagValue(tag)))) {
+                    this.insertTag(tagNames, tags, name, this.tagLines(tag),
+                            this.insertIndex(tagNames, "param", "return", "throws", "exception"));
+                }
+            }
+        }
+
+        return this.build(description, tags);
+    }
+
+    /**
+     * 判断两段注释内容是否一致
+     * <p>
+     * 忽略每行的缩进和行尾空白，避免仅因缩进不同而重复写入。
+     * </p>
+     *
+     * @param existingText 已有注释文本
+     * @param newText      新注释文本
+     * @return 内容一致返回true
+     */
+    public boolean isSameContent(String existingText, String newText) {
+        return this.normalize(existingText).equals(this.normalize(newText));
+    }
+
+    /**
+     * 规范化注释文本，去掉每行首尾空白
+     *
+     * @param text 注释文本
+     * @return 规范化后的文本
+     */
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (String line : text.trim().split("\\R")) {
+            builder.append(line.trim()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取元素的有效参数名集合，包括泛型参数（形如 &lt;T&gt;）
+     *
+     * @param element 目标元素
+     * @return 参数名集合，元素不支持参数时返回null
+     */
+    private Set<String> collectParameterNames(PsiJavaDocumentedElement element) {
+        if (!(element instanceof PsiTypeParameterListOwner owner)) {
+            return null;
+        }
+        Set<String> names = new HashSet<>();
+        if (element instanceof PsiMethod method) {
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                names.add(parameter.getName());
+            }
+        }
+        for (PsiTypeParameter typeParameter : owner.getTypeParameters()) {
+            names.add("<" + typeParameter.getName() + ">");
+        }
+        return names;
+    }
+
+    /**
+     * 获取方法声明的异常的简单名称
+     *
+     * @param element 目标元素
+     * @return 异常简单名称集合，元素不是方法时返回null
+     */
+    private Set<String> collectDeclaredThrows(PsiJavaDocumentedElement element) {
+        if (!(element instanceof PsiMethod method)) {
+            return null;
+        }
+        Set<String> names = new HashSet<>();
+        for (PsiClassType type : method.getThrowsList().getReferencedTypes()) {
+            names.add(type.getClassName());
+        }
+        return names;
+    }
+
+    /**
+     * 判断 @throws 标签中的异常是否应当保留
+     * <p>
+     * 方法声明了该异常，或者该异常是非受检异常时保留；无法解析的异常名也保留，避免误删。
+     * </p>
+     *
+     * @param element        目标元素
+     * @param declaredThrows 方法声明的异常简单名称，元素不是方法时为null
+     * @param exceptionName  标签中的异常名（可能为全限定名）
+     * @return 需要保留时返回true
+     */
+    private boolean isDocumentedException(PsiJavaDocumentedElement element, Set<String> declaredThrows, String exceptionName) {
+        if (declaredThrows == null || exceptionName.isEmpty() || declaredThrows.contains(this.simpleName(exceptionName))) {
+            return true;
+        }
+        try {
+            PsiType type = JavaPsiFacade.getElementFactory(element.getProject()).createTypeFromText(exceptionName, element);
+            if (!(type instanceof PsiClassType classType) || classType.resolve() == null) {
+                return true;
+            }
+            return InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_LANG_RUNTIME_EXCEPTION)
+                    || InheritanceUtil.isInheritor(type, CommonClassNames.JAVA_LANG_ERROR);
+        } catch (IncorrectOperationException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 计算缺失标签的插入位置
+     * <p>
+     * 插入到最后一个同组标签之后；如果同组标签都不存在，则插入到第一个 return/throws 标签之前，
+     * 两者都不存在时插入到最前面。
+     * </p>
+     *
+     * @param tagNames  当前标签名列表
+     * @param afterTags 需要排在其后的标签名
+     * @return 插入位置
+     */
+    private int insertIndex(List<String> tagNames, String... afterTags) {
+        Set<String> after = Set.of(afterTags);
+        for (int i = tagNames.size() - 1; i >= 0; i--) {
+            if (after.contains(tagNames.get(i))) {
+                return i + 1;
+            }
+        }
+        for (int i = 0; i < tagNames.size(); i++) {
+            String name = tagNames.get(i);
+            if ("return".equals(name) || "throws".equals(name) || "exception".equals(name)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 在指定位置插入标签
+     *
+     * @param tagNames 当前标签名列表
+     * @param tags     当前标签行列表
+     * @param name     标签名
+     * @param lines    标签行
+     * @param index    插入位置
+     */
+    private void insertTag(List<String> tagNames, List<List<String>> tags, String name, List<String> lines, int index) {
+        tagNames.add(index, name);
+        tags.add(index, lines);
+    }
+
+    /**
+     * 获取标签的值（参数名或异常名）
+     *
+     * @param tag 文档标签
+     * @return 标签值
+     */
+    private String tagValue(PsiDocTag tag) {
+        PsiDocTagValue valueElement = tag.getValueElement();
+        return valueElement == null ? "" : valueElement.getText().trim();
+    }
+
+    /**
+     * 获取类型的简单名称
+     *
+     * @param name 类型名称（可能为全限定名）
+     * @return 简单名称
+     */
+    private String simpleName(String name) {
+        int index = name.lastIndexOf('.');
+        return index >= 0 ? name.substring(index + 1) : name;
+    }
+
+    /**
+     * 获取注释的描述行
+     *
+     * @param comment 文档注释
+     * @return 去掉前导星号后的描述行
+     */
+    private List<String> descriptionLines(PsiDocComment comment) {
+        StringBuilder builder = new StringBuilder();
+        for (PsiElement descriptionElement : comment.getDescriptionElements()) {
+            builder.append(descriptionElement.getText());
+        }
+        return this.contentLines(builder.toString());
+    }
+
+    /**
+     * 获取标签的内容行
+     *
+     * @param tag 文档标签
+     * @return 去掉前导星号后的标签行
+     */
+    private List<String> tagLines(PsiDocTag tag) {
+        return this.contentLines(tag.getText());
+    }
+
+    /**
+     * 将注释片段拆分为内容行，去掉前导星号以及首尾空行
+     *
+     * @param text 注释片段
+     * @return 内容行
+     */
+    private List<String> contentLines(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            String content = line.stripLeading();
+            if (content.startsWith("*")) {
+                content = content.substring(1);
+                if (content.startsWith(" ")) {
+                    content = content.substring(1);
+                }
+            }
+            lines.add(content.stripTrailing());
+        }
+        while (!lines.isEmpty() && lines.get(0).isEmpty()) {
+            lines.remove(0);
+        }
+        while (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+
+    /**
+     * 根据描述和标签构建注释文本
+     *
+     * @param description 描述行
+     * @param tags        标签行
+     * @return 注释文本
+     */
+    private String build(List<String> description, List<List<String>> tags) {
+        StringBuilder builder = new StringBuilder("/**\n");
+        for (String line : description) {
+            this.appendLine(builder, line);
+        }
+        if (!description.isEmpty() && !tags.isEmpty()) {
+            this.appendLine(builder, "");
+        }
+        for (List<String> tag : tags) {
+            for (String line : tag) {
+                this.appendLine(builder, line);
+            }
+        }
+        return builder.append(" */").toString();
+    }
+
+    /**
+     * 追加一行注释内容
+     *
+     * @param builder 注释构建器
+     * @param line    行内容
+     */
+    private void appendLine(StringBuilder builder, String line) {
+        builder.append(line.isEmpty() ? " *" : " * " + line).append('\n');
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.messages.Topic;
+
+import java.util.Collection;
+
+/**
+ * 注释覆盖变化监听器
+ * <p>
+ * 覆盖统计更新后在EDT上通过项目级消息总线发布。
+ * </p>
+ */
+public interface DocCoverageListener {
+
+    /**
+     * 注释覆盖变化主题
+     */
+    Topic<DocCoverageListener> TOPIC = Topic.create("EasyToolsDocCoverageChanged", DocCoverageListener.class);
+
+    /**
+     * 部分文件的覆盖情况已变化
+     *
+     * @param files 覆盖情况变化的文件，包括被删除或不再包含可注释成员的文件
+     */
+    void coverageChanged(Collection<VirtualFile> files);
+
+    /**
+     * 整个项目的覆盖情况已重新加载
+     */
+    void coverageReloaded();
+}
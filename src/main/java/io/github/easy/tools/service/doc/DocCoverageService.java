@@ -0,0 +1,393 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeAnyChangeAbstractAdapter;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.github.easy.tools.entity.doc.DocCoverageCounts;
+import io.github.easy.tools.entity.doc.FileDocCoverage;
+import io.github.easy.tools.index.doc.DocCoverageIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 注释覆盖统计服务
+ * <p>
+ * 首次使用时从注释覆盖索引读取项目中所有文件的覆盖情况，按模块、包和整个项目汇总。
+ * 之后监听PSI和VFS变化，只重新读取变化文件的索引数据，并按差值更新所属模块和包的统计，
+ * 然后通过 {@link DocCoverageListener#TOPIC} 通知界面。统计数据只在EDT上读写。
+ * </p>
+ */
+public class DocCoverageService implements Disposable {
+
+    /**
+     * 合并文件变化的延迟（毫秒）
+     */
+    private static final int UPDATE_DELAY_MS = 500;
+
+    /**
+     * 没有所属模块时的名称
+     */
+    public static final String NO_MODULE = "(无模块)";
+
+    /**
+     * 项目
+     */
+    private final Project project;
+
+    /**
+     * 文件的覆盖情况
+     */
+    private final Map<VirtualFile, FileEntry> files = new HashMap<>();
+
+    /**
+     * 模块的覆盖统计
+     */
+    private final Map<String, DocCoverageCounts> moduleCounts = new HashMap<>();
+
+    /**
+     * 包的覆盖统计，key为模块名和包名
+     */
+    private final Map<List<String>, DocCoverageCounts> packageCounts = new HashMap<>();
+
+    /**
+     * 整个项目的覆盖统计
+     */
+    private final DocCoverageCounts totalCounts = new DocCoverageCounts();
+
+    /**
+     * 等待更新的文件
+     */
+    private final Set<VirtualFile> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 合并文件变化的定时器
+     */
+    private final Alarm alarm = new Alarm(this);
+
+    /**
+     * 是否已经开始加载
+     */
+    private volatile boolean loaded;
+
+    /**
+     * 构造函数，监听PSI和VFS变化
+     *
+     * @param project 项目
+     */
+    public DocCoverageService(Project project) {
+        this.project = project;
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeAnyChangeAbstractAdapter() {
+            @Override
+            protected void onChange(@Nullable PsiFile file) {
+                if (file != null) {
+                    DocCoverageService.this.enqueue(file.getVirtualFile());
+                }
+            }
+        }, this);
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    DocCoverageService.this.enqueue(event.getFile());
+                }
+            }
+        });
+    }
+
+    /**
+     * 获取项目的注释覆盖统计服务
+     *
+     * @param project 项目
+     * @return 注释覆盖统计服务
+     */
+    public static DocCoverageService getInstance(Project project) {
+        return project.getService(DocCoverageService.class);
+    }
+
+    /**
+     * 首次调用时在后台加载整个项目的覆盖情况，之后的调用不做任何事
+     */
+    public void ensureLoaded() {
+        if (!this.loaded) {
+            this.reload();
+        }
+    }
+
+    /**
+     * 在后台重新加载整个项目的覆盖情况，索引就绪后执行
+     */
+    public void reload() {
+        this.loaded = true;
+        this.pending.clear();
+        ReadAction.nonBlocking(() -> {
+                    Map<VirtualFile, FileEntry> entries = new HashMap<>();
+                    DocCoverageIndex.process(DocCoverageIndex.ALL, GlobalSearchScope.projectScope(this.project), (file, coverage) -> {
+                        entries.put(file, this.createEntry(file, coverage));
+                        return true;
+                    });
+                    return entries;
+                })
+                .inSmartMode(this.project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), this::replaceAll)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 获取整个项目的覆盖统计，需要在EDT上调用
+     *
+     * @return 覆盖统计
+     */
+    public DocCoverageCounts getTotalCounts() {
+        return this.totalCounts;
+    }
+
+    /**
+     * 获取模块的覆盖统计，需要在EDT上调用
+     *
+     * @param module 模块名
+     * @return 覆盖统计，没有时返回空统计
+     */
+    public DocCoverageCounts getModuleCounts(String module) {
+        return this.moduleCounts.getOrDefault(module, new DocCoverageCounts());
+    }
+
+    /**
+     * 获取包的覆盖统计，需要在EDT上调用
+     *
+     * @param module      模块名
+     * @param packageName 包名
+     * @return 覆盖统计，没有时返回空统计
+     */
+    public DocCoverageCounts getPackageCounts(String module, String packageName) {
+        return this.packageCounts.getOrDefault(List.of(module, packageName), new DocCoverageCounts());
+    }
+
+    /**
+     * 获取所有文件的覆盖情况，需要在EDT上调用
+     *
+     * @return 文件与覆盖情况的映射，不可修改
+     */
+    public Map<VirtualFile, FileEntry> getFiles() {
+        return Collections.unmodifiableMap(this.files);
+    }
+
+    /**
+     * 记录变化的文件，合并一段时间内的变化后统一更新
+     *
+     * @param file 变化的文件
+     */
+    private void enqueue(VirtualFile file) {
+        if (!this.loaded || file == null || (!file.isDirectory() && file.getFileType() != JavaFileType.INSTANCE)) {
+            return;
+        }
+        this.pending.add(file);
+        this.alarm.cancelAllRequests();
+        this.alarm.addRequest(this::flush, UPDATE_DELAY_MS);
+    }
+
+    /**
+     * 在后台读取变化文件的索引数据，然后在EDT上更新统计
+     */
+    private void flush() {
+        Set<VirtualFile> batch = new HashSet<>(this.pending);
+        this.pending.removeAll(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 目录的移动、删除或重命名影响的文件较多，直接重新加载
+        if (batch.stream().anyMatch(VirtualFile::isDirectory)) {
+            this.reload();
+            return;
+        }
+        ReadAction.nonBlocking(() -> {
+                    ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(this.project);
+                    Map<VirtualFile, FileEntry> updates = new HashMap<>();
+                    for (VirtualFile file : batch) {
+                        FileDocCoverage coverage = file.isValid() && fileIndex.isInContent(file)
+                                ? DocCoverageIndex.getCoverage(this.project, file) : null;
+                        updates.put(file, coverage == null ? null : this.createEntry(file, coverage));
+                    }
+                    return updates;
+                })
+                .inSmartMode(this.project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), this::update)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 替换所有文件的覆盖情况并重新汇总
+     *
+     * @param entries 文件的覆盖情况
+     */
+    private void replaceAll(Map<VirtualFile, FileEntry> entries) {
+        this.files.clear();
+        this.moduleCounts.clear();
+        this.packageCounts.clear();
+        this.totalCounts.setTotal(0);
+        this.totalCounts.setDocumented(0);
+        this.totalCounts.setMissing(0);
+        this.totalCounts.setStale(0);
+        entries.forEach(this::put);
+        this.project.getMessageBus().syncPublisher(DocCoverageListener.TOPIC).coverageReloaded();
+    }
+
+    /**
+     * 按差值更新变化文件的统计
+     *
+     * @param updates 文件的新覆盖情况，值为null表示文件已删除或不再包含可注释成员
+     */
+    private void update(Map<VirtualFile, FileEntry> updates) {
+        updates.forEach((file, entry) -> {
+            this.remove(file);
+            if (entry != null) {
+                this.put(file, entry);
+            }
+        });
+        this.project.getMessageBus().syncPublisher(DocCoverageListener.TOPIC).coverageChanged(updates.keySet());
+    }
+
+    /**
+     * 添加文件的覆盖情况
+     *
+     * @param file  文件
+     * @param entry 覆盖情况
+     */
+    private void put(VirtualFile file, FileEntry entry) {
+        this.files.put(file, entry);
+        this.totalCounts.add(entry.getCoverage());
+        this.moduleCounts.computeIfAbsent(entry.getModule(), key -> new DocCoverageCounts()).add(entry.getCoverage());
+        this.packageCounts.computeIfAbsent(List.of(entry.getModule(), entry.getPackageName()), key -> new DocCoverageCounts())
+                .add(entry.getCoverage());
+    }
+
+    /**
+     * 移除文件的覆盖情况，统计为空的模块和包一并移除
+     *
+     * @param file 文件
+     */
+    private void remove(VirtualFile file) {
+        FileEntry old = this.files.remove(file);
+        if (old == null) {
+            return;
+        }
+        this.totalCounts.subtract(old.getCoverage());
+        DocCoverageCounts module = this.moduleCounts.get(old.getModule());
+        module.subtract(old.getCoverage());
+        if (module.getTotal() == 0) {
+            this.moduleCounts.remove(old.getModule());
+        }
+        List<String> packageKey = List.of(old.getModule(), old.getPackageName());
+        DocCoverageCounts pkg = this.packageCounts.get(packageKey);
+        pkg.subtract(old.getCoverage());
+        if (pkg.getTotal() == 0) {
+            this.packageCounts.remove(packageKey);
+        }
+    }
+
+    /**
+     * 创建文件的覆盖情况，需要在读操作中调用
+     *
+     * @param file     文件
+     * @param coverage 索引中的覆盖数据
+     * @return 覆盖情况
+     */
+    private FileEntry createEntry(VirtualFile file, FileDocCoverage coverage) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(this.project);
+        Module module = fileIndex.getModuleForFile(file);
+        String packageName = file.getParent() == null ? null : fileIndex.getPackageNameByDirectory(file.getParent());
+        return new FileEntry(module == null ? NO_MODULE : module.getName(), packageName == null ? "" : packageName, coverage);
+    }
+
+    /**
+     * 清空等待更新的文件，合并定时器随服务一起释放
+     */
+    @Override
+    public void dispose() {
+        this.pending.clear();
+    }
+
+    /**
+     * 文件的覆盖情况及其所属的模块和包
+     */
+    public static final class FileEntry {
+
+        /**
+         * 模块名
+         */
+        private final String module;
+
+        /**
+         * 包名，默认包为空字符串
+         */
+        private final String packageName;
+
+        /**
+         * 覆盖情况
+         */
+        private final FileDocCoverage coverage;
+
+        /**
+         * 构造函数
+         *
+         * @param module      模块名
+         * @param packageName 包名
+         * @param coverage    覆盖情况
+         */
+        private FileEntry(String module, String packageName, FileDocCoverage coverage) {
+            this.module = module;
+            this.packageName = packageName;
+            this.coverage = coverage;
+        }
+
+        /**
+         * 获取模块名
+         *
+         * @return 模块名
+         */
+        public String getModule() {
+            return this.module;
+        }
+
+        /**
+         * 获取包名
+         *
+         * @return 包名，默认包为空字符串
+         */
+        public String getPackageName() {
+            return this.packageName;
+        }
+
+        /**
+         * 获取覆盖情况
+         *
+         * @return 覆盖情况
+         */
+        public FileDocCoverage getCoverage() {
+            return this.coverage;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaDocTokenType;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiJavaToken;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.psi.javadoc.PsiDocTag;
+import com.intellij.psi.javadoc.PsiDocToken;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.github.easy.tools.entity.doc.ReusableDoc;
+import io.github.easy.tools.index.doc.DocCoverageIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 已有注释的相似度检索服务
+ * <p>
+ * 首次使用时在后台分批遍历项目中包含已注释成员的文件，把已注释的方法和字段按规范化后的签名和方法体词元
+ * 加入 {@link MinHashIndex}（方法和字段分别建索引）。之后跟随 {@link DocCoverageListener#TOPIC}
+ * 重新读取变化的文件。为没有注释的成员生成注释时，找到足够相似的已注释成员就复用它的描述和参数说明，
+ * 保持措辞一致并省去AI调用。索引加载完成前的查询不返回结果，因此交互式生成在索引就绪前不会复用注释；
+ * 批量生成在开始前通过 {@link #awaitReady(long, TimeUnit)} 等待索引，保证每次运行的结果一致。
+ * </p>
+ */
+public class DocSimilarityService implements Disposable {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(DocSimilarityService.class);
+
+    /**
+     * 字面量规范化后的词元
+     */
+    private static final String LITERAL = "<literal>";
+
+    /**
+     * 加载时每批读取的文件数量
+     */
+    private static final int BATCH_SIZE = 20;
+
+    /**
+     * 项目
+     */
+    private final Project project;
+
+    /**
+     * 已注释方法的索引
+     */
+    private final MinHashIndex<ReusableDoc> methods = new MinHashIndex<>();
+
+    /**
+     * 已注释字段的索引
+     */
+    private final MinHashIndex<ReusableDoc> fields = new MinHashIndex<>();
+
+    /**
+     * 是否已经开始加载
+     */
+    private volatile boolean loaded;
+
+    /**
+     * 索引是否加载完成
+     */
+    private volatile boolean ready;
+
+    /**
+     * 索引加载完成时完成
+     */
+    private final CompletableFuture<Void> readyFuture = new CompletableFuture<>();
+
+    /**
+     * 构造函数，跟随注释覆盖统计的变化更新索引
+     *
+     * @param project 项目
+     */
+    public DocSimilarityService(Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(DocCoverageListener.TOPIC, new DocCoverageListener() {
+            @Override
+            public void coverageChanged(Collection<VirtualFile> files) {
+                if (DocSimilarityService.this.loaded) {
+                    files.forEach(DocSimilarityService.this::update);
+                }
+            }
+
+            @Override
+            public void coverageReloaded() {
+            }
+        });
+    }
+
+    /**
+     * 获取项目的相似度检索服务
+     *
+     * @param project 项目
+     * @return 相似度检索服务
+     */
+    public static DocSimilarityService getInstance(Project project) {
+        return project.getService(DocSimilarityService.class);
+    }
+
+    /**
+     * 首次调用时在后台加载索引，之后的调用不做任何事
+     * <p>
+     * 同时加载注释覆盖统计，文件变化通过它的通知传到这里。索引就绪后才开始加载，不阻塞调用方。
+     * </p>
+     */
+    public void ensureLoaded() {
+        if (this.loaded) {
+            return;
+        }
+        this.loaded = true;
+        DocCoverageService.getInstance(this.project).ensureLoaded();
+        long start = System.nanoTime();
+        ReadAction.nonBlocking(() -> {
+                    List<VirtualFile> files = new ArrayList<>();
+                    DocCoverageIndex.process(DocCoverageIndex.ALL, GlobalSearchScope.projectScope(this.project), (file, coverage) -> {
+                        if (coverage.getDocumented() > 0) {
+                            files.add(file);
+                        }
+                        return true;
+                    });
+                    return files;
+                })
+                .inSmartMode(this.project)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService())
+                .onSuccess(files -> this.loadBatch(files, 0, start));
+    }
+
+    /**
+     * 开始加载索引并等待加载完成，不能在EDT或读操作中调用
+     *
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return 索引在等待时间内加载完成时返回true
+     * @throws InterruptedException 等待时线程被中断
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        this.ensureLoaded();
+        try {
+            this.readyFuture.get(timeout, unit);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 查找与成员足够相似的已注释成员，需要在读操作中调用
+     *
+     * @param member    成员，只支持方法和字段
+     * @param threshold 相似度阈值（百分比）
+     * @return 可复用的注释和相似度，索引未就绪或没有足够相似的成员时返回null
+     */
+    public MinHashIndex.Match<ReusableDoc> findSimilar(PsiMember member, int threshold) {
+        this.ensureLoaded();
+        MinHashIndex<ReusableDoc> index = this.indexOf(member);
+        if (!this.ready || index == null) {
+            return null;
+        }
+        return index.findMostSimilar(tokenize(member), threshold / 100.0);
+    }
+
+    /**
+     * 分批读取已注释的成员，每批在一个可中断的读操作中完成，完成后继续下一批
+     *
+     * @param files 包含已注释成员的文件
+     * @param from  本批的起始下标
+     * @param start 开始加载的时间
+     */
+    private void loadBatch(List<VirtualFile> files, int from, long start) {
+        if (from >= files.size()) {
+            this.ready = true;
+            this.readyFuture.complete(null);
+            LOG.info("已注释成员索引加载完成: files=" + files.size() + ", methods=" + this.methods.size()
+                    + ", fields=" + this.fields.size() + ", " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            return;
+        }
+        List<VirtualFile> batch = files.subList(from, Math.min(from + BATCH_SIZE, files.size()));
+        ReadAction.nonBlocking(() -> {
+                    Map<VirtualFile, List<Item>> items = new LinkedHashMap<>();
+                    for (VirtualFile file : batch) {
+                        items.put(file, this.extract(file));
+                    }
+                    return items;
+                })
+                .inSmartMode(this.project)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService())
+                .onSuccess(items -> {
+                    items.forEach(this::replace);
+                    this.loadBatch(files, from + BATCH_SIZE, start);
+                });
+    }
+
+    /**
+     * 在后台重新读取变化的文件
+     *
+     * @param file 文件
+     */
+    private void update(VirtualFile file) {
+        ReadAction.nonBlocking(() -> this.extract(file))
+                .inSmartMode(this.project)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService())
+                .onSuccess(items -> this.replace(file, items));
+    }
+
+    /**
+     * 替换文件在索引中的条目
+     *
+     * @param file  文件
+     * @param items 文件中已注释的成员
+     */
+    private void replace(VirtualFile file, List<Item> items) {
+        this.methods.remove(file);
+        this.fields.remove(file);
+        for (Item item : items) {
+            item.index.add(file, item.tokens, item.doc);
+        }
+    }
+
+    /**
+     * 提取文件中已注释的方法和字段，需要在读操作中调用
+     *
+     * @param file 文件
+     * @return 已注释的成员，文件无效或不是Java文件时返回空列表
+     */
+    private List<Item> extract(VirtualFile file) {
+        if (!file.isValid()) {
+            return Collections.emptyList();
+        }
+        PsiFile psiFile = PsiManager.getInstance(this.project).findFile(file);
+        if (!(psiFile instanceof PsiJavaFile)) {
+            return Collections.emptyList();
+        }
+        List<Item> items = new ArrayList<>();
+        for (PsiMember member : PsiTreeUtil.findChildrenOfAnyType(psiFile, PsiMethod.class, PsiField.class)) {
+            MinHashIndex<ReusableDoc> index = this.indexOf(member);
+            PsiDocComment docComment = member.getDocComment();
+            if (index == null || docComment == null) {
+                continue;
+            }
+            ReusableDoc doc = toReusableDoc(docComment, file.getName() + "#" + member.getName());
+            if (!doc.getDescription().isEmpty()) {
+                items.add(new Item(index, tokenize(member), doc));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * 获取成员所属的索引
+     *
+     * @param member 成员
+     * @return 索引，不支持的成员类型返回null
+     */
+    private MinHashIndex<ReusableDoc> indexOf(PsiMember member) {
+        if (member instanceof PsiMethod) {
+            return this.methods;
+        }
+        return member instanceof PsiField ? this.fields : null;
+    }
+
+    /**
+     * 把成员的代码规范化为词元
+     * <p>
+     * 跳过空白和注释，标识符按单词拆分为小写，字面量统一替换为同一个词元，关键字和符号保持原样。
+     * </p>
+     *
+     * @param element 成员
+     * @return 词元列表
+     */
+    static List<String> tokenize(PsiElement element) {
+        List<String> tokens = new ArrayList<>();
+        collectTokens(element, tokens);
+        return tokens;
+    }
+
+    /**
+     * 递归收集叶子节点的词元
+     *
+     * @param element 当前元素
+     * @param tokens  收集结果
+     */
+    private static void collectTokens(PsiElement element, List<String> tokens) {
+        if (element instanceof PsiWhiteSpace || element instanceof PsiComment) {
+            return;
+        }
+        PsiElement child = element.getFirstChild();
+        if (child == null) {
+            if (element instanceof PsiIdentifier) {
+                tokens.addAll(DescriptionGenerator.splitIdentifier(element.getText()));
+            } else if (element instanceof PsiJavaToken token && isLiteral(token.getTokenType())) {
+                tokens.add(LITERAL);
+            } else {
+                tokens.add(element.getText());
+            }
+            return;
+        }
+        for (; child != null; child = child.getNextSibling()) {
+            collectTokens(child, tokens);
+        }
+    }
+
+    /**
+     * 判断是否为字面量词元
+     *
+     * @param type 词元类型
+     * @return 字符串、字符、数字和文本块字面量返回true
+     */
+    private static boolean isLiteral(IElementType type) {
+        return type == JavaTokenType.STRING_LITERAL || type == JavaTokenType.TEXT_BLOCK_LITERAL
+                || type == JavaTokenType.CHARACTER_LITERAL || type == JavaTokenType.INTEGER_LITERAL
+                || type == JavaTokenType.LONG_LITERAL || type == JavaTokenType.FLOAT_LITERAL
+                || type == JavaTokenType.DOUBLE_LITERAL;
+    }
+
+    /**
+     * 从文档注释中提取可复用的描述和参数说明
+     *
+     * @param docComment 文档注释
+     * @param source     注释来源
+     * @return 可复用的注释
+     */
+    static ReusableDoc toReusableDoc(PsiDocComment docComment, String source) {
+        StringBuilder description = new StringBuilder();
+        for (PsiElement element : docComment.getDescriptionElements()) {
+            if (element instanceof PsiDocToken token && token.getTokenType() == JavaDocTokenType.DOC_COMMENT_LEADING_ASTERISKS) {
+                continue;
+            }
+            description.append(element.getText());
+        }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (PsiDocTag tag : docComment.findTagsByName("param")) {
+            PsiElement value = tag.getValueElement();
+            if (value == null) {
+                continue;
+            }
+            StringBuilder text = new StringBuilder();
+            for (PsiElement element : tag.getDataElements()) {
+                if (element != value) {
+                    text.append(element.getText()).append(' ');
+                }
+            }
+            String parameter = firstParagraph(text.toString());
+            if (!parameter.isEmpty()) {
+                parameters.put(value.getText(), parameter);
+            }
+        }
+        return new ReusableDoc(firstParagraph(description.toString()), Collections.unmodifiableMap(parameters), source);
+    }
+
+    /**
+     * 获取注释文本的第一段，合并为一行
+     * <p>
+     * 遇到空行或 {@code <p>} 时结束，去掉每行开头的星号。
+     * </p>
+     *
+     * @param text 注释文本
+     * @return 第一段文本
+     */
+    static String firstParagraph(String text) {
+        StringBuilder builder = new StringBuilder();
+        for (String line : text.split("\n")) {
+            String trimmed = line.strip();
+            while (trimmed.startsWith("*")) {
+                trimmed = trimmed.substring(1).strip();
+            }
+            if (trimmed.isEmpty() || trimmed.regionMatches(true, 0, "<p", 0, 2)) {
+                if (builder.length() > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(trimmed.replaceAll("\\s+", " "));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 索引随服务一起释放
+     */
+    @Override
+    public void dispose() {
+        this.methods.clear();
+        this.fields.clear();
+    }
+
+    /**
+     * 文件中一个已注释的成员
+     */
+    private static final class Item {
+
+        /**
+         * 所属索引
+         */
+        private final MinHashIndex<ReusableDoc> index;
+
+        /**
+         * 规范化后的词元
+         */
+        private final List<String> tokens;
+
+        /**
+         * 可复用的注释
+         */
+        private final ReusableDoc doc;
+
+        /**
+         * 构造函数
+         *
+         * @param index  所属索引
+         * @param tokens 规范化后的词元
+         * @param doc    可复用的注释
+         */
+        private Item(MinHashIndex<ReusableDoc> index, List<String> tokens, ReusableDoc doc) {
+            this.index = index;
+            this.tokens = tokens;
+            this.doc = doc;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiAnonymousClass;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.PsiWhiteSpace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 文件中可注释元素的偏移区间索引
+ * <p>
+ * 一次遍历收集文件中的类、方法和字段，按起始偏移排序并记录每个元素最近的外层元素，
+ * 之后按光标或选区查找元素只需要二分查找和沿外层元素回溯，不再逐个节点做类型匹配。
+ * 索引只在一次动作内有效，文件修改后需要重新构建。
+ * </p>
+ */
+public class DocumentableElementIndex {
+
+    /**
+     * 所属文件
+     */
+    private final PsiFile file;
+
+    /**
+     * 按起始偏移排序的元素
+     */
+    private final PsiElement[] elements;
+
+    /**
+     * 元素的起始偏移
+     */
+    private final int[] starts;
+
+    /**
+     * 元素的结束偏移
+     */
+    private final int[] ends;
+
+    /**
+     * 最近的外层元素下标，没有外层元素时为-1
+     */
+    private final int[] parents;
+
+    /**
+     * 按名称偏移排序的元素下标
+     */
+    private final Integer[] byAnchor;
+
+    /**
+     * 元素的名称偏移（没有名称时为起始偏移）
+     */
+    private final int[] anchors;
+
+    /**
+     * 构造函数，构建文件的可注释元素索引
+     *
+     * @param file 文件
+     */
+    public DocumentableElementIndex(PsiFile file) {
+        this.file = file;
+        List<PsiElement> collected = new ArrayList<>();
+        this.collect(file, collected);
+        collected.sort(Comparator.comparingInt(element -> element.getTextRange().getStartOffset()));
+
+        int size = collected.size();
+        this.elements = collected.toArray(PsiElement[]::new);
+        this.starts = new int[size];
+        this.ends = new int[size];
+        this.parents = new int[size];
+        this.anchors = new int[size];
+        int[] stack = new int[size];
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            TextRange range = this.elements[i].getTextRange();
+            this.starts[i] = range.getStartOffset();
+            this.ends[i] = range.getEndOffset();
+            this.anchors[i] = this.anchorOffset(this.elements[i], range);
+            while (depth > 0 && this.ends[stack[depth - 1]] <= this.starts[i]) {
+                depth--;
+            }
+            this.parents[i] = depth > 0 ? stack[depth - 1] : -1;
+            stack[depth++] = i;
+        }
+        this.byAnchor = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            this.byAnchor[i] = i;
+        }
+        Arrays.sort(this.byAnchor, Comparator.comparingInt(i -> this.anchors[i]));
+    }
+
+    /**
+     * 查找光标处的元素
+     * <p>
+     * 光标在元素内部时返回包含光标的最内层元素；光标位于成员之间的空白或注释上时，
+     * 返回其后的第一个同级元素，与之前向后查找同级元素、再向上查找父级元素的行为一致。
+     * </p>
+     *
+     * @param offset 光标偏移
+     * @return 元素，找不到时返回null
+     */
+    public PsiElement findAtCaret(int offset) {
+        int innermost = this.findInnermost(offset);
+        PsiElement leaf = this.file.findElementAt(offset);
+        boolean betweenMembers = leaf == null
+                || ((leaf instanceof PsiWhiteSpace || leaf instanceof PsiComment)
+                && (innermost < 0 ? leaf.getParent() == this.file : leaf.getParent() == this.elements[innermost]));
+        if (betweenMembers) {
+            int next = this.firstStartingAtOrAfter(offset);
+            if (next < this.elements.length && (innermost < 0 || this.starts[next] < this.ends[innermost])) {
+                return this.elements[next];
+            }
+        }
+        return innermost >= 0 ? this.elements[innermost] : null;
+    }
+
+    /**
+     * 查找名称位于选区内的所有元素
+     *
+     * @param startOffset 选区起始偏移
+     * @param endOffset   选区结束偏移
+     * @return 按偏移排序的元素列表
+     */
+    public List<PsiElement> findInRange(int startOffset, int endOffset) {
+        List<PsiElement> result = new ArrayList<>();
+        int low = 0;
+        int high = this.byAnchor.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.anchors[this.byAnchor[mid]] < startOffset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < this.byAnchor.length && this.anchors[this.byAnchor[i]] < endOffset; i++) {
+            result.add(this.elements[this.byAnchor[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * 按多个光标或选区查找元素，结果去重并保持顺序
+     *
+     * @param ranges 选区列表，空选区表示光标位置
+     * @return 元素列表
+     */
+    public List<PsiElement> find(List<TextRange> ranges) {
+        Set<PsiElement> result = new LinkedHashSet<>();
+        for (TextRange range : ranges) {
+            if (range.isEmpty()) {
+                PsiElement element = this.findAtCaret(range.getStartOffset());
+                if (element != null) {
+                    result.add(element);
+                }
+            } else {
+                result.addAll(this.findInRange(range.getStartOffset(), range.getEndOffset()));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 查找包含偏移的最内层元素
+     *
+     * @param offset 偏移
+     * @return 元素下标，没有时返回-1
+     */
+    private int findInnermost(int offset) {
+        int index = this.firstStartingAtOrAfter(offset + 1) - 1;
+        while (index >= 0 && this.ends[index] <= offset) {
+            index = this.parents[index];
+        }
+        return index;
+    }
+
+    /**
+     * 查找第一个起始偏移不小于给定偏移的元素
+     *
+     * @param offset 偏移
+     * @return 元素下标，没有时返回元素数量
+     */
+    private int firstStartingAtOrAfter(int offset) {
+        int low = 0;
+        int high = this.starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.starts[mid] < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 获取元素名称的偏移
+     *
+     * @param element 元素
+     * @param range   元素的文本范围
+     * @return 名称偏移，没有名称时返回起始偏移
+     */
+    private int anchorOffset(PsiElement element, TextRange range) {
+        if (element instanceof PsiNameIdentifierOwner owner) {
+            PsiElement nameIdentifier = owner.getNameIdentifier();
+            if (nameIdentifier != null) {
+                return nameIdentifier.getTextRange().getStartOffset();
+            }
+        }
+        return range.getStartOffset();
+    }
+
+    /**
+     * 递归收集可注释的元素
+     *
+     * @param element  当前元素
+     * @param elements 收集结果
+     */
+    private void collect(PsiElement element, List<PsiElement> elements) {
+        if ((element instanceof PsiClass && !(element instanceof PsiAnonymousClass) && !(element instanceof PsiTypeParameter))
+                || element instanceof PsiMethod
+                || element instanceof PsiField) {
+            elements.add(element);
+        }
+        for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            this.collect(child, elements);
+        }
+    }
+}
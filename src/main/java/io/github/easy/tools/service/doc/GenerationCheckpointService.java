@@ -0,0 +1,145 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import io.github.easy.tools.entity.doc.GenerationCheckpoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分片生成注释的断点服务
+ * <p>
+ * 每写入一个分片就更新文件的断点，取消后再次为该文件生成注释时，
+ * 如果文件的修改戳和成员数量都没有变化，则从断点继续；否则断点失效，从头开始。
+ * 从头开始也不会重复写入，已生成且内容相同的注释会被跳过。
+ * 同时记录项目中正在运行的分片任务和暂停状态，暂停时任务在分片之间等待，恢复后继续处理下一个分片。
+ * </p>
+ */
+public class GenerationCheckpointService {
+
+    /**
+     * 断点，key为文件路径
+     */
+    private final Map<String, GenerationCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    /**
+     * 正在运行的分片任务数量
+     */
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * 分片任务是否已暂停
+     */
+    private volatile boolean paused = false;
+
+    /**
+     * 获取项目的断点服务
+     *
+     * @param project 项目
+     * @return 断点服务
+     */
+    public static GenerationCheckpointService getInstance(Project project) {
+        return project.getService(GenerationCheckpointService.class);
+    }
+
+    /**
+     * 获取可以继续的成员下标
+     *
+     * @param file  文件
+     * @param total 当前的成员总数
+     * @return 断点仍然有效时返回下一个需要处理的成员下标，否则返回0
+     */
+    public int resumeIndex(PsiFile file, int total) {
+        String path = pathOf(file);
+        GenerationCheckpoint checkpoint = path == null ? null : this.checkpoints.get(path);
+        if (checkpoint == null) {
+            return 0;
+        }
+        if (checkpoint.getTotal() != total || checkpoint.getModificationStamp() != file.getModificationStamp()) {
+            this.checkpoints.remove(path);
+            return 0;
+        }
+        return checkpoint.getNextIndex();
+    }
+
+    /**
+     * 记录断点
+     *
+     * @param file      文件
+     * @param nextIndex 下一个需要处理的成员下标
+     * @param total     成员总数
+     */
+    public void save(PsiFile file, int nextIndex, int total) {
+        String path = pathOf(file);
+        if (path != null) {
+            this.checkpoints.put(path, new GenerationCheckpoint(path, nextIndex, total, file.getModificationStamp()));
+        }
+    }
+
+    /**
+     * 清除断点
+     *
+     * @param file 文件
+     */
+    public void clear(PsiFile file) {
+        String path = pathOf(file);
+        if (path != null) {
+            this.checkpoints.remove(path);
+        }
+    }
+
+    /**
+     * 记录一个分片任务开始运行
+     */
+    public void taskStarted() {
+        this.running.incrementAndGet();
+    }
+
+    /**
+     * 记录一个分片任务结束，没有正在运行的任务时取消暂停
+     */
+    public void taskFinished() {
+        if (this.running.decrementAndGet() <= 0) {
+            this.paused = false;
+        }
+    }
+
+    /**
+     * 判断是否有正在运行的分片任务
+     *
+     * @return 有正在运行的任务时返回true
+     */
+    public boolean isRunning() {
+        return this.running.get() > 0;
+    }
+
+    /**
+     * 判断分片任务是否已暂停
+     *
+     * @return 已暂停返回true
+     */
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    /**
+     * 暂停或恢复分片任务，正在渲染的分片会在写入后暂停
+     *
+     * @param paused 是否暂停
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused && this.isRunning();
+    }
+
+    /**
+     * 获取文件路径
+     *
+     * @param file 文件
+     * @return 文件路径，没有对应的物理文件时返回null
+     */
+    private static String pathOf(PsiFile file) {
+        return file.getVirtualFile() != null ? file.getVirtualFile().getPath() : null;
+    }
+}
@@ -0,0 +1,407 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocCommentOwner;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiTypeElement;
+import com.intellij.psi.javadoc.PsiDocComment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量生成注释的持久化日志
+ * <p>
+ * 批量任务开始时把计划处理的成员记为待处理，每写入一批注释就把对应成员记为已完成，IDE关闭或崩溃后重新打开项目时
+ * 可以从剩余的待处理成员继续。成员用文件和签名（类名、方法名和参数类型）标识，同时记录不含注释的代码摘要，
+ * 继续时代码已经变化的成员会被跳过。
+ * 日志按行追加写入系统目录，每个文件的路径只写一次，之后用编号引用；加载时回放日志并重写为只包含待处理成员的紧凑形式，
+ * 没有待处理成员时删除日志文件。写入失败只记录日志，不影响生成。
+ * </p>
+ */
+public class GenerationJournalService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(GenerationJournalService.class);
+
+    /**
+     * 文件记录：F 编号 文件URL
+     */
+    private static final String FILE = "F";
+
+    /**
+     * 待处理记录：P 文件编号 签名 代码摘要
+     */
+    private static final String PENDING = "P";
+
+    /**
+     * 已完成（或已跳过）记录：D 文件编号 签名
+     */
+    private static final String DONE = "D";
+
+    /**
+     * 日志文件
+     */
+    private final Path journalFile;
+
+    /**
+     * 待处理的成员：文件URL -> 签名 -> 代码摘要
+     */
+    private final Map<String, Map<String, String>> pending = new LinkedHashMap<>();
+
+    /**
+     * 已写入日志文件的文件编号
+     */
+    private final Map<String, Integer> fileIds = new HashMap<>();
+
+    /**
+     * 是否已经加载日志文件
+     */
+    private boolean loaded;
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     */
+    public GenerationJournalService(Project project) {
+        this.journalFile = PathManager.getSystemDir().resolve("easy-tools").resolve("journal")
+                .resolve(project.getLocationHash() + ".log");
+    }
+
+    /**
+     * 获取项目的生成日志服务
+     *
+     * @param project 项目
+     * @return 生成日志服务
+     */
+    public static GenerationJournalService getInstance(Project project) {
+        return project.getService(GenerationJournalService.class);
+    }
+
+    /**
+     * 把成员记为待处理，需要在读操作中调用
+     * <p>
+     * 已经以相同代码摘要记为待处理的成员不会重复写入。
+     * </p>
+     *
+     * @param file     文件
+     * @param elements 成员
+     */
+    public synchronized void planned(PsiFile file, Collection<? extends PsiElement> elements) {
+        String url = urlOf(file);
+        if (url == null || elements.isEmpty()) {
+            return;
+        }
+        this.ensureLoaded();
+        Map<String, String> members = this.pending.computeIfAbsent(url, key -> new LinkedHashMap<>());
+        List<String> lines = new ArrayList<>();
+        for (PsiElement element : elements) {
+            String signature = signatureOf(element);
+            String hash = hashOf(element);
+            if (signature != null && !hash.equals(members.put(signature, hash))) {
+                int id = this.fileId(url, lines);
+                lines.add(PENDING + '\t' + id + '\t' + signature + '\t' + hash);
+            }
+        }
+        this.append(lines);
+    }
+
+    /**
+     * 把已经写入注释的成员记为已完成，需要在读操作中调用
+     *
+     * @param file     文件
+     * @param elements 成员
+     */
+    public synchronized void completed(PsiFile file, Collection<? extends PsiElement> elements) {
+        String url = urlOf(file);
+        if (url == null) {
+            return;
+        }
+        List<String> signatures = new ArrayList<>(elements.size());
+        for (PsiElement element : elements) {
+            String signature = signatureOf(element);
+            if (signature != null) {
+                signatures.add(signature);
+            }
+        }
+        this.completed(url, signatures);
+    }
+
+    /**
+     * 把成员记为已完成，用于跳过代码已经变化或已经不存在的成员
+     *
+     * @param url        文件URL
+     * @param signatures 成员签名
+     */
+    public synchronized void completed(String url, Collection<String> signatures) {
+        this.ensureLoaded();
+        Map<String, String> members = this.pending.get(url);
+        if (members == null) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (String signature : signatures) {
+            if (members.remove(signature) != null) {
+                int id = this.fileId(url, lines);
+                lines.add(DONE + '\t' + id + '\t' + signature);
+            }
+        }
+        if (members.isEmpty()) {
+            this.pending.remove(url);
+        }
+        if (this.pending.isEmpty()) {
+            // 全部完成后删除日志，下次写入时重新开始编号
+            this.discard();
+            return;
+        }
+        this.append(lines);
+    }
+
+    /**
+     * 获取待处理的成员
+     *
+     * @return 文件URL -> 签名 -> 代码摘要，返回副本
+     */
+    public synchronized Map<String, Map<String, String>> getPending() {
+        this.ensureLoaded();
+        Map<String, Map<String, String>> copy = new LinkedHashMap<>();
+        this.pending.forEach((url, members) -> copy.put(url, new LinkedHashMap<>(members)));
+        return copy;
+    }
+
+    /**
+     * 获取文件中待处理的成员
+     *
+     * @param url 文件URL
+     * @return 签名 -> 代码摘要，返回副本，没有待处理成员时返回空映射
+     */
+    public synchronized Map<String, String> getPending(String url) {
+        this.ensureLoaded();
+        Map<String, String> members = this.pending.get(url);
+        return members != null ? new LinkedHashMap<>(members) : Map.of();
+    }
+
+    /**
+     * 获取待处理的成员数量
+     *
+     * @return 成员数量
+     */
+    public synchronized int getPendingCount() {
+        this.ensureLoaded();
+        int count = 0;
+        for (Map<String, String> members : this.pending.values()) {
+            count += members.size();
+        }
+        return count;
+    }
+
+    /**
+     * 放弃所有待处理的成员并删除日志文件
+     */
+    public synchronized void discard() {
+        this.loaded = true;
+        this.pending.clear();
+        this.fileIds.clear();
+        try {
+            Files.deleteIfExists(this.journalFile);
+        } catch (IOException e) {
+            LOG.warn("删除注释生成日志失败: " + this.journalFile, e);
+        }
+    }
+
+    /**
+     * 获取成员的签名，同一文件中不同成员的签名不同
+     * <p>
+     * 只使用语法信息（类的全限定名、成员名称和参数类型的源码文本），不需要解析引用，索引未完成时也可以计算。
+     * </p>
+     *
+     * @param element 成员
+     * @return 签名，不是类、方法或字段时返回null
+     */
+    public static String signatureOf(PsiElement element) {
+        if (element instanceof PsiClass psiClass) {
+            String name = psiClass.getQualifiedName();
+            return "class:" + (name != null ? name : psiClass.getName());
+        }
+        if (!(element instanceof PsiMethod) && !(element instanceof PsiField)) {
+            return null;
+        }
+        PsiMember member = (PsiMember) element;
+        PsiClass owner = member.getContainingClass();
+        String prefix = owner != null && owner.getQualifiedName() != null ? owner.getQualifiedName() + "#" : "#";
+        if (element instanceof PsiField) {
+            return "field:" + prefix + member.getName();
+        }
+        StringBuilder signature = new StringBuilder("method:").append(prefix).append(member.getName()).append('(');
+        PsiParameter[] parameters = ((PsiMethod) element).getParameterList().getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            PsiTypeElement type = parameters[i].getTypeElement();
+            signature.append(i > 0 ? "," : "").append(type != null ? type.getText().replaceAll("\\s+", "") : "?");
+        }
+        return signature.append(')').toString();
+    }
+
+    /**
+     * 计算成员代码的摘要，不包含注释和空白的变化
+     * <p>
+     * 类只计算类声明部分（左花括号之前），成员的变化不会让整个类失效。
+     * </p>
+     *
+     * @param element 成员
+     * @return 十六进制摘要
+     */
+    public static String hashOf(PsiElement element) {
+        String text = element.getText();
+        int start = 0;
+        if (element instanceof PsiDocCommentOwner owner) {
+            PsiDocComment comment = owner.getDocComment();
+            if (comment != null && comment.getParent() == element) {
+                start = comment.getStartOffsetInParent() + comment.getTextLength();
+            }
+        }
+        int end = text.length();
+        if (element instanceof PsiClass psiClass && psiClass.getLBrace() != null) {
+            end = psiClass.getLBrace().getStartOffsetInParent();
+        }
+        String code = start < end ? text.substring(start, end) : "";
+        return Integer.toHexString(code.replaceAll("\\s+", " ").trim().hashCode());
+    }
+
+    /**
+     * 首次使用时回放日志文件，并重写为只包含待处理成员的紧凑形式
+     */
+    private void ensureLoaded() {
+        if (this.loaded) {
+            return;
+        }
+        this.loaded = true;
+        if (!Files.exists(this.journalFile)) {
+            return;
+        }
+        Map<Integer, String> urls = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(this.journalFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                try {
+                    switch (fields[0]) {
+                        case FILE -> urls.put(Integer.parseInt(fields[1]), fields[2]);
+                        case PENDING -> this.pending.computeIfAbsent(urls.get(Integer.parseInt(fields[1])),
+                                key -> new LinkedHashMap<>()).put(fields[2], fields[3]);
+                        case DONE -> {
+                            Map<String, String> members = this.pending.get(urls.get(Integer.parseInt(fields[1])));
+                            if (members != null) {
+                                members.remove(fields[2]);
+                            }
+                        }
+                        default -> {
+                            // 未知记录忽略
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // 崩溃时写了一半的行忽略
+                    LOG.debug("忽略无法解析的日志行: " + line);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("读取注释生成日志失败: " + this.journalFile, e);
+        }
+        this.pending.remove(null);
+        this.pending.values().removeIf(Map::isEmpty);
+        this.compact();
+    }
+
+    /**
+     * 把待处理成员重写到日志文件，没有待处理成员时删除日志文件
+     */
+    private void compact() {
+        this.fileIds.clear();
+        try {
+            if (this.pending.isEmpty()) {
+                Files.deleteIfExists(this.journalFile);
+                return;
+            }
+            List<String> lines = new ArrayList<>();
+            this.pending.forEach((url, members) -> {
+                int id = this.fileId(url, lines);
+                members.forEach((signature, hash) -> lines.add(PENDING + '\t' + id + '\t' + signature + '\t' + hash));
+            });
+            Path temp = this.journalFile.resolveSibling(this.journalFile.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, this.journalFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("压缩注释生成日志失败: " + this.journalFile, e);
+        }
+    }
+
+    /**
+     * 获取文件编号，文件第一次出现时先把文件记录加入待写入的行
+     *
+     * @param url   文件URL
+     * @param lines 待写入的行
+     * @return 文件编号
+     */
+    private int fileId(String url, List<String> lines) {
+        Integer id = this.fileIds.get(url);
+        if (id == null) {
+            id = this.fileIds.size();
+            this.fileIds.put(url, id);
+            lines.add(FILE + '\t' + id + '\t' + url);
+        }
+        return id;
+    }
+
+    /**
+     * 追加写入日志行
+     *
+     * @param lines 日志行
+     */
+    private void append(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(this.journalFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(this.journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("写入注释生成日志失败: " + this.journalFile, e);
+        }
+    }
+
+    /**
+     * 获取文件的URL
+     *
+     * @param file 文件
+     * @return 文件URL，没有对应的虚拟文件时返回null
+     */
+    private static String urlOf(PsiFile file) {
+        return file.getVirtualFile() != null ? file.getVirtualFile().getUrl() : null;
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.easy.tools.service.doc;
+
+import io.github.easy.tools.service.doc.metrics.DocStage;
+
+import java.util.function.Supplier;
+
+/**
+ * 注释生成请求的优先级
+ * <p>
+ * 调度器按声明顺序处理：交互请求（快捷键、菜单）最先，其次是预取（预览），最后是批量任务。
+ * 渲染前通过 {@link #compute(Supplier)} 把优先级绑定到当前线程，没有绑定时按交互请求处理。
+ * </p>
+ */
+public enum GenerationPriority {
+
+    /**
+     * 用户在编辑器中触发、正在等待结果的请求
+     */
+    INTERACTIVE("交互", DocStage.QUEUE_INTERACTIVE),
+
+    /**
+     * 提前渲染、稍后才由用户确认的请求
+     */
+    PREFETCH("预取", DocStage.QUEUE_PREFETCH),
+
+    /**
+     * 文件、目录和命令行的批量任务
+     */
+    BULK("批量", DocStage.QUEUE_BULK);
+
+    /**
+     * 当前线程的优先级
+     */
+    private static final ThreadLocal<GenerationPriority> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 显示名称
+     */
+    private final String displayName;
+
+    /**
+     * 记录排队等待时间的阶段
+     */
+    private final DocStage waitStage;
+
+    /**
+     * 构造函数
+     *
+     * @param displayName 显示名称
+     * @param waitStage   记录排队等待时间的阶段
+     */
+    GenerationPriority(String displayName, DocStage waitStage) {
+        this.displayName = displayName;
+        this.waitStage = waitStage;
+    }
+
+    /**
+     * 获取当前线程的优先级
+     *
+     * @return 优先级，没有绑定时返回 {@link #INTERACTIVE}
+     */
+    public static GenerationPriority current() {
+        GenerationPriority priority = CURRENT.get();
+        return priority != null ? priority : INTERACTIVE;
+    }
+
+    /**
+     * 在当前线程绑定该优先级后执行操作，结束后恢复原来的优先级
+     *
+     * @param action 操作
+     * @param <T>    操作结果类型
+     * @return 操作结果
+     */
+    public <T> T compute(Supplier<T> action) {
+        GenerationPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 获取显示名称
+     *
+     * @return 显示名称
+     */
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    /**
+     * 获取记录排队等待时间的阶段
+     *
+     * @return 阶段
+     */
+    public DocStage getWaitStage() {
+        return this.waitStage;
+    }
+}
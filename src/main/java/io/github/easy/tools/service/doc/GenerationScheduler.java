@@ -0,0 +1,285 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 所有注释生成共用的AI请求调度器
+ * <p>
+ * AI请求是生成过程中唯一耗时以秒计的步骤，同时进行的请求数量受配置的并发数限制。
+ * 名额不足时请求按优先级排队：交互请求先于预取请求，预取请求先于批量请求；同一优先级内按项目轮流分配，
+ * 同时打开多个项目时每个项目都能得到名额，不会被一个大项目的批量任务占满。
+ * 并发数大于1时保留一个名额给交互请求，批量任务运行中触发的快捷键不需要等待正在进行的批量请求结束。
+ * 各优先级的排队时间记录到 {@link DocMetrics}，排队数量可以通过 {@link #getQueued(GenerationPriority)} 查看。
+ * 排队会阻塞当前线程，请求只能在后台线程中、读操作之外发起，交互请求由 {@link InteractiveGenerationTask} 在后台执行。
+ * </p>
+ */
+public class GenerationScheduler {
+
+    /**
+     * 排队时检查取消状态的间隔（毫秒）
+     */
+    private static final long CANCEL_CHECK_INTERVAL_MS = 100;
+
+    /**
+     * 保护调度状态的锁
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 每个优先级中按项目分组的等待队列，项目按轮转顺序排列
+     */
+    private final Map<GenerationPriority, LinkedHashMap<Project, ArrayDeque<Ticket>>> queues = new EnumMap<>(GenerationPriority.class);
+
+    /**
+     * 正在进行的请求数量
+     */
+    private int running;
+
+    /**
+     * 正在进行的非交互请求数量
+     */
+    private int runningBackground;
+
+    /**
+     * 构造函数
+     */
+    public GenerationScheduler() {
+        for (GenerationPriority priority : GenerationPriority.values()) {
+            this.queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * 获取调度器实例
+     *
+     * @return 调度器的单例实例
+     */
+    public static GenerationScheduler getInstance() {
+        return ApplicationManager.getApplication().getService(GenerationScheduler.class);
+    }
+
+    /**
+     * 取得名额后执行请求，优先级取当前线程绑定的优先级
+     * <p>
+     * 排队期间响应进度指示器的取消操作，取消时抛出 {@link com.intellij.openapi.progress.ProcessCanceledException}。
+     * 排队时其他线程无法取得写锁，EDT也无法响应，因此不能在EDT上或读操作中调用。
+     * </p>
+     *
+     * @param project 发起请求的项目
+     * @param request 请求
+     * @param <T>     请求结果类型
+     * @return 请求结果
+     * @throws IllegalStateException 在EDT上或读操作中调用时抛出
+     */
+    public <T> T execute(Project project, Supplier<T> request) {
+        Application application = ApplicationManager.getApplication();
+        if (application.isDispatchThread() || application.isReadAccessAllowed()) {
+            throw new IllegalStateException("不能在EDT上或读操作中等待AI请求名额");
+        }
+        GenerationPriority priority = GenerationPriority.current();
+        this.acquire(project, priority);
+        try {
+            return request.get();
+        } finally {
+            this.release(priority);
+        }
+    }
+
+    /**
+     * 获取排队中的请求数量
+     *
+     * @param priority 优先级
+     * @return 请求数量
+     */
+    public int getQueued(GenerationPriority priority) {
+        this.lock.lock();
+        try {
+            int queued = 0;
+            for (ArrayDeque<Ticket> queue : this.queues.get(priority).values()) {
+                queued += queue.size();
+            }
+            return queued;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取正在进行的请求数量
+     *
+     * @return 请求数量
+     */
+    public int getRunning() {
+        this.lock.lock();
+        try {
+            return this.running;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取名额，名额不足时排队等待
+     *
+     * @param project  发起请求的项目
+     * @param priority 优先级
+     */
+    private void acquire(Project project, GenerationPriority priority) {
+        long start = System.nanoTime();
+        Ticket ticket = new Ticket(priority, this.lock.newCondition());
+        this.lock.lock();
+        try {
+            this.queues.get(priority).computeIfAbsent(project, key -> new ArrayDeque<>()).add(ticket);
+            this.dispatch();
+            while (!ticket.granted) {
+                try {
+                    ProgressManager.checkCanceled();
+                    ticket.condition.await(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.abandon(project, ticket);
+                    throw new IllegalStateException("等待AI请求名额时被中断", e);
+                } catch (RuntimeException e) {
+                    this.abandon(project, ticket);
+                    throw e;
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        DocMetrics.getInstance().recordSince(priority.getWaitStage(), start);
+    }
+
+    /**
+     * 归还名额并分配给下一个排队的请求
+     *
+     * @param priority 请求的优先级
+     */
+    private void release(GenerationPriority priority) {
+        this.lock.lock();
+        try {
+            this.running--;
+            if (priority != GenerationPriority.INTERACTIVE) {
+                this.runningBackground--;
+            }
+            this.dispatch();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 放弃排队：还在队列中时移除，已经分配了名额时归还
+     *
+     * @param project 发起请求的项目
+     * @param ticket  排队凭证
+     */
+    private void abandon(Project project, Ticket ticket) {
+        if (ticket.granted) {
+            this.release(ticket.priority);
+            return;
+        }
+        Map<Project, ArrayDeque<Ticket>> byProject = this.queues.get(ticket.priority);
+        ArrayDeque<Ticket> queue = byProject.get(project);
+        if (queue != null && queue.remove(ticket) && queue.isEmpty()) {
+            byProject.remove(project);
+        }
+    }
+
+    /**
+     * 按优先级和项目轮转把空闲名额分配给排队的请求，调用方需要持有锁
+     */
+    private void dispatch() {
+        int permits = Math.max(1, DocConfigService.getInstance().getSnapshot().getAiConcurrency());
+        // 并发数大于1时，非交互请求最多占用 permits - 1 个名额
+        int backgroundPermits = permits > 1 ? permits - 1 : permits;
+        while (this.running < permits) {
+            Ticket next = null;
+            for (GenerationPriority priority : GenerationPriority.values()) {
+                if (priority != GenerationPriority.INTERACTIVE && this.runningBackground >= backgroundPermits) {
+                    break;
+                }
+                next = this.poll(this.queues.get(priority));
+                if (next != null) {
+                    break;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            next.granted = true;
+            this.running++;
+            if (next.priority != GenerationPriority.INTERACTIVE) {
+                this.runningBackground++;
+            }
+            next.condition.signal();
+        }
+    }
+
+    /**
+     * 从轮转顺序中的第一个项目取出请求，并把该项目移到末尾
+     *
+     * @param byProject 按项目分组的等待队列
+     * @return 请求，没有排队的请求时返回null
+     */
+    private Ticket poll(LinkedHashMap<Project, ArrayDeque<Ticket>> byProject) {
+        Iterator<Map.Entry<Project, ArrayDeque<Ticket>>> iterator = byProject.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Map.Entry<Project, ArrayDeque<Ticket>> first = iterator.next();
+        Ticket ticket = first.getValue().poll();
+        iterator.remove();
+        if (!first.getValue().isEmpty()) {
+            byProject.put(first.getKey(), first.getValue());
+        }
+        return ticket;
+    }
+
+    /**
+     * 排队凭证
+     */
+    private static final class Ticket {
+
+        /**
+         * 优先级
+         */
+        private final GenerationPriority priority;
+
+        /**
+         * 分配名额时通知等待线程的条件
+         */
+        private final Condition condition;
+
+        /**
+         * 是否已经分配名额
+         */
+        private boolean granted;
+
+        /**
+         * 构造函数
+         *
+         * @param priority  优先级
+         * @param condition 分配名额时通知等待线程的条件
+         */
+        private Ticket(GenerationPriority priority, Condition condition) {
+            this.priority = priority;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.execution.util.ExecUtil;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.entity.doc.DocTemplate;
+import io.github.easy.tools.entity.doc.GitFileInfo;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文件Git信息服务
+ * <p>
+ * 从本地Git仓库读取文件的原始作者、最后提交人和最后修改时间。结果按仓库当前 HEAD 提交缓存，
+ * HEAD 变化（提交、切换分支、拉取）后才会重新计算。
+ * 调用 git 可能耗时数秒，只在生成任务的后台线程中、读操作之外通过 {@link #prefetch(Collection)} 预先读取，
+ * 并且只有模板用到Git变量时才读取；准备渲染输入时只通过 {@link #getCachedInfo(VirtualFile)} 读取缓存，不会启动 git 进程。
+ * 同一仓库中的多个文件只调用一次 {@code git log --name-only}，单个文件使用 {@code --follow} 跟踪重命名。
+ * </p>
+ */
+public class GitFileInfoService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(GitFileInfoService.class);
+
+    /**
+     * git 命令超时时间（毫秒）
+     */
+    private static final int GIT_TIMEOUT_MS = 10_000;
+
+    /**
+     * HEAD 读取结果的有效期（毫秒），避免同一文件的每个成员都读取 HEAD
+     */
+    private static final long HEAD_TTL_MS = 2_000;
+
+    /**
+     * 字段分隔符
+     */
+    private static final String SEPARATOR = "\u001f";
+
+    /**
+     * 提交信息的格式，以分隔符开头，与 --name-only 输出的文件路径区分
+     */
+    private static final String FORMAT = "--format=" + SEPARATOR + "%an" + SEPARATOR + "%cn" + SEPARATOR + "%cd";
+
+    /**
+     * 提交时间的格式
+     */
+    private static final String DATE_FORMAT = "--date=format:%Y-%m-%d %H:%M:%S";
+
+    /**
+     * 模板中使用的Git变量
+     */
+    private static final Set<String> VARIABLES = Set.of("originalAuthor", "lastCommitter", "lastModified");
+
+    /**
+     * 文件信息缓存，key为文件路径
+     */
+    private final Map<String, CachedInfo> fileCache = new ConcurrentHashMap<>();
+
+    /**
+     * HEAD 缓存，key为仓库根目录
+     */
+    private final Map<String, CachedHead> headCache = new ConcurrentHashMap<>();
+
+    /**
+     * 所属项目
+     */
+    private final Project project;
+
+    /**
+     * 构造函数
+     *
+     * @param project 所属项目
+     */
+    public GitFileInfoService(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 获取项目的Git信息服务
+     *
+     * @param project 项目
+     * @return Git信息服务
+     */
+    public static GitFileInfoService getInstance(Project project) {
+        return project.getService(GitFileInfoService.class);
+    }
+
+    /**
+     * 获取已经缓存的文件Git信息，不启动 git 进程，可以在读操作中调用
+     *
+     * @param file 文件
+     * @return Git信息，没有预先读取、文件不在Git仓库中或尚未提交时返回null
+     */
+    public GitFileInfo getCachedInfo(VirtualFile file) {
+        if (file == null || !file.isInLocalFileSystem()) {
+            return null;
+        }
+        VirtualFile root = this.findRepositoryRoot(file);
+        if (root == null) {
+            return null;
+        }
+        String head = this.readHead(root);
+        CachedInfo cached = this.fileCache.get(file.getPath());
+        if (head != null && cached != null && cached.head.equals(head)) {
+            DocMetrics.getInstance().increment(DocCounter.GIT_CACHE_HIT);
+            return cached.info;
+        }
+        DocMetrics.getInstance().increment(DocCounter.GIT_CACHE_MISS);
+        return null;
+    }
+
+    /**
+     * 模板用到Git变量时，预先读取文件的Git信息
+     * <p>
+     * 调用 git 可能耗时，需要在后台线程中、读操作之外调用；已经按当前 HEAD 缓存的文件不会重新读取。
+     * </p>
+     *
+     * @param files 即将生成注释的文件
+     * @throws IllegalStateException 在EDT上或读操作中调用时抛出
+     */
+    public void prefetch(Collection<VirtualFile> files) {
+        Application application = ApplicationManager.getApplication();
+        if (application.isDispatchThread() || application.isReadAccessAllowed()) {
+            throw new IllegalStateException("不能在EDT上或读操作中调用 git");
+        }
+        DocConfigSnapshot config = DocConfigService.getInstance().getSnapshot();
+        boolean referenced = ReadAction.compute(() -> !this.project.isDisposed()
+                && isReferenced(ProjectTemplateService.getInstance(this.project).getTemplates(config).values(), config));
+        if (!referenced) {
+            return;
+        }
+        // 按仓库分组，只保留没有缓存的文件
+        Map<VirtualFile, String> heads = new HashMap<>();
+        Map<VirtualFile, List<VirtualFile>> pending = new LinkedHashMap<>();
+        for (VirtualFile file : files) {
+            if (file == null || !file.isInLocalFileSystem()) {
+                continue;
+            }
+            VirtualFile root = this.findRepositoryRoot(file);
+            if (root == null) {
+                continue;
+            }
+            String head = heads.computeIfAbsent(root, this::readHead);
+            CachedInfo cached = this.fileCache.get(file.getPath());
+            if (head != null && (cached == null || !cached.head.equals(head))) {
+                pending.computeIfAbsent(root, key -> new ArrayList<>()).add(file);
+            }
+        }
+        pending.forEach((root, rootFiles) -> {
+            String head = heads.get(root);
+            if (rootFiles.size() == 1) {
+                VirtualFile file = rootFiles.get(0);
+                this.fileCache.put(file.getPath(), new CachedInfo(head, this.runGitLog(root, file)));
+                return;
+            }
+            Map<String, GitFileInfo> infos = this.runBatchGitLog(root, rootFiles);
+            for (VirtualFile file : rootFiles) {
+                String path = VfsUtilCore.getRelativePath(file, root, '/');
+                this.fileCache.put(file.getPath(), new CachedInfo(head, infos.get(path)));
+            }
+        });
+    }
+
+    /**
+     * 判断模板或宏库中是否用到Git变量
+     *
+     * @param templates 本次渲染使用的模板
+     * @param config    配置快照
+     * @return 用到任意一个Git变量时返回true
+     */
+    static boolean isReferenced(Collection<DocTemplate> templates, DocConfigSnapshot config) {
+        for (String variable : VARIABLES) {
+            if (config.getMacroLibrary() != null && config.getMacroLibrary().contains(variable)) {
+                return true;
+            }
+            for (DocTemplate template : templates) {
+                if (template != null && template.getContent() != null && template.getContent().contains(variable)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 调用 git log 读取单个文件的提交历史，跟踪文件重命名
+     *
+     * @param root 仓库根目录
+     * @param file 文件
+     * @return Git信息，失败或文件尚未提交时返回null
+     */
+    private GitFileInfo runGitLog(VirtualFile root, VirtualFile file) {
+        List<String> lines = this.execGitLog(root, "--follow", "--", file.getPath());
+        if (lines.isEmpty()) {
+            return null;
+        }
+        // 第一行为最近一次提交，最后一行为首次提交
+        String[] latest = lines.get(0).substring(SEPARATOR.length()).split(SEPARATOR, -1);
+        String[] first = lines.get(lines.size() - 1).substring(SEPARATOR.length()).split(SEPARATOR, -1);
+        if (latest.length < 3 || first.length < 3) {
+            return null;
+        }
+        return new GitFileInfo(first[0], latest[1], latest[2]);
+    }
+
+    /**
+     * 调用一次 git log 读取同一仓库中多个文件的提交历史
+     * <p>
+     * 使用 {@code --name-only} 列出每次提交修改的文件，范围限制在这些文件共同的目录中。
+     * 不跟踪重命名，重命名过的文件的原始作者为重命名后的首次提交人。
+     * </p>
+     *
+     * @param root  仓库根目录
+     * @param files 文件
+     * @return Git信息，key为相对仓库根目录的路径，没有提交记录的文件不包含在结果中
+     */
+    private Map<String, GitFileInfo> runBatchGitLog(VirtualFile root, List<VirtualFile> files) {
+        Set<String> wanted = new HashSet<>();
+        VirtualFile common = null;
+        for (VirtualFile file : files) {
+            wanted.add(VfsUtilCore.getRelativePath(file, root, '/'));
+            common = common == null ? file.getParent() : VfsUtilCore.getCommonAncestor(common, file);
+        }
+        String scope = common != null ? common.getPath() : root.getPath();
+        List<String> lines = this.execGitLog(root, "--name-only", "--", scope);
+
+        Map<String, String[]> latest = new HashMap<>();
+        Map<String, String[]> first = new HashMap<>();
+        String[] commit = null;
+        for (String line : lines) {
+            if (line.startsWith(SEPARATOR)) {
+                commit = line.substring(SEPARATOR.length()).split(SEPARATOR, -1);
+            } else if (commit != null && commit.length >= 3 && wanted.contains(line)) {
+                // 提交按时间倒序输出，第一次出现为最近一次提交，最后一次出现为首次提交
+                latest.putIfAbsent(line, commit);
+                first.put(line, commit);
+            }
+        }
+        Map<String, GitFileInfo> infos = new HashMap<>();
+        latest.forEach((path, last) -> infos.put(path, new GitFileInfo(first.get(path)[0], last[1], last[2])));
+        return infos;
+    }
+
+    /**
+     * 执行 git log 并返回非空的输出行
+     *
+     * @param root      仓库根目录
+     * @param arguments 额外的参数
+     * @return 输出行，失败时返回空列表
+     */
+    private List<String> execGitLog(VirtualFile root, String... arguments) {
+        GeneralCommandLine commandLine = new GeneralCommandLine("git", "-c", "core.quotepath=off", "log", FORMAT, DATE_FORMAT)
+                .withParameters(arguments)
+                .withWorkDirectory(root.getPath())
+                .withCharset(StandardCharsets.UTF_8);
+        try {
+            ProcessOutput output = ExecUtil.execAndGetOutput(commandLine, GIT_TIMEOUT_MS);
+            if (output.getExitCode() != 0 || output.isTimeout()) {
+                LOG.debug("git log failed in " + root.getPath() + ": " + output.getStderr());
+                return List.of();
+            }
+            return output.getStdoutLines(true);
+        } catch (Exception e) {
+            LOG.debug("git log failed in " + root.getPath(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * 向上查找包含 .git 的仓库根目录
+     *
+     * @param file 文件
+     * @return 仓库根目录，找不到时返回null
+     */
+    private VirtualFile findRepositoryRoot(VirtualFile file) {
+        VirtualFile dir = file.isDirectory() ? file : file.getParent();
+        while (dir != null && dir.findChild(".git") == null) {
+            dir = dir.getParent();
+        }
+        return dir;
+    }
+
+    /**
+     * 读取仓库当前 HEAD 指向的提交
+     * <p>
+     * 直接读取 .git 目录下的文件，不启动 git 进程；短时间内重复读取同一仓库时使用缓存。
+     * </p>
+     *
+     * @param root 仓库根目录
+     * @return 提交哈希，读取失败时返回null
+     */
+    private String readHead(VirtualFile root) {
+        long now = System.currentTimeMillis();
+        CachedHead cached = this.headCache.get(root.getPath());
+        if (cached != null && now - cached.readAt < HEAD_TTL_MS) {
+            return cached.head;
+        }
+        String head = null;
+        try {
+            Path gitDir = Path.of(root.getPath(), ".git");
+            if (Files.isRegularFile(gitDir)) {
+                // 工作树或子模块中 .git 是一个指向真实目录的文件
+                String content = Files.readString(gitDir, StandardCharsets.UTF_8).trim();
+                if (content.startsWith("gitdir:")) {
+                    gitDir = gitDir.getParent().resolve(content.substring("gitdir:".length()).trim()).normalize();
+                }
+            }
+            head = this.resolveHead(gitDir);
+        } catch (IOException e) {
+            LOG.debug("failed to read HEAD of " + root.getPath(), e);
+        }
+        if (head != null) {
+            this.headCache.put(root.getPath(), new CachedHead(head, now));
+        }
+        return head;
+    }
+
+    /**
+     * 解析 HEAD 文件，支持分支引用和 packed-refs
+     *
+     * @param gitDir .git 目录
+     * @return 提交哈希，无法解析时返回null
+     * @throws IOException 读取文件失败时抛出
+     */
+    private String resolveHead(Path gitDir) throws IOException {
+        String head = Files.readString(gitDir.resolve("HEAD"), StandardCharsets.UTF_8).trim();
+        if (!head.startsWith("ref:")) {
+            return head;
+        }
+        String ref = head.substring("ref:".length()).trim();
+        Path refFile = gitDir.resolve(ref);
+        if (Files.isRegularFile(refFile)) {
+            return Files.readString(refFile, StandardCharsets.UTF_8).trim();
+        }
+        Path packedRefs = gitDir.resolve("packed-refs");
+        if (Files.isRegularFile(packedRefs)) {
+            for (String line : Files.readAllLines(packedRefs, StandardCharsets.UTF_8)) {
+                if (line.endsWith(" " + ref)) {
+                    return line.substring(0, line.indexOf(' '));
+                }
+            }
+        }
+        // 尚未有任何提交的分支
+        return null;
+    }
+
+    /**
+     * 缓存的文件Git信息
+     */
+    private static final class CachedInfo {
+
+        /**
+         * 计算时的 HEAD 提交
+         */
+        private final String head;
+
+        /**
+         * Git信息，可能为null
+         */
+        private final GitFileInfo info;
+
+        /**
+         * 构造函数
+         *
+         * @param head 计算时的 HEAD 提交
+         * @param info Git信息
+         */
+        private CachedInfo(String head, GitFileInfo info) {
+            this.head = head;
+            this.info = info;
+        }
+    }
+
+    /**
+     * 缓存的 HEAD 提交
+     */
+    private static final class CachedHead {
+
+        /**
+         * HEAD 提交
+         */
+        private final String head;
+
+        /**
+         * 读取时间
+         */
+        private final long readAt;
+
+        /**
+         * 构造函数
+         *
+         * @param head   HEAD 提交
+         * @param readAt 读取时间
+         */
+        private CachedHead(String head, long readAt) {
+            this.head = head;
+            this.readAt = readAt;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 用户在编辑器中触发的注释生成任务
+ * <p>
+ * 快捷键、菜单和快速修复生成的注释可能需要调用AI，等待调度器名额和网络请求都不能在EDT上进行。
+ * 任务在后台先通过非阻塞读操作准备渲染输入，在读操作之外按交互优先级渲染，
+ * 再交给EDT通过智能指针找回元素、每个文件在一次写命令中写入。
+ * 任务可以取消；开启AI时在配置的令牌预算内逐个渲染，预算用完时写入已渲染的元素，跳过剩余文件并提示。
+ * </p>
+ */
+public class InteractiveGenerationTask extends Task.Backgroundable {
+
+    /**
+     * 每个文件中需要生成注释的元素
+     */
+    private final Map<PsiFile, List<SmartPsiElementPointer<PsiElement>>> pointers = new LinkedHashMap<>();
+
+    /**
+     * 本次任务的AI令牌预算
+     */
+    private final TokenBudget budget = TokenBudget.fromConfig(DocConfigService.getInstance().getSnapshot());
+
+    /**
+     * 任务结束后在EDT上执行的回调，可以为null
+     */
+    private final Runnable whenFinished;
+
+    /**
+     * 预算用完时的异常，没有用完时为null
+     */
+    private TokenBudget.ExceededException exceeded;
+
+    /**
+     * 构造函数，为单个文件中的元素生成注释
+     *
+     * @param project  项目
+     * @param file     文件
+     * @param elements 需要生成注释的元素
+     */
+    public InteractiveGenerationTask(Project project, PsiFile file, List<? extends PsiElement> elements) {
+        this(project, Map.of(file, elements), null);
+    }
+
+    /**
+     * 构造函数，需要在读操作中调用
+     *
+     * @param project      项目
+     * @param elements     每个文件中需要生成注释的元素
+     * @param whenFinished 任务结束后在EDT上执行的回调，可以为null
+     */
+    public InteractiveGenerationTask(Project project, Map<PsiFile, ? extends List<? extends PsiElement>> elements, Runnable whenFinished) {
+        super(project, "生成注释", true);
+        this.whenFinished = whenFinished;
+        SmartPointerManager manager = SmartPointerManager.getInstance(project);
+        elements.forEach((file, fileElements) -> {
+            List<SmartPsiElementPointer<PsiElement>> filePointers = new ArrayList<>(fileElements.size());
+            for (PsiElement element : fileElements) {
+                filePointers.add(manager.createSmartPsiElementPointer(element, file));
+            }
+            this.pointers.put(file, filePointers);
+        });
+    }
+
+    /**
+     * 执行生成，同时记录本次运行的墙钟时间
+     *
+     * @param indicator 进度指示器
+     */
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        DocMetrics.getInstance().runStarted();
+        try {
+            this.generateAll(indicator);
+        } finally {
+            DocMetrics.getInstance().runFinished();
+        }
+    }
+
+    /**
+     * 依次准备、渲染并写入每个文件的注释
+     *
+     * @param indicator 进度指示器
+     */
+    private void generateAll(ProgressIndicator indicator) {
+        indicator.setIndeterminate(this.pointers.size() == 1);
+        // 模板用到Git变量时先在读操作之外读取Git信息
+        GitFileInfoService.getInstance(this.myProject).prefetch(this.pointers.keySet().stream()
+                .map(PsiFile::getVirtualFile)
+                .toList());
+        int done = 0;
+        for (Map.Entry<PsiFile, List<SmartPsiElementPointer<PsiElement>>> entry : this.pointers.entrySet()) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) done++ / this.pointers.size());
+            PsiFile file = entry.getKey();
+            indicator.setText2(file.getName());
+            if (!this.generate(file, entry.getValue(), indicator)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 任务结束（包括取消和失败）后执行回调，预算用完时提示
+     */
+    @Override
+    public void onFinished() {
+        if (this.exceeded != null) {
+            Messages.showWarningDialog(this.myProject, this.exceeded.getMessage(), "生成注释");
+        }
+        if (this.whenFinished != null) {
+            this.whenFinished.run();
+        }
+    }
+
+    /**
+     * 为一个文件生成注释
+     *
+     * @param file      文件
+     * @param pointers  需要生成注释的元素
+     * @param indicator 进度指示器
+     * @return 是否继续处理后续文件，预算用完时返回false
+     */
+    private boolean generate(PsiFile file, List<SmartPsiElementPointer<PsiElement>> pointers, ProgressIndicator indicator) {
+        CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(file);
+        // 只有准备阶段持有读锁，有写操作时非阻塞读操作会让出并重新执行
+        List<RenderRequest> requests = ReadAction.nonBlocking(() -> {
+                    if (!file.isValid()) {
+                        return List.<RenderRequest>of();
+                    }
+                    List<PsiElement> elements = pointers.stream()
+                            .map(SmartPsiElementPointer::getElement)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    return strategy.prepare(file, elements);
+                })
+                .inSmartMode(this.myProject)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+        if (requests.isEmpty()) {
+            return true;
+        }
+        Map<RenderRequest, String> docs = GenerationPriority.INTERACTIVE.compute(() -> this.render(strategy, requests));
+        if (docs.isEmpty()) {
+            return this.exceeded == null;
+        }
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            if (file.isValid()) {
+                strategy.apply(file, strategy.restore(docs));
+            }
+        }, ModalityState.defaultModalityState());
+        return this.exceeded == null;
+    }
+
+    /**
+     * 在读操作之外渲染一个文件的输入
+     * <p>
+     * 没有设置预算时一次渲染所有输入；设置了预算时逐个渲染，预算用完时保留已渲染的元素。
+     * </p>
+     *
+     * @param strategy 生成策略
+     * @param requests 渲染输入
+     * @return 渲染结果
+     */
+    private Map<RenderRequest, String> render(CommentGenerationStrategy strategy, List<RenderRequest> requests) {
+        if (this.budget.getLimit() == 0) {
+            return strategy.render(requests);
+        }
+        Map<RenderRequest, String> docs = new LinkedHashMap<>();
+        for (RenderRequest request : requests) {
+            try {
+                docs.putAll(this.budget.compute(() -> strategy.render(List.of(request))));
+            } catch (TokenBudget.ExceededException e) {
+                this.exceeded = e;
+                break;
+            }
+        }
+        return docs;
+    }
+}
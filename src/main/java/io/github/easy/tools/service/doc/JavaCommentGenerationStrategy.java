@@ -1,8 +1,8 @@
 package io.github.easy.tools.service.doc;
 
 import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
@@ -10,18 +10,39 @@ import com.intellij.psi.PsiElementFactory;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaDocumentedElement;
+import com.intellij.psi.PsiMember;
 import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiNamedElement;
 import com.intellij.psi.PsiParameter;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
 import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.psi.javadoc.PsiDocTag;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.entity.doc.DocTemplate;
+import io.github.easy.tools.entity.doc.GitFileInfo;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.entity.doc.ReusableDoc;
 import io.github.easy.tools.entity.doc.TemplateParameter;
+import io.github.easy.tools.service.doc.jfr.DocEvents;
+import io.github.easy.tools.service.doc.jfr.GenerationEvent;
+import io.github.easy.tools.service.doc.jfr.WriteEvent;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.service.doc.metrics.DocStage;
 import io.github.easy.tools.ui.config.DocConfigService;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.context.Context;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Java 注释生成策略，使用 Velocity 模板引擎生成注释。
@@ -32,6 +53,11 @@ import java.util.Map;
  */
 public class JavaCommentGenerationStrategy implements CommentGenerationStrategy {
 
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(JavaCommentGenerationStrategy.class);
+
     /**
      * 文档处理器映射表，用于根据元素类型获取对应的处理器
      */
@@ -46,93 +72,323 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
         docHandlerMap.put("field", new FieldDocHandler());
     }
 
+    /**
+     * 注释合并器，用于合并已有注释并判断内容是否变化
+     */
+    private final DocCommentMerger docCommentMerger = new DocCommentMerger();
+
     /**
      * 为文件生成注释
      * <p>
-     * 遍历文件中的所有元素并为可注释的元素生成注释
+     * 先渲染文件中所有可注释元素的注释，再在一次写命令中统一写入
      * </p>
      *
      * @param file 需要生成注释的文件
      */
     @Override
     public void generate(PsiFile file) {
-        // 遍历文件中的所有元素并生成注释
-        this.generateCommentsRecursively(file, file);
+        GenerationEvent event = GenerationEvent.begin("generate", file, null);
+        try {
+            // 遍历文件中的所有元素并生成注释
+            Map<PsiElement, String> docs = this.render(file, this.collectElements(file));
+            this.apply(file, docs);
+            event.succeed(docs.size());
+        } finally {
+            event.finish();
+        }
     }
 
     /**
-     * 递归遍历元素并生成注释
+     * 为元素生成注释
+     * <p>
+     * 根据元素类型选择合适的处理器生成注释内容，并写入到文件中
+     * </p>
      *
-     * @param file    当前文件
-     * @param element 当前元素
+     * @param file    需要生成注释的文件
+     * @param element 需要生成注释的元素
      */
-    private void generateCommentsRecursively(PsiFile file, PsiElement element) {
-        // 为当前元素生成注释（如果是可注释的元素）
+    @Override
+    public void generate(PsiFile file, PsiElement element) {
+        GenerationEvent event = GenerationEvent.begin("generate", file, element);
+        try {
+            this.apply(file, this.render(file, List.of(element)));
+            event.succeed(1);
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * 收集文件中所有可注释的元素
+     *
+     * @param file 文件
+     * @return 按文件中出现顺序排列的类、方法和字段
+     */
+    @Override
+    public List<PsiElement> collectElements(PsiFile file) {
+        long start = System.nanoTime();
+        List<PsiElement> elements = new ArrayList<>();
+        this.collectElementsRecursively(file, elements);
+        DocMetrics.getInstance().recordSince(DocStage.ENUMERATE, start);
+        return elements;
+    }
+
+    /**
+     * 递归遍历元素并收集可注释的元素
+     *
+     * @param element  当前元素
+     * @param elements 收集结果
+     */
+    private void collectElementsRecursively(PsiElement element, List<PsiElement> elements) {
+        // 收集当前元素（如果是可注释的元素）
         if (element instanceof PsiClass ||
                 element instanceof PsiMethod ||
                 element instanceof PsiField) {
-            this.generate(file, element);
+            elements.add(element);
         }
 
         // 递归处理所有子元素
         for (PsiElement child : element.getChildren()) {
-            this.generateCommentsRecursively(file, child);
+            this.collectElementsRecursively(child, elements);
         }
     }
 
     /**
-     * 为元素生成注释
+     * 渲染元素的注释
      * <p>
-     * 根据元素类型选择合适的处理器生成注释内容，并写入到文件中
+     * 在当前线程中依次准备、渲染并找回元素，不修改文件。渲染可能调用AI，
+     * 批量任务和交互操作应分别调用 {@link #prepare}、{@link #render(List)} 和 {@link #restore}，只在准备阶段持有读锁。
      * </p>
      *
-     * @param file    需要生成注释的文件
-     * @param element 需要生成注释的元素
+     * @param file     文件
+     * @param elements 需要生成注释的元素
+     * @return 元素与注释内容的映射，保持传入顺序
      */
     @Override
-    public void generate(PsiFile file, PsiElement element) {
-        String doc = "";
-        DocHandler handler = null;
-        if (element instanceof PsiClass) {
-            handler = docHandlerMap.get("class");
-        } else if (element instanceof PsiMethod) {
-            handler = docHandlerMap.get("method");
-        } else if (element instanceof PsiField) {
-            handler = docHandlerMap.get("field");
+    public Map<PsiElement, String> render(PsiFile file, List<? extends PsiElement> elements) {
+        DocMetrics.getInstance().runStarted();
+        try {
+            return this.restore(this.render(this.prepare(file, elements)));
+        } finally {
+            DocMetrics.getInstance().runFinished();
+        }
+    }
+
+    /**
+     * 为每个元素准备模板和上下文，需要在读操作中调用
+     *
+     * @param file     文件
+     * @param elements 需要生成注释的元素
+     * @return 渲染输入，保持传入顺序
+     */
+    @Override
+    public List<RenderRequest> prepare(PsiFile file, List<? extends PsiElement> elements) {
+        // 同一批元素使用同一个配置快照，避免中途修改配置导致结果不一致
+        DocConfigSnapshot config = DocConfigService.getInstance().getSnapshot();
+        // 项目模板在每次准备时只查找一次，所有元素共用
+        Map<String, DocTemplate> templates = ProjectTemplateService.getInstance(file.getProject()).getTemplates(config);
+        List<RenderRequest> requests = new ArrayList<>(elements.size());
+        for (PsiElement element : elements) {
+            DocHandler handler = null;
+            if (element instanceof PsiClass) {
+                handler = docHandlerMap.get("class");
+            } else if (element instanceof PsiMethod) {
+                handler = docHandlerMap.get("method");
+            } else if (element instanceof PsiField) {
+                handler = docHandlerMap.get("field");
+            }
+
+            if (handler != null) {
+                requests.add(handler.prepare(file, element, config, templates));
+            }
         }
+        return requests;
+    }
+
+    /**
+     * 渲染准备好的输入，不访问PSI，也不修改文件
+     * <p>
+     * 渲染器支持并发时交给并行渲染阶段，按配置的并行度在多个线程中渲染；否则在当前线程中顺序渲染。
+     * </p>
+     *
+     * @param requests 渲染输入
+     * @return 渲染输入与注释内容的映射，保持传入顺序
+     */
+    @Override
+    public Map<RenderRequest, String> render(List<RenderRequest> requests) {
+        // 整个渲染过程使用同一个渲染器
+        TemplateRenderer renderer = TemplateRendererFactory.getTemplateRenderer();
+        String[] results;
+        if (renderer.isConcurrent()) {
+            int parallelism = DocConfigService.getInstance().getSnapshot().getRenderParallelism();
+            results = TemplateRendererService.getInstance().getRenderStage(parallelism)
+                    .render(requests, request -> renderRequest(renderer, request));
+        } else {
+            // 复用了已有注释的元素只需要填充模板，不调用AI
+            TemplateRenderer velocityRenderer = new VelocityTemplateRenderer(TemplateRendererService.getInstance()::getVelocityTemplateService);
+            results = new String[requests.size()];
+            for (int i = 0; i < results.length; i++) {
+                RenderRequest request = requests.get(i);
+                results[i] = renderRequest(request.getReusedFrom() != null ? velocityRenderer : renderer, request);
+            }
+        }
+
+        Map<RenderRequest, String> docs = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            docs.put(requests.get(i), results[i]);
+        }
+        DocMetrics.getInstance().add(DocCounter.DOCS_RENDERED, docs.size());
+        return docs;
+    }
+
+    /**
+     * 通过智能指针找回渲染输入对应的元素，需要在读操作中调用
+     * <p>
+     * 渲染期间文件可能被修改，已经删除或失效的元素不包含在结果中。
+     * </p>
+     *
+     * @param docs 渲染输入与注释内容的映射
+     * @return 元素与注释内容的映射，保持传入顺序
+     */
+    @Override
+    public Map<PsiElement, String> restore(Map<RenderRequest, String> docs) {
+        Map<PsiElement, String> restored = new LinkedHashMap<>();
+        docs.forEach((request, doc) -> {
+            PsiElement element = request.getPointer().getElement();
+            if (element != null && element.isValid()) {
+                restored.put(element, doc);
+            }
+        });
+        return restored;
+    }
 
-        if (handler != null) {
-            doc = handler.generateDoc(file, element);
+    /**
+     * 渲染单个元素的注释，可能在并行渲染的工作线程中调用，不能访问PSI
+     * <p>
+     * 准备阶段已经确定注释内容时直接返回，不调用渲染器。模板渲染的结果中可能还有变量，
+     * 再由Velocity直接求值一次；每个元素的结果都不同，不进入模板缓存。
+     * </p>
+     *
+     * @param renderer 模板渲染器
+     * @param request  渲染输入
+     * @return 注释内容
+     */
+    private static String renderRequest(TemplateRenderer renderer, RenderRequest request) {
+        if (request.getResolvedDoc() != null) {
+            return request.getResolvedDoc();
         }
+        DocMetrics metrics = DocMetrics.getInstance();
+        long start = System.nanoTime();
+        String content = renderer.render(request);
+        String doc = TemplateRendererService.getInstance().getVelocityTemplateService().evaluate(content, request.getContext());
+        long elapsed = System.nanoTime() - start;
+        metrics.record(DocStage.RENDER, elapsed);
+        metrics.recordElement(elapsed, request::getDisplayName);
+        return doc;
+    }
+
+    /**
+     * 将渲染好的注释写入文件
+     * <p>
+     * 先过滤掉内容没有变化的元素，剩余的修改在一次写命令中完成
+     * </p>
+     *
+     * @param file 文件
+     * @param docs 元素与注释内容的映射
+     */
+    @Override
+    public void apply(PsiFile file, Map<? extends PsiElement, String> docs) {
         Project project = file.getProject();
-        this.writeDoc(project, element, doc);
+        Map<PsiJavaDocumentedElement, String> changes = new LinkedHashMap<>();
+        docs.forEach((element, doc) -> {
+            String content = this.resolveDoc(project, element, doc);
+            if (content != null) {
+                changes.put((PsiJavaDocumentedElement) element, content);
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        WriteEvent event = WriteEvent.begin("write", file, changes.size());
+        try {
+            WriteCommandAction.runWriteCommandAction(project, () ->
+                    changes.forEach((element, content) -> this.writeDoc(project, element, content)));
+            event.succeed();
+        } finally {
+            event.finish();
+        }
+        DocMetrics.getInstance().recordSince(DocStage.WRITE, start);
+        DocMetrics.getInstance().add(DocCounter.DOCS_WRITTEN, changes.size());
+    }
+
+    /**
+     * 计算写入时元素的最终注释
+     *
+     * @param file    文件
+     * @param element 元素
+     * @param doc     渲染好的注释内容
+     * @return 最终注释内容，无需写入时返回null
+     */
+    @Override
+    public String resolve(PsiFile file, PsiElement element, String doc) {
+        return this.resolveDoc(file.getProject(), element, doc);
+    }
+
+    /**
+     * 计算最终需要写入的注释内容
+     * <p>
+     * 元素已有注释时，合并模式下保留原有描述并只补充缺失的标签；
+     * 最终内容与已有注释一致时返回null，避免无意义的PSI修改和格式化。
+     * </p>
+     *
+     * @param project    项目实例
+     * @param element    目标元素
+     * @param docContent 新生成的注释内容
+     * @return 需要写入的注释内容，无需写入时返回null
+     */
+    private String resolveDoc(Project project, PsiElement element, String docContent) {
+        if (!(element instanceof PsiJavaDocumentedElement psiJavaDocumentedElement) || docContent == null || docContent.isBlank()) {
+            return null;
+        }
+        PsiDocComment docComment = psiJavaDocumentedElement.getDocComment();
+        if (docComment == null) {
+            return docContent;
+        }
+        String content = docContent;
+        try {
+            if (DocConfigService.getInstance().getSnapshot().isMergeMode()) {
+                PsiDocComment generated = JavaPsiFacade.getElementFactory(project).createDocCommentFromText(docContent);
+                content = this.docCommentMerger.merge(psiJavaDocumentedElement, docComment, generated);
+            }
+        } catch (Exception e) {
+            // 合并失败时使用新生成的注释
+            LOG.warn("合并注释失败: " + describe(element), e);
+            content = docContent;
+        }
+        return this.docCommentMerger.isSameContent(docComment.getText(), content) ? null : content;
     }
 
     /**
-     * 将生成的注释写入到元素中
+     * 将注释写入到元素中，需要在写命令中调用
      *
      * @param project    项目实例
      * @param element    目标元素
      * @param docContent 注释内容
      */
-    private void writeDoc(Project project, PsiElement element, String docContent) {
-        WriteCommandAction.runWriteCommandAction(project, () -> {
-            try {
-                PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(project);
-                if (element instanceof PsiJavaDocumentedElement psiJavaDocumentedElement) {
-                    PsiDocComment docCommentFromText = elementFactory.createDocCommentFromText(docContent);
-                    PsiDocComment docComment = psiJavaDocumentedElement.getDocComment();
-                    if (docComment != null) {
-                        docComment.replace(docCommentFromText);
-                    } else {
-                        psiJavaDocumentedElement.addBefore(docCommentFromText, psiJavaDocumentedElement.getFirstChild());
-                    }
-                }
-            } catch (Exception e) {
-                // 使用消息进行提示
-                e.printStackTrace();
+    private void writeDoc(Project project, PsiJavaDocumentedElement element, String docContent) {
+        try {
+            PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(project);
+            PsiDocComment docCommentFromText = elementFactory.createDocCommentFromText(docContent);
+            PsiDocComment docComment = element.getDocComment();
+            if (docComment != null) {
+                docComment.replace(docCommentFromText);
+            } else {
+                element.addBefore(docCommentFromText, element.getFirstChild());
             }
-        });
+        } catch (Exception e) {
+            LOG.warn("写入注释失败: " + describe(element), e);
+        }
     }
 
     /**
@@ -145,11 +401,22 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
      */
     @Override
     public void remove(PsiFile file) {
-        // 实现删除文件中所有注释的逻辑
-        WriteCommandAction.runWriteCommandAction(file.getProject(), () -> {
-            // 递归遍历所有元素并删除注释
-            this.removeCommentsRecursively(file);
-        });
+        long start = System.nanoTime();
+        GenerationEvent event = GenerationEvent.begin("remove", file, null);
+        WriteEvent writeEvent = WriteEvent.begin("remove", file, -1);
+        try {
+            // 实现删除文件中所有注释的逻辑
+            WriteCommandAction.runWriteCommandAction(file.getProject(), () -> {
+                // 递归遍历所有元素并删除注释
+                this.removeCommentsRecursively(file);
+            });
+            writeEvent.succeed();
+            event.succeed(-1);
+        } finally {
+            writeEvent.finish();
+            event.finish();
+        }
+        DocMetrics.getInstance().recordSince(DocStage.WRITE, start);
     }
 
     /**
@@ -182,35 +449,119 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
      */
     @Override
     public void remove(PsiFile file, PsiElement element) {
-        // 实现删除特定元素注释的逻辑
+        GenerationEvent event = GenerationEvent.begin("remove", file, element);
+        WriteEvent writeEvent = WriteEvent.begin("remove", file, 1);
+        try {
+            // 实现删除特定元素注释的逻辑
+            WriteCommandAction.runWriteCommandAction(file.getProject(), () -> {
+                if (element instanceof PsiJavaDocumentedElement psiJavaDocumentedElement) {
+                    PsiDocComment docComment = psiJavaDocumentedElement.getDocComment();
+                    if (docComment != null) {
+                        docComment.delete();
+                    }
+                } else {
+                    element.delete();
+                }
+            });
+            writeEvent.succeed();
+            event.succeed(1);
+        } finally {
+            writeEvent.finish();
+            event.finish();
+        }
+    }
+
+    /**
+     * 删除多个元素的注释
+     * <p>
+     * 所有删除在一次写命令中完成，元素本身是文档注释时直接删除
+     * </p>
+     *
+     * @param file     需要删除注释的文件
+     * @param elements 需要删除注释的元素
+     */
+    @Override
+    public void remove(PsiFile file, List<? extends PsiElement> elements) {
+        long start = System.nanoTime();
+        GenerationEvent event = GenerationEvent.begin("remove", file, null);
+        WriteEvent writeEvent = WriteEvent.begin("remove", file, elements.size());
+        try {
+            this.removeElements(file, elements);
+            writeEvent.succeed();
+            event.succeed(elements.size());
+        } finally {
+            writeEvent.finish();
+            event.finish();
+        }
+        DocMetrics.getInstance().recordSince(DocStage.WRITE, start);
+    }
+
+    /**
+     * 在一次写命令中删除多个元素的注释
+     *
+     * @param file     文件
+     * @param elements 需要删除注释的元素
+     */
+    private void removeElements(PsiFile file, List<? extends PsiElement> elements) {
         WriteCommandAction.runWriteCommandAction(file.getProject(), () -> {
-            if (element instanceof PsiJavaDocumentedElement psiJavaDocumentedElement) {
-                PsiDocComment docComment = psiJavaDocumentedElement.getDocComment();
+            for (PsiElement element : elements) {
+                if (!element.isValid()) {
+                    continue;
+                }
+                PsiDocComment docComment = null;
+                if (element instanceof PsiJavaDocumentedElement psiJavaDocumentedElement) {
+                    docComment = psiJavaDocumentedElement.getDocComment();
+                } else if (element instanceof PsiDocComment comment) {
+                    docComment = comment;
+                }
                 if (docComment != null) {
                     docComment.delete();
                 }
-            } else {
-                element.delete();
             }
         });
     }
 
+    /**
+     * 获取元素的描述，用于日志和指标
+     *
+     * @param element 元素
+     * @return 文件名和元素名称
+     */
+    private static String describe(PsiElement element) {
+        PsiFile file = element.getContainingFile();
+        String name = element instanceof PsiNamedElement named ? named.getName() : element.getClass().getSimpleName();
+        return (file != null ? file.getName() : "?") + "#" + name;
+    }
+
+    /**
+     * 创建元素的智能指针，渲染结束后用它找回元素
+     *
+     * @param file    文件
+     * @param element 元素
+     * @return 智能指针
+     */
+    private static SmartPsiElementPointer<PsiElement> pointerOf(PsiFile file, PsiElement element) {
+        return SmartPointerManager.getInstance(file.getProject()).createSmartPsiElementPointer(element, file);
+    }
+
     // 内部接口：文档处理器
 
     /**
-     * 文档处理器接口，定义了文档生成的方法
+     * 文档处理器接口，定义了准备文档渲染输入的方法
      *
      * @param <P> 处理的元素类型
      */
     private interface DocHandler<P extends PsiElement> {
         /**
-         * 生成元素的文档
+         * 准备元素的渲染输入，需要在读操作中调用
          *
-         * @param file    文件
-         * @param element 元素
-         * @return 生成的文档内容
+         * @param file      文件
+         * @param element   元素
+         * @param config    配置快照
+         * @param templates 本次渲染使用的模板，key为模板类型
+         * @return 渲染输入
          */
-        String generateDoc(PsiFile file, P element);
+        RenderRequest prepare(PsiFile file, P element, DocConfigSnapshot config, Map<String, DocTemplate> templates);
     }
 
     /**
@@ -221,55 +572,128 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
     private static abstract class AbstractDocHandler<P extends PsiElement> implements DocHandler<P> {
 
         /**
-         * 模板渲染服务实例，用于渲染模板
+         * 准备元素的渲染输入
+         * <p>
+         * 获取模板参数（基础 + 自定义 + 特定元素参数）创建上下文，并选择模板，之后的渲染不再访问PSI。
+         * 项目中有足够相似的已注释成员时，用它的描述和参数说明覆盖上下文中的对应参数。
+         * 可以直接继承父元素的注释时不创建上下文，渲染时跳过该元素。
+         * </p>
+         *
+         * @param file      文件
+         * @param element   元素
+         * @param config    配置快照
+         * @param templates 本次渲染使用的模板，key为模板类型
+         * @return 渲染输入
+         */
+        @Override
+        public RenderRequest prepare(PsiFile file, P element, DocConfigSnapshot config, Map<String, DocTemplate> templates) {
+            long start = System.nanoTime();
+            String inherited = this.inheritDoc(element, config);
+            if (inherited != null) {
+                DocMetrics.getInstance().increment(DocCounter.DOCS_INHERITED);
+                DocMetrics.getInstance().recordSince(DocStage.CONTEXT, start);
+                return new RenderRequest(pointerOf(file, element), describe(element), DocEvents.fileOf(file),
+                        DocEvents.kindOf(element), null, null, null, null, inherited);
+            }
+            VelocityContext context = this.createContext(file, element, config);
+            DocTemplate template = this.selectTemplate(element, templates);
+            ReusableDoc reusable = this.findReusable(file, element, config);
+            if (reusable != null) {
+                this.applyReusable(context, reusable);
+                DocMetrics.getInstance().increment(DocCounter.DOCS_REUSED);
+            }
+            // 只有需要调用AI时才读取源代码，复用已有注释时只使用Velocity渲染
+            String sourceText = config.isAiAvailable() && reusable == null ? element.getText() : null;
+            DocMetrics.getInstance().recordSince(DocStage.CONTEXT, start);
+            return new RenderRequest(pointerOf(file, element), describe(element), DocEvents.fileOf(file),
+                    DocEvents.kindOf(element), sourceText, template, context, reusable != null ? reusable.getSource() : null, null);
+        }
+
+        /**
+         * 获取从父元素继承的注释，默认不继承
+         *
+         * @param element 元素
+         * @param config  配置快照
+         * @return 继承的注释内容，需要正常渲染时返回null
          */
-        protected final TemplateRenderer templateRenderer = TemplateRendererFactory.getTemplateRenderer();
+        protected String inheritDoc(P element, DocConfigSnapshot config) {
+            return null;
+        }
 
         /**
-         * 生成元素的文档
+         * 查找可以复用的已有注释
          * <p>
-         * 获取模板参数并创建上下文，然后调用具体实现生成文档内容
+         * 只为还没有注释的方法和字段查找，配置的阈值为0时不查找。
          * </p>
          *
          * @param file    文件
          * @param element 元素
-         * @return 生成的文档内容
+         * @param config  配置快照
+         * @return 相似成员的注释，没有时返回null
          */
-        @Override
-        public String generateDoc(PsiFile file, P element) {
-            // 1. 获取模板参数（基础 + 自定义 + 特定元素参数）
-            Context context = this.createContext(file, element);
-            return this.templateRenderer.render(this.doGenerateDoc(file, element, context), context, element);
+        private ReusableDoc findReusable(PsiFile file, P element, DocConfigSnapshot config) {
+            if (config.getSimilarityThreshold() <= 0
+                    || !(element instanceof PsiMethod || element instanceof PsiField)
+                    || ((PsiMember) element).getDocComment() != null) {
+                return null;
+            }
+            MinHashIndex.Match<ReusableDoc> match = DocSimilarityService.getInstance(file.getProject())
+                    .findSimilar((PsiMember) element, config.getSimilarityThreshold());
+            if (match == null) {
+                return null;
+            }
+            LOG.debug("复用相似成员的注释: " + describe(element) + " <- " + match.getValue().getSource()
+                    + ", similarity=" + match.getSimilarity());
+            return match.getValue();
         }
 
         /**
-         * 执行具体的文档生成
+         * 用已有注释覆盖上下文中的描述和同名参数的说明
          *
-         * @param file    文件
-         * @param element 元素
-         * @param context 上下文
-         * @return 模板内容
+         * @param context  Velocity上下文
+         * @param reusable 可复用的注释
          */
-        protected abstract String doGenerateDoc(PsiFile file, P element, Context context);
+        @SuppressWarnings("unchecked")
+        private void applyReusable(VelocityContext context, ReusableDoc reusable) {
+            context.put("description", reusable.getDescription());
+            if (context.get("parameters") instanceof List<?> parameters) {
+                for (Map<String, String> parameter : (List<Map<String, String>>) parameters) {
+                    String description = reusable.getParameters().get(parameter.get("name"));
+                    if (description != null) {
+                        parameter.put("description", description);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 选择元素使用的模板
+         *
+         * @param element   元素
+         * @param templates 本次渲染使用的模板，key为模板类型
+         * @return 模板
+         */
+        protected abstract DocTemplate selectTemplate(P element, Map<String, DocTemplate> templates);
 
         /**
          * 构建 Velocity 上下文
          *
          * @param file    文件
          * @param element 元素
+         * @param config  配置快照
          * @return Velocity上下文
          */
-        private Context createContext(PsiFile file, P element) {
+        private VelocityContext createContext(PsiFile file, P element, DocConfigSnapshot config) {
             VelocityContext context = new VelocityContext();
 
             // 添加基础参数到上下文
             this.addBaseParameters(context, file);
 
             // 添加自定义参数到上下文
-            this.addCustomParameters(context);
+            this.addCustomParameters(context, config);
 
             // 添加特定元素参数到上下文
-            this.addElementSpecificParameters(context, element);
+            this.addElementSpecificParameters(context, element, config);
 
             return context;
         }
@@ -291,12 +715,10 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
          * 添加自定义参数到上下文
          *
          * @param context Velocity上下文
+         * @param config  配置快照
          */
-        private void addCustomParameters(VelocityContext context) {
-            List<TemplateParameter> customParameters = this.getCustomParameters();
-            for (TemplateParameter param : customParameters) {
-                context.put(param.getName(), param.getValue());
-            }
+        private void addCustomParameters(VelocityContext context, DocConfigSnapshot config) {
+            config.getCustomParameters().forEach(context::put);
         }
 
         /**
@@ -304,8 +726,9 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
          *
          * @param context Velocity上下文
          * @param element 当前处理的元素
+         * @param config  配置快照
          */
-        protected abstract void addElementSpecificParameters(VelocityContext context, P element);
+        protected abstract void addElementSpecificParameters(VelocityContext context, P element, DocConfigSnapshot config);
 
         /**
          * 获取基础参数列表
@@ -315,81 +738,35 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
          */
         private List<TemplateParameter> getBaseParameters(PsiFile file) {
             List<TemplateParameter> baseParameters = DocConfigService.getInstance().getBaseParameters();
-            // 替换version
-            baseParameters.stream()
-                    .filter(param -> param.getName().equals("version"))
-                    .findFirst()
-                    .ifPresent(param -> {
-                        String version = this.getProjectVersion(file);
-                        param.setValue(version);
-                    });
-            return baseParameters;
-        }
-
-        /**
-         * 获取项目版本号
-         *
-         * @param file 当前文件
-         * @return 项目版本号
-         */
-        private String getProjectVersion(PsiFile file) {
-            String version = "1.0.0";
-            try {
-                // 获取项目根目录
-                Project project = file.getProject();
-                // 修改为通过文件路径向上查找项目根目录
-                VirtualFile projectDir = file.getVirtualFile().getParent();
-                while (projectDir != null && projectDir.findChild("pom.xml") == null) {
-                    projectDir = projectDir.getParent();
-                }
-                if (projectDir != null) {
-                    // 查找 pom.xml 文件
-                    VirtualFile pomFile = projectDir.findChild("pom.xml");
-                    if (pomFile != null && pomFile.exists()) {
-                        // 解析 pom.xml 文件获取版本号
-                        String pomContent = new String(pomFile.contentsToByteArray());
-                        version = this.extractVersionFromPom(pomContent);
+            // 替换version和Git变量；Git信息由生成任务在读操作之外预先读取，这里只读缓存，不调用git
+            GitFileInfo gitInfo = GitFileInfoService.getInstance(file.getProject()).getCachedInfo(file.getVirtualFile());
+            for (TemplateParameter param : baseParameters) {
+                switch (param.getName()) {
+                    case "version" -> {
+                        long start = System.nanoTime();
+                        param.setValue(ProjectVersionResolver.getInstance().getProjectVersion(file));
+                        DocMetrics.getInstance().recordSince(DocStage.VERSION, start);
                     }
-                }
-            } catch (Exception e) {
-                // 如果出现异常，使用默认版本号
-            }
-            return version;
-        }
-
-        /**
-         * 从 pom.xml 内容中提取版本号
-         *
-         * @param pomContent pom.xml 文件内容
-         * @return 版本号
-         */
-        private String extractVersionFromPom(String pomContent) {
-            String version = "1.0.0";
-            try {
-                // 简单的 XML 解析，提取 <version> 标签内容
-                int versionStart = pomContent.indexOf("<version>");
-                if (versionStart != -1) {
-                    int versionEnd = pomContent.indexOf("</version>", versionStart);
-                    if (versionEnd != -1) {
-                        version = pomContent.substring(
-                                versionStart + "<version>".length(),
-                                versionEnd
-                        ).trim();
+                    case "originalAuthor" -> {
+                        if (gitInfo != null) {
+                            param.setValue(gitInfo.getOriginalAuthor());
+                        }
+                    }
+                    case "lastCommitter" -> {
+                        if (gitInfo != null) {
+                            param.setValue(gitInfo.getLastCommitter());
+                        }
+                    }
+                    case "lastModified" -> {
+                        if (gitInfo != null) {
+                            param.setValue(gitInfo.getLastModified());
+                        }
+                    }
+                    default -> {
                     }
                 }
-            } catch (Exception e) {
-                // 如果解析失败，使用默认版本号
             }
-            return version;
-        }
-
-        /**
-         * 获取用户自定义参数列表
-         *
-         * @return 自定义参数列表
-         */
-        private List<TemplateParameter> getCustomParameters() {
-            return DocConfigService.getInstance().customParameters;
+            return baseParameters;
         }
     }
 
@@ -400,17 +777,15 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
     private static class ClassDocHandler extends AbstractDocHandler<PsiClass> {
 
         /**
-         * 执行类文档生成
+         * 选择类模板，项目中提供了类模板文件时优先使用
          *
-         * @param file    文件
-         * @param element 类元素
-         * @param context 上下文
-         * @return 类模板内容
+         * @param element   类元素
+         * @param templates 本次渲染使用的模板
+         * @return 类模板
          */
         @Override
-        protected String doGenerateDoc(PsiFile file, PsiClass element, Context context) {
-            DocConfigService cfg = DocConfigService.getInstance();
-            return this.templateRenderer.render(cfg.classTemplate, context, element);
+        protected DocTemplate selectTemplate(PsiClass element, Map<String, DocTemplate> templates) {
+            return templates.get("class");
         }
 
         /**
@@ -418,10 +793,11 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
          *
          * @param context Velocity上下文
          * @param element 类元素
+         * @param config  配置快照
          */
         @Override
-        protected void addElementSpecificParameters(VelocityContext context, PsiClass element) {
-            context.put("description", element.getName());
+        protected void addElementSpecificParameters(VelocityContext context, PsiClass element, DocConfigSnapshot config) {
+            context.put("description", DescriptionGenerator.of(config.getDescriptionLanguage()).describeClass(element.getName()));
             context.put("since", "1.0.0");
         }
     }
@@ -432,17 +808,131 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
     private static class MethodDocHandler extends AbstractDocHandler<PsiMethod> {
 
         /**
-         * 执行方法文档生成
+         * 继承父方法注释时生成的注释
+         */
+        private static final String INHERIT_DOC_COMMENT = """
+                /**
+                 * {@inheritDoc}
+                 */
+                """;
+
+        /**
+         * 重写方法没有注释、父方法（包括带源码的JDK和依赖库中的方法）已有注释时，
+         * 按配置生成 {@code {@inheritDoc}} 或复制父方法的注释
          *
-         * @param file    文件
          * @param element 方法元素
-         * @param context 上下文
-         * @return 方法模板内容
+         * @param config  配置快照
+         * @return 继承的注释内容，需要正常渲染时返回null
          */
         @Override
-        protected String doGenerateDoc(PsiFile file, PsiMethod element, Context context) {
-            DocConfigService cfg = DocConfigService.getInstance();
-            return this.templateRenderer.render(cfg.methodTemplate, context, element);
+        protected String inheritDoc(PsiMethod element, DocConfigSnapshot config) {
+            String mode = config.getInheritDocMode();
+            if (mode == null || DocConfigService.INHERIT_DOC_OFF.equals(mode)
+                    || element.isConstructor() || element.getDocComment() != null) {
+                return null;
+            }
+            PsiMethod superMethod = findDocumentedSuperMethod(element);
+            if (superMethod == null) {
+                return null;
+            }
+            return DocConfigService.INHERIT_DOC_COPY.equals(mode) ? copyDoc(superMethod, element) : INHERIT_DOC_COMMENT;
+        }
+
+        /**
+         * 按继承层次由近到远查找已有注释的父方法
+         * <p>
+         * 编译后的库方法使用其源码中的方法（附带源码时），没有源码时视为没有注释。
+         * </p>
+         *
+         * @param method 方法
+         * @return 已有注释的父方法（源码中的方法），没有时返回null
+         */
+        private static PsiMethod findDocumentedSuperMethod(PsiMethod method) {
+            Deque<PsiMethod> queue = new ArrayDeque<>(Arrays.asList(method.findSuperMethods()));
+            Set<PsiMethod> visited = new HashSet<>();
+            while (!queue.isEmpty()) {
+                PsiMethod superMethod = queue.poll();
+                if (!visited.add(superMethod)) {
+                    continue;
+                }
+                PsiMethod source = superMethod.getNavigationElement() instanceof PsiMethod navigation ? navigation : superMethod;
+                if (source.getDocComment() != null) {
+                    return source;
+                }
+                queue.addAll(Arrays.asList(superMethod.findSuperMethods()));
+            }
+            return null;
+        }
+
+        /**
+         * 复制父方法的注释，参数名不同时按位置改为重写方法的参数名，并统一每行的缩进
+         *
+         * @param superMethod 已有注释的父方法
+         * @param method      重写方法
+         * @return 注释内容
+         */
+        private static String copyDoc(PsiMethod superMethod, PsiMethod method) {
+            PsiDocComment docComment = superMethod.getDocComment();
+            PsiParameter[] superParameters = superMethod.getParameterList().getParameters();
+            PsiParameter[] parameters = method.getParameterList().getParameters();
+            Map<PsiElement, String> renames = new HashMap<>();
+            for (PsiDocTag tag : docComment.findTagsByName("param")) {
+                PsiElement value = tag.getValueElement();
+                if (value == null) {
+                    continue;
+                }
+                for (int i = 0; i < superParameters.length && i < parameters.length; i++) {
+                    if (superParameters[i].getName().equals(value.getText())
+                            && !superParameters[i].getName().equals(parameters[i].getName())) {
+                        renames.put(value, parameters[i].getName());
+                        break;
+                    }
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            appendText(docComment, renames, text);
+
+            StringBuilder doc = new StringBuilder();
+            for (String line : text.toString().split("\n")) {
+                String trimmed = line.strip();
+                if (doc.length() > 0) {
+                    doc.append('\n').append(trimmed.startsWith("*") ? " " : "");
+                }
+                doc.append(trimmed);
+            }
+            return doc.append('\n').toString();
+        }
+
+        /**
+         * 拼接元素的文本，替换指定的子元素
+         *
+         * @param element 元素
+         * @param renames 需要替换的子元素及其新文本
+         * @param text    拼接结果
+         */
+        private static void appendText(PsiElement element, Map<PsiElement, String> renames, StringBuilder text) {
+            String rename = renames.get(element);
+            if (rename != null) {
+                text.append(rename);
+            } else if (element.getFirstChild() == null) {
+                text.append(element.getText());
+            } else {
+                for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    appendText(child, renames, text);
+                }
+            }
+        }
+
+        /**
+         * 选择方法模板，项目中提供了方法模板文件时优先使用
+         *
+         * @param element   方法元素
+         * @param templates 本次渲染使用的模板
+         * @return 方法模板
+         */
+        @Override
+        protected DocTemplate selectTemplate(PsiMethod element, Map<String, DocTemplate> templates) {
+            return templates.get("method");
         }
 
         /**
@@ -450,23 +940,29 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
          *
          * @param context Velocity上下文
          * @param element 方法元素
+         * @param config  配置快照
          */
         @Override
-        protected void addElementSpecificParameters(VelocityContext context, PsiMethod element) {
-            context.put("description", element.getName() + " method");
+        protected void addElementSpecificParameters(VelocityContext context, PsiMethod element, DocConfigSnapshot config) {
             // 添加方法返回值类型
-            if (element.getReturnType() != null) {
-                context.put("returnType", element.getReturnType().getPresentableText());
+            String returnType = element.getReturnType() != null ? element.getReturnType().getPresentableText() : null;
+            if (returnType != null) {
+                context.put("returnType", returnType);
             }
             // 添加方法参数信息
             List<Map<String, String>> parameters = new ArrayList<>();
+            List<String> parameterTypes = new ArrayList<>();
             for (PsiParameter parameter : element.getParameterList().getParameters()) {
                 Map<String, String> param = new HashMap<>();
+                String type = parameter.getType().getPresentableText();
                 param.put("name", parameter.getName());
-                param.put("description", parameter.getType().getPresentableText());
+                param.put("description", type);
                 parameters.add(param);
+                parameterTypes.add(type);
             }
             context.put("parameters", parameters);
+            context.put("description", DescriptionGenerator.of(config.getDescriptionLanguage())
+                    .describeMethod(element.getName(), returnType, parameterTypes, element.isConstructor()));
 
             // 添加方法抛出的异常信息
             List<String> exceptions = new ArrayList<>();
@@ -483,17 +979,15 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
     private static class FieldDocHandler extends AbstractDocHandler<PsiField> {
 
         /**
-         * 执行字段文档生成
+         * 选择字段模板，项目中提供了字段模板文件时优先使用
          *
-         * @param file    文件
-         * @param element 字段元素
-         * @param context 上下文
-         * @return 字段模板内容
+         * @param element   字段元素
+         * @param templates 本次渲染使用的模板
+         * @return 字段模板
          */
         @Override
-        protected String doGenerateDoc(PsiFile file, PsiField element, Context context) {
-            DocConfigService cfg = DocConfigService.getInstance();
-            return this.templateRenderer.render(cfg.fieldTemplate, context, element);
+        protected DocTemplate selectTemplate(PsiField element, Map<String, DocTemplate> templates) {
+            return templates.get("field");
         }
 
         /**
@@ -501,10 +995,13 @@ public class JavaCommentGenerationStrategy implements CommentGenerationStrategy
          *
          * @param context Velocity上下文
          * @param element 字段元素
+         * @param config  配置快照
          */
         @Override
-        protected void addElementSpecificParameters(VelocityContext context, PsiField element) {
+        protected void addElementSpecificParameters(VelocityContext context, PsiField element, DocConfigSnapshot config) {
             context.put("fieldName", element.getName());
+            context.put("description", DescriptionGenerator.of(config.getDescriptionLanguage())
+                    .describeField(element.getName(), element.getType().getPresentableText()));
         }
     }
 }
@@ -0,0 +1,339 @@
+package io.github.easy.tools.service.doc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于 MinHash 和 LSH 的相似度索引
+ * <p>
+ * 每个条目由一组词元表示，相邻的 {@value #SHINGLE_SIZE} 个词元组成一个分片，
+ * 用 {@value #HASHES} 个哈希函数计算分片集合的 MinHash 签名，签名中相等的位置比例即 Jaccard 相似度的估计值。
+ * 签名按 {@value #BANDS} 个带分桶，查询时只比较至少有一个带完全相同的候选条目，不需要遍历整个索引。
+ * 条目按分组添加和移除（例如同一个文件中的成员），所有方法都是线程安全的。
+ * </p>
+ *
+ * @param <T> 条目携带的值类型
+ */
+public class MinHashIndex<T> {
+
+    /**
+     * 签名长度（哈希函数数量）
+     */
+    static final int HASHES = 64;
+
+    /**
+     * 带的数量，每个带包含 HASHES / BANDS 个哈希值
+     */
+    static final int BANDS = 16;
+
+    /**
+     * 每个带的行数
+     */
+    private static final int ROWS = HASHES / BANDS;
+
+    /**
+     * 分片包含的词元数量
+     */
+    static final int SHINGLE_SIZE = 3;
+
+    /**
+     * 各哈希函数的种子
+     */
+    private static final int[] SEEDS = new int[HASHES];
+
+    static {
+        int seed = 0x2545F491;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B9);
+            SEEDS[i] = seed;
+        }
+    }
+
+    /**
+     * 条目，下标即条目编号
+     */
+    private final List<Entry<T>> entries = new ArrayList<>();
+
+    /**
+     * 空闲的条目编号
+     */
+    private final List<Integer> freeIds = new ArrayList<>();
+
+    /**
+     * 分组包含的条目编号
+     */
+    private final Map<Object, List<Integer>> groups = new HashMap<>();
+
+    /**
+     * 分桶，key为带的下标和带内哈希值
+     */
+    private final Map<Long, List<Integer>> buckets = new HashMap<>();
+
+    /**
+     * 添加条目
+     *
+     * @param group  所属分组
+     * @param tokens 词元
+     * @param value  条目的值
+     * @return 词元为空无法添加时返回false
+     */
+    public synchronized boolean add(Object group, List<String> tokens, T value) {
+        int[] signature = signature(tokens);
+        if (signature == null) {
+            return false;
+        }
+        Entry<T> entry = new Entry<>(signature, value);
+        int id;
+        if (this.freeIds.isEmpty()) {
+            id = this.entries.size();
+            this.entries.add(entry);
+        } else {
+            id = this.freeIds.remove(this.freeIds.size() - 1);
+            this.entries.set(id, entry);
+        }
+        this.groups.computeIfAbsent(group, key -> new ArrayList<>()).add(id);
+        for (int band = 0; band < BANDS; band++) {
+            this.buckets.computeIfAbsent(bucketKey(signature, band), key -> new ArrayList<>(1)).add(id);
+        }
+        return true;
+    }
+
+    /**
+     * 移除分组中的所有条目
+     *
+     * @param group 分组
+     */
+    public synchronized void remove(Object group) {
+        List<Integer> ids = this.groups.remove(group);
+        if (ids == null) {
+            return;
+        }
+        for (Integer id : ids) {
+            int[] signature = this.entries.get(id).signature;
+            for (int band = 0; band < BANDS; band++) {
+                Long key = bucketKey(signature, band);
+                List<Integer> bucket = this.buckets.get(key);
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    this.buckets.remove(key);
+                }
+            }
+            this.entries.set(id, null);
+            this.freeIds.add(id);
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.freeIds.clear();
+        this.groups.clear();
+        this.buckets.clear();
+    }
+
+    /**
+     * 获取条目数量
+     *
+     * @return 条目数量
+     */
+    public synchronized int size() {
+        return this.entries.size() - this.freeIds.size();
+    }
+
+    /**
+     * 查找估计相似度最高且不低于阈值的条目
+     *
+     * @param tokens    词元
+     * @param threshold 相似度阈值，取值 0 到 1
+     * @return 匹配结果，没有足够相似的条目时返回null
+     */
+    public synchronized Match<T> findMostSimilar(List<String> tokens, double threshold) {
+        int[] signature = signature(tokens);
+        if (signature == null) {
+            return null;
+        }
+        Set<Integer> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Integer> bucket = this.buckets.get(bucketKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        Entry<T> best = null;
+        double bestSimilarity = threshold;
+        for (Integer id : candidates) {
+            Entry<T> entry = this.entries.get(id);
+            double similarity = similarity(signature, entry.signature);
+            if (similarity >= bestSimilarity && (best == null || similarity > bestSimilarity)) {
+                best = entry;
+                bestSimilarity = similarity;
+            }
+        }
+        return best == null ? null : new Match<>(best.value, bestSimilarity);
+    }
+
+    /**
+     * 计算词元的 MinHash 签名
+     * <p>
+     * 词元少于分片长度时整个词元序列作为一个分片。
+     * </p>
+     *
+     * @param tokens 词元
+     * @return 签名，词元为空时返回null
+     */
+    static int[] signature(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return null;
+        }
+        int[] hashes = new int[tokens.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = tokens.get(i).hashCode();
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, hashes.length - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            int shingle = 1;
+            for (int i = start; i < Math.min(start + SHINGLE_SIZE, hashes.length); i++) {
+                shingle = shingle * 31 + hashes[i];
+            }
+            for (int h = 0; h < HASHES; h++) {
+                int value = mix(shingle ^ SEEDS[h]);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 根据签名估计两个条目的 Jaccard 相似度
+     *
+     * @param first  第一个签名
+     * @param second 第二个签名
+     * @return 相等位置的比例
+     */
+    static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return equal / (double) HASHES;
+    }
+
+    /**
+     * 计算签名中一个带的分桶key
+     *
+     * @param signature 签名
+     * @param band      带的下标
+     * @return 分桶key
+     */
+    private static Long bucketKey(int[] signature, int band) {
+        int hash = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = hash * 31 + signature[i];
+        }
+        return ((long) band << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 32位整数的混合函数（MurmurHash3 的 fmix32）
+     *
+     * @param value 输入
+     * @return 混合后的值
+     */
+    private static int mix(int value) {
+        value ^= value >>> 16;
+        value *= 0x85EBCA6B;
+        value ^= value >>> 13;
+        value *= 0xC2B2AE35;
+        value ^= value >>> 16;
+        return value;
+    }
+
+    /**
+     * 索引中的条目
+     *
+     * @param <T> 条目携带的值类型
+     */
+    private static final class Entry<T> {
+
+        /**
+         * MinHash 签名
+         */
+        private final int[] signature;
+
+        /**
+         * 条目的值
+         */
+        private final T value;
+
+        /**
+         * 构造函数
+         *
+         * @param signature MinHash 签名
+         * @param value     条目的值
+         */
+        private Entry(int[] signature, T value) {
+            this.signature = signature;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 查询结果
+     *
+     * @param <T> 条目携带的值类型
+     */
+    public static final class Match<T> {
+
+        /**
+         * 匹配条目的值
+         */
+        private final T value;
+
+        /**
+         * 估计的相似度
+         */
+        private final double similarity;
+
+        /**
+         * 构造函数
+         *
+         * @param value      匹配条目的值
+         * @param similarity 估计的相似度
+         */
+        private Match(T value, double similarity) {
+            this.value = value;
+            this.similarity = similarity;
+        }
+
+        /**
+         * 获取匹配条目的值
+         *
+         * @return 条目的值
+         */
+        public T getValue() {
+            return this.value;
+        }
+
+        /**
+         * 获取估计的相似度
+         *
+         * @return 相似度，取值 0 到 1
+         */
+        public double getSimilarity() {
+            return this.similarity;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.easy.tools.service.doc;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * 并行渲染阶段
+ * <p>
+ * 使用独立的工作窃取线程池渲染已经准备好的输入：按下标区间递归拆分任务，空闲线程从其他线程窃取剩余区间，
+ * 结果按输入顺序写入数组，之后交给一次写操作。输入数量较少或并行度为1时直接在调用线程中顺序渲染。
+ * 渲染函数不能访问PSI，调用线程可能持有读锁，工作线程再申请读锁会在写操作等待时死锁。
+ * </p>
+ */
+public class ParallelRenderStage implements AutoCloseable {
+
+    /**
+     * 少于该数量的输入直接顺序渲染，并行调度的开销大于收益
+     */
+    public static final int MIN_PARALLEL_SIZE = 64;
+
+    /**
+     * 每个线程平均拆分的任务数，拆分更细可以让工作窃取更均衡
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * 并行度
+     */
+    private final int parallelism;
+
+    /**
+     * 工作线程池，并行度为1时为null
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 构造函数
+     *
+     * @param parallelism 并行度，小于1时使用CPU核数
+     */
+    public ParallelRenderStage(int parallelism) {
+        this.parallelism = resolveParallelism(parallelism);
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism, ParallelRenderStage::newWorker, null, false) : null;
+    }
+
+    /**
+     * 计算实际并行度
+     *
+     * @param configured 配置的并行度，小于1表示使用CPU核数
+     * @return 实际并行度
+     */
+    public static int resolveParallelism(int configured) {
+        return configured < 1 ? Runtime.getRuntime().availableProcessors() : configured;
+    }
+
+    /**
+     * 获取并行度
+     *
+     * @return 并行度
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * 渲染所有输入
+     *
+     * @param inputs   渲染输入
+     * @param renderer 渲染函数，不能访问PSI
+     * @param <T>      输入类型
+     * @return 与输入顺序一致的渲染结果
+     */
+    public <T> String[] render(List<T> inputs, Function<? super T, String> renderer) {
+        String[] results = new String[inputs.size()];
+        if (this.pool == null || inputs.size() < MIN_PARALLEL_SIZE) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = renderer.apply(inputs.get(i));
+            }
+            return results;
+        }
+        int leafSize = Math.max(1, inputs.size() / (this.parallelism * TASKS_PER_THREAD));
+        this.pool.invoke(new RenderTask<>(inputs, renderer, results, 0, results.length, leafSize));
+        return results;
+    }
+
+    /**
+     * 关闭线程池，正在执行的渲染会继续完成
+     */
+    @Override
+    public void close() {
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * 创建命名的工作线程
+     *
+     * @param pool 线程池
+     * @return 工作线程
+     */
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Easy Doc Render " + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * 渲染一个下标区间的任务
+     *
+     * @param <T> 输入类型
+     */
+    private static final class RenderTask<T> extends RecursiveAction {
+
+        /**
+         * 渲染输入
+         */
+        private final List<T> inputs;
+
+        /**
+         * 渲染函数
+         */
+        private final Function<? super T, String> renderer;
+
+        /**
+         * 渲染结果
+         */
+        private final String[] results;
+
+        /**
+         * 区间起始下标（包含）
+         */
+        private final int from;
+
+        /**
+         * 区间结束下标（不包含）
+         */
+        private final int to;
+
+        /**
+         * 不再拆分的区间大小
+         */
+        private final int leafSize;
+
+        /**
+         * 构造函数
+         *
+         * @param inputs   渲染输入
+         * @param renderer 渲染函数
+         * @param results  渲染结果
+         * @param from     区间起始下标
+         * @param to       区间结束下标
+         * @param leafSize 不再拆分的区间大小
+         */
+        private RenderTask(List<T> inputs, Function<? super T, String> renderer, String[] results,
+                           int from, int to, int leafSize) {
+            this.inputs = inputs;
+            this.renderer = renderer;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.leafSize) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.results[i] = this.renderer.apply(this.inputs.get(i));
+                }
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new RenderTask<>(this.inputs, this.renderer, this.results, this.from, middle, this.leafSize),
+                    new RenderTask<>(this.inputs, this.renderer, this.results, middle, this.to, this.leafSize));
+        }
+    }
+}
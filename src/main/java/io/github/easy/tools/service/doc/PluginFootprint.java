@@ -0,0 +1,92 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManagerCore;
+import com.intellij.ide.plugins.cl.PluginAwareClassLoader;
+import com.intellij.openapi.extensions.PluginId;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 插件类加载与初始化统计
+ * <p>
+ * 记录模板引擎初始化耗时、AI子系统是否已加载，并通过公开的 {@link PluginAwareClassLoader} 接口读取插件的已加载类数量和类加载耗时，
+ * 用于确认只使用Velocity渲染时插件只加载了最小的类集合。
+ * 这些数据是从IDE启动到当前为止的累计值，不代表插件在IDE启动阶段的耗时。
+ * </p>
+ */
+public final class PluginFootprint {
+
+    /**
+     * 插件ID
+     */
+    public static final String PLUGIN_ID = "io.github.easy.tools";
+
+    /**
+     * Velocity引擎初始化次数
+     */
+    private static final AtomicLong ENGINE_INITS = new AtomicLong();
+
+    /**
+     * Velocity引擎初始化总耗时（纳秒）
+     */
+    private static final AtomicLong ENGINE_INIT_NANOS = new AtomicLong();
+
+    /**
+     * AI子系统是否已加载
+     */
+    private static volatile boolean aiLoaded = false;
+
+    /**
+     * 工具类不允许实例化
+     */
+    private PluginFootprint() {
+    }
+
+    /**
+     * 记录一次Velocity引擎初始化
+     *
+     * @param nanos 初始化耗时（纳秒）
+     */
+    public static void recordEngineInit(long nanos) {
+        ENGINE_INITS.incrementAndGet();
+        ENGINE_INIT_NANOS.addAndGet(nanos);
+    }
+
+    /**
+     * 标记AI子系统已加载
+     */
+    public static void markAiLoaded() {
+        aiLoaded = true;
+    }
+
+    /**
+     * 判断AI子系统是否已加载
+     *
+     * @return 已加载返回true
+     */
+    public static boolean isAiLoaded() {
+        return aiLoaded;
+    }
+
+    /**
+     * 生成统计报告
+     *
+     * @return 统计报告文本
+     */
+    public static String report() {
+        StringBuilder builder = new StringBuilder();
+        IdeaPluginDescriptor plugin = PluginManagerCore.getPlugin(PluginId.getId(PLUGIN_ID));
+        if (plugin != null && plugin.getPluginClassLoader() instanceof PluginAwareClassLoader classLoader) {
+            builder.append("已加载类数量: ").append(classLoader.getLoadedClassCount()).append('\n');
+            builder.append("类加载耗时(EDT): ").append(classLoader.getEdtTime() / 1_000_000).append(" ms\n");
+            builder.append("类加载耗时(后台): ").append(classLoader.getBackgroundTime() / 1_000_000).append(" ms\n");
+        } else {
+            builder.append("无法获取插件类加载器信息\n");
+        }
+        builder.append("模板引擎初始化: ").append(ENGINE_INITS.get()).append(" 次, 共 ")
+                .append(ENGINE_INIT_NANOS.get() / 1_000_000).append(" ms\n");
+        builder.append("AI子系统: ").append(aiLoaded ? "已加载" : "未加载");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.entity.doc.DocTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 项目模板服务
+ * <p>
+ * 项目可以在 {@code .easy-doc/} 目录（随仓库提交）或 {@code .idea/easy-doc/} 目录中提供
+ * {@code class}、{@code method}、{@code field} 模板文件，扩展名为 {@code .vm} 或 {@code .template}，
+ * 存在时优先于全局配置中的模板。模板通过VFS读取，按文件修改戳缓存内容；
+ * 模板的标识包含文件的修改戳（全局模板包含配置快照的版本），模板引擎按标识缓存解析结果，
+ * 文件或配置没有变化时模板不会被重新解析。
+ * </p>
+ */
+public class ProjectTemplateService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(ProjectTemplateService.class);
+
+    /**
+     * 模板目录，相对于项目根目录，按优先级排列
+     */
+    private static final List<String> TEMPLATE_DIRS = List.of(".easy-doc", ".idea/easy-doc");
+
+    /**
+     * 模板文件扩展名，按优先级排列
+     */
+    private static final List<String> EXTENSIONS = List.of(".vm", ".template");
+
+    /**
+     * 项目
+     */
+    private final Project project;
+
+    /**
+     * 模板内容缓存，key为文件路径
+     */
+    private final Map<String, CachedTemplate> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     */
+    public ProjectTemplateService(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 获取项目的模板服务
+     *
+     * @param project 项目
+     * @return 项目模板服务
+     */
+    public static ProjectTemplateService getInstance(Project project) {
+        return project.getService(ProjectTemplateService.class);
+    }
+
+    /**
+     * 获取本次渲染使用的类、方法、字段模板，需要在读操作中调用
+     * <p>
+     * 每次渲染只查找一次项目根目录和模板目录，所有元素共用查找结果，不会为每个元素访问VFS。
+     * </p>
+     *
+     * @param config 配置快照
+     * @return 模板类型与模板的映射，项目中没有对应模板文件时为全局模板
+     */
+    public Map<String, DocTemplate> getTemplates(DocConfigSnapshot config) {
+        List<VirtualFile> templateDirs = this.findTemplateDirs();
+        Map<String, DocTemplate> templates = new HashMap<>();
+        templates.put("class", this.loadTemplate("class", templateDirs, config, config.getClassTemplate()));
+        templates.put("method", this.loadTemplate("method", templateDirs, config, config.getMethodTemplate()));
+        templates.put("field", this.loadTemplate("field", templateDirs, config, config.getFieldTemplate()));
+        return templates;
+    }
+
+    /**
+     * 读取一种模板
+     *
+     * @param kind         模板类型：class、method、field
+     * @param templateDirs 项目中存在的模板目录
+     * @param config       配置快照
+     * @param fallback     项目中没有对应模板文件时使用的全局模板内容
+     * @return 项目模板，没有时返回全局模板
+     */
+    private DocTemplate loadTemplate(String kind, List<VirtualFile> templateDirs, DocConfigSnapshot config, String fallback) {
+        DocTemplate configured = new DocTemplate("config:" + kind + "@" + config.getVersion(), fallback);
+        VirtualFile file = this.findTemplateFile(templateDirs, kind);
+        if (file == null) {
+            return configured;
+        }
+        long stamp = file.getModificationStamp();
+        String key = "project:" + file.getPath() + "@" + stamp;
+        CachedTemplate cached = this.cache.get(file.getPath());
+        if (cached != null && cached.stamp == stamp) {
+            return new DocTemplate(key, cached.content);
+        }
+        try {
+            String content = VfsUtilCore.loadText(file);
+            this.cache.put(file.getPath(), new CachedTemplate(stamp, content));
+            return new DocTemplate(key, content);
+        } catch (Exception e) {
+            LOG.warn("读取项目模板失败: " + file.getPath(), e);
+            return configured;
+        }
+    }
+
+    /**
+     * 查找项目中存在的模板目录
+     *
+     * @return 模板目录，按优先级排列
+     */
+    private List<VirtualFile> findTemplateDirs() {
+        VirtualFile projectDir = ProjectUtil.guessProjectDir(this.project);
+        if (projectDir == null) {
+            return List.of();
+        }
+        List<VirtualFile> templateDirs = new ArrayList<>();
+        for (String dir : TEMPLATE_DIRS) {
+            VirtualFile templateDir = projectDir.findFileByRelativePath(dir);
+            if (templateDir != null && templateDir.isDirectory()) {
+                templateDirs.add(templateDir);
+            }
+        }
+        return templateDirs;
+    }
+
+    /**
+     * 查找模板文件
+     *
+     * @param templateDirs 模板目录
+     * @param kind         模板类型
+     * @return 模板文件，没有时返回null
+     */
+    private VirtualFile findTemplateFile(List<VirtualFile> templateDirs, String kind) {
+        for (VirtualFile templateDir : templateDirs) {
+            for (String extension : EXTENSIONS) {
+                VirtualFile file = templateDir.findChild(kind + extension);
+                if (file != null && file.isValid() && !file.isDirectory()) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 缓存的模板内容
+     */
+    private static final class CachedTemplate {
+
+        /**
+         * 文件的修改戳
+         */
+        private final long stamp;
+
+        /**
+         * 模板内容
+         */
+        private final String content;
+
+        /**
+         * 构造函数
+         *
+         * @param stamp   文件的修改戳
+         * @param content 模板内容
+         */
+        private CachedTemplate(long stamp, String content) {
+            this.stamp = stamp;
+            this.content = content;
+        }
+    }
+}
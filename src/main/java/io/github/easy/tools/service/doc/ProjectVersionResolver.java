@@ -0,0 +1,176 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 项目版本号解析器
+ * <p>
+ * 从文件所在目录向上查找 pom.xml 并提取版本号。解析结果按 pom.xml 的修改戳缓存，
+ * 同一个模块内的元素只会读取和解析一次 pom.xml，文件修改后自动失效。
+ * </p>
+ */
+public class ProjectVersionResolver {
+
+    /**
+     * 默认版本号
+     */
+    public static final String DEFAULT_VERSION = "1.0.0";
+
+    /**
+     * 单例实例
+     */
+    private static final ProjectVersionResolver INSTANCE = new ProjectVersionResolver();
+
+    /**
+     * 版本号缓存，key为pom.xml路径
+     */
+    private final Map<String, CachedVersion> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存命中次数
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * 缓存未命中次数
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 私有构造函数
+     */
+    private ProjectVersionResolver() {
+    }
+
+    /**
+     * 获取解析器实例
+     *
+     * @return 项目版本号解析器的单例实例
+     */
+    public static ProjectVersionResolver getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取文件所属项目的版本号
+     *
+     * @param file 当前文件
+     * @return 项目版本号，找不到 pom.xml 时返回默认版本号
+     */
+    public String getProjectVersion(PsiFile file) {
+        try {
+            VirtualFile virtualFile = file.getVirtualFile();
+            if (virtualFile == null) {
+                virtualFile = file.getOriginalFile().getVirtualFile();
+            }
+            if (virtualFile == null) {
+                return DEFAULT_VERSION;
+            }
+            // 通过文件路径向上查找项目根目录
+            VirtualFile projectDir = virtualFile.getParent();
+            while (projectDir != null && projectDir.findChild("pom.xml") == null) {
+                projectDir = projectDir.getParent();
+            }
+            if (projectDir == null) {
+                return DEFAULT_VERSION;
+            }
+            VirtualFile pomFile = projectDir.findChild("pom.xml");
+            if (pomFile == null || !pomFile.exists()) {
+                return DEFAULT_VERSION;
+            }
+            long stamp = pomFile.getModificationStamp();
+            CachedVersion cached = this.cache.get(pomFile.getPath());
+            if (cached != null && cached.stamp == stamp) {
+                this.hits.incrementAndGet();
+                DocMetrics.getInstance().increment(DocCounter.VERSION_CACHE_HIT);
+                return cached.version;
+            }
+            this.misses.incrementAndGet();
+            DocMetrics.getInstance().increment(DocCounter.VERSION_CACHE_MISS);
+            String version = extractVersionFromPom(new String(pomFile.contentsToByteArray()));
+            this.cache.put(pomFile.getPath(), new CachedVersion(stamp, version));
+            return version;
+        } catch (Exception e) {
+            // 如果出现异常，使用默认版本号
+            return DEFAULT_VERSION;
+        }
+    }
+
+    /**
+     * 从 pom.xml 内容中提取版本号
+     *
+     * @param pomContent pom.xml 文件内容
+     * @return 版本号
+     */
+    public static String extractVersionFromPom(String pomContent) {
+        String version = DEFAULT_VERSION;
+        try {
+            // 简单的 XML 解析，提取 <version> 标签内容
+            int versionStart = pomContent.indexOf("<version>");
+            if (versionStart != -1) {
+                int versionEnd = pomContent.indexOf("</version>", versionStart);
+                if (versionEnd != -1) {
+                    version = pomContent.substring(
+                            versionStart + "<version>".length(),
+                            versionEnd
+                    ).trim();
+                }
+            }
+        } catch (Exception e) {
+            // 如果解析失败，使用默认版本号
+        }
+        return version;
+    }
+
+    /**
+     * 获取缓存命中次数
+     *
+     * @return 缓存命中次数
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     *
+     * @return 缓存未命中次数
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * 缓存的版本号
+     */
+    private static final class CachedVersion {
+
+        /**
+         * pom.xml 的修改戳
+         */
+        private final long stamp;
+
+        /**
+         * 版本号
+         */
+        private final String version;
+
+        /**
+         * 构造函数
+         *
+         * @param stamp   pom.xml 的修改戳
+         * @param version 版本号
+         */
+        private CachedVersion(long stamp, String version) {
+            this.stamp = stamp;
+            this.version = version;
+        }
+    }
+}
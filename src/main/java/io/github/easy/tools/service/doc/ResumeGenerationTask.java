@@ -0,0 +1,64 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 继续上次未完成的批量生成的后台任务
+ * <p>
+ * 只处理 {@link GenerationJournalService} 中仍为待处理的成员：按签名在文件中查找成员，
+ * 代码摘要与记录时不同（代码已经修改）或已经不存在的成员记为已完成并跳过。
+ * 分批、预算和调度与 {@link CoverageGenerationTask} 相同。
+ * </p>
+ */
+public class ResumeGenerationTask extends CoverageGenerationTask {
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     * @param files   有待处理成员的文件
+     */
+    public ResumeGenerationTask(Project project, List<VirtualFile> files) {
+        super(project, files, null);
+        this.setTitle("继续生成注释");
+    }
+
+    /**
+     * 选择文件中仍为待处理且代码没有变化的成员
+     *
+     * @param virtualFile 文件
+     * @return 成员
+     */
+    @Override
+    protected List<PsiElement> selectMembers(VirtualFile virtualFile) {
+        GenerationJournalService journal = GenerationJournalService.getInstance(this.myProject);
+        Map<String, String> pending = journal.getPending(virtualFile.getUrl());
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        PsiFile file = virtualFile.isValid() ? PsiManager.getInstance(this.myProject).findFile(virtualFile) : null;
+        List<PsiElement> elements = new ArrayList<>();
+        if (file != null) {
+            for (PsiElement element : CommentGenerationStrategyFactory.getInstance().getStrategy(file).collectElements(file)) {
+                String signature = GenerationJournalService.signatureOf(element);
+                String hash = pending.get(signature);
+                if (hash != null && hash.equals(GenerationJournalService.hashOf(element))) {
+                    pending.remove(signature);
+                    elements.add(element);
+                }
+            }
+        }
+        // 剩下的是代码已经修改或已经不存在的成员
+        journal.completed(virtualFile.getUrl(), pending.keySet());
+        return elements;
+    }
+}
@@ -0,0 +1,292 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.util.TimeoutUtil;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 分片生成整个文件注释的后台任务
+ * <p>
+ * 成员较多的文件（生成的DTO、Mapper等）按时间预算和成员数量分片处理：每个分片先在非阻塞读操作中准备若干成员的渲染输入，
+ * 准备时间用完或达到分片成员上限后在读操作之外渲染（包括AI请求和调度器排队），再交给EDT通过智能指针找回成员、在一次写命令中写入，
+ * 然后让出EDT处理其他事件。分片成员数量有上限，每次EDT上的写入都很短；渲染期间有写操作时不会被读锁阻塞。
+ * 任务可以暂停、恢复和取消：暂停时在分片之间等待；取消时写入当前分片已渲染的成员后结束。
+ * 每个分片写入后记录断点，再次生成时从最后完成的成员继续。
+ * 每个分片都是完整的写命令，中途停止时文件中只包含已完成成员的注释。
+ * 整个任务共用一个AI令牌预算，预算用完时写入已渲染的成员并保留断点后停止。
+ * AI请求按批量优先级调度，用户在编辑器中触发的生成不会排在整个文件之后。
+ * 待处理的成员同时写入 {@link GenerationJournalService}，IDE重启后断点丢失时仍可以继续。
+ * </p>
+ */
+public class SlicedGenerationTask extends Task.Backgroundable {
+
+    /**
+     * 超过该成员数量时使用分片任务
+     */
+    public static final int SLICE_THRESHOLD = 200;
+
+    /**
+     * 每个分片的准备时间预算（纳秒）
+     */
+    private static final long SLICE_BUDGET_NANOS = 50_000_000L;
+
+    /**
+     * 每次调用策略准备的成员数量
+     */
+    private static final int PREPARE_CHUNK_SIZE = 16;
+
+    /**
+     * 每个分片最多包含的成员数量，限制一次渲染和EDT写入的规模
+     */
+    private static final int MAX_SLICE_MEMBERS = 64;
+
+    /**
+     * 暂停时检查恢复和取消的间隔（毫秒）
+     */
+    private static final long PAUSE_POLL_MILLIS = 200L;
+
+    /**
+     * 需要生成注释的文件
+     */
+    private final PsiFile file;
+
+    /**
+     * 本次任务的AI令牌预算
+     */
+    private final TokenBudget budget = TokenBudget.fromConfig(DocConfigService.getInstance().getSnapshot());
+
+    /**
+     * 预算用完时的异常，没有用完时为null
+     */
+    private TokenBudget.ExceededException exceeded;
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     * @param file    需要生成注释的文件
+     */
+    public SlicedGenerationTask(Project project, PsiFile file) {
+        super(project, "生成注释: " + file.getName(), true);
+        this.file = file;
+    }
+
+    /**
+     * 执行分片生成，运行期间登记为正在运行的分片任务，可以暂停
+     *
+     * @param indicator 进度指示器
+     */
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        GenerationCheckpointService checkpoints = GenerationCheckpointService.getInstance(this.file.getProject());
+        checkpoints.taskStarted();
+        DocMetrics.getInstance().runStarted();
+        try {
+            this.generate(checkpoints, indicator);
+        } finally {
+            DocMetrics.getInstance().runFinished();
+            checkpoints.taskFinished();
+        }
+    }
+
+    /**
+     * 分片准备、渲染并写入注释
+     *
+     * @param checkpoints 断点服务
+     * @param indicator   进度指示器
+     */
+    private void generate(GenerationCheckpointService checkpoints, ProgressIndicator indicator) {
+        CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(this.file);
+        GenerationJournalService journal = GenerationJournalService.getInstance(this.file.getProject());
+
+        List<SmartPsiElementPointer<PsiElement>> pointers = ReadAction.compute(() -> {
+            SmartPointerManager manager = SmartPointerManager.getInstance(this.file.getProject());
+            List<SmartPsiElementPointer<PsiElement>> result = new ArrayList<>();
+            for (PsiElement element : strategy.collectElements(this.file)) {
+                result.add(manager.createSmartPsiElementPointer(element, this.file));
+            }
+            return result;
+        });
+        int total = pointers.size();
+        int index = ReadAction.compute(() -> checkpoints.resumeIndex(this.file, total));
+        int first = index;
+        ReadAction.run(() -> journal.planned(this.file, pointers.subList(first, total).stream()
+                .map(SmartPsiElementPointer::getElement)
+                .filter(Objects::nonNull)
+                .toList()));
+        indicator.setIndeterminate(false);
+        // 模板用到Git变量时先在读操作之外读取Git信息
+        GitFileInfoService.getInstance(this.myProject).prefetch(List.of(this.file.getVirtualFile()));
+
+        while (index < total) {
+            // 取消时抛出异常结束任务，断点保留
+            indicator.checkCanceled();
+            this.waitWhilePaused(checkpoints, indicator);
+            indicator.setFraction((double) index / total);
+            indicator.setText2(index + " / " + total);
+
+            int start = index;
+            // 只有准备阶段持有读锁，有写操作时非阻塞读操作会让出并重新执行
+            Slice slice = ReadAction.nonBlocking(() -> this.prepareSlice(strategy, pointers, start))
+                    .inSmartMode(this.myProject)
+                    .wrapProgress(indicator)
+                    .executeSynchronously();
+            Map<RenderRequest, String> docs = new LinkedHashMap<>();
+            index = GenerationPriority.BULK.compute(() -> this.renderSlice(strategy, slice, docs, indicator));
+            if (!docs.isEmpty()) {
+                ApplicationManager.getApplication().invokeAndWait(() -> {
+                    if (this.file.isValid()) {
+                        Map<PsiElement, String> restored = strategy.restore(docs);
+                        strategy.apply(this.file, restored);
+                        journal.completed(this.file, restored.keySet());
+                    }
+                }, ModalityState.defaultModalityState());
+            }
+            int next = index;
+            ReadAction.run(() -> checkpoints.save(this.file, next, total));
+            if (this.exceeded != null) {
+                String message = this.exceeded.getMessage();
+                ApplicationManager.getApplication().invokeLater(
+                        () -> Messages.showWarningDialog(this.myProject, message, "生成注释: " + this.file.getName()));
+                return;
+            }
+            // 取消时已渲染的成员已经写入并记录断点
+            indicator.checkCanceled();
+        }
+        checkpoints.clear(this.file);
+        indicator.setFraction(1);
+    }
+
+    /**
+     * 暂停时在分片之间等待，直到恢复或取消
+     *
+     * @param checkpoints 断点服务
+     * @param indicator   进度指示器
+     */
+    private void waitWhilePaused(GenerationCheckpointService checkpoints, ProgressIndicator indicator) {
+        if (!checkpoints.isPaused()) {
+            return;
+        }
+        String text = indicator.getText();
+        indicator.setText("已暂停: " + this.file.getName());
+        while (checkpoints.isPaused()) {
+            indicator.checkCanceled();
+            TimeoutUtil.sleep(PAUSE_POLL_MILLIS);
+        }
+        indicator.setText(text);
+    }
+
+    /**
+     * 在时间预算和成员数量上限内准备一个分片的渲染输入，至少包含一批成员，需要在读操作中调用
+     *
+     * @param strategy 生成策略
+     * @param pointers 所有成员
+     * @param start    分片起始下标
+     * @return 分片
+     */
+    private Slice prepareSlice(CommentGenerationStrategy strategy, List<SmartPsiElementPointer<PsiElement>> pointers, int start) {
+        Slice slice = new Slice();
+        if (!this.file.isValid()) {
+            slice.end = pointers.size();
+            return slice;
+        }
+        long deadline = System.nanoTime() + SLICE_BUDGET_NANOS;
+        int limit = Math.min(pointers.size(), start + MAX_SLICE_MEMBERS);
+        int index = start;
+        do {
+            // 按小批准备，同一批成员共用一次模板查找
+            List<PsiElement> chunk = new ArrayList<>();
+            Map<PsiElement, Integer> chunkPositions = new HashMap<>();
+            while (index < limit && chunk.size() < PREPARE_CHUNK_SIZE) {
+                PsiElement element = pointers.get(index).getElement();
+                if (element != null) {
+                    chunk.add(element);
+                    chunkPositions.put(element, index);
+                }
+                index++;
+            }
+            for (RenderRequest request : strategy.prepare(this.file, chunk)) {
+                slice.requests.add(request);
+                slice.positions.add(chunkPositions.get(request.getPointer().getElement()));
+            }
+        } while (index < limit && System.nanoTime() < deadline);
+        slice.end = index;
+        return slice;
+    }
+
+    /**
+     * 在读操作之外渲染一个分片
+     * <p>
+     * 没有设置预算时按批渲染；设置了预算时逐个渲染，预算用完时保留已渲染的成员。
+     * 每批之间检查取消，取消时保留已渲染的成员，由调用方写入后结束任务。
+     * </p>
+     *
+     * @param strategy  生成策略
+     * @param slice     分片
+     * @param docs      渲染结果
+     * @param indicator 进度指示器
+     * @return 下一个分片的起始下标，预算用完或取消时为第一个未渲染成员的下标
+     */
+    private int renderSlice(CommentGenerationStrategy strategy, Slice slice, Map<RenderRequest, String> docs, ProgressIndicator indicator) {
+        int batchSize = this.budget.getLimit() == 0 ? PREPARE_CHUNK_SIZE : 1;
+        for (int i = 0; i < slice.requests.size(); i += batchSize) {
+            if (indicator.isCanceled()) {
+                return slice.positions.get(i);
+            }
+            List<RenderRequest> batch = slice.requests.subList(i, Math.min(slice.requests.size(), i + batchSize));
+            if (this.budget.getLimit() == 0) {
+                docs.putAll(strategy.render(batch));
+                continue;
+            }
+            try {
+                docs.putAll(this.budget.compute(() -> strategy.render(batch)));
+            } catch (TokenBudget.ExceededException e) {
+                this.exceeded = e;
+                return slice.positions.get(i);
+            }
+        }
+        return slice.end;
+    }
+
+    /**
+     * 一个分片的渲染输入
+     */
+    private static final class Slice {
+
+        /**
+         * 渲染输入
+         */
+        private final List<RenderRequest> requests = new ArrayList<>();
+
+        /**
+         * 每个渲染输入对应的成员下标
+         */
+        private final List<Integer> positions = new ArrayList<>();
+
+        /**
+         * 分片之后的第一个成员下标
+         */
+        private int end;
+    }
+}
@@ -1,7 +1,6 @@
 package io.github.easy.tools.service.doc;
 
-import com.intellij.psi.PsiElement;
-import org.apache.velocity.context.Context;
+import io.github.easy.tools.entity.doc.RenderRequest;
 
 /**
  * 模板渲染服务接口
@@ -13,12 +12,22 @@ import org.apache.velocity.context.Context;
 public interface TemplateRenderer {
     
     /**
-     * 渲染模板内容
+     * 渲染元素的模板
      *
-     * @param templateContent 模板内容
-     * @param context         渲染上下文
-     * @param element         相关的Psi元素
+     * @param request 渲染输入，包含模板、上下文和相关的Psi元素
      * @return 渲染后的内容
      */
-    String render(String templateContent, Context context, PsiElement element);
+    String render(RenderRequest request);
+
+    /**
+     * 是否可以在读操作之外被多个线程同时调用
+     * <p>
+     * 渲染总是在读操作之外执行，不能长时间访问PSI。返回true时批量生成会把渲染交给并行渲染阶段；默认在调用线程中按顺序渲染。
+     * </p>
+     *
+     * @return 可以并行渲染时返回true
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -1,30 +1,47 @@
 package io.github.easy.tools.service.doc;
 
-import io.github.easy.tools.ui.config.DocConfigService;
+import com.intellij.openapi.extensions.ExtensionPointName;
 
 /**
  * 模板渲染器工厂类
  * <p>
  * 根据配置决定创建哪种模板渲染器实例。
  * 如果启用AI则返回AI模板渲染器，否则返回Velocity模板渲染器。
+ * AI模板渲染器通过扩展点延迟加载，未启用AI时不会加载AI相关的类。
+ * 渲染器的生命周期由 {@link TemplateRendererService} 管理。
  * </p>
  */
 public class TemplateRendererFactory {
 
     /**
-     * 获取模板渲染器实例
-     * <p>
-     * 根据DocConfigService中的配置决定使用哪种渲染器
-     * </p>
+     * AI模板渲染器扩展点
+     */
+    private static final ExtensionPointName<TemplateRenderer> AI_RENDERER_EP =
+            ExtensionPointName.create("io.github.easy.tools.aiTemplateRenderer");
+
+    /**
+     * 获取当前使用的模板渲染器
      *
      * @return 模板渲染器实例
      */
     public static TemplateRenderer getTemplateRenderer() {
-        DocConfigService config = DocConfigService.getInstance();
-        if (config.enableAi) {
-            return new AITemplateRenderer();
-        } else {
-            return new VelocityTemplateRenderer();
+        return TemplateRendererService.getInstance().getRenderer();
+    }
+
+    /**
+     * 创建模板渲染器实例
+     *
+     * @param enableAi 是否启用AI
+     * @return 模板渲染器实例
+     */
+    static TemplateRenderer createTemplateRenderer(boolean enableAi) {
+        if (enableAi) {
+            // 只有在启用AI时才会实例化扩展，从而加载AI渲染器及其依赖
+            TemplateRenderer renderer = AI_RENDERER_EP.getExtensionList().stream().findFirst().orElse(null);
+            if (renderer != null) {
+                return renderer;
+            }
         }
+        return new VelocityTemplateRenderer(TemplateRendererService.getInstance()::getVelocityTemplateService);
     }
 }
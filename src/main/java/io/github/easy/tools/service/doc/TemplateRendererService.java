@@ -0,0 +1,202 @@
+package io.github.easy.tools.service.doc;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Disposer;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.ui.config.DocConfigListener;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 模板渲染器生命周期服务
+ * <p>
+ * 持有当前使用的模板渲染器，并订阅配置变更：开关AI后原子地切换到新的渲染器，
+ * 旧渲染器实现了 {@link Disposable} 时会被释放。所有Velocity渲染器共享同一个引擎，
+ * 切换渲染器不会重新初始化引擎；只有宏库变化时才会创建编译了新宏库的引擎。处理器在每次生成时读取当前渲染器，
+ * 并发的批量任务在切换前后各自使用完整的一个渲染器，不会读到中间状态。
+ * 并行渲染阶段的线程池同样由该服务持有，并行度变化时重新创建，服务释放时关闭。
+ * </p>
+ */
+public class TemplateRendererService implements Disposable {
+
+    /**
+     * 共享的Velocity模板服务，延迟初始化，宏库变化后替换
+     */
+    private volatile VelocityTemplateService velocityTemplateService;
+
+    /**
+     * 并行渲染阶段，延迟初始化，并行度变化后替换
+     */
+    private volatile ParallelRenderStage renderStage;
+
+    /**
+     * 当前渲染器，首次使用时创建
+     */
+    private final AtomicReference<Holder> current = new AtomicReference<>();
+
+    /**
+     * 构造函数，订阅配置变更
+     */
+    public TemplateRendererService() {
+        ApplicationManager.getApplication().getMessageBus()
+                .connect(this)
+                .subscribe(DocConfigListener.TOPIC, (DocConfigListener) this::configChanged);
+    }
+
+    /**
+     * 获取模板渲染器服务实例
+     *
+     * @return 模板渲染器服务的单例实例
+     */
+    public static TemplateRendererService getInstance() {
+        return ApplicationManager.getApplication().getService(TemplateRendererService.class);
+    }
+
+    /**
+     * 获取当前的模板渲染器
+     *
+     * @return 模板渲染器
+     */
+    public TemplateRenderer getRenderer() {
+        Holder holder = this.current.get();
+        if (holder == null) {
+            boolean enableAi = DocConfigService.getInstance().getSnapshot().isEnableAi();
+            Holder created = new Holder(enableAi, TemplateRendererFactory.createTemplateRenderer(enableAi));
+            if (this.current.compareAndSet(null, created)) {
+                return created.renderer;
+            }
+            release(created.renderer);
+            holder = this.current.get();
+        }
+        return holder.renderer;
+    }
+
+    /**
+     * 获取共享的Velocity模板服务
+     * <p>
+     * 宏库与当前配置一致时直接返回已有实例；宏库变化后创建新的引擎并编译宏库，
+     * 正在使用旧实例的渲染不受影响。
+     * </p>
+     *
+     * @return Velocity模板服务
+     */
+    public VelocityTemplateService getVelocityTemplateService() {
+        String macroLibrary = Objects.toString(DocConfigService.getInstance().getSnapshot().getMacroLibrary(), "");
+        VelocityTemplateService service = this.velocityTemplateService;
+        if (service == null || !service.getMacroLibrary().equals(macroLibrary)) {
+            synchronized (this) {
+                service = this.velocityTemplateService;
+                if (service == null || !service.getMacroLibrary().equals(macroLibrary)) {
+                    service = new VelocityTemplateService(macroLibrary);
+                    this.velocityTemplateService = service;
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * 获取并行渲染阶段
+     * <p>
+     * 并行度与配置一致时直接返回已有实例，否则创建新的线程池并关闭旧线程池，旧线程池中正在执行的渲染会继续完成。
+     * </p>
+     *
+     * @param parallelism 配置的并行度，小于1表示使用CPU核数
+     * @return 并行渲染阶段
+     */
+    public ParallelRenderStage getRenderStage(int parallelism) {
+        int resolved = ParallelRenderStage.resolveParallelism(parallelism);
+        ParallelRenderStage stage = this.renderStage;
+        if (stage == null || stage.getParallelism() != resolved) {
+            synchronized (this) {
+                stage = this.renderStage;
+                if (stage == null || stage.getParallelism() != resolved) {
+                    ParallelRenderStage previous = stage;
+                    stage = new ParallelRenderStage(resolved);
+                    this.renderStage = stage;
+                    if (previous != null) {
+                        previous.close();
+                    }
+                }
+            }
+        }
+        return stage;
+    }
+
+    /**
+     * 配置变更时按需切换渲染器
+     * <p>
+     * 只有AI开关变化时才创建新的渲染器；其他配置（模板、模型地址等）由渲染器在每次渲染时从快照读取。
+     * </p>
+     *
+     * @param snapshot 新的配置快照
+     */
+    private void configChanged(DocConfigSnapshot snapshot) {
+        Holder holder = this.current.get();
+        if (holder == null || holder.enableAi == snapshot.isEnableAi()) {
+            return;
+        }
+        Holder replacement = new Holder(snapshot.isEnableAi(), TemplateRendererFactory.createTemplateRenderer(snapshot.isEnableAi()));
+        if (this.current.compareAndSet(holder, replacement)) {
+            release(holder.renderer);
+        } else {
+            release(replacement.renderer);
+        }
+    }
+
+    /**
+     * 释放渲染器
+     *
+     * @param renderer 渲染器
+     */
+    private static void release(TemplateRenderer renderer) {
+        if (renderer instanceof Disposable disposable) {
+            Disposer.dispose(disposable);
+        }
+    }
+
+    /**
+     * 释放当前渲染器并关闭并行渲染线程池
+     */
+    @Override
+    public void dispose() {
+        Holder holder = this.current.getAndSet(null);
+        if (holder != null) {
+            release(holder.renderer);
+        }
+        ParallelRenderStage stage = this.renderStage;
+        if (stage != null) {
+            stage.close();
+        }
+    }
+
+    /**
+     * 渲染器及其创建时的AI开关
+     */
+    private static final class Holder {
+
+        /**
+         * 创建时是否启用AI
+         */
+        private final boolean enableAi;
+
+        /**
+         * 渲染器
+         */
+        private final TemplateRenderer renderer;
+
+        /**
+         * 构造函数
+         *
+         * @param enableAi 是否启用AI
+         * @param renderer 渲染器
+         */
+        private Holder(boolean enableAi, TemplateRenderer renderer) {
+            this.enableAi = enableAi;
+            this.renderer = renderer;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.easy.tools.service.doc;
+
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 一次批量生成的AI令牌预算
+ * <p>
+ * 批量任务创建预算后，在渲染时通过 {@link #compute(Supplier)} 把预算绑定到当前线程，
+ * AI渲染器每次请求前用 {@link #reserve(long)} 预留提示词的令牌，超出预算时抛出 {@link ExceededException}，
+ * 批量任务捕获后停止，已写入的注释保留。多个工作线程可以共享同一个预算。
+ * </p>
+ */
+public final class TokenBudget {
+
+    /**
+     * 当前线程正在使用的预算
+     */
+    private static final ThreadLocal<TokenBudget> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 令牌上限，0表示不限制
+     */
+    private final long limit;
+
+    /**
+     * 已使用的令牌数量
+     */
+    private final AtomicLong used = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param limit 令牌上限，0表示不限制
+     */
+    public TokenBudget(long limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    /**
+     * 按配置创建预算
+     *
+     * @param config 配置快照
+     * @return 预算
+     */
+    public static TokenBudget fromConfig(DocConfigSnapshot config) {
+        return new TokenBudget(config.getAiTokenBudget());
+    }
+
+    /**
+     * 获取当前线程正在使用的预算
+     *
+     * @return 预算，没有绑定时返回null
+     */
+    public static TokenBudget current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 在当前线程绑定预算后执行操作，结束后恢复原来的预算
+     *
+     * @param action 操作
+     * @param <T>    操作结果类型
+     * @return 操作结果
+     */
+    public <T> T compute(Supplier<T> action) {
+        TokenBudget previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 在当前线程绑定预算后执行操作
+     *
+     * @param action 操作
+     */
+    public void run(Runnable action) {
+        this.compute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 预留一次请求的令牌
+     *
+     * @param tokens 令牌数量
+     * @throws ExceededException 预留后超出上限时抛出，此时不会记录这些令牌
+     */
+    public void reserve(long tokens) {
+        long current;
+        do {
+            current = this.used.get();
+            if (this.limit > 0 && current + tokens > this.limit) {
+                throw new ExceededException(current, this.limit);
+            }
+        } while (!this.used.compareAndSet(current, current + tokens));
+    }
+
+    /**
+     * 记录已经使用的令牌（例如AI返回的内容），不检查上限
+     *
+     * @param tokens 令牌数量
+     */
+    public void add(long tokens) {
+        this.used.addAndGet(tokens);
+    }
+
+    /**
+     * 是否已经用完
+     *
+     * @return 设置了上限且已使用的令牌达到上限时返回true
+     */
+    public boolean isExhausted() {
+        return this.limit > 0 && this.used.get() >= this.limit;
+    }
+
+    /**
+     * 获取已使用的令牌数量
+     *
+     * @return 令牌数量
+     */
+    public long getUsed() {
+        return this.used.get();
+    }
+
+    /**
+     * 获取令牌上限
+     *
+     * @return 令牌上限，0表示不限制
+     */
+    public long getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * 令牌预算用完时抛出的异常
+     */
+    public static final class ExceededException extends RuntimeException {
+
+        /**
+         * 构造函数
+         *
+         * @param used  已使用的令牌数量
+         * @param limit 令牌上限
+         */
+        public ExceededException(long used, long limit) {
+            super("AI令牌预算已用完（已使用 " + used + " / 预算 " + limit + "），已停止生成");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package io.github.easy.tools.service.doc;
 
-import com.intellij.psi.PsiElement;
-import org.apache.velocity.context.Context;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.service.doc.jfr.DocEvents;
+import io.github.easy.tools.service.doc.jfr.RenderEvent;
+
+import java.util.function.Supplier;
 
 /**
  * Velocity模板渲染器
@@ -13,27 +16,45 @@ import org.apache.velocity.context.Context;
 public class VelocityTemplateRenderer implements TemplateRenderer {
     
     /**
-     * Velocity模板服务实例
+     * 共享的Velocity模板服务，宏库变化后会返回新的实例
      */
-    private final VelocityTemplateService velocityTemplateService;
+    private final Supplier<VelocityTemplateService> velocityTemplateService;
     
     /**
-     * 构造函数，初始化Velocity模板服务
+     * 构造函数
+     *
+     * @param velocityTemplateService 共享的Velocity模板服务
      */
-    public VelocityTemplateRenderer() {
-        this.velocityTemplateService = new VelocityTemplateService();
+    public VelocityTemplateRenderer(Supplier<VelocityTemplateService> velocityTemplateService) {
+        this.velocityTemplateService = velocityTemplateService;
     }
     
     /**
-     * 使用Velocity引擎渲染模板内容
+     * 使用Velocity引擎渲染模板内容，模板按标识缓存解析结果
      *
-     * @param templateContent 模板内容
-     * @param context         渲染上下文
-     * @param element         相关的Psi元素（Velocity渲染不需要此参数）
+     * @param request 渲染输入
      * @return 渲染后的内容
      */
     @Override
-    public String render(String templateContent, Context context, PsiElement element) {
-        return velocityTemplateService.render(templateContent, context);
+    public String render(RenderRequest request) {
+        RenderEvent event = RenderEvent.begin("velocity", request.getTemplate().getContent(), request.getKind(), request.getFilePath());
+        String result = null;
+        try {
+            result = this.velocityTemplateService.get().render(request.getTemplate().getKey(),
+                    request.getTemplate().getContent(), request.getContext());
+            return result;
+        } finally {
+            event.finish(result, result != null ? DocEvents.OK : DocEvents.ERROR);
+        }
+    }
+
+    /**
+     * Velocity渲染只读取上下文，每次渲染使用独立的上下文，可以并行执行
+     *
+     * @return true
+     */
+    @Override
+    public boolean isConcurrent() {
+        return true;
     }
 }
\ No newline at end of file
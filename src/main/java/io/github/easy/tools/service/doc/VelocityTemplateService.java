@@ -1,12 +1,20 @@
 package io.github.easy.tools.service.doc;
 
+import com.intellij.openapi.diagnostic.Logger;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
 import org.apache.velocity.Template;
-import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.VelocityContext;
 import org.apache.velocity.context.Context;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.parser.node.SimpleNode;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -14,45 +22,139 @@ import java.util.Properties;
  * <p>
  * 该类封装了Velocity模板引擎的使用，提供渲染字符串模板和文件模板的功能。
  * 通过Velocity引擎将模板和上下文数据合并生成最终的注释内容。
+ * 宏库在引擎初始化时编译一次，其中的宏对所有模板全局可用。配置和项目中的模板按标识缓存解析结果，
+ * 相同标识的模板只解析一次，缓存按最近使用顺序淘汰；渲染结果等一次性的内容用 {@link #evaluate(String, Context)}
+ * 直接求值，不进入缓存。
  * </p>
  */
 public class VelocityTemplateService {
 
     /**
-     * Velocity引擎实例，用于模板渲染
+     * 日志记录器
      */
-    private final VelocityEngine velocityEngine;
+    private static final Logger LOG = Logger.getInstance(VelocityTemplateService.class);
 
     /**
-     * 构造函数，初始化Velocity引擎
+     * 模板缓存的最大数量，超过后淘汰最久未使用的模板
+     */
+    private static final int MAX_CACHED_TEMPLATES = 64;
+
+    /**
+     * Velocity运行时实例，用于模板解析和渲染
+     */
+    private final RuntimeInstance runtime;
+
+    /**
+     * 初始化时使用的宏库
+     */
+    private final String macroLibrary;
+
+    /**
+     * 已解析的模板，key为模板标识，按访问顺序排列；访问会调整顺序，需要在同步块中使用
+     */
+    private final Map<String, Template> templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            return this.size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
+    /**
+     * 构造函数，初始化不带宏库的Velocity引擎
+     */
+    public VelocityTemplateService() {
+        this(null);
+    }
+
+    /**
+     * 构造函数，初始化Velocity引擎并编译宏库
      * <p>
      * 配置Velocity引擎使用classpath资源加载器，以便能够从类路径加载模板文件。
      * </p>
+     *
+     * @param macroLibrary 宏库内容，为空时不定义宏
      */
-    public VelocityTemplateService() {
+    public VelocityTemplateService(String macroLibrary) {
         // 初始化Velocity引擎
+        long start = System.nanoTime();
         Properties properties = new Properties();
         properties.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
         properties.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-        this.velocityEngine = new VelocityEngine();
-        this.velocityEngine.init(properties);
+        this.runtime = new RuntimeInstance();
+        this.runtime.init(properties);
+        this.macroLibrary = macroLibrary == null ? "" : macroLibrary;
+        if (!this.macroLibrary.isBlank()) {
+            try {
+                // 内联定义的宏默认注册到全局命名空间，之后解析的模板都可以调用
+                this.runtime.evaluate(new VelocityContext(), new StringWriter(), "easy-doc-macros", this.macroLibrary);
+            } catch (Exception e) {
+                LOG.warn("宏库编译失败，模板中的宏将不可用", e);
+            }
+        }
+        PluginFootprint.recordEngineInit(System.nanoTime() - start);
+    }
+
+    /**
+     * 获取初始化时使用的宏库
+     *
+     * @return 宏库内容，没有宏库时返回空字符串
+     */
+    public String getMacroLibrary() {
+        return this.macroLibrary;
     }
 
     /**
      * 渲染模板
      * <p>
      * 使用Velocity引擎将字符串模板和上下文数据合并，生成最终的文本内容。
+     * 模板第一次渲染时解析并按标识缓存，之后直接合并；标识相同时认为内容相同。
      * </p>
      *
+     * @param templateKey     模板标识，内容变化后标识也要变化
      * @param templateContent 模板内容
      * @param context         Velocity上下文，包含模板中使用的变量
      * @return 渲染后的字符串
      */
-    public String render(String templateContent, Context context) {
+    public String render(String templateKey, String templateContent, Context context) {
+        try {
+            Template template;
+            synchronized (this.templateCache) {
+                template = this.templateCache.get(templateKey);
+            }
+            if (template != null) {
+                DocMetrics.getInstance().increment(DocCounter.TEMPLATE_CACHE_HIT);
+            } else {
+                // 解析在锁外进行，并发解析同一模板时保留先完成的结果
+                Template compiled = this.compile(templateContent);
+                synchronized (this.templateCache) {
+                    template = this.templateCache.putIfAbsent(templateKey, compiled);
+                }
+                if (template == null) {
+                    template = compiled;
+                }
+            }
+            StringWriter writer = new StringWriter();
+            template.merge(context, writer);
+            return writer.toString();
+        } catch (Exception e) {
+            throw new RuntimeException("模板渲染失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 对一次性的内容求值，不缓存解析结果
+     * <p>
+     * 用于渲染结果中再次出现的变量（例如自定义参数的值引用了其他变量），这些内容每个元素都不同，缓存没有意义。
+     * </p>
+     *
+     * @param content 需要求值的内容
+     * @param context Velocity上下文
+     * @return 求值后的字符串
+     */
+    public String evaluate(String content, Context context) {
         try {
-            // 使用eval方法直接渲染字符串模板
             StringWriter writer = new StringWriter();
-            velocityEngine.evaluate(context, writer, "VelocityTemplateService.render", templateContent);
+            this.runtime.evaluate(context, writer, "easy-doc-output", content);
             return writer.toString();
         } catch (Exception e) {
             throw new RuntimeException("模板渲染失败: " + e.getMessage(), e);
@@ -72,7 +174,7 @@ public class VelocityTemplateService {
     public String renderFromFile(String templatePath, Context context) {
         try {
             // 从文件加载并渲染模板
-            Template template = velocityEngine.getTemplate(templatePath);
+            Template template = this.runtime.getTemplate(templatePath);
             // 合并模板和上下文
             StringWriter writer = new StringWriter();
             template.merge(context, writer);
@@ -81,4 +183,25 @@ public class VelocityTemplateService {
             throw new RuntimeException("模板文件渲染失败: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 解析字符串模板
+     *
+     * @param templateContent 模板内容
+     * @return 解析后的模板
+     */
+    private Template compile(String templateContent) {
+        try {
+            Template template = new Template();
+            template.setName("easy-doc-" + Integer.toHexString(templateContent.hashCode()));
+            template.setRuntimeServices(this.runtime);
+            SimpleNode document = this.runtime.parse(new StringReader(templateContent), template);
+            template.setData(document);
+            template.initDocument();
+            DocMetrics.getInstance().increment(DocCounter.TEMPLATES_COMPILED);
+            return template;
+        } catch (Exception e) {
+            throw new RuntimeException("模板解析失败: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package io.github.easy.tools.service.doc.ai;
+
+import cn.hutool.http.HttpRequest;
+import cn.hutool.http.HttpResponse;
+import cn.hutool.json.JSON;
+import cn.hutool.json.JSONUtil;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.service.doc.GenerationScheduler;
+import io.github.easy.tools.service.doc.PluginFootprint;
+import io.github.easy.tools.service.doc.TemplateRenderer;
+import io.github.easy.tools.service.doc.TemplateRendererService;
+import io.github.easy.tools.service.doc.TokenBudget;
+import io.github.easy.tools.service.doc.jfr.AiRequestEvent;
+import io.github.easy.tools.service.doc.jfr.DocEvents;
+import io.github.easy.tools.service.doc.jfr.RenderEvent;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.service.doc.metrics.DocStage;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.apache.velocity.context.Context;
+
+import java.util.stream.Stream;
+
+/**
+ * AI模板渲染器
+ * <p>
+ * 当启用AI功能时使用的模板渲染器，集成OpenAI API进行智能注释生成。
+ * 使用Hutool的HTTP工具实现API调用。
+ * 该类通过扩展点注册，只有开启AI后才会被加载，未开启AI时不会加载HTTP和JSON相关的类。
+ * </p>
+ */
+public class AITemplateRenderer implements TemplateRenderer {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(AITemplateRenderer.class);
+
+    /**
+     * 系统提示词
+     */
+    private static final String SYSTEM_PROMPT = "你是一名专业的Java开发者，擅长编写高质量的Java代码注释。请根据提供的代码和上下文信息生成符合JavaDoc标准的注释。";
+
+    /**
+     * 聊天格式额外占用的令牌数量：每条消息约4个，回复的起始标记约3个
+     */
+    private static final int CHAT_OVERHEAD_TOKENS = 2 * 4 + 3;
+
+    /**
+     * 类注释提示词模板
+     */
+    private static final String CLASS_PROMPT_TEMPLATE = """
+            请根据以下Java类的代码生成符合JavaDoc标准的类注释:
+            
+            类代码:
+            {code}
+            
+            要求:
+            1. 总结整个类的功能和用途
+            2. 简要描述类的主要职责
+            3. 严格按照JavaDoc格式输出
+            4. 不要包含任何解释性文字，只输出注释代码
+            5. 使用简洁明了的中文描述
+            
+            示例格式:
+            /**
+             * 类描述
+             *
+             * @author 作者
+             * @version 版本
+             * @since 从哪个版本开始可用
+             */
+            """;
+
+    /**
+     * 方法注释提示词模板
+     */
+    private static final String METHOD_PROMPT_TEMPLATE = """
+            请根据以下Java方法的代码生成符合JavaDoc标准的方法注释:
+            
+            方法代码:
+            {code}
+            
+            要求:
+            1. 描述方法的功能和用途
+            2. 详细说明每个参数的含义
+            3. 说明返回值的含义（如果有返回值）
+            4. 列出可能抛出的异常（如果有）
+            5. 严格按照JavaDoc格式输出
+            6. 不要包含任何解释性文字，只输出注释代码
+            7. 使用简洁明了的中文描述
+            
+            示例格式:
+            /**
+             * 方法描述
+             *
+             * @param 参数名 参数描述
+             * @return 返回值描述
+             * @throws 异常类型 异常描述
+             */
+            """;
+
+    /**
+     * 字段注释提示词模板
+     */
+    private static final String FIELD_PROMPT_TEMPLATE = """
+            请根据以下Java字段的代码生成符合JavaDoc标准的字段注释:
+            
+            字段代码:
+            {code}
+            
+            要求:
+            1. 描述字段的含义和用途
+            2. 如果字段有特殊约束或默认值，请说明
+            3. 严格按照JavaDoc格式输出
+            4. 不要包含任何解释性文字，只输出注释代码
+            5. 使用简洁明了的中文描述
+            
+            示例格式:
+            /**
+             * 字段描述
+             */
+            """;
+
+    /**
+     * 默认提示词模板
+     */
+    private static final String DEFAULT_PROMPT_TEMPLATE = """
+            请根据以下代码模板和上下文信息生成符合JavaDoc标准的注释:
+            
+            模板内容:
+            {template}
+            
+            {context}
+            
+            要求:
+            1. 严格按照JavaDoc格式输出
+            2. 不要包含任何解释性文字，只输出注释代码
+            3. 确保注释内容准确反映代码意图
+            4. 包含适当的@param, @return, @throws等标签
+            5. 使用简洁明了的中文描述
+            6. 不要修改代码结构，只生成注释部分
+            
+            示例格式:
+            /**
+             * 方法描述
+             *
+             * @param 参数名 参数描述
+             * @return 返回值描述
+             */
+            """;
+
+    /**
+     * 构造函数
+     * <p>
+     * 备用渲染使用 {@link TemplateRendererService} 中共享的Velocity引擎，不单独创建引擎。
+     * </p>
+     */
+    public AITemplateRenderer() {
+        PluginFootprint.markAiLoaded();
+    }
+
+    /**
+     * 使用AI辅助渲染模板内容
+     * <p>
+     * 调用OpenAI API生成智能注释内容，请求失败时使用Velocity渲染模板
+     * </p>
+     *
+     * @param request 渲染输入
+     * @return 渲染后的内容
+     */
+    @Override
+    public String render(RenderRequest request) {
+        // 获取配置快照
+        DocConfigSnapshot config = DocConfigService.getInstance().getSnapshot();
+        String templateContent = request.getTemplate().getContent();
+        RenderEvent event = RenderEvent.begin("ai", templateContent, request.getKind(), request.getFilePath());
+        String result = null;
+        String outcome = DocEvents.ERROR;
+        try {
+            // 检查是否启用AI功能
+            if (config.isAiAvailable()) {
+                try {
+                    // 使用AI生成注释
+                    result = generateAIComment(request, config);
+                } catch (TokenBudget.ExceededException | ProcessCanceledException e) {
+                    // 预算用完或任务在排队时取消，不回退到模板，由调用方停止生成
+                    throw e;
+                } catch (Exception e) {
+                    DocMetrics.getInstance().increment(DocCounter.AI_FAILURES);
+                    LOG.warn("AI注释生成失败, model=" + config.getModelName(), e);
+                }
+            }
+            if (result != null) {
+                outcome = DocEvents.OK;
+                return result;
+            }
+
+            // 默认使用Velocity模板服务进行渲染
+            result = TemplateRendererService.getInstance().getVelocityTemplateService()
+                    .render(request.getTemplate().getKey(), templateContent, request.getContext());
+            outcome = DocEvents.FALLBACK;
+            return result;
+        } finally {
+            event.finish(result, outcome);
+        }
+    }
+
+    /**
+     * 使用OpenAI API生成注释
+     *
+     * @param request 渲染输入
+     * @param config  配置快照
+     * @return AI生成的注释内容，请求失败时返回null，由调用方回退到Velocity渲染
+     * @throws TokenBudget.ExceededException 当前线程绑定的令牌预算不足以发送本次请求时抛出
+     * @throws ProcessCanceledException       排队等待调度器名额时任务被取消
+     */
+    private String generateAIComment(RenderRequest request, DocConfigSnapshot config) {
+        DocMetrics metrics = DocMetrics.getInstance();
+        Context context = request.getContext();
+        long start = System.nanoTime();
+
+        // 构建上下文信息字符串
+        StringBuilder contextInfo = new StringBuilder();
+        contextInfo.append("代码上下文信息:\n");
+
+        // 获取上下文中的所有键值对
+        Stream.of(context.getKeys()).forEach(key -> {
+            Object value = context.get(key);
+            contextInfo.append(key).append(": ").append(value).append("\n");
+        });
+
+        // 元素的源代码在准备阶段已经读取，渲染时不访问PSI；发送前从预算中预留提示词的令牌
+        String prompt = buildPrompt(request.getTemplate().getContent(), contextInfo.toString(), request.getKind(), request.getSourceText());
+        PromptTokenizer tokenizer = PromptTokenizer.getInstance(config.getTokenizerVocabulary());
+        int reserved = countPromptTokens(prompt, tokenizer);
+        TokenBudget budget = TokenBudget.current();
+        if (budget != null) {
+            budget.reserve(reserved);
+        }
+
+        metrics.increment(DocCounter.AI_REQUESTS);
+        try {
+            // 构建请求体
+            String requestBody = buildRequestBody(config.getModelName(), prompt);
+            long networkStart = System.nanoTime();
+            metrics.record(DocStage.AI_PREPARE, networkStart - start);
+
+            // 取得调度器的名额后发送HTTP请求，排队时间单独记录，不计入网络耗时
+            long[] sent = new long[1];
+            HttpResponse response = GenerationScheduler.getInstance().execute(request.getPointer().getProject(), () -> {
+                sent[0] = System.nanoTime();
+                AiRequestEvent event = AiRequestEvent.begin(config.getModelName(), request.getKind(), request.getFilePath(), prompt);
+                try {
+                    HttpResponse result = HttpRequest.post(config.getBaseUrl() + "/chat/completions")
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + getApiKey(config))
+                            .body(requestBody)
+                            .timeout(300000)
+                            .execute();
+                    event.response(result.getStatus(), result.body());
+                    return result;
+                } finally {
+                    event.finish();
+                }
+            });
+            String responseBody = response.body();
+            long parseStart = System.nanoTime();
+            metrics.record(DocStage.AI_NETWORK, parseStart - sent[0]);
+
+            // 解析响应
+            if (response.getStatus() == 200) {
+                String comment = extractCommentFromResponse(responseBody);
+                this.recordUsage(responseBody, reserved, comment, tokenizer, budget);
+                metrics.recordSince(DocStage.AI_PARSE, parseStart);
+                return comment;
+            } else {
+                metrics.increment(DocCounter.AI_FAILURES);
+                LOG.warn("调用OpenAI API失败, status=" + response.getStatus() + ", model=" + config.getModelName()
+                        + ", body=" + responseBody);
+                // 出现异常时回退到Velocity渲染
+                return null;
+            }
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            metrics.increment(DocCounter.AI_FAILURES);
+            LOG.warn("调用OpenAI API失败, url=" + config.getBaseUrl() + ", model=" + config.getModelName(), e);
+            // 出现异常时回退到Velocity渲染
+            return null;
+        }
+    }
+
+    /**
+     * 记录一次请求实际使用的令牌
+     * <p>
+     * 优先使用响应中 usage 字段返回的数量，没有返回时用本地分词器统计；
+     * 提示词的实际数量与预留数量不同时修正预算，返回内容的令牌在请求结束后计入预算。
+     * </p>
+     *
+     * @param responseBody 响应体
+     * @param reserved     发送前预留的提示词令牌数量
+     * @param comment      提取出的注释
+     * @param tokenizer    分词器
+     * @param budget       当前预算，可以为null
+     */
+    private void recordUsage(String responseBody, int reserved, String comment, PromptTokenizer tokenizer, TokenBudget budget) {
+        Long promptTokens = null;
+        Long completionTokens = null;
+        try {
+            JSON responseJson = JSONUtil.parse(responseBody);
+            promptTokens = responseJson.getByPath("usage.prompt_tokens", Long.class);
+            completionTokens = responseJson.getByPath("usage.completion_tokens", Long.class);
+        } catch (Exception e) {
+            LOG.debug("AI响应中没有令牌用量", e);
+        }
+        long prompt = promptTokens != null ? promptTokens : reserved;
+        long completion = completionTokens != null ? completionTokens : tokenizer.count(comment);
+        DocMetrics metrics = DocMetrics.getInstance();
+        metrics.add(DocCounter.AI_PROMPT_TOKENS, prompt);
+        metrics.add(DocCounter.AI_COMPLETION_TOKENS, completion);
+        if (budget != null) {
+            budget.add(prompt - reserved + completion);
+        }
+    }
+
+    /**
+     * 统计一次请求的提示词令牌数量，包括系统提示词和聊天格式的额外令牌
+     *
+     * @param prompt    用户提示词
+     * @param tokenizer 分词器
+     * @return 令牌数量
+     */
+    static int countPromptTokens(String prompt, PromptTokenizer tokenizer) {
+        return tokenizer.count(SYSTEM_PROMPT) + tokenizer.count(prompt) + CHAT_OVERHEAD_TOKENS;
+    }
+
+    /**
+     * 获取API密钥
+     *
+     * @param config 配置快照
+     * @return API密钥
+     */
+    private String getApiKey(DocConfigSnapshot config) {
+        String apiKey = "EMPTY"; // 默认值，对于本地部署的模型通常为空
+        if ("openai".equals(config.getModelType())) {
+            // 如果是OpenAI官方服务，需要提供有效的API密钥
+            // 这里应该从安全的地方获取API密钥，例如配置文件或环境变量
+            apiKey = System.getenv("OPENAI_API_KEY");
+            if (apiKey == null) {
+                apiKey = "EMPTY"; // 回退到默认值
+            }
+        }
+        return apiKey;
+    }
+
+    /**
+     * 构建请求体
+     *
+     * @param model  模型名称
+     * @param prompt 提示词
+     * @return 请求体JSON字符串
+     */
+    private String buildRequestBody(String model, String prompt) {
+        // 构建消息数组
+        JSON messages = JSONUtil.createArray()
+                .put(JSONUtil.createObj()
+                        .set("role", "system")
+                        .set("content", SYSTEM_PROMPT))
+                .put(JSONUtil.createObj()
+                        .set("role", "user")
+                        .set("content", prompt));
+
+        // 构建请求体
+        return JSONUtil.createObj()
+                .set("model", model)
+                .set("messages", messages)
+                .set("temperature", 0.7)
+                .set("stream", false)
+                .toString();
+    }
+
+    /**
+     * 构建提示词
+     *
+     * @param templateContent 模板内容
+     * @param contextInfo     上下文信息
+     * @param kind            元素类型：class、method、field
+     * @param sourceText      准备阶段读取的元素源代码，没有时为null
+     * @return 完整的提示词
+     */
+    static String buildPrompt(String templateContent, String contextInfo, String kind, String sourceText) {
+        // 根据元素类型构建不同的提示词
+        if (sourceText != null && "class".equals(kind)) {
+            return CLASS_PROMPT_TEMPLATE.replace("{code}", sourceText);
+        } else if (sourceText != null && "method".equals(kind)) {
+            return METHOD_PROMPT_TEMPLATE.replace("{code}", sourceText);
+        } else if (sourceText != null && "field".equals(kind)) {
+            return FIELD_PROMPT_TEMPLATE.replace("{code}", sourceText);
+        } else {
+            // 默认提示词
+            return DEFAULT_PROMPT_TEMPLATE
+                    .replace("{template}", templateContent)
+                    .replace("{context}", contextInfo);
+        }
+    }
+
+    /**
+     * 从AI响应中提取注释内容
+     *
+     * @param responseBody 响应体
+     * @return 提取的注释
+     */
+    static String extractCommentFromResponse(String responseBody) {
+        try {
+            // 解析JSON响应
+            JSON responseJson = JSONUtil.parse(responseBody);
+            String content = responseJson.getByPath("choices[0].message.content", String.class);
+
+            // 尝试从代码块中提取注释
+            if (content != null && content.contains("```")) {
+                int start = content.indexOf("```");
+                int end = content.lastIndexOf("```");
+                if (start >= 0 && end > start) {
+                    String codeBlock = content.substring(start + 3, end).trim();
+                    // 如果代码块以java开头，则移除
+                    if (codeBlock.startsWith("java")) {
+                        codeBlock = codeBlock.substring(4).trim();
+                    }
+                    return codeBlock;
+                }
+            }
+
+            // 如果没有代码块，直接返回响应内容
+            return content != null ? content : "";
+        } catch (Exception e) {
+            LOG.warn("解析AI响应失败, length=" + responseBody.length(), e);
+            return "";
+        }
+    }
+}
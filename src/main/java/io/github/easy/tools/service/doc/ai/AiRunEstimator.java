@@ -0,0 +1,132 @@
+package io.github.easy.tools.service.doc.ai;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import io.github.easy.tools.entity.doc.AiRunEstimate;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.service.doc.metrics.DocStage;
+import io.github.easy.tools.service.doc.metrics.LatencyHistogram;
+
+import java.util.Collection;
+
+/**
+ * AI批量生成的用量预估
+ * <p>
+ * 按AI渲染器实际发送的提示词逐个统计令牌数量；返回内容的令牌数量和耗时按本次会话已完成请求的平均值估算，
+ * 没有历史请求时返回内容按每个注释 {@value #DEFAULT_COMPLETION_TOKENS} 个令牌估算，耗时未知。
+ * 需要在读操作中调用 {@link #add(Collection)}。
+ * </p>
+ */
+public final class AiRunEstimator {
+
+    /**
+     * 没有历史请求时每个注释返回内容的令牌数量
+     */
+    private static final int DEFAULT_COMPLETION_TOKENS = 120;
+
+    /**
+     * 每个元素的AI请求次数：渲染结果中的变量由Velocity再求值一次，不再发送请求
+     */
+    private static final int REQUESTS_PER_ELEMENT = 1;
+
+    /**
+     * 分词器
+     */
+    private final PromptTokenizer tokenizer;
+
+    /**
+     * 已统计的请求数量
+     */
+    private int requests;
+
+    /**
+     * 已统计的提示词令牌数量
+     */
+    private long promptTokens;
+
+    /**
+     * 构造函数
+     *
+     * @param config 配置快照
+     */
+    public AiRunEstimator(DocConfigSnapshot config) {
+        this.tokenizer = PromptTokenizer.getInstance(config.getTokenizerVocabulary());
+    }
+
+    /**
+     * 统计一批需要生成注释的元素
+     *
+     * @param elements 元素
+     */
+    public void add(Collection<? extends PsiElement> elements) {
+        for (PsiElement element : elements) {
+            String prompt = AITemplateRenderer.buildPrompt("", "", element);
+            this.promptTokens += (long) REQUESTS_PER_ELEMENT * AITemplateRenderer.countPromptTokens(prompt, this.tokenizer);
+            this.requests += REQUESTS_PER_ELEMENT;
+        }
+    }
+
+    /**
+     * 获取预估结果
+     *
+     * @return 预估用量
+     */
+    public AiRunEstimate getEstimate() {
+        DocMetrics metrics = DocMetrics.getInstance();
+        long succeeded = metrics.getCount(DocCounter.AI_REQUESTS) - metrics.getCount(DocCounter.AI_FAILURES);
+        long completions = metrics.getCount(DocCounter.AI_COMPLETION_TOKENS);
+        long perRequest = succeeded > 0 && completions > 0 ? completions / succeeded : DEFAULT_COMPLETION_TOKENS;
+        LatencyHistogram network = metrics.getHistogram(DocStage.AI_NETWORK);
+        long millis = network.getCount() > 0 ? network.getMeanNanos() / 1_000_000L * this.requests : -1;
+        return new AiRunEstimate(this.requests, this.promptTokens, perRequest * this.requests, millis, this.tokenizer.isExact());
+    }
+
+    /**
+     * 格式化预估结果
+     *
+     * @param estimate 预估用量
+     * @param limit    令牌预算，0表示不限制
+     * @return 多行文本
+     */
+    public static String format(AiRunEstimate estimate, long limit) {
+        StringBuilder text = new StringBuilder();
+        text.append("AI请求: 最多 ").append(estimate.getRequests()).append(" 次\n");
+        text.append("令牌: 约 ").append(estimate.getTotalTokens())
+                .append("（提示词 ").append(estimate.getPromptTokens())
+                .append("，返回内容 ").append(estimate.getCompletionTokens()).append("）")
+                .append(estimate.isExact() ? "" : "，按字符估算").append('\n');
+        text.append("耗时: ").append(estimate.getEstimatedMillis() < 0
+                ? "未知（本次会话还没有AI请求）"
+                : "约 " + StringUtil.formatDuration(estimate.getEstimatedMillis())).append('\n');
+        if (limit > 0) {
+            text.append("预算: ").append(limit).append(" 令牌");
+            if (estimate.getTotalTokens() > limit) {
+                text.append("，预计不足，用完后停止生成");
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * 在EDT中显示预估结果并请用户确认
+     *
+     * @param project  项目
+     * @param estimate 预估用量
+     * @param config   配置快照
+     * @return 用户确认或没有需要调用AI的元素时返回true
+     */
+    public static boolean confirm(Project project, AiRunEstimate estimate, DocConfigSnapshot config) {
+        if (estimate.getRequests() == 0) {
+            return true;
+        }
+        String message = format(estimate, config.getAiTokenBudget())
+                + "\n复用已有注释和继承父方法注释的成员不会调用AI，实际用量通常更少。是否继续？";
+        return Messages.showOkCancelDialog(project, message, "AI生成注释预估", "生成", "取消",
+                Messages.getQuestionIcon()) == Messages.OK;
+    }
+}
@@ -0,0 +1,231 @@
+package io.github.easy.tools.service.doc.ai;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 本地提示词分词器，用于在调用AI之前统计令牌数量
+ * <p>
+ * 先按 cl100k 系列模型的正则规则预分词，再对每个片段计数：
+ * 配置了 tiktoken 格式的词表文件（每行为 base64 编码的字节序列和合并优先级，例如 {@code cl100k_base.tiktoken}）时，
+ * 按字节级 BPE 逐步合并优先级最高的相邻片段，结果与 OpenAI 系列模型一致；
+ * 插件不附带词表，没有配置时按片段的字符类型估算（英文和代码约4个字符一个令牌，汉字约一个字一个令牌），
+ * 误差通常在两成以内，足够用于预估费用和预算控制。实例不可变，可以在多个线程中使用。
+ * </p>
+ */
+public final class PromptTokenizer {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(PromptTokenizer.class);
+
+    /**
+     * cl100k 的预分词规则
+     */
+    private static final Pattern PRE_TOKENIZER = Pattern.compile(
+            "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+    /**
+     * 没有词表时估算使用的分词器
+     */
+    private static final PromptTokenizer APPROXIMATE = new PromptTokenizer(null, null);
+
+    /**
+     * 最近一次加载的分词器，词表路径变化时重新加载
+     */
+    private static volatile PromptTokenizer cached = APPROXIMATE;
+
+    /**
+     * 词表文件路径，估算时为null
+     */
+    private final String vocabularyPath;
+
+    /**
+     * 字节序列（每个字符对应一个字节）到合并优先级的映射，估算时为null
+     */
+    private final Map<String, Integer> ranks;
+
+    /**
+     * 构造函数
+     *
+     * @param vocabularyPath 词表文件路径
+     * @param ranks          合并优先级
+     */
+    private PromptTokenizer(String vocabularyPath, Map<String, Integer> ranks) {
+        this.vocabularyPath = vocabularyPath;
+        this.ranks = ranks;
+    }
+
+    /**
+     * 获取分词器
+     * <p>
+     * 词表只在路径变化时加载一次；路径为空或加载失败时返回估算分词器。
+     * </p>
+     *
+     * @param vocabularyPath tiktoken 词表文件路径，可以为空
+     * @return 分词器
+     */
+    public static PromptTokenizer getInstance(String vocabularyPath) {
+        if (vocabularyPath == null || vocabularyPath.isBlank()) {
+            return APPROXIMATE;
+        }
+        PromptTokenizer current = cached;
+        if (vocabularyPath.equals(current.vocabularyPath)) {
+            return current;
+        }
+        synchronized (PromptTokenizer.class) {
+            if (!vocabularyPath.equals(cached.vocabularyPath)) {
+                try {
+                    cached = new PromptTokenizer(vocabularyPath, loadRanks(Path.of(vocabularyPath)));
+                } catch (Exception e) {
+                    LOG.warn("加载分词词表失败，改为估算令牌数量: " + vocabularyPath, e);
+                    cached = new PromptTokenizer(vocabularyPath, null);
+                }
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * 是否使用词表精确计数
+     *
+     * @return 加载了词表时返回true，估算时返回false
+     */
+    public boolean isExact() {
+        return this.ranks != null;
+    }
+
+    /**
+     * 统计文本的令牌数量
+     *
+     * @param text 文本
+     * @return 令牌数量
+     */
+    public int count(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int tokens = 0;
+        Matcher matcher = PRE_TOKENIZER.matcher(text);
+        while (matcher.find()) {
+            String piece = matcher.group();
+            tokens += this.ranks != null ? this.countBpe(piece) : estimate(piece);
+        }
+        return tokens;
+    }
+
+    /**
+     * 按字节级 BPE 统计片段的令牌数量
+     *
+     * @param piece 预分词得到的片段
+     * @return 令牌数量
+     */
+    private int countBpe(String piece) {
+        String bytes = new String(piece.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+        if (this.ranks.containsKey(bytes)) {
+            return 1;
+        }
+        // parts[i] 为第i个片段的起始位置，每次合并优先级最高的相邻片段，直到不能合并
+        int[] parts = new int[bytes.length() + 1];
+        int size = parts.length;
+        for (int i = 0; i < size; i++) {
+            parts[i] = i;
+        }
+        while (size > 2) {
+            int best = -1;
+            int bestRank = Integer.MAX_VALUE;
+            for (int i = 0; i + 2 < size; i++) {
+                Integer rank = this.ranks.get(bytes.substring(parts[i], parts[i + 2]));
+                if (rank != null && rank < bestRank) {
+                    best = i;
+                    bestRank = rank;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            System.arraycopy(parts, best + 2, parts, best + 1, size - best - 2);
+            size--;
+        }
+        return size - 1;
+    }
+
+    /**
+     * 估算片段的令牌数量
+     * <p>
+     * ASCII片段（单词、数字、符号和空白）约4个字符一个令牌；汉字、假名和谚文每个字符计一个令牌；
+     * 其他非ASCII字符按UTF-8字节数每两个字节计一个令牌。
+     * </p>
+     *
+     * @param piece 预分词得到的片段
+     * @return 令牌数量，至少为1
+     */
+    private static int estimate(String piece) {
+        int ascii = 0;
+        int tokens = 0;
+        int otherBytes = 0;
+        for (int i = 0; i < piece.length(); ) {
+            int codePoint = piece.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint < 0x80) {
+                ascii++;
+            } else if (isIdeographic(codePoint)) {
+                tokens++;
+            } else {
+                otherBytes += codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            }
+        }
+        tokens += (ascii + 3) / 4 + (otherBytes + 1) / 2;
+        return Math.max(1, tokens);
+    }
+
+    /**
+     * 判断是否为汉字、假名或谚文
+     *
+     * @param codePoint 码点
+     * @return 是时返回true
+     */
+    private static boolean isIdeographic(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 加载 tiktoken 格式的词表
+     *
+     * @param path 词表文件路径
+     * @return 字节序列（每个字符对应一个字节）到合并优先级的映射
+     * @throws IOException 读取失败时抛出
+     */
+    private static Map<String, Integer> loadRanks(Path path) throws IOException {
+        Map<String, Integer> ranks = new HashMap<>(200_000);
+        Base64.Decoder decoder = Base64.getDecoder();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    continue;
+                }
+                byte[] bytes = decoder.decode(line.substring(0, space));
+                ranks.put(new String(bytes, StandardCharsets.ISO_8859_1), Integer.parseInt(line.substring(space + 1).trim()));
+            }
+        }
+        if (ranks.isEmpty()) {
+            throw new IOException("词表为空");
+        }
+        return ranks;
+    }
+}
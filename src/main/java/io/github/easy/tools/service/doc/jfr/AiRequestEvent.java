@@ -0,0 +1,103 @@
+package io.github.easy.tools.service.doc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * AI请求的JFR事件，对应一次HTTP调用
+ */
+@Name("io.github.easy.tools.AiRequest")
+@Label("AI Request")
+@Description("HTTP call to the chat completion endpoint")
+@Category({DocEvents.CATEGORY, "AI"})
+public class AiRequestEvent extends jdk.jfr.Event {
+
+    /**
+     * 模型名称
+     */
+    @Label("Model")
+    private String model;
+
+    /**
+     * 元素类型
+     */
+    @Label("Element Kind")
+    private String elementKind;
+
+    /**
+     * 文件路径
+     */
+    @Label("File")
+    private String file;
+
+    /**
+     * 提示词长度
+     */
+    @Label("Prompt Size")
+    @DataAmount(DataAmount.BYTES)
+    private int promptSize;
+
+    /**
+     * 响应体长度
+     */
+    @Label("Response Size")
+    @DataAmount(DataAmount.BYTES)
+    private int responseSize;
+
+    /**
+     * HTTP状态码，请求未完成时为0
+     */
+    @Label("HTTP Status")
+    private int status;
+
+    /**
+     * 结果
+     */
+    @Label("Outcome")
+    private String outcome = DocEvents.ERROR;
+
+    /**
+     * 开始记录事件
+     *
+     * @param model       模型名称
+     * @param elementKind 元素类型
+     * @param file        文件路径
+     * @param prompt      提示词
+     * @return 事件
+     */
+    public static AiRequestEvent begin(String model, String elementKind, String file, String prompt) {
+        AiRequestEvent event = new AiRequestEvent();
+        if (event.isEnabled()) {
+            event.model = model;
+            event.elementKind = elementKind;
+            event.file = file;
+            event.promptSize = prompt == null ? 0 : prompt.length();
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 记录响应
+     *
+     * @param status       HTTP状态码
+     * @param responseBody 响应体
+     */
+    public void response(int status, String responseBody) {
+        this.status = status;
+        this.responseSize = responseBody == null ? 0 : responseBody.length();
+        this.outcome = status == 200 ? DocEvents.OK : DocEvents.FALLBACK;
+    }
+
+    /**
+     * 结束并提交事件，未调用 {@link #response(int, String)} 时结果为 error
+     */
+    public void finish() {
+        if (this.shouldCommit()) {
+            this.commit();
+        }
+    }
+}
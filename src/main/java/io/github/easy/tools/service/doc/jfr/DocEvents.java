@@ -0,0 +1,77 @@
+package io.github.easy.tools.service.doc.jfr;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
+
+/**
+ * JFR事件的公共常量和工具方法
+ */
+public final class DocEvents {
+
+    /**
+     * 事件分类
+     */
+    public static final String CATEGORY = "Easy Tools";
+
+    /**
+     * 成功
+     */
+    public static final String OK = "ok";
+
+    /**
+     * 失败
+     */
+    public static final String ERROR = "error";
+
+    /**
+     * 回退到Velocity渲染
+     */
+    public static final String FALLBACK = "fallback";
+
+    /**
+     * 工具类不允许实例化
+     */
+    private DocEvents() {
+    }
+
+    /**
+     * 获取元素类型
+     *
+     * @param element 元素
+     * @return class、method、field，其他元素返回类名
+     */
+    public static String kindOf(PsiElement element) {
+        if (element == null) {
+            return null;
+        }
+        if (element instanceof PsiClass) {
+            return "class";
+        } else if (element instanceof PsiMethod) {
+            return "method";
+        } else if (element instanceof PsiField) {
+            return "field";
+        }
+        return element.getClass().getSimpleName();
+    }
+
+    /**
+     * 获取元素所在文件的路径，需要在读操作中调用
+     * <p>
+     * 渲染阶段在读操作之外执行，渲染相关的事件使用准备阶段读取好的路径，不调用该方法。
+     * </p>
+     *
+     * @param element 元素或文件
+     * @return 文件路径，没有对应的物理文件时返回文件名
+     */
+    public static String fileOf(PsiElement element) {
+        PsiFile file = element == null ? null : element.getContainingFile();
+        if (file == null) {
+            return null;
+        }
+        PsiFile original = file.getOriginalFile();
+        return original.getVirtualFile() != null ? original.getVirtualFile().getPath() : file.getName();
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.easy.tools.service.doc.jfr;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 生成或删除注释的JFR事件，对应一次 {@code CommentGenerationStrategy.generate/remove} 调用
+ */
+@Name("io.github.easy.tools.Generation")
+@Label("Doc Generation")
+@Description("Generate or remove doc comments for a file or elements")
+@Category({DocEvents.CATEGORY, "Doc"})
+public class GenerationEvent extends jdk.jfr.Event {
+
+    /**
+     * 操作类型：generate 或 remove
+     */
+    @Label("Operation")
+    private String operation;
+
+    /**
+     * 文件路径
+     */
+    @Label("File")
+    private String file;
+
+    /**
+     * 元素类型，整个文件时为空
+     */
+    @Label("Element Kind")
+    private String elementKind;
+
+    /**
+     * 处理的元素数量
+     */
+    @Label("Elements")
+    private int elements;
+
+    /**
+     * 结果
+     */
+    @Label("Outcome")
+    private String outcome = DocEvents.ERROR;
+
+    /**
+     * 开始记录事件
+     *
+     * @param operation 操作类型
+     * @param file      文件
+     * @param element   元素，整个文件时为null
+     * @return 事件
+     */
+    public static GenerationEvent begin(String operation, PsiFile file, PsiElement element) {
+        GenerationEvent event = new GenerationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.file = DocEvents.fileOf(file);
+            event.elementKind = DocEvents.kindOf(element);
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 标记成功
+     *
+     * @param elements 处理的元素数量
+     */
+    public void succeed(int elements) {
+        this.elements = elements;
+        this.outcome = DocEvents.OK;
+    }
+
+    /**
+     * 结束并提交事件，未调用 {@link #succeed(int)} 时结果为 error
+     */
+    public void finish() {
+        if (this.shouldCommit()) {
+            this.commit();
+        }
+    }
+}
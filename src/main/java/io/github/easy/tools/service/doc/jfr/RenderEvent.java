@@ -0,0 +1,90 @@
+package io.github.easy.tools.service.doc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 模板渲染的JFR事件，对应一次 {@code TemplateRenderer.render} 调用
+ */
+@Name("io.github.easy.tools.Render")
+@Label("Template Render")
+@Description("Render a doc comment template for one element")
+@Category({DocEvents.CATEGORY, "Doc"})
+public class RenderEvent extends jdk.jfr.Event {
+
+    /**
+     * 渲染器：velocity 或 ai
+     */
+    @Label("Renderer")
+    private String renderer;
+
+    /**
+     * 元素类型
+     */
+    @Label("Element Kind")
+    private String elementKind;
+
+    /**
+     * 文件路径
+     */
+    @Label("File")
+    private String file;
+
+    /**
+     * 模板长度
+     */
+    @Label("Template Size")
+    @DataAmount(DataAmount.BYTES)
+    private int templateSize;
+
+    /**
+     * 渲染结果长度
+     */
+    @Label("Output Size")
+    @DataAmount(DataAmount.BYTES)
+    private int outputSize;
+
+    /**
+     * 结果
+     */
+    @Label("Outcome")
+    private String outcome = DocEvents.ERROR;
+
+    /**
+     * 开始记录事件
+     *
+     * @param renderer        渲染器
+     * @param templateContent 模板内容
+     * @param elementKind     元素类型
+     * @param file            文件路径
+     * @return 事件
+     */
+    public static RenderEvent begin(String renderer, String templateContent, String elementKind, String file) {
+        RenderEvent event = new RenderEvent();
+        if (event.isEnabled()) {
+            event.renderer = renderer;
+            event.elementKind = elementKind;
+            event.file = file;
+            event.templateSize = templateContent == null ? 0 : templateContent.length();
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 结束并提交事件
+     *
+     * @param output  渲染结果，失败时为null
+     * @param outcome 结果
+     */
+    public void finish(String output, String outcome) {
+        if (this.shouldCommit()) {
+            this.outputSize = output == null ? 0 : output.length();
+            this.outcome = outcome;
+            this.commit();
+        }
+    }
+}
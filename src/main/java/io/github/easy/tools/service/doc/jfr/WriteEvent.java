@@ -0,0 +1,76 @@
+package io.github.easy.tools.service.doc.jfr;
+
+import com.intellij.psi.PsiFile;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * PSI写命令的JFR事件
+ */
+@Name("io.github.easy.tools.Write")
+@Label("Doc Write Command")
+@Description("Write command that inserts, replaces or deletes doc comments")
+@Category({DocEvents.CATEGORY, "Doc"})
+public class WriteEvent extends jdk.jfr.Event {
+
+    /**
+     * 操作类型：write 或 remove
+     */
+    @Label("Operation")
+    private String operation;
+
+    /**
+     * 文件路径
+     */
+    @Label("File")
+    private String file;
+
+    /**
+     * 修改的注释数量，删除整个文件的注释时为-1
+     */
+    @Label("Changes")
+    private int changes;
+
+    /**
+     * 结果
+     */
+    @Label("Outcome")
+    private String outcome = DocEvents.ERROR;
+
+    /**
+     * 开始记录事件
+     *
+     * @param operation 操作类型
+     * @param file      文件
+     * @param changes   修改的注释数量
+     * @return 事件
+     */
+    public static WriteEvent begin(String operation, PsiFile file, int changes) {
+        WriteEvent event = new WriteEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.file = DocEvents.fileOf(file);
+            event.changes = changes;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 标记成功
+     */
+    public void succeed() {
+        this.outcome = DocEvents.OK;
+    }
+
+    /**
+     * 结束并提交事件，未调用 {@link #succeed()} 时结果为 error
+     */
+    public void finish() {
+        if (this.shouldCommit()) {
+            this.commit();
+        }
+    }
+}
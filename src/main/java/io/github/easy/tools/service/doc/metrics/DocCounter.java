@@ -0,0 +1,77 @@
+package io.github.easy.tools.service.doc.metrics;
+
+/**
+ * 注释生成流程的计数器
+ */
+public enum DocCounter {
+
+    /**
+     * 渲染的注释数量
+     */
+    DOCS_RENDERED,
+
+    /**
+     * 写入的注释数量
+     */
+    DOCS_WRITTEN,
+
+    /**
+     * 版本号缓存命中
+     */
+    VERSION_CACHE_HIT,
+
+    /**
+     * 版本号缓存未命中
+     */
+    VERSION_CACHE_MISS,
+
+    /**
+     * Git信息缓存命中
+     */
+    GIT_CACHE_HIT,
+
+    /**
+     * Git信息缓存未命中
+     */
+    GIT_CACHE_MISS,
+
+    /**
+     * AI请求次数
+     */
+    AI_REQUESTS,
+
+    /**
+     * AI请求失败次数（失败后回退到Velocity渲染）
+     */
+    AI_FAILURES,
+
+    /**
+     * 复用相似成员已有注释的数量（不调用AI）
+     */
+    DOCS_REUSED,
+
+    /**
+     * 重写方法继承父方法注释的数量（不渲染）
+     */
+    DOCS_INHERITED,
+
+    /**
+     * AI请求的提示词令牌数量
+     */
+    AI_PROMPT_TOKENS,
+
+    /**
+     * AI返回内容的令牌数量
+     */
+    AI_COMPLETION_TOKENS,
+
+    /**
+     * 模板引擎解析模板的次数，即模板缓存未命中
+     */
+    TEMPLATES_COMPILED,
+
+    /**
+     * 模板缓存命中，直接使用已解析的模板
+     */
+    TEMPLATE_CACHE_HIT
+}
@@ -0,0 +1,305 @@
+package io.github.easy.tools.service.doc.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 注释生成流程的指标注册表
+ * <p>
+ * 记录各阶段的延迟直方图、计数器和最慢的元素。所有记录操作都是无锁的，
+ * 可以在渲染线程、后台线程和EDT上同时调用，开销只有几次原子累加。
+ * 生成任务开始和结束时记录一次运行，同时进行的多次运行按重叠后的墙钟时间合并，用于计算每秒生成的注释数量；
+ * 运行的开始和结束很少发生，只有这两个操作加锁。
+ * </p>
+ */
+public final class DocMetrics {
+
+    /**
+     * 保留的最慢元素数量
+     */
+    public static final int SLOWEST_SIZE = 20;
+
+    /**
+     * 单例实例
+     */
+    private static final DocMetrics INSTANCE = new DocMetrics();
+
+    /**
+     * 各阶段的延迟直方图，构造后不再修改
+     */
+    private final Map<DocStage, LatencyHistogram> stages = new EnumMap<>(DocStage.class);
+
+    /**
+     * 计数器，构造后不再修改
+     */
+    private final Map<DocCounter, LongAdder> counters = new EnumMap<>(DocCounter.class);
+
+    /**
+     * 最慢的元素，无序，空位为null
+     */
+    private final AtomicReferenceArray<SlowElement> slowest = new AtomicReferenceArray<>(SLOWEST_SIZE);
+
+    /**
+     * 正在进行的运行数量
+     */
+    private int activeRuns;
+
+    /**
+     * 当前这段连续运行的开始时间，{@link System#nanoTime()} 的返回值
+     */
+    private long activeSince;
+
+    /**
+     * 已结束的运行累计的墙钟时间（纳秒）
+     */
+    private long runNanos;
+
+    /**
+     * 私有构造函数
+     */
+    private DocMetrics() {
+        for (DocStage stage : DocStage.values()) {
+            this.stages.put(stage, new LatencyHistogram());
+        }
+        for (DocCounter counter : DocCounter.values()) {
+            this.counters.put(counter, new LongAdder());
+        }
+    }
+
+    /**
+     * 获取指标注册表实例
+     *
+     * @return 指标注册表的单例实例
+     */
+    public static DocMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param stage 阶段
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(DocStage stage, long nanos) {
+        this.stages.get(stage).record(nanos);
+    }
+
+    /**
+     * 记录从开始时间到现在的阶段耗时
+     *
+     * @param stage     阶段
+     * @param startNano 开始时间，{@link System#nanoTime()} 的返回值
+     * @return 耗时（纳秒）
+     */
+    public long recordSince(DocStage stage, long startNano) {
+        long nanos = System.nanoTime() - startNano;
+        this.record(stage, nanos);
+        return nanos;
+    }
+
+    /**
+     * 计数器加一
+     *
+     * @param counter 计数器
+     */
+    public void increment(DocCounter counter) {
+        this.counters.get(counter).increment();
+    }
+
+    /**
+     * 计数器累加
+     *
+     * @param counter 计数器
+     * @param value   累加值
+     */
+    public void add(DocCounter counter, long value) {
+        this.counters.get(counter).add(value);
+    }
+
+    /**
+     * 记录单个元素的生成耗时，只在进入最慢列表时才计算元素名称
+     *
+     * @param nanos 耗时（纳秒）
+     * @param name  元素名称
+     */
+    public void recordElement(long nanos, Supplier<String> name) {
+        while (true) {
+            int index = -1;
+            long minNanos = Long.MAX_VALUE;
+            SlowElement current = null;
+            for (int i = 0; i < SLOWEST_SIZE; i++) {
+                SlowElement element = this.slowest.get(i);
+                long elementNanos = element == null ? -1 : element.getNanos();
+                if (elementNanos < minNanos) {
+                    minNanos = elementNanos;
+                    index = i;
+                    current = element;
+                }
+            }
+            if (nanos <= minNanos) {
+                return;
+            }
+            if (this.slowest.compareAndSet(index, current, new SlowElement(name.get(), nanos))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 记录一次生成运行开始，需要与 {@link #runFinished()} 成对调用，可以嵌套
+     */
+    public synchronized void runStarted() {
+        if (this.activeRuns++ == 0) {
+            this.activeSince = System.nanoTime();
+        }
+    }
+
+    /**
+     * 记录一次生成运行结束
+     */
+    public synchronized void runFinished() {
+        if (this.activeRuns > 0 && --this.activeRuns == 0) {
+            this.runNanos += System.nanoTime() - this.activeSince;
+        }
+    }
+
+    /**
+     * 获取生成运行累计的墙钟时间，包括正在进行的运行
+     *
+     * @return 墙钟时间（纳秒）
+     */
+    public synchronized long getRunNanos() {
+        return this.activeRuns > 0 ? this.runNanos + System.nanoTime() - this.activeSince : this.runNanos;
+    }
+
+    /**
+     * 获取阶段的延迟直方图
+     *
+     * @param stage 阶段
+     * @return 延迟直方图
+     */
+    public LatencyHistogram getHistogram(DocStage stage) {
+        return this.stages.get(stage);
+    }
+
+    /**
+     * 获取计数器的值
+     *
+     * @param counter 计数器
+     * @return 计数器的值
+     */
+    public long getCount(DocCounter counter) {
+        return this.counters.get(counter).sum();
+    }
+
+    /**
+     * 计算缓存命中率
+     *
+     * @param hit  命中计数器
+     * @param miss 未命中计数器
+     * @return 命中率，没有访问时返回0
+     */
+    public double getHitRate(DocCounter hit, DocCounter miss) {
+        long hits = this.getCount(hit);
+        long total = hits + this.getCount(miss);
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * 计算每秒生成的注释数量
+     * <p>
+     * 以生成运行的墙钟时间为分母，不包括用户操作之间的空闲时间。并行渲染时各线程的阶段耗时会重复累加，
+     * 因此不使用阶段直方图的累计耗时。
+     * </p>
+     *
+     * @return 每秒生成的注释数量
+     */
+    public double getDocsPerSecond() {
+        long nanos = this.getRunNanos();
+        return nanos == 0 ? 0 : this.getCount(DocCounter.DOCS_RENDERED) / (nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * 获取最慢的元素
+     *
+     * @return 按耗时倒序排列的元素
+     */
+    public List<SlowElement> getSlowest() {
+        List<SlowElement> result = new ArrayList<>(SLOWEST_SIZE);
+        for (int i = 0; i < SLOWEST_SIZE; i++) {
+            SlowElement element = this.slowest.get(i);
+            if (element != null) {
+                result.add(element);
+            }
+        }
+        result.sort(Comparator.comparingLong(SlowElement::getNanos).reversed());
+        return result;
+    }
+
+    /**
+     * 清空所有指标
+     */
+    public void reset() {
+        synchronized (this) {
+            this.runNanos = 0;
+            this.activeSince = System.nanoTime();
+        }
+        this.stages.values().forEach(LatencyHistogram::reset);
+        this.counters.values().forEach(LongAdder::reset);
+        for (int i = 0; i < SLOWEST_SIZE; i++) {
+            this.slowest.set(i, null);
+        }
+    }
+
+    /**
+     * 生成耗时较长的元素
+     */
+    public static final class SlowElement {
+
+        /**
+         * 元素名称
+         */
+        private final String name;
+
+        /**
+         * 生成耗时（纳秒）
+         */
+        private final long nanos;
+
+        /**
+         * 构造函数
+         *
+         * @param name  元素名称
+         * @param nanos 生成耗时（纳秒）
+         */
+        private SlowElement(String name, long nanos) {
+            this.name = name;
+            this.nanos = nanos;
+        }
+
+        /**
+         * 获取元素名称
+         *
+         * @return 元素名称
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * 获取生成耗时
+         *
+         * @return 生成耗时（纳秒）
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+    }
+}
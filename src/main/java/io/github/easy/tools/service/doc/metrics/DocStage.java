@@ -0,0 +1,85 @@
+package io.github.easy.tools.service.doc.metrics;
+
+/**
+ * 注释生成流程的阶段
+ */
+public enum DocStage {
+
+    /**
+     * 收集文件中可注释的元素
+     */
+    ENUMERATE("元素收集"),
+
+    /**
+     * 构建模板上下文（包括版本号和Git信息）
+     */
+    CONTEXT("上下文构建"),
+
+    /**
+     * 查找项目版本号
+     */
+    VERSION("版本号查找"),
+
+    /**
+     * 渲染模板
+     */
+    RENDER("模板渲染"),
+
+    /**
+     * 交互请求等待AI请求名额
+     */
+    QUEUE_INTERACTIVE("排队(交互)"),
+
+    /**
+     * 预取请求等待AI请求名额
+     */
+    QUEUE_PREFETCH("排队(预取)"),
+
+    /**
+     * 批量请求等待AI请求名额
+     */
+    QUEUE_BULK("排队(批量)"),
+
+    /**
+     * AI请求准备（构建提示词和请求体）
+     */
+    AI_PREPARE("AI请求准备"),
+
+    /**
+     * AI请求网络耗时
+     */
+    AI_NETWORK("AI网络请求"),
+
+    /**
+     * AI响应解析
+     */
+    AI_PARSE("AI响应解析"),
+
+    /**
+     * PSI写入
+     */
+    WRITE("PSI写入");
+
+    /**
+     * 显示名称
+     */
+    private final String displayName;
+
+    /**
+     * 构造函数
+     *
+     * @param displayName 显示名称
+     */
+    DocStage(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * 获取显示名称
+     *
+     * @return 显示名称
+     */
+    public String getDisplayName() {
+        return this.displayName;
+    }
+}
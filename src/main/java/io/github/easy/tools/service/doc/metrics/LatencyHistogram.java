@@ -0,0 +1,140 @@
+package io.github.easy.tools.service.doc.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的延迟直方图
+ * <p>
+ * 按微秒的2的幂划分桶，第 i 个桶记录 [2^(i-1), 2^i) 微秒的样本，最后一个桶记录所有更大的样本。
+ * 记录样本只涉及 {@link LongAdder} 的累加，多个线程同时记录时不会互相阻塞；百分位数按桶上界估算。
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * 桶数量，最后一个有上界的桶约为33秒
+     */
+    private static final int BUCKETS = 26;
+
+    /**
+     * 各桶的样本数量
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    /**
+     * 样本数量
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * 总耗时（纳秒）
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * 最大耗时（纳秒）
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * 构造函数，初始化所有桶
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一个样本
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        long micros = Math.max(nanos, 0) / 1_000;
+        int index = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+        this.buckets[index].increment();
+        this.count.increment();
+        this.totalNanos.add(nanos);
+        if (nanos > this.maxNanos.get()) {
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * 获取样本数量
+     *
+     * @return 样本数量
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * 获取总耗时
+     *
+     * @return 总耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * 获取最大耗时
+     *
+     * @return 最大耗时（纳秒）
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * 获取平均耗时
+     *
+     * @return 平均耗时（纳秒），没有样本时返回0
+     */
+    public long getMeanNanos() {
+        long count = this.getCount();
+        return count == 0 ? 0 : this.getTotalNanos() / count;
+    }
+
+    /**
+     * 估算百分位数
+     *
+     * @param percentile 百分位，取值 (0, 1]
+     * @return 样本所在桶的上界（纳秒），不超过最大耗时；没有样本时返回0
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min((1L << i) * 1_000, this.getMaxNanos());
+            }
+        }
+        return this.getMaxNanos();
+    }
+
+    /**
+     * 清空所有样本
+     */
+    public void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.count.reset();
+        this.totalNanos.reset();
+        this.maxNanos.set(0);
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.easy.tools.starter.doc;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 命令行批量生成注释的参数
+ * <p>
+ * 命令格式：{@code easy-doc <项目路径> [--config <配置文件>] [--scope <相对目录>] [--threads <线程数>] [--dry-run <diff输出文件>]}
+ * </p>
+ */
+@Data
+public class DocBatchOptions {
+
+    /**
+     * 项目路径
+     */
+    private String projectPath;
+
+    /**
+     * 配置文件路径，格式与 easy-tools-config.xml 一致
+     */
+    private String configPath;
+
+    /**
+     * 需要处理的目录，相对于项目路径，为空时处理整个项目
+     */
+    private String scope;
+
+    /**
+     * 并行工作线程数
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 试运行模式下输出的 diff 文件路径，为空时直接修改文件
+     */
+    private String dryRunOutput;
+
+    /**
+     * 是否为试运行模式
+     *
+     * @return 试运行模式返回true
+     */
+    public boolean isDryRun() {
+        return this.dryRunOutput != null;
+    }
+
+    /**
+     * 解析命令行参数
+     *
+     * @param args 命令行参数，第一个参数为命令名
+     * @return 解析后的参数
+     * @throws IllegalArgumentException 参数不合法时抛出
+     */
+    public static DocBatchOptions parse(List<String> args) {
+        DocBatchOptions options = new DocBatchOptions();
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "--config" -> options.setConfigPath(value(args, ++i, arg));
+                case "--scope" -> options.setScope(value(args, ++i, arg));
+                case "--threads" -> options.setThreads(Math.max(1, Integer.parseInt(value(args, ++i, arg))));
+                case "--dry-run" -> options.setDryRunOutput(value(args, ++i, arg));
+                default -> {
+                    if (arg.startsWith("--") || options.getProjectPath() != null) {
+                        throw new IllegalArgumentException("未知参数: " + arg);
+                    }
+                    options.setProjectPath(arg);
+                }
+            }
+        }
+        if (options.getProjectPath() == null) {
+            throw new IllegalArgumentException("缺少项目路径");
+        }
+        return options;
+    }
+
+    /**
+     * 获取参数值
+     *
+     * @param args  命令行参数
+     * @param index 参数值位置
+     * @param name  参数名
+     * @return 参数值
+     */
+    private static String value(List<String> args, int index, String name) {
+        if (index >= args.size()) {
+            throw new IllegalArgumentException("参数缺少取值: " + name);
+        }
+        return args.get(index);
+    }
+}
@@ -0,0 +1,362 @@
+package io.github.easy.tools.starter.doc;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.JDOMUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.xmlb.XmlSerializer;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.service.doc.CommentGenerationStrategy;
+import io.github.easy.tools.service.doc.DocSimilarityService;
+import io.github.easy.tools.service.doc.GenerationPriority;
+import io.github.easy.tools.service.doc.GitFileInfoService;
+import io.github.easy.tools.service.doc.TokenBudget;
+import io.github.easy.tools.service.doc.ai.AiRunEstimator;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.jdom.Element;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 命令行批量生成注释的执行器
+ * <p>
+ * 打开项目并等待索引完成后，使用多个工作线程并行处理各文件：在非阻塞读操作中准备渲染输入，
+ * 在读操作之外渲染，渲染结果交给EDT在每个文件一次写命令中写入。试运行模式下写入的是文件的非物理副本，
+ * 只输出 unified diff，不修改任何文件。开启AI时先输出预估的令牌用量和耗时，
+ * 所有工作线程共用配置的令牌预算，预算用完后跳过剩余文件。开启相似注释复用时先等待已注释成员的索引加载完成。
+ * 指定的配置文件只用于本次运行，以临时快照的形式发布，不会覆盖IDE中保存的配置。
+ * </p>
+ */
+public class DocBatchRunner {
+
+    /**
+     * 命令行参数
+     */
+    private final DocBatchOptions options;
+
+    /**
+     * 等待相似注释索引加载的最长时间（分钟）
+     */
+    private static final long SIMILARITY_INDEX_TIMEOUT_MINUTES = 10;
+
+    /**
+     * 运行结束后输出的缓存计数器
+     */
+    private static final DocCounter[] CACHE_COUNTERS = {
+            DocCounter.TEMPLATE_CACHE_HIT, DocCounter.TEMPLATES_COMPILED,
+            DocCounter.GIT_CACHE_HIT, DocCounter.GIT_CACHE_MISS,
+            DocCounter.VERSION_CACHE_HIT, DocCounter.VERSION_CACHE_MISS
+    };
+
+    /**
+     * diff 构建器
+     */
+    private final UnifiedDiffBuilder diffBuilder = new UnifiedDiffBuilder();
+
+    /**
+     * 因令牌预算用完而跳过的文件数量
+     */
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    /**
+     * 本次运行的AI令牌预算，在加载配置后创建
+     */
+    private TokenBudget budget;
+
+    /**
+     * 构造函数
+     *
+     * @param options 命令行参数
+     */
+    public DocBatchRunner(DocBatchOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 执行批量生成
+     *
+     * @return 进程退出码，存在失败文件时返回1
+     * @throws Exception 配置加载或项目打开失败时抛出
+     */
+    public int run() throws Exception {
+        if (this.options.getConfigPath() != null) {
+            this.loadConfig(Path.of(this.options.getConfigPath()));
+        }
+
+        Path projectPath = Path.of(this.options.getProjectPath()).toAbsolutePath();
+        Project project = ProjectUtil.openOrImport(projectPath, null, false);
+        if (project == null) {
+            throw new IllegalStateException("无法打开项目: " + projectPath);
+        }
+        try {
+            DumbService.getInstance(project).waitForSmartMode();
+            return this.process(project, projectPath);
+        } finally {
+            ApplicationManager.getApplication().invokeAndWait(() ->
+                    ProjectManager.getInstance().closeAndDispose(project));
+        }
+    }
+
+    /**
+     * 处理项目中的所有文件并输出统计信息
+     *
+     * @param project     项目
+     * @param projectPath 项目路径
+     * @return 进程退出码
+     * @throws Exception 写出 diff 文件失败时抛出
+     */
+    private int process(Project project, Path projectPath) throws Exception {
+        List<VirtualFile> files = ReadAction.compute(() -> this.collectFiles(project, projectPath));
+        DocConfigSnapshot config = DocConfigService.getInstance().getSnapshot();
+        this.budget = TokenBudget.fromConfig(config);
+        if (config.isAiAvailable()) {
+            this.printEstimate(project, files, config);
+        }
+        if (config.getSimilarityThreshold() > 0
+                && !DocSimilarityService.getInstance(project).awaitReady(SIMILARITY_INDEX_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            System.err.println("相似注释索引未能在 " + SIMILARITY_INDEX_TIMEOUT_MINUTES + " 分钟内加载完成，本次运行不复用已有注释");
+        }
+        Map<DocCounter, Long> countersBefore = snapshotCounters();
+        long start = System.nanoTime();
+        // 模板用到Git变量时先读取所有文件的Git信息，每个仓库只调用一次git
+        GitFileInfoService.getInstance(project).prefetch(files);
+
+        StringBuilder diff = new StringBuilder();
+        List<String> failures = new ArrayList<>();
+        DocMetrics.getInstance().runStarted();
+        try {
+            this.processFiles(project, projectPath, files, diff, failures);
+        } finally {
+            DocMetrics.getInstance().runFinished();
+        }
+
+        if (this.options.isDryRun()) {
+            Files.writeString(Path.of(this.options.getDryRunOutput()), diff.toString(), StandardCharsets.UTF_8);
+        } else {
+            ApplicationManager.getApplication().invokeAndWait(() -> FileDocumentManager.getInstance().saveAllDocuments());
+        }
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1_000_000_000.0;
+        System.out.printf("文件数: %d, 耗时: %.2fs, 速度: %.1f 文件/秒%n", files.size(), seconds, files.size() / seconds);
+        Map<DocCounter, Long> counters = snapshotCounters();
+        counters.replaceAll((counter, value) -> value - countersBefore.get(counter));
+        System.out.printf("缓存命中/未命中: 模板 %d/%d, Git %d/%d, 版本号 %d/%d%n",
+                counters.get(DocCounter.TEMPLATE_CACHE_HIT), counters.get(DocCounter.TEMPLATES_COMPILED),
+                counters.get(DocCounter.GIT_CACHE_HIT), counters.get(DocCounter.GIT_CACHE_MISS),
+                counters.get(DocCounter.VERSION_CACHE_HIT), counters.get(DocCounter.VERSION_CACHE_MISS));
+        if (config.isAiAvailable()) {
+            System.out.printf("AI令牌: %d%s, 因预算跳过: %d%n", this.budget.getUsed(),
+                    this.budget.getLimit() > 0 ? " / " + this.budget.getLimit() : "", this.skipped.get());
+        }
+        System.out.printf("失败: %d%n", failures.size());
+        failures.forEach(failure -> System.out.println("  " + failure));
+        return failures.isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * 使用多个工作线程并行处理所有文件
+     *
+     * @param project     项目
+     * @param projectPath 项目路径
+     * @param files       需要处理的文件
+     * @param diff        试运行模式下收集各文件的 diff
+     * @param failures    收集处理失败的文件
+     * @throws InterruptedException 等待工作线程结束时被中断
+     */
+    private void processFiles(Project project, Path projectPath, List<VirtualFile> files,
+                              StringBuilder diff, List<String> failures) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(this.options.getThreads());
+        List<Future<String>> futures = new ArrayList<>(files.size());
+        for (VirtualFile file : files) {
+            futures.add(executor.submit(() -> this.processFile(project, projectPath, file)));
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                diff.append(futures.get(i).get());
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failures.add(files.get(i).getPath() + ": " + cause);
+            }
+        }
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 处理单个文件
+     * <p>
+     * 在读操作中准备渲染输入，在读操作之外渲染注释，然后在EDT上找回元素并写入；试运行模式下写入文件副本并返回 diff。
+     * </p>
+     *
+     * @param project     项目
+     * @param projectPath 项目路径
+     * @param file        文件
+     * @return 试运行模式下返回文件的 diff，否则返回空字符串
+     */
+    private String processFile(Project project, Path projectPath, VirtualFile file) {
+        PsiFile psiFile = ReadAction.compute(() -> PsiManager.getInstance(project).findFile(file));
+        if (psiFile == null) {
+            return "";
+        }
+        if (this.budget.isExhausted()) {
+            this.skipped.incrementAndGet();
+            return "";
+        }
+        CommentGenerationStrategy strategy = CommentGenerationStrategyFactory.getInstance().getStrategy(psiFile);
+        List<RenderRequest> requests = ReadAction.nonBlocking(() -> strategy.prepare(psiFile, strategy.collectElements(psiFile)))
+                .inSmartMode(project)
+                .executeSynchronously();
+        Map<RenderRequest, String> rendered;
+        try {
+            rendered = GenerationPriority.BULK.compute(() -> this.budget.compute(() -> strategy.render(requests)));
+        } catch (TokenBudget.ExceededException e) {
+            // 预算不足时整个文件不写入，保证每个文件要么完整生成要么保持原样
+            this.skipped.incrementAndGet();
+            return "";
+        }
+        if (rendered.isEmpty()) {
+            return "";
+        }
+
+        String[] diff = {""};
+        Exception[] failure = {null};
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            try {
+                Map<PsiElement, String> docs = strategy.restore(rendered);
+                if (!this.options.isDryRun()) {
+                    strategy.apply(psiFile, docs);
+                    return;
+                }
+                PsiFile copy = (PsiFile) psiFile.copy();
+                Map<PsiElement, String> copiedDocs = new LinkedHashMap<>();
+                docs.forEach((element, doc) -> {
+                    PsiElement copied = PsiTreeUtil.findSameElementInCopy(element, copy);
+                    if (copied != null) {
+                        copiedDocs.put(copied, doc);
+                    }
+                });
+                strategy.apply(copy, copiedDocs);
+                String path = projectPath.relativize(Path.of(file.getPath())).toString().replace('\\', '/');
+                diff[0] = this.diffBuilder.build(path, psiFile.getText(), copy.getText());
+            } catch (Exception e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw new IllegalStateException(failure[0].getMessage(), failure[0]);
+        }
+        return diff[0];
+    }
+
+    /**
+     * 读取缓存计数器的当前值
+     *
+     * @return 计数器的值
+     */
+    private static Map<DocCounter, Long> snapshotCounters() {
+        Map<DocCounter, Long> values = new EnumMap<>(DocCounter.class);
+        for (DocCounter counter : CACHE_COUNTERS) {
+            values.put(counter, DocMetrics.getInstance().getCount(counter));
+        }
+        return values;
+    }
+
+    /**
+     * 输出AI用量预估
+     *
+     * @param project 项目
+     * @param files   需要处理的文件
+     * @param config  配置快照
+     */
+    private void printEstimate(Project project, List<VirtualFile> files, DocConfigSnapshot config) {
+        AiRunEstimator estimator = new AiRunEstimator(config);
+        for (VirtualFile file : files) {
+            ReadAction.run(() -> {
+                PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+                if (psiFile != null) {
+                    estimator.add(CommentGenerationStrategyFactory.getInstance().getStrategy(psiFile).collectElements(psiFile));
+                }
+            });
+        }
+        System.out.print(AiRunEstimator.format(estimator.getEstimate(), this.budget.getLimit()));
+    }
+
+    /**
+     * 收集需要处理的Java文件
+     *
+     * @param project     项目
+     * @param projectPath 项目路径
+     * @return 项目内容范围内的Java文件
+     */
+    private List<VirtualFile> collectFiles(Project project, Path projectPath) {
+        Path root = this.options.getScope() == null ? projectPath : projectPath.resolve(this.options.getScope());
+        VirtualFile rootFile = LocalFileSystem.getInstance().findFileByNioFile(root);
+        if (rootFile == null) {
+            throw new IllegalArgumentException("目录不存在: " + root);
+        }
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        FileType javaFileType = JavaFileType.INSTANCE;
+        List<VirtualFile> files = new ArrayList<>();
+        VfsUtilCore.iterateChildrenRecursively(rootFile, fileIndex::isInContent, file -> {
+            if (!file.isDirectory() && file.getFileType() == javaFileType) {
+                files.add(file);
+            }
+            return true;
+        });
+        return files;
+    }
+
+    /**
+     * 加载配置文件
+     * <p>
+     * 配置文件格式与 easy-tools-config.xml 一致，可以直接复制IDE中的配置文件。
+     * 配置只发布为本次运行使用的快照，不修改也不持久化IDE中的配置。
+     * </p>
+     *
+     * @param configPath 配置文件路径
+     * @throws Exception 读取或解析配置文件失败时抛出
+     */
+    private void loadConfig(Path configPath) throws Exception {
+        Element root = JDOMUtil.load(configPath);
+        Element component = root;
+        if (!"component".equals(root.getName())) {
+            component = root.getChildren("component").stream()
+                    .filter(child -> "EasyToolsConfig".equals(child.getAttributeValue("name")))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("配置文件中没有 EasyToolsConfig: " + configPath));
+        }
+        DocConfigService state = XmlSerializer.deserialize(component, DocConfigService.class);
+        DocConfigService.getInstance().publishSnapshot(state);
+    }
+}
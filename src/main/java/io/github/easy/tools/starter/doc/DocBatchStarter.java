@@ -0,0 +1,72 @@
+package io.github.easy.tools.starter.doc;
+
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * 命令行批量生成注释的入口
+ * <p>
+ * 以无界面方式启动IDE，为整个项目或指定目录批量生成注释，适用于CI中的定时任务。
+ * 使用方式：{@code idea easy-doc <项目路径> [--config <配置文件>] [--scope <相对目录>] [--threads <线程数>] [--dry-run <diff输出文件>]}
+ * </p>
+ */
+public class DocBatchStarter implements ApplicationStarter {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger LOG = Logger.getInstance(DocBatchStarter.class);
+
+    /**
+     * 命令用法说明
+     */
+    private static final String USAGE = "用法: easy-doc <项目路径> [--config <配置文件>] [--scope <相对目录>] "
+            + "[--threads <线程数>] [--dry-run <diff输出文件>]";
+
+    /**
+     * 是否以无界面方式运行
+     *
+     * @return 始终返回true
+     */
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    /**
+     * 获取运行模式，批量任务需要阻塞等待索引和工作线程，因此不在EDT上运行
+     *
+     * @return 不在EDT上运行
+     */
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    /**
+     * 执行批量生成并以对应的退出码结束进程
+     *
+     * @param args 命令行参数，第一个参数为命令名
+     */
+    @Override
+    public void main(@NotNull List<String> args) {
+        int exitCode;
+        try {
+            DocBatchOptions options = DocBatchOptions.parse(args);
+            exitCode = new DocBatchRunner(options).run();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            exitCode = 2;
+        } catch (Exception e) {
+            // 完整的堆栈写入日志，标准错误只输出简短的说明
+            LOG.error("批量生成注释失败", e);
+            System.err.println("批量生成注释失败: " + e.getMessage());
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+}
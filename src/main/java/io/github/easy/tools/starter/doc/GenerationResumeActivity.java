@@ -0,0 +1,75 @@
+package io.github.easy.tools.starter.doc;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.ProjectActivity;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import io.github.easy.tools.service.doc.GenerationJournalService;
+import io.github.easy.tools.service.doc.ResumeGenerationTask;
+import kotlin.Unit;
+import kotlin.coroutines.Continuation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 打开项目后检查上次未完成的批量生成
+ * <p>
+ * 生成日志中还有待处理的成员时显示通知，可以继续生成或放弃；已经删除的文件中的成员直接跳过。
+ * 无界面模式（命令行批量生成、测试）下不检查。
+ * </p>
+ */
+public class GenerationResumeActivity implements ProjectActivity {
+
+    /**
+     * 通知分组ID，与 plugin.xml 中的声明一致
+     */
+    private static final String NOTIFICATION_GROUP = "Easy Tools";
+
+    /**
+     * 检查生成日志并显示通知
+     *
+     * @param project      项目
+     * @param continuation 协程上下文
+     * @return 无返回值
+     */
+    @Nullable
+    @Override
+    public Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
+        if (ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            return Unit.INSTANCE;
+        }
+        GenerationJournalService journal = GenerationJournalService.getInstance(project);
+        List<VirtualFile> files = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> entry : journal.getPending().entrySet()) {
+            VirtualFile file = VirtualFileManager.getInstance().findFileByUrl(entry.getKey());
+            if (file != null && file.isValid()) {
+                files.add(file);
+            } else {
+                journal.completed(entry.getKey(), entry.getValue().keySet());
+            }
+        }
+        int members = journal.getPendingCount();
+        if (files.isEmpty() || members == 0) {
+            return Unit.INSTANCE;
+        }
+
+        Notification notification = NotificationGroupManager.getInstance().getNotificationGroup(NOTIFICATION_GROUP)
+                .createNotification("上次批量生成注释没有完成",
+                        "还有 " + files.size() + " 个文件中的 " + members + " 个成员等待生成注释，代码已经修改的成员会被跳过。",
+                        NotificationType.INFORMATION);
+        notification.addAction(NotificationAction.createSimpleExpiring("继续生成",
+                () -> new ResumeGenerationTask(project, files).queue()));
+        notification.addAction(NotificationAction.createSimpleExpiring("放弃", journal::discard));
+        notification.notify(project);
+        return Unit.INSTANCE;
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.easy.tools.starter.doc;
+
+import com.intellij.util.diff.Diff;
+import com.intellij.util.diff.FilesTooBigForDiffException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 统一格式（unified）diff 构建器
+ * <p>
+ * 基于平台的行级 diff 算法生成 {@code diff -u} 格式的文本，供试运行模式输出。
+ * </p>
+ */
+public class UnifiedDiffBuilder {
+
+    /**
+     * 每个变更块前后保留的上下文行数
+     */
+    private static final int CONTEXT = 3;
+
+    /**
+     * 构建单个文件的 diff
+     *
+     * @param path   文件路径
+     * @param before 修改前的内容
+     * @param after  修改后的内容
+     * @return diff 文本，内容相同时返回空字符串
+     * @throws FilesTooBigForDiffException 文件过大无法比较时抛出
+     */
+    public String build(String path, String before, String after) throws FilesTooBigForDiffException {
+        String[] beforeLines = Diff.splitLines(before);
+        String[] afterLines = Diff.splitLines(after);
+        Diff.Change change = Diff.buildChanges(beforeLines, afterLines);
+        if (change == null) {
+            return "";
+        }
+        List<Diff.Change> changes = new ArrayList<>();
+        for (Diff.Change c = change; c != null; c = c.link) {
+            changes.add(c);
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("--- a/").append(path).append('\n');
+        builder.append("+++ b/").append(path).append('\n');
+        int i = 0;
+        while (i < changes.size()) {
+            // 合并上下文相互重叠的变更块
+            int j = i;
+            while (j + 1 < changes.size()
+                    && changes.get(j + 1).line0 - (changes.get(j).line0 + changes.get(j).deleted) <= CONTEXT * 2) {
+                j++;
+            }
+            this.appendHunk(builder, beforeLines, afterLines, changes.subList(i, j + 1));
+            i = j + 1;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 追加一个变更块
+     *
+     * @param builder     输出
+     * @param beforeLines 修改前的行
+     * @param afterLines  修改后的行
+     * @param hunk        属于该块的变更
+     */
+    private void appendHunk(StringBuilder builder, String[] beforeLines, String[] afterLines, List<Diff.Change> hunk) {
+        Diff.Change first = hunk.get(0);
+        Diff.Change last = hunk.get(hunk.size() - 1);
+        int start0 = Math.max(0, first.line0 - CONTEXT);
+        int start1 = Math.max(0, first.line1 - CONTEXT);
+        int end0 = Math.min(beforeLines.length, last.line0 + last.deleted + CONTEXT);
+        int end1 = Math.min(afterLines.length, last.line1 + last.inserted + CONTEXT);
+
+        builder.append("@@ -").append(start0 + 1).append(',').append(end0 - start0)
+                .append(" +").append(start1 + 1).append(',').append(end1 - start1).append(" @@\n");
+
+        int line0 = start0;
+        for (Diff.Change change : hunk) {
+            for (; line0 < change.line0; line0++) {
+                builder.append(' ').append(beforeLines[line0]).append('\n');
+            }
+            for (int k = 0; k < change.deleted; k++) {
+                builder.append('-').append(beforeLines[change.line0 + k]).append('\n');
+            }
+            for (int k = 0; k < change.inserted; k++) {
+                builder.append('+').append(afterLines[change.line1 + k]).append('\n');
+            }
+            line0 = change.line0 + change.deleted;
+        }
+        for (; line0 < end0; line0++) {
+            builder.append(' ').append(beforeLines[line0]).append('\n');
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package io.github.easy.tools.ui.config;
 
-import cn.hutool.core.util.StrUtil;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
@@ -15,9 +14,11 @@ import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JSpinner;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.JTextPane;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.DocumentEvent;
@@ -135,6 +136,96 @@ public class DocConfig implements Configurable {
     private JTextField apiKey;
     private JLabel apiKeyTitle;
 
+    /**
+     * 分词词表标签
+     */
+    private JLabel tokenizerVocabularyTitle;
+
+    /**
+     * 分词词表路径输入框
+     */
+    private JTextField tokenizerVocabulary;
+
+    /**
+     * 令牌预算标签
+     */
+    private JLabel aiTokenBudgetTitle;
+
+    /**
+     * 令牌预算输入框
+     */
+    private JSpinner aiTokenBudget;
+
+    /**
+     * AI并发请求数标签
+     */
+    private JLabel aiConcurrencyTitle;
+
+    /**
+     * AI并发请求数输入框
+     */
+    private JSpinner aiConcurrency;
+
+    /**
+     * 其他配置面板
+     */
+    private JPanel otherContent;
+
+    /**
+     * 合并模式复选框
+     */
+    private JCheckBox mergeMode;
+
+    /**
+     * 渲染并行度标签
+     */
+    private JLabel renderParallelismTitle;
+
+    /**
+     * 渲染并行度输入框
+     */
+    private JSpinner renderParallelism;
+
+    /**
+     * 描述语言标签
+     */
+    private JLabel descriptionLanguageTitle;
+
+    /**
+     * 描述语言下拉框
+     */
+    private JComboBox descriptionLanguage;
+
+    /**
+     * 相似注释复用阈值标签
+     */
+    private JLabel similarityThresholdTitle;
+
+    /**
+     * 相似注释复用阈值输入框
+     */
+    private JSpinner similarityThreshold;
+
+    /**
+     * 重写方法注释方式标签
+     */
+    private JLabel inheritDocModeTitle;
+
+    /**
+     * 重写方法注释方式下拉框
+     */
+    private JComboBox inheritDocMode;
+
+    /**
+     * 宏库配置面板
+     */
+    private JPanel macroContent;
+
+    /**
+     * 宏库文本框
+     */
+    private JTextPane macroLibrary;
+
     /**
      * 配置是否被修改的标志
      */
@@ -156,9 +247,9 @@ public class DocConfig implements Configurable {
      */
     private void $$$setupUI$$$() {
         mainPanel = new JPanel();
-        mainPanel.setLayout(new GridLayoutManager(11, 1, new Insets(0, 0, 0, 0), -1, -1));
+        mainPanel.setLayout(new GridLayoutManager(15, 1, new Insets(0, 0, 0, 0), -1, -1));
         aiContent = new JPanel();
-        aiContent.setLayout(new GridLayoutManager(9, 2, new Insets(0, 0, 0, 0), -1, -1));
+        aiContent.setLayout(new GridLayoutManager(15, 2, new Insets(0, 0, 0, 0), -1, -1));
         mainPanel.add(aiContent, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
         aiContent.setBorder(BorderFactory.createTitledBorder(null, "AI配置", TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION, null, null));
         baseUrlTitle = new JLabel();
@@ -195,6 +286,27 @@ public class DocConfig implements Configurable {
         aiContent.add(apiKeyTitle, new GridConstraints(8, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         apiKey = new JTextField();
         aiContent.add(apiKey, new GridConstraints(8, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(150, -1), null, 0, false));
+        final Spacer spacer12 = new Spacer();
+        aiContent.add(spacer12, new GridConstraints(9, 1, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
+        tokenizerVocabularyTitle = new JLabel();
+        tokenizerVocabularyTitle.setText("分词词表（.tiktoken，为空时估算）");
+        aiContent.add(tokenizerVocabularyTitle, new GridConstraints(10, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        tokenizerVocabulary = new JTextField();
+        aiContent.add(tokenizerVocabulary, new GridConstraints(10, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(150, -1), null, 0, false));
+        final Spacer spacer13 = new Spacer();
+        aiContent.add(spacer13, new GridConstraints(11, 1, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
+        aiTokenBudgetTitle = new JLabel();
+        aiTokenBudgetTitle.setText("批量生成令牌预算（0为不限）");
+        aiContent.add(aiTokenBudgetTitle, new GridConstraints(12, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        aiTokenBudget = new JSpinner();
+        aiContent.add(aiTokenBudget, new GridConstraints(12, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(120, -1), null, 0, false));
+        final Spacer spacer14 = new Spacer();
+        aiContent.add(spacer14, new GridConstraints(13, 1, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
+        aiConcurrencyTitle = new JLabel();
+        aiConcurrencyTitle.setText("AI并发请求数（大于1时保留一个给交互请求）");
+        aiContent.add(aiConcurrencyTitle, new GridConstraints(14, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        aiConcurrency = new JSpinner();
+        aiContent.add(aiConcurrency, new GridConstraints(14, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(80, -1), null, 0, false));
         varContent = new JPanel();
         varContent.setLayout(new GridLayoutManager(1, 1, new Insets(0, 0, 0, 0), -1, -1));
         mainPanel.add(varContent, new GridConstraints(8, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
@@ -238,6 +350,52 @@ public class DocConfig implements Configurable {
         mainPanel.add(spacer8, new GridConstraints(9, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
         final Spacer spacer9 = new Spacer();
         mainPanel.add(spacer9, new GridConstraints(5, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
+        final Spacer spacer10 = new Spacer();
+        mainPanel.add(spacer10, new GridConstraints(11, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
+        otherContent = new JPanel();
+        otherContent.setLayout(new GridLayoutManager(5, 2, new Insets(0, 0, 0, 0), -1, -1));
+        mainPanel.add(otherContent, new GridConstraints(12, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
+        otherContent.setBorder(BorderFactory.createTitledBorder(null, "其他配置", TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION, null, null));
+        mergeMode = new JCheckBox();
+        mergeMode.setText("合并已有注释（保留描述，只补充缺失的标签）");
+        otherContent.add(mergeMode, new GridConstraints(0, 0, 1, 2, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        renderParallelismTitle = new JLabel();
+        renderParallelismTitle.setText("渲染并行度（0为CPU核数，1为顺序渲染）");
+        otherContent.add(renderParallelismTitle, new GridConstraints(1, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        renderParallelism = new JSpinner();
+        otherContent.add(renderParallelism, new GridConstraints(1, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(80, -1), null, 0, false));
+        descriptionLanguageTitle = new JLabel();
+        descriptionLanguageTitle.setText("描述语言（${description}）");
+        otherContent.add(descriptionLanguageTitle, new GridConstraints(2, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        descriptionLanguage = new JComboBox();
+        final DefaultComboBoxModel defaultComboBoxModel2 = new DefaultComboBoxModel();
+        defaultComboBoxModel2.addElement("zh");
+        defaultComboBoxModel2.addElement("en");
+        descriptionLanguage.setModel(defaultComboBoxModel2);
+        otherContent.add(descriptionLanguage, new GridConstraints(2, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        similarityThresholdTitle = new JLabel();
+        similarityThresholdTitle.setText("复用相似成员注释的阈值（%，0为不复用，索引加载完成后生效）");
+        otherContent.add(similarityThresholdTitle, new GridConstraints(3, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        similarityThreshold = new JSpinner();
+        otherContent.add(similarityThreshold, new GridConstraints(3, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(80, -1), null, 0, false));
+        inheritDocModeTitle = new JLabel();
+        inheritDocModeTitle.setText("重写方法的注释（父方法已有注释时）");
+        otherContent.add(inheritDocModeTitle, new GridConstraints(4, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        inheritDocMode = new JComboBox();
+        final DefaultComboBoxModel defaultComboBoxModel3 = new DefaultComboBoxModel();
+        defaultComboBoxModel3.addElement("off");
+        defaultComboBoxModel3.addElement("inheritDoc");
+        defaultComboBoxModel3.addElement("copy");
+        inheritDocMode.setModel(defaultComboBoxModel3);
+        otherContent.add(inheritDocMode, new GridConstraints(4, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        final Spacer spacer11 = new Spacer();
+        mainPanel.add(spacer11, new GridConstraints(13, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
+        macroContent = new JPanel();
+        macroContent.setLayout(new GridLayoutManager(1, 1, new Insets(0, 0, 0, 0), -1, -1));
+        mainPanel.add(macroContent, new GridConstraints(14, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
+        macroContent.setBorder(BorderFactory.createTitledBorder(null, "宏库配置（模板中使用 #header()、#params() 调用）", TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION, null, null));
+        macroLibrary = new JTextPane();
+        macroContent.add(macroLibrary, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_WANT_GROW, null, new Dimension(150, 50), null, 0, false));
     }
 
     /** @noinspection ALL */
@@ -300,7 +458,16 @@ public class DocConfig implements Configurable {
                 || !Objects.equals(classTemplate.getText(), config.classTemplate)
                 || !Objects.equals(methodTemplate.getText(), config.methodTemplate)
                 || !Objects.equals(fieldTemplate.getText(), config.fieldTemplate)
-                || !Objects.equals(customVar.getText(), config.customVar);
+                || !Objects.equals(macroLibrary.getText(), config.macroLibrary)
+                || !Objects.equals(customVar.getText(), config.customVar)
+                || !Objects.equals(mergeMode.isSelected(), config.mergeMode)
+                || !Objects.equals(renderParallelism.getValue(), config.renderParallelism)
+                || !Objects.equals(descriptionLanguage.getSelectedItem(), config.descriptionLanguage)
+                || !Objects.equals(similarityThreshold.getValue(), config.similarityThreshold)
+                || !Objects.equals(inheritDocMode.getSelectedItem(), config.inheritDocMode)
+                || !Objects.equals(tokenizerVocabulary.getText(), config.tokenizerVocabulary)
+                || !Objects.equals(aiTokenBudget.getValue(), config.aiTokenBudget)
+                || !Objects.equals(aiConcurrency.getValue(), config.aiConcurrency);
     }
 
     /**
@@ -319,17 +486,19 @@ public class DocConfig implements Configurable {
         config.classTemplate = classTemplate.getText();
         config.methodTemplate = methodTemplate.getText();
         config.fieldTemplate = fieldTemplate.getText();
+        config.macroLibrary = macroLibrary.getText();
         config.customVar = customVar.getText();
-        if (StrUtil.isNotBlank(config.customVar)) {
-            List<String> split = StrUtil.split(config.customVar, ";");
-            config.customParameters = split.stream().map(s -> {
-                String[] properties = s.split("=");
-                String property = properties[0];
-                // 截取key后面的()号里面的数据
-                String desc = StrUtil.subBetween(property, "(", ")");
-                return new TemplateParameter(properties[0], properties[1], desc);
-            }).toList();
-        }
+        config.mergeMode = mergeMode.isSelected();
+        config.renderParallelism = (Integer) renderParallelism.getValue();
+        config.descriptionLanguage = (String) descriptionLanguage.getSelectedItem();
+        config.similarityThreshold = (Integer) similarityThreshold.getValue();
+        config.inheritDocMode = (String) inheritDocMode.getSelectedItem();
+        config.tokenizerVocabulary = tokenizerVocabulary.getText().trim();
+        config.aiTokenBudget = (Integer) aiTokenBudget.getValue();
+        config.aiConcurrency = (Integer) aiConcurrency.getValue();
+        config.customParameters = DocConfigService.parseCustomParameters(config.customVar);
+        // 原子替换配置快照，正在进行的生成任务继续使用旧快照
+        config.publishSnapshot();
         isModified = false;
         repaint();
     }
@@ -350,7 +519,16 @@ public class DocConfig implements Configurable {
         classTemplate.setText(config.classTemplate);
         methodTemplate.setText(config.methodTemplate);
         fieldTemplate.setText(config.fieldTemplate);
+        macroLibrary.setText(config.macroLibrary);
         customVar.setText(config.customVar);
+        mergeMode.setSelected(config.mergeMode);
+        renderParallelism.setValue(config.renderParallelism);
+        descriptionLanguage.setSelectedItem(config.descriptionLanguage);
+        similarityThreshold.setValue(config.similarityThreshold);
+        inheritDocMode.setSelectedItem(config.inheritDocMode);
+        tokenizerVocabulary.setText(config.tokenizerVocabulary);
+        aiTokenBudget.setValue(config.aiTokenBudget);
+        aiConcurrency.setValue(config.aiConcurrency);
         isModified = false;
         repaint();
     }
@@ -368,9 +546,13 @@ public class DocConfig implements Configurable {
         baseUrl.setText(config.baseUrl);
         enableAi.setSelected(config.enableAi);
         apiKey.setText(config.apiKey);
+        tokenizerVocabulary.setText(config.tokenizerVocabulary);
+        aiTokenBudget.setModel(new SpinnerNumberModel(Math.max(0, config.aiTokenBudget), 0, Integer.MAX_VALUE, 10_000));
+        aiConcurrency.setModel(new SpinnerNumberModel(Math.max(1, Math.min(16, config.aiConcurrency)), 1, 16, 1));
         classTemplate.setText(config.classTemplate);
         methodTemplate.setText(config.methodTemplate);
         fieldTemplate.setText(config.fieldTemplate);
+        macroLibrary.setText(config.macroLibrary);
         List<TemplateParameter> baseParameters = config.getBaseParameters();
         StringJoiner joiner = new StringJoiner("\n");
         for (TemplateParameter parameter : baseParameters) {
@@ -380,6 +562,11 @@ public class DocConfig implements Configurable {
         }
         varDesc.setText(joiner.toString());
         customVar.setText(config.customVar);
+        mergeMode.setSelected(config.mergeMode);
+        renderParallelism.setModel(new SpinnerNumberModel(Math.max(0, config.renderParallelism), 0, 256, 1));
+        descriptionLanguage.setSelectedItem(config.descriptionLanguage);
+        similarityThreshold.setModel(new SpinnerNumberModel(Math.max(0, Math.min(100, config.similarityThreshold)), 0, 100, 1));
+        inheritDocMode.setSelectedItem(config.inheritDocMode);
     }
 
     /**
@@ -407,10 +594,19 @@ public class DocConfig implements Configurable {
         };
         enableAi.addActionListener(e -> isModified = true);
         modelType.addActionListener(e -> isModified = true);
+        mergeMode.addActionListener(e -> isModified = true);
+        renderParallelism.addChangeListener(e -> isModified = true);
+        descriptionLanguage.addActionListener(e -> isModified = true);
+        similarityThreshold.addChangeListener(e -> isModified = true);
+        inheritDocMode.addActionListener(e -> isModified = true);
+        aiTokenBudget.addChangeListener(e -> isModified = true);
+        aiConcurrency.addChangeListener(e -> isModified = true);
+        tokenizerVocabulary.getDocument().addDocumentListener(documentListener);
         baseUrl.getDocument().addDocumentListener(documentListener);
         modelName.getDocument().addDocumentListener(documentListener);
         classTemplate.getDocument().addDocumentListener(documentListener);
         methodTemplate.getDocument().addDocumentListener(documentListener);
         fieldTemplate.getDocument().addDocumentListener(documentListener);
+        macroLibrary.getDocument().addDocumentListener(documentListener);
     }
 }
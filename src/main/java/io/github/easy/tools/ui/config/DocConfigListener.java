@@ -0,0 +1,25 @@
+package io.github.easy.tools.ui.config;
+
+import com.intellij.util.messages.Topic;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+
+/**
+ * 配置变更监听器
+ * <p>
+ * 配置应用或重新加载后，通过应用级消息总线发布新的配置快照。
+ * </p>
+ */
+public interface DocConfigListener {
+
+    /**
+     * 配置变更主题
+     */
+    Topic<DocConfigListener> TOPIC = Topic.create("EasyToolsDocConfigChanged", DocConfigListener.class);
+
+    /**
+     * 配置已变更
+     *
+     * @param snapshot 新的配置快照
+     */
+    void configChanged(DocConfigSnapshot snapshot);
+}
@@ -7,17 +7,26 @@ import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.util.xmlb.XmlSerializerUtil;
+import com.intellij.util.xmlb.annotations.Transient;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
 import io.github.easy.tools.entity.doc.TemplateParameter;
+import io.github.easy.tools.service.doc.DescriptionGenerator;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 持久化配置服务类，用于管理插件的各种配置参数
  * <p>
  * 该类负责存储和管理插件的配置信息，包括AI相关配置、模板配置和自定义参数等。
  * 通过IntelliJ Platform的持久化机制，配置信息会在IDE重启后保持不变。
+ * 公共字段只用于持久化和配置界面，生成注释时应读取 {@link #getSnapshot()} 返回的不可变快照。
  * </p>
  */
 @State(
@@ -26,6 +35,21 @@ import java.util.List;
 )
 public class DocConfigService implements PersistentStateComponent<DocConfigService> {
 
+    /**
+     * 重写方法按普通方法生成注释
+     */
+    public static final String INHERIT_DOC_OFF = "off";
+
+    /**
+     * 父方法已有注释时，重写方法只生成 {@code {@inheritDoc}}
+     */
+    public static final String INHERIT_DOC_TAG = "inheritDoc";
+
+    /**
+     * 父方法已有注释时，复制父方法的注释并把参数名改为重写方法的参数名
+     */
+    public static final String INHERIT_DOC_COPY = "copy";
+
     // AI相关配置
     /**
      * 是否启用AI功能
@@ -52,6 +76,21 @@ public class DocConfigService implements PersistentStateComponent<DocConfigServi
      */
     public String apiKey = "";
 
+    /**
+     * 每次批量生成可以使用的AI令牌数量，0表示不限制
+     */
+    public int aiTokenBudget = 0;
+
+    /**
+     * tiktoken 格式的分词词表文件路径，为空时估算令牌数量
+     */
+    public String tokenizerVocabulary = "";
+
+    /**
+     * 同时进行的AI请求数量，大于1时保留一个给交互请求
+     */
+    public int aiConcurrency = 2;
+
     /**
      * 类注释模板
      */
@@ -93,10 +132,26 @@ public class DocConfigService implements PersistentStateComponent<DocConfigServi
      */
     public String fieldTemplate = """
             /**
-             * The ${fieldName}.
+             * ${description}
              */
             """;
 
+    /**
+     * Velocity宏库，在模板引擎中编译一次，类、方法、字段模板都可以调用其中的宏
+     */
+    public String macroLibrary = """
+            #macro( header )
+             * @author ${author}
+             * @date ${date}
+             * @version ${version}
+            #end
+            #macro( params )
+            #foreach( $param in $parameters )
+             * @param $param.name $param.description
+            #end
+            #end
+            """;
+
     /**
      * 自定义变量字符串形式
      */
@@ -107,11 +162,54 @@ public class DocConfigService implements PersistentStateComponent<DocConfigServi
      */
     public List<TemplateParameter> customParameters = new LinkedList<>();
 
+    // 其他配置
+    /**
+     * 是否启用合并模式：保留已有注释的描述，只补充缺失的标签
+     */
+    public boolean mergeMode = false;
+
+    /**
+     * 批量生成时的渲染并行度，0表示使用CPU核数，1表示顺序渲染
+     */
+    public int renderParallelism = 0;
+
+    /**
+     * 启发式描述的语言：zh 或 en
+     */
+    public String descriptionLanguage = DescriptionGenerator.ZH;
+
+    /**
+     * 复用相似成员已有注释的相似度阈值（百分比），0表示不复用
+     * <p>
+     * 默认不复用。开启后首次生成时在后台为项目中已注释的成员建立索引，索引加载完成后才开始复用。
+     * </p>
+     */
+    public int similarityThreshold = 0;
+
+    /**
+     * 重写方法的注释方式：off、inheritDoc 或 copy
+     * <p>
+     * 默认关闭，重写方法与其他方法一样使用配置的模板生成注释。
+     * </p>
+     */
+    public String inheritDocMode = INHERIT_DOC_OFF;
+
+    /**
+     * 当前配置快照
+     */
+    private final AtomicReference<DocConfigSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 快照版本号生成器
+     */
+    private final AtomicLong snapshotVersion = new AtomicLong();
+
 
     /**
      * 获取基础参数列表
      * <p>
-     * 基础参数包括作者名、当前日期和空描述，这些参数会在所有模板中使用。
+     * 基础参数包括作者名、当前日期、版本号以及从Git读取的原始作者、最后提交人和最后修改时间，
+     * 这些参数会在所有模板中使用。
      * </p>
      *
      * @return 基础参数列表
@@ -123,14 +221,140 @@ public class DocConfigService implements PersistentStateComponent<DocConfigServi
         TemplateParameter<String> date = new TemplateParameter<>("date", DateUtil.now(), "日期");
         TemplateParameter<String> version = new TemplateParameter<>("version", "1.0.0", "版本");
         TemplateParameter<Class<StrUtil>> str = new TemplateParameter<>("str", StrUtil.class, "字符串工具类");
+        // Git变量在生成时按文件替换，不在Git仓库中时使用当前用户和当前时间
+        TemplateParameter<String> originalAuthor = new TemplateParameter<>("originalAuthor", author, "文件原始作者(Git)");
+        TemplateParameter<String> lastCommitter = new TemplateParameter<>("lastCommitter", author, "最后提交人(Git)");
+        TemplateParameter<String> lastModified = new TemplateParameter<>("lastModified", date.getValue(), "最后修改时间(Git)");
 
         list.add(author1);
         list.add(date);
         list.add(version);
         list.add(str);
+        list.add(originalAuthor);
+        list.add(lastCommitter);
+        list.add(lastModified);
         return list;
     }
 
+    /**
+     * 获取当前配置快照
+     * <p>
+     * 快照不可变，可以在任意线程中读取；尚未发布过快照时根据当前配置创建。
+     * </p>
+     *
+     * @return 当前配置快照
+     */
+    @Transient
+    public DocConfigSnapshot getSnapshot() {
+        DocConfigSnapshot current = this.snapshot.get();
+        if (current == null) {
+            this.snapshot.compareAndSet(null, this.createSnapshot(this));
+            current = this.snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * 根据当前配置发布新的快照，并通知配置变更监听器
+     * <p>
+     * 在配置界面应用修改或重新加载配置后调用。
+     * </p>
+     */
+    public void publishSnapshot() {
+        this.publish(this.createSnapshot(this));
+    }
+
+    /**
+     * 根据另一份配置发布快照，不修改当前配置的字段
+     * <p>
+     * 用于命令行批量生成等一次性运行：生成注释时使用指定配置，持久化的仍是IDE中原有的配置；
+     * 之后在配置界面应用修改时会重新根据当前字段发布快照。
+     * </p>
+     *
+     * @param source 本次运行使用的配置
+     */
+    public void publishSnapshot(DocConfigService source) {
+        this.publish(this.createSnapshot(source));
+    }
+
+    /**
+     * 发布快照并通知配置变更监听器
+     *
+     * @param newSnapshot 新的配置快照
+     */
+    private void publish(DocConfigSnapshot newSnapshot) {
+        this.snapshot.set(newSnapshot);
+        if (ApplicationManager.getApplication() != null) {
+            ApplicationManager.getApplication().getMessageBus()
+                    .syncPublisher(DocConfigListener.TOPIC)
+                    .configChanged(newSnapshot);
+        }
+    }
+
+    /**
+     * 根据配置的字段创建快照，版本号由当前服务统一分配
+     *
+     * @param source 配置
+     * @return 新的配置快照
+     */
+    private DocConfigSnapshot createSnapshot(DocConfigService source) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (TemplateParameter parameter : parseCustomParameters(source.customVar)) {
+            parameters.put(parameter.getName(), String.valueOf(parameter.getValue()));
+        }
+        return new DocConfigSnapshot(
+                this.snapshotVersion.incrementAndGet(),
+                source.enableAi,
+                source.baseUrl,
+                source.modelName,
+                source.modelType,
+                source.apiKey,
+                source.classTemplate,
+                source.methodTemplate,
+                source.fieldTemplate,
+                source.macroLibrary,
+                Collections.unmodifiableMap(parameters),
+                source.mergeMode,
+                source.renderParallelism,
+                source.descriptionLanguage,
+                source.similarityThreshold,
+                source.inheritDocMode,
+                source.aiTokenBudget,
+                source.tokenizerVocabulary,
+                source.aiConcurrency
+        );
+    }
+
+    /**
+     * 解析自定义变量字符串
+     * <p>
+     * 格式为 {@code key(描述)=value}，多个变量使用分号分割；
+     * 只按第一个等号拆分，值中可以包含等号，缺少等号的项会被忽略。
+     * </p>
+     *
+     * @param customVar 自定义变量字符串
+     * @return 自定义参数列表
+     */
+    public static List<TemplateParameter> parseCustomParameters(String customVar) {
+        List<TemplateParameter> parameters = new LinkedList<>();
+        if (StrUtil.isBlank(customVar)) {
+            return parameters;
+        }
+        for (String item : StrUtil.split(customVar, ";")) {
+            int index = item.indexOf('=');
+            if (index <= 0) {
+                continue;
+            }
+            String property = item.substring(0, index).trim();
+            // 截取key后面的()号里面的数据
+            String desc = StrUtil.subBetween(property, "(", ")");
+            int descStart = property.indexOf('(');
+            String name = descStart > 0 ? property.substring(0, descStart).trim() : property;
+            parameters.add(new TemplateParameter<>(name, item.substring(index + 1).trim(), desc));
+        }
+        return parameters;
+    }
+
     /**
      * 获取配置服务的单例实例
      *
@@ -158,5 +382,7 @@ public class DocConfigService implements PersistentStateComponent<DocConfigServi
     @Override
     public void loadState(@NotNull DocConfigService state) {
         XmlSerializerUtil.copyBean(state, this);
+        this.customParameters = parseCustomParameters(this.customVar);
+        this.publishSnapshot();
     }
 }
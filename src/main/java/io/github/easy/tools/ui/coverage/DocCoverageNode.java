@@ -0,0 +1,158 @@
+package io.github.easy.tools.ui.coverage;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import io.github.easy.tools.entity.doc.DocMemberInfo;
+
+/**
+ * 注释覆盖树的节点数据
+ * <p>
+ * 模块、包节点只记录名称，展示时从覆盖统计服务读取当前统计；文件和成员节点记录定位信息。
+ * </p>
+ */
+public class DocCoverageNode {
+
+    /**
+     * 节点类型
+     */
+    public enum Kind {
+        /**
+         * 项目
+         */
+        PROJECT,
+        /**
+         * 模块
+         */
+        MODULE,
+        /**
+         * 包
+         */
+        PACKAGE,
+        /**
+         * 文件
+         */
+        FILE,
+        /**
+         * 成员
+         */
+        MEMBER
+    }
+
+    /**
+     * 节点类型
+     */
+    private final Kind kind;
+
+    /**
+     * 模块名
+     */
+    private final String module;
+
+    /**
+     * 包名
+     */
+    private final String packageName;
+
+    /**
+     * 文件，项目、模块和包节点为null
+     */
+    private final VirtualFile file;
+
+    /**
+     * 成员，非成员节点为null
+     */
+    private final DocMemberInfo member;
+
+    /**
+     * 成员的注释是否过期（否则为缺少注释）
+     */
+    private final boolean stale;
+
+    /**
+     * 构造函数
+     *
+     * @param kind        节点类型
+     * @param module      模块名
+     * @param packageName 包名
+     * @param file        文件
+     * @param member      成员
+     * @param stale       成员的注释是否过期
+     */
+    public DocCoverageNode(Kind kind, String module, String packageName, VirtualFile file, DocMemberInfo member, boolean stale) {
+        this.kind = kind;
+        this.module = module;
+        this.packageName = packageName;
+        this.file = file;
+        this.member = member;
+        this.stale = stale;
+    }
+
+    /**
+     * 获取节点类型
+     *
+     * @return 节点类型
+     */
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * 获取模块名
+     *
+     * @return 模块名
+     */
+    public String getModule() {
+        return this.module;
+    }
+
+    /**
+     * 获取包名
+     *
+     * @return 包名
+     */
+    public String getPackageName() {
+        return this.packageName;
+    }
+
+    /**
+     * 获取文件
+     *
+     * @return 文件
+     */
+    public VirtualFile getFile() {
+        return this.file;
+    }
+
+    /**
+     * 获取成员
+     *
+     * @return 成员
+     */
+    public DocMemberInfo getMember() {
+        return this.member;
+    }
+
+    /**
+     * 成员的注释是否过期
+     *
+     * @return 过期返回true，缺少注释返回false
+     */
+    public boolean isStale() {
+        return this.stale;
+    }
+
+    /**
+     * 节点名称
+     *
+     * @return 名称
+     */
+    @Override
+    public String toString() {
+        return switch (this.kind) {
+            case PROJECT -> "项目";
+            case MODULE -> this.module;
+            case PACKAGE -> this.packageName.isEmpty() ? "(默认包)" : this.packageName;
+            case FILE -> this.file.getName();
+            case MEMBER -> this.member.getName();
+        };
+    }
+}
@@ -0,0 +1,411 @@
+package io.github.easy.tools.ui.coverage;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.PopupHandler;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.treeStructure.Tree;
+import io.github.easy.tools.entity.doc.AiRunEstimate;
+import io.github.easy.tools.entity.doc.DocConfigSnapshot;
+import io.github.easy.tools.entity.doc.DocCoverageCounts;
+import io.github.easy.tools.entity.doc.DocMemberInfo;
+import io.github.easy.tools.entity.doc.FileDocCoverage;
+import io.github.easy.tools.service.doc.CoverageGenerationTask;
+import io.github.easy.tools.service.doc.DocCoverageListener;
+import io.github.easy.tools.service.doc.DocCoverageService;
+import io.github.easy.tools.service.doc.ai.AiRunEstimator;
+import io.github.easy.tools.ui.config.DocConfigService;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.JTree;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 注释覆盖面板
+ * <p>
+ * 按模块、包、文件、成员展示注释覆盖情况，文件节点只列出存在缺少注释或注释过期成员的文件。
+ * 覆盖统计变化时只更新变化文件所在的节点；任意节点都可以为其下需要处理的成员批量生成注释，双击文件或成员跳转到源码。
+ * </p>
+ */
+public class DocCoveragePanel extends SimpleToolWindowPanel implements Disposable {
+
+    /**
+     * 项目
+     */
+    private final Project project;
+
+    /**
+     * 覆盖统计服务
+     */
+    private final DocCoverageService service;
+
+    /**
+     * 根节点
+     */
+    private final DefaultMutableTreeNode root = new DefaultMutableTreeNode(
+            new DocCoverageNode(DocCoverageNode.Kind.PROJECT, null, null, null, null, false));
+
+    /**
+     * 树模型
+     */
+    private final DefaultTreeModel model = new DefaultTreeModel(this.root);
+
+    /**
+     * 覆盖树
+     */
+    private final Tree tree = new Tree(this.model);
+
+    /**
+     * 模块节点
+     */
+    private final Map<String, DefaultMutableTreeNode> moduleNodes = new HashMap<>();
+
+    /**
+     * 包节点，key为模块名和包名
+     */
+    private final Map<List<String>, DefaultMutableTreeNode> packageNodes = new HashMap<>();
+
+    /**
+     * 文件节点
+     */
+    private final Map<VirtualFile, DefaultMutableTreeNode> fileNodes = new HashMap<>();
+
+    /**
+     * 构造函数，创建工具栏和覆盖树并订阅覆盖变化
+     *
+     * @param project 项目
+     */
+    public DocCoveragePanel(Project project) {
+        super(true, true);
+        this.project = project;
+        this.service = DocCoverageService.getInstance(project);
+
+        DumbAwareAction generate = new DumbAwareAction("为这些成员生成注释", "为选中节点下缺少注释或注释过期的成员生成注释",
+                AllIcons.Actions.Execute) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                DocCoveragePanel.this.generateForSelection();
+            }
+
+            @Override
+            public void update(@NotNull AnActionEvent e) {
+                e.getPresentation().setEnabled(DocCoveragePanel.this.selectedNode() != null);
+            }
+
+            @Override
+            public @NotNull ActionUpdateThread getActionUpdateThread() {
+                return ActionUpdateThread.EDT;
+            }
+        };
+        DefaultActionGroup group = new DefaultActionGroup();
+        group.add(new DumbAwareAction("刷新", "重新统计整个项目的注释覆盖情况", AllIcons.Actions.Refresh) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                DocCoveragePanel.this.service.reload();
+            }
+        });
+        group.add(generate);
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("EasyDocCoverage", group, true);
+        toolbar.setTargetComponent(this);
+        this.setToolbar(toolbar.getComponent());
+
+        this.tree.setRootVisible(true);
+        this.tree.setCellRenderer(new CoverageRenderer());
+        PopupHandler.installPopupMenu(this.tree, new DefaultActionGroup(generate), "EasyDocCoveragePopup");
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                return DocCoveragePanel.this.navigateToSelection();
+            }
+        }.installOn(this.tree);
+        this.setContent(ScrollPaneFactory.createScrollPane(this.tree));
+
+        project.getMessageBus().connect(this).subscribe(DocCoverageListener.TOPIC, new DocCoverageListener() {
+            @Override
+            public void coverageChanged(Collection<VirtualFile> files) {
+                files.forEach(DocCoveragePanel.this::updateFile);
+                DocCoveragePanel.this.model.nodeChanged(DocCoveragePanel.this.root);
+            }
+
+            @Override
+            public void coverageReloaded() {
+                DocCoveragePanel.this.rebuild();
+            }
+        });
+        this.rebuild();
+        this.service.ensureLoaded();
+    }
+
+    /**
+     * 根据覆盖统计服务中的数据重建整棵树
+     */
+    private void rebuild() {
+        this.root.removeAllChildren();
+        this.moduleNodes.clear();
+        this.packageNodes.clear();
+        this.fileNodes.clear();
+        this.model.reload();
+        this.service.getFiles().keySet().forEach(this::updateFile);
+        this.model.nodeChanged(this.root);
+        this.tree.expandPath(new TreePath(this.root.getPath()));
+    }
+
+    /**
+     * 更新单个文件的节点及其所在包和模块节点
+     *
+     * @param file 文件
+     */
+    private void updateFile(VirtualFile file) {
+        DefaultMutableTreeNode old = this.fileNodes.remove(file);
+        if (old != null) {
+            DefaultMutableTreeNode packageNode = (DefaultMutableTreeNode) old.getParent();
+            this.model.removeNodeFromParent(old);
+            this.refreshPackage(packageNode);
+        }
+        DocCoverageService.FileEntry entry = this.service.getFiles().get(file);
+        if (entry == null) {
+            return;
+        }
+        DefaultMutableTreeNode packageNode = this.packageNode(entry.getModule(), entry.getPackageName());
+        FileDocCoverage coverage = entry.getCoverage();
+        if (!coverage.isComplete()) {
+            DefaultMutableTreeNode fileNode = new DefaultMutableTreeNode(new DocCoverageNode(DocCoverageNode.Kind.FILE,
+                    entry.getModule(), entry.getPackageName(), file, null, false));
+            for (DocMemberInfo member : coverage.getMissing()) {
+                fileNode.add(new DefaultMutableTreeNode(new DocCoverageNode(DocCoverageNode.Kind.MEMBER,
+                        entry.getModule(), entry.getPackageName(), file, member, false)));
+            }
+            for (DocMemberInfo member : coverage.getStale()) {
+                fileNode.add(new DefaultMutableTreeNode(new DocCoverageNode(DocCoverageNode.Kind.MEMBER,
+                        entry.getModule(), entry.getPackageName(), file, member, true)));
+            }
+            this.insertSorted(packageNode, fileNode);
+            this.fileNodes.put(file, fileNode);
+        }
+        this.refreshPackage(packageNode);
+    }
+
+    /**
+     * 获取包节点，不存在时创建
+     *
+     * @param module      模块名
+     * @param packageName 包名
+     * @return 包节点
+     */
+    private DefaultMutableTreeNode packageNode(String module, String packageName) {
+        DefaultMutableTreeNode moduleNode = this.moduleNodes.computeIfAbsent(module, key -> {
+            DefaultMutableTreeNode node = new DefaultMutableTreeNode(
+                    new DocCoverageNode(DocCoverageNode.Kind.MODULE, module, null, null, null, false));
+            this.insertSorted(this.root, node);
+            return node;
+        });
+        return this.packageNodes.computeIfAbsent(List.of(module, packageName), key -> {
+            DefaultMutableTreeNode node = new DefaultMutableTreeNode(
+                    new DocCoverageNode(DocCoverageNode.Kind.PACKAGE, module, packageName, null, null, false));
+            this.insertSorted(moduleNode, node);
+            return node;
+        });
+    }
+
+    /**
+     * 刷新包节点和模块节点的统计，统计为空时移除节点
+     *
+     * @param packageNode 包节点
+     */
+    private void refreshPackage(DefaultMutableTreeNode packageNode) {
+        DocCoverageNode data = (DocCoverageNode) packageNode.getUserObject();
+        DefaultMutableTreeNode moduleNode = (DefaultMutableTreeNode) packageNode.getParent();
+        if (moduleNode == null) {
+            return;
+        }
+        if (this.service.getPackageCounts(data.getModule(), data.getPackageName()).getTotal() == 0) {
+            this.model.removeNodeFromParent(packageNode);
+            this.packageNodes.remove(List.of(data.getModule(), data.getPackageName()));
+        } else {
+            this.model.nodeChanged(packageNode);
+        }
+        if (this.service.getModuleCounts(data.getModule()).getTotal() == 0) {
+            this.model.removeNodeFromParent(moduleNode);
+            this.moduleNodes.remove(data.getModule());
+        } else {
+            this.model.nodeChanged(moduleNode);
+        }
+    }
+
+    /**
+     * 按名称顺序插入子节点
+     *
+     * @param parent 父节点
+     * @param child  子节点
+     */
+    private void insertSorted(DefaultMutableTreeNode parent, DefaultMutableTreeNode child) {
+        String name = child.getUserObject().toString();
+        int index = 0;
+        while (index < parent.getChildCount()
+                && ((DefaultMutableTreeNode) parent.getChildAt(index)).getUserObject().toString().compareTo(name) < 0) {
+            index++;
+        }
+        this.model.insertNodeInto(child, parent, index);
+    }
+
+    /**
+     * 获取选中的节点
+     *
+     * @return 选中节点的数据，没有选中时返回null
+     */
+    private DocCoverageNode selectedNode() {
+        Object selected = this.tree.getLastSelectedPathComponent();
+        return selected instanceof DefaultMutableTreeNode node ? (DocCoverageNode) node.getUserObject() : null;
+    }
+
+    /**
+     * 为选中节点下需要处理的成员生成注释
+     */
+    private void generateForSelection() {
+        DocCoverageNode node = this.selectedNode();
+        if (node == null) {
+            return;
+        }
+        List<VirtualFile> files = new ArrayList<>();
+        switch (node.getKind()) {
+            case MEMBER, FILE -> files.add(node.getFile());
+            default -> this.service.getFiles().forEach((file, entry) -> {
+                boolean inModule = node.getKind() == DocCoverageNode.Kind.PROJECT || entry.getModule().equals(node.getModule());
+                boolean inPackage = node.getKind() != DocCoverageNode.Kind.PACKAGE || entry.getPackageName().equals(node.getPackageName());
+                if (inModule && inPackage && !entry.getCoverage().isComplete()) {
+                    files.add(file);
+                }
+            });
+        }
+        if (files.isEmpty() || !this.confirmAiRun(files, node.getMember())) {
+            return;
+        }
+        new CoverageGenerationTask(this.project, files, node.getMember()).queue();
+    }
+
+    /**
+     * 开启AI时预估需要处理的成员的令牌用量和耗时，并请用户确认
+     *
+     * @param files  需要生成注释的文件
+     * @param member 只处理该成员，为null时处理文件中所有需要处理的成员
+     * @return 未开启AI或用户确认时返回true
+     */
+    private boolean confirmAiRun(List<VirtualFile> files, DocMemberInfo member) {
+        DocConfigSnapshot config = DocConfigService.getInstance().getSnapshot();
+        if (!config.isAiAvailable()) {
+            return true;
+        }
+        AiRunEstimator estimator = new AiRunEstimator(config);
+        boolean completed = ProgressManager.getInstance().runProcessWithProgressSynchronously(() -> {
+            for (VirtualFile file : files) {
+                ProgressManager.checkCanceled();
+                ReadAction.run(() -> estimator.add(CoverageGenerationTask.findMembers(this.project, file, member)));
+            }
+        }, "预估AI用量", true, this.project);
+        if (!completed) {
+            return false;
+        }
+        AiRunEstimate estimate = estimator.getEstimate();
+        return AiRunEstimator.confirm(this.project, estimate, config);
+    }
+
+    /**
+     * 跳转到选中的文件或成员
+     *
+     * @return 跳转成功返回true
+     */
+    private boolean navigateToSelection() {
+        DocCoverageNode node = this.selectedNode();
+        if (node == null || node.getFile() == null || !node.getFile().isValid()) {
+            return false;
+        }
+        int offset = node.getMember() != null ? node.getMember().getOffset() : 0;
+        new OpenFileDescriptor(this.project, node.getFile(), offset).navigate(true);
+        return true;
+    }
+
+    /**
+     * 消息总线连接随面板一起释放，无需额外处理
+     */
+    @Override
+    public void dispose() {
+    }
+
+    /**
+     * 覆盖树的渲染器，名称后显示覆盖统计
+     */
+    private final class CoverageRenderer extends ColoredTreeCellRenderer {
+
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded,
+                                          boolean leaf, int row, boolean hasFocus) {
+            DocCoverageNode node = (DocCoverageNode) ((DefaultMutableTreeNode) value).getUserObject();
+            DocCoverageService service = DocCoveragePanel.this.service;
+            this.append(node.toString());
+            switch (node.getKind()) {
+                case PROJECT -> {
+                    this.setIcon(AllIcons.Nodes.Project);
+                    this.appendCounts(service.getTotalCounts());
+                }
+                case MODULE -> {
+                    this.setIcon(AllIcons.Nodes.Module);
+                    this.appendCounts(service.getModuleCounts(node.getModule()));
+                }
+                case PACKAGE -> {
+                    this.setIcon(AllIcons.Nodes.Package);
+                    this.appendCounts(service.getPackageCounts(node.getModule(), node.getPackageName()));
+                }
+                case FILE -> {
+                    this.setIcon(node.getFile().getFileType().getIcon());
+                    DocCoverageService.FileEntry entry = service.getFiles().get(node.getFile());
+                    if (entry != null) {
+                        FileDocCoverage coverage = entry.getCoverage();
+                        this.append(String.format("  %d/%d，缺少 %d，过期 %d", coverage.getDocumented(), coverage.getTotal(),
+                                coverage.getMissing().size(), coverage.getStale().size()), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                    }
+                }
+                case MEMBER -> {
+                    this.setIcon(switch (node.getMember().getKind()) {
+                        case "class" -> AllIcons.Nodes.Class;
+                        case "method" -> AllIcons.Nodes.Method;
+                        default -> AllIcons.Nodes.Field;
+                    });
+                    this.append(node.isStale() ? "  @param 与参数不一致" : "  缺少注释", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            }
+        }
+
+        /**
+         * 追加覆盖统计
+         *
+         * @param counts 覆盖统计
+         */
+        private void appendCounts(DocCoverageCounts counts) {
+            this.append(String.format("  %.1f%%（%d/%d，缺少 %d，过期 %d）", counts.getPercent(), counts.getDocumented(),
+                    counts.getTotal(), counts.getMissing(), counts.getStale()), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+        }
+    }
+}
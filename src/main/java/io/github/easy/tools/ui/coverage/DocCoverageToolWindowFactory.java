@@ -0,0 +1,34 @@
+package io.github.easy.tools.ui.coverage;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 注释覆盖工具窗口工厂
+ */
+public class DocCoverageToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    /**
+     * 工具窗口ID
+     */
+    public static final String ID = "Easy Doc Coverage";
+
+    /**
+     * 创建工具窗口内容
+     *
+     * @param project    项目
+     * @param toolWindow 工具窗口
+     */
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        DocCoveragePanel panel = new DocCoveragePanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, "注释覆盖", false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+}
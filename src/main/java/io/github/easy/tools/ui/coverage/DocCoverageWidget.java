@@ -0,0 +1,112 @@
+package io.github.easy.tools.ui.coverage;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.StatusBar;
+import com.intellij.openapi.wm.StatusBarWidget;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.util.Consumer;
+import io.github.easy.tools.entity.doc.DocCoverageCounts;
+import io.github.easy.tools.service.doc.DocCoverageListener;
+import io.github.easy.tools.service.doc.DocCoverageService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+import java.util.Collection;
+
+/**
+ * 注释覆盖率状态栏组件
+ * <p>
+ * 显示整个项目的注释覆盖率，覆盖统计变化时刷新，点击打开注释覆盖工具窗口。
+ * </p>
+ */
+public class DocCoverageWidget implements StatusBarWidget, StatusBarWidget.TextPresentation {
+
+    /**
+     * 组件ID
+     */
+    public static final String ID = "EasyDocCoverage";
+
+    /**
+     * 项目
+     */
+    private final Project project;
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     */
+    public DocCoverageWidget(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @NotNull String ID() {
+        return ID;
+    }
+
+    @Override
+    public @Nullable WidgetPresentation getPresentation() {
+        return this;
+    }
+
+    /**
+     * 安装到状态栏，订阅覆盖变化并触发首次统计
+     *
+     * @param statusBar 状态栏
+     */
+    @Override
+    public void install(@NotNull StatusBar statusBar) {
+        this.project.getMessageBus().connect(this).subscribe(DocCoverageListener.TOPIC, new DocCoverageListener() {
+            @Override
+            public void coverageChanged(Collection<VirtualFile> files) {
+                statusBar.updateWidget(ID);
+            }
+
+            @Override
+            public void coverageReloaded() {
+                statusBar.updateWidget(ID);
+            }
+        });
+        DocCoverageService.getInstance(this.project).ensureLoaded();
+    }
+
+    @Override
+    public @NotNull String getText() {
+        DocCoverageCounts counts = DocCoverageService.getInstance(this.project).getTotalCounts();
+        return counts.getTotal() == 0 ? "注释: -" : String.format("注释: %.0f%%", counts.getPercent());
+    }
+
+    @Override
+    public float getAlignment() {
+        return Component.CENTER_ALIGNMENT;
+    }
+
+    @Override
+    public @Nullable String getTooltipText() {
+        DocCoverageCounts counts = DocCoverageService.getInstance(this.project).getTotalCounts();
+        return String.format("注释覆盖率 %.1f%%：%d/%d，缺少 %d，过期 %d", counts.getPercent(), counts.getDocumented(),
+                counts.getTotal(), counts.getMissing(), counts.getStale());
+    }
+
+    @Override
+    public @Nullable Consumer<MouseEvent> getClickConsumer() {
+        return event -> {
+            ToolWindow toolWindow = ToolWindowManager.getInstance(this.project).getToolWindow(DocCoverageToolWindowFactory.ID);
+            if (toolWindow != null) {
+                toolWindow.activate(null);
+            }
+        };
+    }
+
+    /**
+     * 消息总线连接随组件一起释放
+     */
+    @Override
+    public void dispose() {
+    }
+}
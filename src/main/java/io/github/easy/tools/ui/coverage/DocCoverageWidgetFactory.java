@@ -0,0 +1,27 @@
+package io.github.easy.tools.ui.coverage;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.StatusBarWidget;
+import com.intellij.openapi.wm.StatusBarWidgetFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 注释覆盖率状态栏组件工厂
+ */
+public class DocCoverageWidgetFactory implements StatusBarWidgetFactory {
+
+    @Override
+    public @NotNull String getId() {
+        return DocCoverageWidget.ID;
+    }
+
+    @Override
+    public @NotNull String getDisplayName() {
+        return "注释覆盖率";
+    }
+
+    @Override
+    public @NotNull StatusBarWidget createWidget(@NotNull Project project) {
+        return new DocCoverageWidget(project);
+    }
+}
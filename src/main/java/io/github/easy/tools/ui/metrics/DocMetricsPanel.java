@@ -0,0 +1,214 @@
+package io.github.easy.tools.ui.metrics;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import io.github.easy.tools.service.doc.GenerationPriority;
+import io.github.easy.tools.service.doc.GenerationScheduler;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.service.doc.metrics.DocStage;
+import io.github.easy.tools.service.doc.metrics.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.JPanel;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.BorderLayout;
+
+/**
+ * 注释生成统计面板
+ * <p>
+ * 展示各阶段的调用次数和延迟分布（包括各优先级的排队时间）、最慢的元素、缓存命中率、
+ * AI请求的排队数量以及每秒生成的注释数量，
+ * 面板可见时每两秒刷新一次。
+ * </p>
+ */
+public class DocMetricsPanel extends SimpleToolWindowPanel implements Disposable {
+
+    /**
+     * 刷新间隔（毫秒）
+     */
+    private static final int REFRESH_INTERVAL_MS = 2_000;
+
+    /**
+     * 阶段表格的列
+     */
+    private static final String[] STAGE_COLUMNS = {"阶段", "次数", "平均(ms)", "P50(ms)", "P95(ms)", "P99(ms)", "最大(ms)", "合计(ms)"};
+
+    /**
+     * 最慢元素表格的列
+     */
+    private static final String[] SLOWEST_COLUMNS = {"元素", "耗时(ms)"};
+
+    /**
+     * 阶段表格模型
+     */
+    private final DefaultTableModel stageModel = new ReadOnlyTableModel(STAGE_COLUMNS);
+
+    /**
+     * 最慢元素表格模型
+     */
+    private final DefaultTableModel slowestModel = new ReadOnlyTableModel(SLOWEST_COLUMNS);
+
+    /**
+     * 汇总信息
+     */
+    private final JBLabel summary = new JBLabel();
+
+    /**
+     * 自动刷新定时器
+     */
+    private final Timer timer = new Timer(REFRESH_INTERVAL_MS, e -> this.refreshIfShowing());
+
+    /**
+     * 构造函数，创建工具栏和表格
+     */
+    public DocMetricsPanel() {
+        super(true, true);
+        DefaultActionGroup group = new DefaultActionGroup();
+        group.add(new DumbAwareAction("刷新", "刷新统计数据", AllIcons.Actions.Refresh) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                DocMetricsPanel.this.refresh();
+            }
+        });
+        group.add(new DumbAwareAction("重置", "清空统计数据", AllIcons.Actions.GC) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                DocMetrics.getInstance().reset();
+                DocMetricsPanel.this.refresh();
+            }
+        });
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("EasyDocMetrics", group, true);
+        toolbar.setTargetComponent(this);
+        this.setToolbar(toolbar.getComponent());
+
+        JBSplitter splitter = new JBSplitter(true, 0.6f);
+        splitter.setFirstComponent(new JBScrollPane(new JBTable(this.stageModel)));
+        splitter.setSecondComponent(new JBScrollPane(new JBTable(this.slowestModel)));
+
+        JPanel content = new JPanel(new BorderLayout());
+        this.summary.setBorder(JBUI.Borders.empty(4, 8));
+        content.add(this.summary, BorderLayout.NORTH);
+        content.add(splitter, BorderLayout.CENTER);
+        this.setContent(content);
+
+        this.refresh();
+        this.timer.start();
+    }
+
+    /**
+     * 面板可见时刷新
+     */
+    private void refreshIfShowing() {
+        if (this.isShowing()) {
+            this.refresh();
+        }
+    }
+
+    /**
+     * 从指标注册表读取数据并刷新表格
+     */
+    private void refresh() {
+        DocMetrics metrics = DocMetrics.getInstance();
+        this.stageModel.setRowCount(0);
+        for (DocStage stage : DocStage.values()) {
+            LatencyHistogram histogram = metrics.getHistogram(stage);
+            this.stageModel.addRow(new Object[]{
+                    stage.getDisplayName(),
+                    histogram.getCount(),
+                    millis(histogram.getMeanNanos()),
+                    millis(histogram.getPercentileNanos(0.5)),
+                    millis(histogram.getPercentileNanos(0.95)),
+                    millis(histogram.getPercentileNanos(0.99)),
+                    millis(histogram.getMaxNanos()),
+                    millis(histogram.getTotalNanos())
+            });
+        }
+        this.slowestModel.setRowCount(0);
+        for (DocMetrics.SlowElement element : metrics.getSlowest()) {
+            this.slowestModel.addRow(new Object[]{element.getName(), millis(element.getNanos())});
+        }
+        this.summary.setText(String.format(
+                "已渲染: %d, 已写入: %d, 速度: %.1f 条/秒, 模板缓存命中率: %.1f%%, 版本号缓存命中率: %.1f%%, Git缓存命中率: %.1f%%, AI请求: %d (失败 %d)",
+                metrics.getCount(DocCounter.DOCS_RENDERED),
+                metrics.getCount(DocCounter.DOCS_WRITTEN),
+                metrics.getDocsPerSecond(),
+                metrics.getHitRate(DocCounter.TEMPLATE_CACHE_HIT, DocCounter.TEMPLATES_COMPILED) * 100,
+                metrics.getHitRate(DocCounter.VERSION_CACHE_HIT, DocCounter.VERSION_CACHE_MISS) * 100,
+                metrics.getHitRate(DocCounter.GIT_CACHE_HIT, DocCounter.GIT_CACHE_MISS) * 100,
+                metrics.getCount(DocCounter.AI_REQUESTS),
+                metrics.getCount(DocCounter.AI_FAILURES)) + this.queueSummary());
+    }
+
+    /**
+     * 生成AI请求调度的汇总信息
+     *
+     * @return 正在进行和各优先级排队中的请求数量
+     */
+    private String queueSummary() {
+        GenerationScheduler scheduler = GenerationScheduler.getInstance();
+        StringBuilder text = new StringBuilder(", 进行中: ").append(scheduler.getRunning()).append(", 排队:");
+        for (GenerationPriority priority : GenerationPriority.values()) {
+            text.append(' ').append(priority.getDisplayName()).append(' ').append(scheduler.getQueued(priority));
+        }
+        return text.toString();
+    }
+
+    /**
+     * 纳秒转换为毫秒文本
+     *
+     * @param nanos 纳秒
+     * @return 保留两位小数的毫秒
+     */
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 停止自动刷新
+     */
+    @Override
+    public void dispose() {
+        this.timer.stop();
+    }
+
+    /**
+     * 只读表格模型
+     */
+    private static final class ReadOnlyTableModel extends DefaultTableModel {
+
+        /**
+         * 构造函数
+         *
+         * @param columns 列名
+         */
+        private ReadOnlyTableModel(String[] columns) {
+            super(columns, 0);
+        }
+
+        /**
+         * 所有单元格都不可编辑
+         *
+         * @param row    行
+         * @param column 列
+         * @return false
+         */
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.easy.tools.ui.metrics;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 注释生成统计工具窗口工厂
+ */
+public class DocMetricsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    /**
+     * 创建工具窗口内容
+     *
+     * @param project    项目
+     * @param toolWindow 工具窗口
+     */
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        DocMetricsPanel panel = new DocMetricsPanel();
+        Content content = ContentFactory.getInstance().createContent(panel, "生成统计", false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+}
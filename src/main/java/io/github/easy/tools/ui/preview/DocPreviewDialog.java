@@ -0,0 +1,440 @@
+package io.github.easy.tools.ui.preview;
+
+import com.intellij.diff.DiffContentFactory;
+import com.intellij.diff.DiffManager;
+import com.intellij.diff.DiffRequestPanel;
+import com.intellij.diff.requests.MessageDiffRequest;
+import com.intellij.diff.requests.SimpleDiffRequest;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.psi.PsiFile;
+import com.intellij.ui.CollectionListModel;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBUI;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.factory.doc.CommentGenerationStrategyFactory;
+import io.github.easy.tools.service.doc.GenerationPriority;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.KeyStroke;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
+
+/**
+ * 注释生成预览对话框
+ * <p>
+ * 左侧列出所有可能被修改的元素，列表使用固定行高，只绘制可见的行；右侧显示选中元素修改前后的注释。
+ * 打开对话框时不渲染注释：只渲染选中的元素和可见行前后少量的元素，后台线程以预取优先级逐个渲染，
+ * 选中的元素排在最前面；列表滚动后等待队列换成新的可见范围，不会渲染用户没有看到的元素，关闭对话框时取消渲染。
+ * 渲染后注释没有变化的元素从列表中移除。
+ * 可以按元素（点击复选框或空格）或按文件接受、拒绝修改，确认后由调用方渲染剩余接受的元素，
+ * 并在一次写命令中写入所有接受的修改。
+ * </p>
+ */
+public class DocPreviewDialog extends DialogWrapper {
+
+    /**
+     * 可见行之前和之后额外预取的行数
+     */
+    private static final int PREFETCH_ROWS = 5;
+
+    /**
+     * 项目
+     */
+    private final Project project;
+
+    /**
+     * 列表模型
+     */
+    private final CollectionListModel<DocPreviewEntry> model;
+
+    /**
+     * 元素列表
+     */
+    private final JBList<DocPreviewEntry> list;
+
+    /**
+     * diff 面板
+     */
+    private final DiffRequestPanel diffPanel;
+
+    /**
+     * 等待渲染的元素，只包含选中的元素和可见范围内的元素，选中的元素在队首
+     */
+    private final Deque<DocPreviewEntry> pending = new ConcurrentLinkedDeque<>();
+
+    /**
+     * 后台渲染线程，同时只渲染一个元素
+     */
+    private final ExecutorService renderExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Easy Doc Preview", 1);
+
+    /**
+     * 后台渲染的进度指示器，关闭对话框时取消
+     */
+    private final ProgressIndicator renderIndicator = new EmptyProgressIndicator();
+
+    /**
+     * 构造函数
+     *
+     * @param project 项目
+     * @param entries 预览的元素
+     */
+    public DocPreviewDialog(Project project, List<DocPreviewEntry> entries) {
+        super(project, true);
+        this.project = project;
+        this.model = new CollectionListModel<>(entries);
+        this.list = new JBList<>(this.model);
+        this.diffPanel = DiffManager.getInstance().createRequestPanel(project, this.getDisposable(), null);
+        Disposer.register(this.getDisposable(), () -> {
+            this.renderIndicator.cancel();
+            this.renderExecutor.shutdown();
+        });
+        this.updateTitle();
+        this.setOKButtonText("写入已接受的注释");
+        this.init();
+    }
+
+    /**
+     * 创建对话框内容
+     *
+     * @return 对话框内容
+     */
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        this.list.getSelectionModel().setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        // 固定行高后列表不会为了计算尺寸而绘制所有行
+        this.list.setFixedCellHeight(JBUI.scale(22));
+        this.list.setCellRenderer(new EntryRenderer());
+        this.list.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                this.showDiff(this.list.getSelectedValue());
+            }
+        });
+        this.list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = DocPreviewDialog.this.list.locationToIndex(e.getPoint());
+                if (index >= 0 && e.getX() < JBUI.scale(24)) {
+                    DocPreviewEntry entry = DocPreviewDialog.this.model.getElementAt(index);
+                    entry.setAccepted(!entry.isAccepted());
+                    DocPreviewDialog.this.list.repaint(DocPreviewDialog.this.list.getCellBounds(index, index));
+                }
+            }
+        });
+        this.list.registerKeyboardAction(e -> this.toggleSelected(),
+                KeyStroke.getKeyStroke(KeyEvent.VK_SPACE, 0), JComponent.WHEN_FOCUSED);
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT, JBUI.scale(4), 0));
+        buttons.add(this.button("全部接受", e -> this.setAccepted(entry -> true, true)));
+        buttons.add(this.button("全部拒绝", e -> this.setAccepted(entry -> true, false)));
+        buttons.add(this.button("接受当前文件", e -> this.setAcceptedForSelectedFile(true)));
+        buttons.add(this.button("拒绝当前文件", e -> this.setAcceptedForSelectedFile(false)));
+
+        JPanel left = new JPanel(new BorderLayout());
+        left.add(buttons, BorderLayout.NORTH);
+        JBScrollPane scrollPane = new JBScrollPane(this.list);
+        // 滚动后把等待队列换成新的可见范围
+        scrollPane.getViewport().addChangeListener(e -> this.schedule(null));
+        left.add(scrollPane, BorderLayout.CENTER);
+
+        JBSplitter splitter = new JBSplitter(false, 0.3f);
+        splitter.setFirstComponent(left);
+        splitter.setSecondComponent(this.diffPanel.getComponent());
+        splitter.setPreferredSize(new Dimension(JBUI.scale(1100), JBUI.scale(650)));
+
+        if (!this.model.isEmpty()) {
+            this.list.setSelectedIndex(0);
+        }
+        return splitter;
+    }
+
+    /**
+     * 获取默认获得焦点的组件
+     *
+     * @return 元素列表
+     */
+    @Override
+    public @Nullable JComponent getPreferredFocusedComponent() {
+        return this.list;
+    }
+
+    /**
+     * 获取所有接受的修改
+     *
+     * @return 接受的元素
+     */
+    public List<DocPreviewEntry> getAcceptedEntries() {
+        return this.model.getItems().stream().filter(DocPreviewEntry::isAccepted).toList();
+    }
+
+    /**
+     * 把等待队列替换为选中的元素和可见行前后的未渲染元素，并唤醒后台渲染
+     *
+     * @param selected 选中的元素，排在队首；为null时使用列表当前选中的元素
+     */
+    private void schedule(DocPreviewEntry selected) {
+        if (this.isDisposed()) {
+            return;
+        }
+        if (selected == null) {
+            selected = this.list.getSelectedValue();
+        }
+        Set<DocPreviewEntry> window = new LinkedHashSet<>();
+        if (selected != null && !selected.isRendered()) {
+            window.add(selected);
+        }
+        int first = this.list.getFirstVisibleIndex();
+        int last = this.list.getLastVisibleIndex();
+        if (first >= 0) {
+            int from = Math.max(0, first - PREFETCH_ROWS);
+            int to = Math.min(this.model.getSize() - 1, last + PREFETCH_ROWS);
+            for (int i = from; i <= to; i++) {
+                DocPreviewEntry entry = this.model.getElementAt(i);
+                if (!entry.isRendered()) {
+                    window.add(entry);
+                }
+            }
+        }
+        this.pending.clear();
+        this.pending.addAll(window);
+        if (!window.isEmpty()) {
+            this.renderExecutor.execute(() -> {
+                try {
+                    ProgressManager.getInstance().runProcess(this::renderPending, this.renderIndicator);
+                } catch (ProcessCanceledException e) {
+                    // 对话框已关闭
+                }
+            });
+        }
+    }
+
+    /**
+     * 在读操作之外逐个渲染等待中的元素，每个元素渲染后交给EDT更新列表，队列为空时结束
+     */
+    private void renderPending() {
+        DocMetrics.getInstance().runStarted();
+        try {
+            this.renderQueued();
+        } finally {
+            DocMetrics.getInstance().runFinished();
+        }
+    }
+
+    /**
+     * 逐个渲染等待中的元素
+     */
+    private void renderQueued() {
+        DocPreviewEntry entry;
+        while ((entry = this.pending.pollFirst()) != null) {
+            ProgressManager.checkCanceled();
+            if (entry.isRendered()) {
+                continue;
+            }
+            DocPreviewEntry current = entry;
+            RenderRequest request = current.getRequest();
+            String doc = GenerationPriority.PREFETCH.compute(() -> CommentGenerationStrategyFactory.getInstance()
+                    .getStrategy(current.getFile()).render(List.of(request)).get(request));
+            current.setDoc(doc);
+            // 只读取PSI和更新列表，需要在模态对话框打开期间执行
+            ApplicationManager.getApplication().invokeLater(() -> this.onRendered(current), ModalityState.any());
+        }
+    }
+
+    /**
+     * 元素渲染完成后计算修改前后的注释，注释没有变化时从列表中移除
+     *
+     * @param entry 元素
+     */
+    private void onRendered(DocPreviewEntry entry) {
+        if (this.isDisposed()) {
+            return;
+        }
+        int index = this.model.getElementIndex(entry);
+        if (index < 0) {
+            return;
+        }
+        if (entry.getFile().isValid()) {
+            entry.resolve(CommentGenerationStrategyFactory.getInstance().getStrategy(entry.getFile()));
+        }
+        if (entry.getElement() == null || entry.isUnchanged()) {
+            boolean selected = this.list.getSelectedIndex() == index;
+            this.model.remove(index);
+            this.updateTitle();
+            if (selected && !this.model.isEmpty()) {
+                this.list.setSelectedIndex(Math.min(index, this.model.getSize() - 1));
+            } else if (this.model.isEmpty()) {
+                this.diffPanel.setRequest(new MessageDiffRequest("没有需要修改的注释"));
+            } else {
+                // 移除后后面的元素进入可见范围
+                this.schedule(null);
+            }
+            return;
+        }
+        this.list.repaint(this.list.getCellBounds(index, index));
+        if (this.list.getSelectedValue() == entry) {
+            this.showDiff(entry);
+        }
+    }
+
+    /**
+     * 更新标题中的元素数量
+     */
+    private void updateTitle() {
+        this.setTitle("预览生成的注释 (" + this.model.getSize() + ")");
+    }
+
+    /**
+     * 显示元素的 diff，元素还没有渲染时排到渲染队列最前面
+     *
+     * @param entry 元素
+     */
+    private void showDiff(DocPreviewEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        if (!entry.isRendered()) {
+            this.schedule(entry);
+            this.diffPanel.setRequest(new MessageDiffRequest("正在生成注释..."));
+            return;
+        }
+        if (!entry.getFile().isValid() || entry.getElement() == null) {
+            return;
+        }
+        entry.resolve(CommentGenerationStrategyFactory.getInstance().getStrategy(entry.getFile()));
+        DiffContentFactory factory = DiffContentFactory.getInstance();
+        this.diffPanel.setRequest(new SimpleDiffRequest(entry.getDisplayName(),
+                factory.create(this.project, entry.getBefore(), JavaFileType.INSTANCE),
+                factory.create(this.project, entry.getAfter(), JavaFileType.INSTANCE),
+                "当前注释", "生成后"));
+    }
+
+    /**
+     * 切换选中元素的接受状态
+     */
+    private void toggleSelected() {
+        List<DocPreviewEntry> selected = this.list.getSelectedValuesList();
+        boolean accepted = selected.stream().anyMatch(entry -> !entry.isAccepted());
+        selected.forEach(entry -> entry.setAccepted(accepted));
+        this.list.repaint();
+    }
+
+    /**
+     * 设置选中元素所在文件的接受状态
+     *
+     * @param accepted 是否接受
+     */
+    private void setAcceptedForSelectedFile(boolean accepted) {
+        DocPreviewEntry selected = this.list.getSelectedValue();
+        if (selected != null) {
+            PsiFile file = selected.getFile();
+            this.setAccepted(entry -> entry.getFile() == file, accepted);
+        }
+    }
+
+    /**
+     * 设置满足条件的元素的接受状态
+     *
+     * @param filter   条件
+     * @param accepted 是否接受
+     */
+    private void setAccepted(Predicate<DocPreviewEntry> filter, boolean accepted) {
+        for (DocPreviewEntry entry : this.model.getItems()) {
+            if (filter.test(entry)) {
+                entry.setAccepted(accepted);
+            }
+        }
+        this.list.repaint();
+    }
+
+    /**
+     * 创建按钮
+     *
+     * @param text     按钮文本
+     * @param listener 点击事件
+     * @return 按钮
+     */
+    private JButton button(String text, ActionListener listener) {
+        JButton button = new JButton(text);
+        button.addActionListener(listener);
+        return button;
+    }
+
+    /**
+     * 列表行渲染器，只复用一组组件绘制可见的行
+     */
+    private static final class EntryRenderer extends JPanel implements ListCellRenderer<DocPreviewEntry> {
+
+        /**
+         * 接受状态
+         */
+        private final JCheckBox checkBox = new JCheckBox();
+
+        /**
+         * 元素名称
+         */
+        private final JLabel label = new JLabel();
+
+        /**
+         * 构造函数
+         */
+        private EntryRenderer() {
+            super(new BorderLayout());
+            this.checkBox.setOpaque(false);
+            this.add(this.checkBox, BorderLayout.WEST);
+            this.add(this.label, BorderLayout.CENTER);
+        }
+
+        /**
+         * 获取行渲染组件
+         *
+         * @param list         列表
+         * @param value        元素
+         * @param index        行号
+         * @param isSelected   是否选中
+         * @param cellHasFocus 是否有焦点
+         * @return 渲染组件
+         */
+        @Override
+        public Component getListCellRendererComponent(JList<? extends DocPreviewEntry> list, DocPreviewEntry value,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            this.checkBox.setSelected(value.isAccepted());
+            this.label.setText(value.isRendered() ? value.getDisplayName() : value.getDisplayName() + "  (未生成)");
+            this.setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+            this.label.setForeground(isSelected ? list.getSelectionForeground() : list.getForeground());
+            return this;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.easy.tools.ui.preview;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.PsiJavaDocumentedElement;
+import com.intellij.psi.javadoc.PsiDocComment;
+import io.github.easy.tools.entity.doc.RenderRequest;
+import io.github.easy.tools.service.doc.CommentGenerationStrategy;
+
+/**
+ * 预览列表中的一个元素
+ * <p>
+ * 创建时只保存准备好的渲染输入，注释由预览对话框在后台按需渲染；
+ * 修改前后的注释在渲染完成后计算并缓存。
+ * </p>
+ */
+public class DocPreviewEntry {
+
+    /**
+     * 所属文件
+     */
+    private final PsiFile file;
+
+    /**
+     * 渲染输入
+     */
+    private final RenderRequest request;
+
+    /**
+     * 渲染好的注释，未渲染时为null；由后台线程写入，在EDT上读取
+     */
+    private volatile String doc;
+
+    /**
+     * 列表中显示的名称
+     */
+    private final String displayName;
+
+    /**
+     * 是否接受该修改
+     */
+    private boolean accepted = true;
+
+    /**
+     * 修改前的注释，未计算时为null
+     */
+    private String before;
+
+    /**
+     * 修改后的注释，未计算时为null
+     */
+    private String after;
+
+    /**
+     * 构造函数，需要在读操作中调用
+     *
+     * @param file    所属文件
+     * @param request 渲染输入
+     */
+    public DocPreviewEntry(PsiFile file, RenderRequest request) {
+        this.file = file;
+        this.request = request;
+        PsiElement element = request.getPointer().getElement();
+        String name = element instanceof PsiNamedElement named ? named.getName() : null;
+        this.displayName = file.getName() + "  " + (name != null ? name : element.getClass().getSimpleName());
+    }
+
+    /**
+     * 计算修改前后的注释，只计算一次，需要在渲染完成后在读操作中调用
+     *
+     * @param strategy 生成策略
+     */
+    public void resolve(CommentGenerationStrategy strategy) {
+        PsiElement element = this.getElement();
+        if (this.after != null || this.doc == null || element == null) {
+            return;
+        }
+        PsiDocComment docComment = element instanceof PsiJavaDocumentedElement documented ? documented.getDocComment() : null;
+        this.before = docComment != null ? docComment.getText() : "";
+        String resolved = strategy.resolve(this.file, element, this.doc);
+        this.after = resolved != null ? resolved : this.before;
+    }
+
+    /**
+     * 是否已经渲染
+     *
+     * @return 已渲染返回true
+     */
+    public boolean isRendered() {
+        return this.doc != null;
+    }
+
+    /**
+     * 写入后注释是否不变，需要先调用 {@link #resolve(CommentGenerationStrategy)}
+     *
+     * @return 修改前后的注释一致时返回true
+     */
+    public boolean isUnchanged() {
+        return this.after != null && this.after.equals(this.before);
+    }
+
+    /**
+     * 获取所属文件
+     *
+     * @return 所属文件
+     */
+    public PsiFile getFile() {
+        return this.file;
+    }
+
+    /**
+     * 获取渲染输入
+     *
+     * @return 渲染输入
+     */
+    public RenderRequest getRequest() {
+        return this.request;
+    }
+
+    /**
+     * 通过智能指针获取元素，需要在读操作中调用
+     *
+     * @return 元素，已经删除或失效时返回null
+     */
+    public PsiElement getElement() {
+        PsiElement element = this.request.getPointer().getElement();
+        return element != null && element.isValid() ? element : null;
+    }
+
+    /**
+     * 获取渲染好的注释
+     *
+     * @return 注释，未渲染时返回null
+     */
+    public String getDoc() {
+        return this.doc;
+    }
+
+    /**
+     * 设置渲染好的注释
+     *
+     * @param doc 注释
+     */
+    public void setDoc(String doc) {
+        this.doc = doc;
+    }
+
+    /**
+     * 获取显示名称
+     *
+     * @return 显示名称
+     */
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    /**
+     * 是否接受该修改
+     *
+     * @return 接受返回true
+     */
+    public boolean isAccepted() {
+        return this.accepted;
+    }
+
+    /**
+     * 设置是否接受该修改
+     *
+     * @param accepted 是否接受
+     */
+    public void setAccepted(boolean accepted) {
+        this.accepted = accepted;
+    }
+
+    /**
+     * 获取修改前的注释
+     *
+     * @return 修改前的注释，未计算时返回null
+     */
+    public String getBefore() {
+        return this.before;
+    }
+
+    /**
+     * 获取修改后的注释
+     *
+     * @return 修改后的注释，未计算时返回null
+     */
+    public String getAfter() {
+        return this.after;
+    }
+}
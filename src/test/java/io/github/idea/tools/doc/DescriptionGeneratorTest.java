@@ -0,0 +1,44 @@
+package io.github.idea.tools.doc;
+
+import io.github.easy.tools.service.doc.DescriptionGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * 启发式描述生成器测试
+ */
+public class DescriptionGeneratorTest {
+
+    private final DescriptionGenerator chinese = DescriptionGenerator.of(DescriptionGenerator.ZH);
+
+    private final DescriptionGenerator english = DescriptionGenerator.of(DescriptionGenerator.EN);
+
+    @Test
+    public void testSplitIdentifier() {
+        Assert.assertEquals(List.of("xml", "parser"), DescriptionGenerator.splitIdentifier("XMLParser"));
+        Assert.assertEquals(List.of("max", "retry", "count"), DescriptionGenerator.splitIdentifier("MAX_RETRY_COUNT"));
+        Assert.assertEquals(List.of("find", "user", "by", "id"), DescriptionGenerator.splitIdentifier("findUserById"));
+        Assert.assertEquals(List.of("utf", "8", "bytes"), DescriptionGenerator.splitIdentifier("utf8Bytes"));
+    }
+
+    @Test
+    public void testMethodDescription() {
+        Assert.assertEquals("Finds user by id", this.english.describeMethod("findUserById", "User", List.of("Long"), false));
+        Assert.assertEquals("根据ID查找用户", this.chinese.describeMethod("findUserById", "User", List.of("Long"), false));
+        Assert.assertEquals("Gets the name", this.english.describeMethod("getName", "String", List.of(), false));
+        Assert.assertEquals("是否为空", this.chinese.describeMethod("isEmpty", "boolean", List.of(), false));
+        Assert.assertEquals("解析字符串，返回配置", this.chinese.describeMethod("parse", "Config", List.of("String"), false));
+        Assert.assertEquals("Creates a new order service instance",
+                this.english.describeMethod("OrderService", null, List.of(), true));
+    }
+
+    @Test
+    public void testClassAndFieldDescription() {
+        Assert.assertEquals("订单服务", this.chinese.describeClass("OrderService"));
+        Assert.assertEquals("Order service", this.english.describeClass("OrderService"));
+        Assert.assertEquals("是否启用", this.chinese.describeField("isEnabled", "boolean"));
+        Assert.assertEquals("The user name", this.english.describeField("userName", "String"));
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.service.doc.DocCommentMerger;
+import io.github.easy.tools.service.doc.JavaCommentGenerationStrategy;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+/**
+ * 合并模式下注释合并测试
+ */
+public class DocCommentMergerTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private final DocCommentMerger merger = new DocCommentMerger();
+
+    private boolean originalMergeMode;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.originalMergeMode = DocConfigService.getInstance().mergeMode;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            this.setMergeMode(this.originalMergeMode);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testRenamedParameter() {
+        PsiMethod method = this.configure("""
+                /**
+                 * 查找
+                 *
+                 * @param id 编号
+                 * @return 名称
+                 */
+                public String find(Long key) {
+                    return null;
+                }
+                """);
+        assertEquals("""
+                /**
+                 * 查找
+                 *
+                 * @param key 键
+                 * @return 名称
+                 */""", this.merge(method, """
+                /**
+                 * 新的描述
+                 *
+                 * @param key 键
+                 * @return 结果
+                 */"""));
+    }
+
+    public void testAddedAndRemovedParameters() {
+        PsiMethod method = this.configure("""
+                /**
+                 * 保存
+                 *
+                 * @param name 名称
+                 * @param old 已删除的参数
+                 */
+                public void save(String name, int count) {
+                }
+                """);
+        assertEquals("""
+                /**
+                 * 保存
+                 *
+                 * @param name 名称
+                 * @param count 数量
+                 */""", this.merge(method, """
+                /**
+                 * 保存数据
+                 *
+                 * @param name 名字
+                 * @param count 数量
+                 */"""));
+    }
+
+    public void testVoidBecomesNonVoid() {
+        PsiMethod method = this.configure("""
+                /**
+                 * 名称
+                 */
+                public String name() {
+                    return null;
+                }
+                """);
+        assertEquals("""
+                /**
+                 * 名称
+                 *
+                 * @return 名称
+                 */""", this.merge(method, """
+                /**
+                 * 获取名称
+                 *
+                 * @return 名称
+                 */"""));
+    }
+
+    public void testNonVoidBecomesVoid() {
+        PsiMethod method = this.configure("""
+                /**
+                 * 执行
+                 *
+                 * @return 结果
+                 */
+                public void run() {
+                }
+                """);
+        assertEquals("""
+                /**
+                 * 执行
+                 */""", this.merge(method, """
+                /**
+                 * 执行任务
+                 */"""));
+    }
+
+    public void testConstructorDropsReturn() {
+        PsiClass aClass = this.configureClass("""
+                /**
+                 * 构造函数
+                 *
+                 * @return 实例
+                 */
+                public Sample() {
+                }
+                """);
+        assertEquals("""
+                /**
+                 * 构造函数
+                 */""", this.merge(aClass.getConstructors()[0], """
+                /**
+                 * 构造函数
+                 */"""));
+    }
+
+    public void testRemovedThrows() {
+        PsiMethod method = this.configure("""
+                /**
+                 * 读取
+                 *
+                 * @throws java.io.IOException 读取失败
+                 * @throws IllegalArgumentException 参数错误
+                 */
+                public void read() {
+                }
+                """);
+        // 不再声明的受检异常被删除，非受检异常保留
+        assertEquals("""
+                /**
+                 * 读取
+                 *
+                 * @throws IllegalArgumentException 参数错误
+                 */""", this.merge(method, """
+                /**
+                 * 读取
+                 */"""));
+    }
+
+    public void testSameContentIsNotWritten() {
+        this.setMergeMode(true);
+        PsiMethod method = this.configure("""
+                /**
+                 * 查找
+                 *
+                 * @param id 编号
+                 */
+                public void find(Long id) {
+                }
+                """);
+        JavaCommentGenerationStrategy strategy = new JavaCommentGenerationStrategy();
+        PsiFile file = method.getContainingFile();
+        // 合并后只有描述不同，保留已有描述后与原注释一致，不需要写入
+        assertNull(strategy.resolve(file, method, """
+                /**
+                 * 根据编号查找
+                 *
+                 * @param id 编号
+                 */"""));
+        // 无返回值的方法不会补充 @return
+        assertNull(strategy.resolve(file, method, """
+                /**
+                 * 查找
+                 *
+                 * @param id 编号
+                 * @return 结果
+                 */"""));
+    }
+
+    private String merge(PsiMethod method, String generated) {
+        return this.merger.merge(method, method.getDocComment(),
+                JavaPsiFacade.getElementFactory(this.getProject()).createDocCommentFromText(generated));
+    }
+
+    private PsiMethod configure(String member) {
+        return this.configureClass(member).getMethods()[0];
+    }
+
+    private PsiClass configureClass(String member) {
+        PsiFile file = this.myFixture.configureByText("Sample.java",
+                "public class Sample {\n" + member.indent(4) + "}\n");
+        return ((PsiJavaFile) file).getClasses()[0];
+    }
+
+    private void setMergeMode(boolean mergeMode) {
+        DocConfigService config = DocConfigService.getInstance();
+        config.mergeMode = mergeMode;
+        config.publishSnapshot();
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.entity.doc.DocMemberInfo;
+import io.github.easy.tools.entity.doc.FileDocCoverage;
+import io.github.easy.tools.index.doc.DocCoverageIndex;
+
+import java.util.List;
+
+/**
+ * 注释覆盖索引测试
+ */
+public class DocCoverageIndexTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testMissingAndStaleMembers() {
+        PsiFile file = this.myFixture.configureByText("Sample.java", """
+                /**
+                 * 示例
+                 */
+                public class Sample {
+                    private String name;
+
+                    /**
+                     * 数量
+                     */
+                    private int count;
+
+                    /**
+                     * 重命名
+                     *
+                     * @param oldName 旧名称
+                     */
+                    public void rename(String newName) {
+                        Runnable task = new Runnable() {
+                            public void run() {
+                            }
+                        };
+                    }
+
+                    /**
+                     * 只有描述
+                     */
+                    public <T> T get(Class<T> type) {
+                        return null;
+                    }
+                }
+                """);
+
+        FileDocCoverage coverage = DocCoverageIndex.getCoverage(this.getProject(), file.getVirtualFile());
+
+        assertNotNull(coverage);
+        assertEquals(6, coverage.getTotal());
+        assertEquals(4, coverage.getDocumented());
+        assertEquals(List.of("name", "run"), coverage.getMissing().stream().map(DocMemberInfo::getName).toList());
+        assertEquals(List.of("rename"), coverage.getStale().stream().map(DocMemberInfo::getName).toList());
+        assertTrue(DocCoverageIndex.findIncomplete(GlobalSearchScope.projectScope(this.getProject()))
+                .containsKey(file.getVirtualFile()));
+    }
+
+    public void testCompleteFileIsNotIncomplete() {
+        PsiFile file = this.myFixture.configureByText("Done.java", """
+                /**
+                 * 完成
+                 */
+                public class Done {
+                    /**
+                     * 设置值
+                     *
+                     * @param value 值
+                     */
+                    public void set(int value) {
+                    }
+                }
+                """);
+
+        FileDocCoverage coverage = DocCoverageIndex.getCoverage(this.getProject(), file.getVirtualFile());
+
+        assertTrue(coverage.isComplete());
+        assertFalse(DocCoverageIndex.findIncomplete(GlobalSearchScope.projectScope(this.getProject()))
+                .containsKey(file.getVirtualFile()));
+    }
+}
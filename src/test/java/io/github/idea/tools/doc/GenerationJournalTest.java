@@ -0,0 +1,87 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.service.doc.GenerationJournalService;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量生成日志测试
+ */
+public class GenerationJournalTest extends LightJavaCodeInsightFixtureTestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            new GenerationJournalService(this.getProject()).discard();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testPendingMembersSurviveRestart() {
+        PsiFile file = this.myFixture.configureByText("UserService.java", """
+                package demo;
+
+                public class UserService {
+                    private String name;
+
+                    public String find(Long id) {
+                        return name;
+                    }
+
+                    public void save(java.util.Map<String,
+                            Integer> values) {
+                    }
+                }
+                """);
+        PsiClass service = ((PsiJavaFile) file).getClasses()[0];
+        PsiField name = service.getFields()[0];
+        PsiMethod find = service.findMethodsByName("find", false)[0];
+        PsiMethod save = service.findMethodsByName("save", false)[0];
+
+        GenerationJournalService journal = new GenerationJournalService(this.getProject());
+        journal.discard();
+        journal.planned(file, List.of(service, name, find, save));
+        journal.completed(file, List.of(service, find));
+
+        // 新实例从磁盘回放，模拟重启IDE
+        Map<String, String> pending = new GenerationJournalService(this.getProject()).getPending(file.getVirtualFile().getUrl());
+        assertEquals(List.of("field:demo.UserService#name", "method:demo.UserService#save(java.util.Map<String,Integer>)"),
+                List.copyOf(pending.keySet()));
+        assertEquals(GenerationJournalService.hashOf(save), pending.get(GenerationJournalService.signatureOf(save)));
+
+        GenerationJournalService reopened = new GenerationJournalService(this.getProject());
+        reopened.completed(file.getVirtualFile().getUrl(), pending.keySet());
+        assertEquals(0, new GenerationJournalService(this.getProject()).getPendingCount());
+    }
+
+    public void testHashIgnoresDocCommentButNotCode() {
+        PsiFile file = this.myFixture.configureByText("Calculator.java", """
+                public class Calculator {
+                    public int add(int a, int b) {
+                        return a + b;
+                    }
+                }
+                """);
+        PsiMethod add = ((PsiJavaFile) file).getClasses()[0].getMethods()[0];
+        String original = GenerationJournalService.hashOf(add);
+        PsiElementFactory factory = PsiElementFactory.getInstance(this.getProject());
+
+        WriteCommandAction.runWriteCommandAction(this.getProject(), () ->
+                add.addBefore(factory.createDocCommentFromText("/** 求和 */"), add.getFirstChild()));
+        assertEquals(original, GenerationJournalService.hashOf(add));
+
+        WriteCommandAction.runWriteCommandAction(this.getProject(), () ->
+                add.getBody().getStatements()[0].replace(factory.createStatementFromText("return a - b;", add)));
+        assertFalse(original.equals(GenerationJournalService.hashOf(add)));
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.service.doc.JavaCommentGenerationStrategy;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 整个文件生成和删除注释的性能回归测试
+ * <p>
+ * 生成包含嵌套类、内部类和匿名类的合成Java文件，分阶段（收集、渲染、写入、删除）统计耗时和当前线程的内存分配，
+ * 超出预算时输出每个阶段的明细。预算按成员数量线性增长，生成过程退化为平方复杂度时会明显超出。
+ * 测试期间渲染并行度固定为1，所有阶段都在当前线程中执行，内存分配不会遗漏工作线程。
+ * 在较慢的机器上可以通过 {@code -Peasy.doc.perf.scale=2} 放宽预算。
+ * 两万成员的用例耗时较长，不在 {@code test} 任务中运行，通过 {@code ./gradlew perfTest} 执行。
+ * </p>
+ */
+public class GenerationPerformanceTest extends LightJavaCodeInsightFixtureTestCase {
+
+    /**
+     * 固定的耗时预算（毫秒）
+     */
+    private static final long BASE_TIME_MS = 1_000;
+
+    /**
+     * 每个成员的耗时预算（毫秒）
+     */
+    private static final double TIME_PER_MEMBER_MS = 1.0;
+
+    /**
+     * 固定的内存分配预算（字节）
+     */
+    private static final long BASE_BYTES = 128L * 1024 * 1024;
+
+    /**
+     * 每个成员的内存分配预算（字节）
+     */
+    private static final long BYTES_PER_MEMBER = 128L * 1024;
+
+    /**
+     * 预算放大系数
+     */
+    private static final double SCALE = Double.parseDouble(System.getProperty("easy.doc.perf.scale", "1"));
+
+    /**
+     * 被测试的策略
+     */
+    private final JavaCommentGenerationStrategy strategy = new JavaCommentGenerationStrategy();
+
+    /**
+     * 测试前配置的渲染并行度
+     */
+    private int originalParallelism;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.originalParallelism = DocConfigService.getInstance().renderParallelism;
+        this.setParallelism(1);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            this.setParallelism(this.originalParallelism);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testOneThousandMembers() {
+        this.runWithBudget(1_000);
+    }
+
+    public void testFiveThousandMembers() {
+        this.runWithBudget(5_000);
+    }
+
+    public void testTwentyThousandMembers() {
+        this.runWithBudget(20_000);
+    }
+
+    /**
+     * 生成合成文件，分阶段执行生成和删除，并校验预算
+     *
+     * @param members 成员数量
+     */
+    private void runWithBudget(int members) {
+        PsiFile file = this.myFixture.configureByText("Synthetic" + members + ".java", generateSource(members));
+        Map<String, long[]> phases = new LinkedHashMap<>();
+
+        List<PsiElement> elements = this.measure(phases, "collect", () -> this.strategy.collectElements(file));
+        Map<PsiElement, String> docs = this.measure(phases, "render", () -> this.strategy.render(file, elements));
+        this.measure(phases, "apply", () -> {
+            this.strategy.apply(file, docs);
+            return null;
+        });
+        int documented = PsiTreeUtil.findChildrenOfType(file, PsiDocComment.class).size();
+        this.measure(phases, "remove", () -> {
+            this.strategy.remove(file);
+            return null;
+        });
+
+        long totalNanos = phases.values().stream().mapToLong(values -> values[0]).sum();
+        long totalBytes = phases.values().stream().mapToLong(values -> values[1]).sum();
+        long timeBudgetMs = (long) ((BASE_TIME_MS + members * TIME_PER_MEMBER_MS) * SCALE);
+        long bytesBudget = (long) ((BASE_BYTES + members * BYTES_PER_MEMBER) * SCALE);
+        String report = report(members, elements.size(), phases, timeBudgetMs, bytesBudget);
+
+        assertTrue("没有生成注释\n" + report, documented >= members / 2);
+        assertTrue("删除后仍有注释\n" + report, PsiTreeUtil.findChildrenOfType(file, PsiDocComment.class).isEmpty());
+        assertTrue("耗时超出预算\n" + report, totalNanos / 1_000_000 <= timeBudgetMs);
+        assertTrue("内存分配超出预算\n" + report, totalBytes <= bytesBudget);
+    }
+
+    /**
+     * 设置渲染并行度并发布配置快照
+     *
+     * @param parallelism 渲染并行度
+     */
+    private void setParallelism(int parallelism) {
+        DocConfigService config = DocConfigService.getInstance();
+        config.renderParallelism = parallelism;
+        config.publishSnapshot();
+    }
+
+    /**
+     * 执行一个阶段并记录耗时和当前线程的内存分配
+     *
+     * @param phases 阶段统计，值为 [纳秒, 字节]
+     * @param name   阶段名称
+     * @param action 阶段操作
+     * @param <T>    阶段结果类型
+     * @return 阶段结果
+     */
+    private <T> T measure(Map<String, long[]> phases, String name, Supplier<T> action) {
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        T result = action.get();
+        phases.put(name, new long[]{System.nanoTime() - start, allocatedBytes() - bytesBefore});
+        return result;
+    }
+
+    /**
+     * 获取当前线程累计分配的字节数
+     *
+     * @return 字节数，JVM不支持时返回0
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * 输出各阶段的明细
+     *
+     * @param members      成员数量
+     * @param elements     收集到的元素数量
+     * @param phases       阶段统计
+     * @param timeBudgetMs 耗时预算
+     * @param bytesBudget  内存分配预算
+     * @return 明细文本
+     */
+    private static String report(int members, int elements, Map<String, long[]> phases, long timeBudgetMs, long bytesBudget) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("成员: %d, 元素: %d, 预算: %d ms / %d MB%n",
+                members, elements, timeBudgetMs, bytesBudget / (1024 * 1024)));
+        phases.forEach((name, values) -> builder.append(String.format("  %-8s %8d ms %8d MB%n",
+                name, values[0] / 1_000_000, values[1] / (1024 * 1024))));
+        return builder.toString();
+    }
+
+    /**
+     * 生成合成Java源码
+     * <p>
+     * 每组成员包含字段、带参数和异常的方法、包含匿名类的方法、静态嵌套类和内部类，
+     * 直到成员（类、方法、字段）数量达到要求。
+     * </p>
+     *
+     * @param members 成员数量
+     * @return 源码
+     */
+    private static String generateSource(int members) {
+        StringBuilder builder = new StringBuilder("package synthetic;\n\nimport java.util.List;\n\n");
+        builder.append("public class Synthetic").append(members).append(" {\n");
+        int count = 1;
+        for (int i = 0; count < members; i++) {
+            builder.append("    private String field").append(i).append(";\n");
+            builder.append("    public List<String> method").append(i)
+                    .append("(String name, int count) throws java.io.IOException {\n")
+                    .append("        return List.of(name);\n")
+                    .append("    }\n");
+            builder.append("    public Runnable anonymous").append(i).append("() {\n")
+                    .append("        return new Runnable() {\n")
+                    .append("            @Override\n")
+                    .append("            public void run() {\n")
+                    .append("            }\n")
+                    .append("        };\n")
+                    .append("    }\n");
+            builder.append("    public static class Nested").append(i).append(" {\n")
+                    .append("        private int value;\n")
+                    .append("        public int getValue() {\n")
+                    .append("            return value;\n")
+                    .append("        }\n")
+                    .append("    }\n");
+            builder.append("    public class Inner").append(i).append(" {\n")
+                    .append("        public void call(String argument) {\n")
+                    .append("        }\n")
+                    .append("    }\n");
+            // 字段、两个方法、匿名类及其方法、嵌套类及其字段和方法、内部类及其方法
+            count += 10;
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+}
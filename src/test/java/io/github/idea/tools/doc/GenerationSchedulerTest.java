@@ -0,0 +1,135 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.service.doc.GenerationPriority;
+import io.github.easy.tools.service.doc.GenerationScheduler;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AI请求调度器测试
+ */
+public class GenerationSchedulerTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private final GenerationScheduler scheduler = new GenerationScheduler();
+
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private int originalConcurrency;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.originalConcurrency = DocConfigService.getInstance().aiConcurrency;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            this.setConcurrency(this.originalConcurrency);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testInteractiveOvertakesQueuedBulk() throws Exception {
+        this.setConcurrency(1);
+        CountDownLatch hold = this.occupy(GenerationPriority.BULK, this.getProject());
+
+        this.submit(GenerationPriority.BULK, this.getProject(), "bulk");
+        this.waitUntil(() -> this.scheduler.getQueued(GenerationPriority.BULK) == 1);
+        this.submit(GenerationPriority.INTERACTIVE, this.getProject(), "interactive");
+        this.waitUntil(() -> this.scheduler.getQueued(GenerationPriority.INTERACTIVE) == 1);
+
+        hold.countDown();
+        this.joinAll();
+        assertEquals(List.of("interactive", "bulk"), this.order);
+        assertEquals(0, this.scheduler.getRunning());
+    }
+
+    public void testProjectsShareBulkSlots() throws Exception {
+        this.setConcurrency(1);
+        Project other = ProjectManager.getInstance().getDefaultProject();
+        CountDownLatch hold = this.occupy(GenerationPriority.BULK, this.getProject());
+
+        for (int i = 1; i <= 3; i++) {
+            this.submit(GenerationPriority.BULK, this.getProject(), "a" + i);
+            int queued = i;
+            this.waitUntil(() -> this.scheduler.getQueued(GenerationPriority.BULK) == queued);
+        }
+        this.submit(GenerationPriority.BULK, other, "b1");
+        this.waitUntil(() -> this.scheduler.getQueued(GenerationPriority.BULK) == 4);
+
+        hold.countDown();
+        this.joinAll();
+        assertEquals(List.of("a1", "b1", "a2", "a3"), this.order);
+    }
+
+    public void testSlotReservedForInteractive() throws Exception {
+        this.setConcurrency(2);
+        CountDownLatch hold = this.occupy(GenerationPriority.BULK, this.getProject());
+
+        this.submit(GenerationPriority.BULK, this.getProject(), "bulk");
+        this.waitUntil(() -> this.scheduler.getQueued(GenerationPriority.BULK) == 1);
+        this.submit(GenerationPriority.INTERACTIVE, this.getProject(), "interactive");
+        this.waitUntil(() -> this.order.contains("interactive"));
+        assertEquals(1, this.scheduler.getQueued(GenerationPriority.BULK));
+
+        hold.countDown();
+        this.joinAll();
+        assertEquals(List.of("interactive", "bulk"), this.order);
+    }
+
+    private CountDownLatch occupy(GenerationPriority priority, Project project) throws Exception {
+        CountDownLatch hold = new CountDownLatch(1);
+        this.start(() -> priority.compute(() -> this.scheduler.execute(project, () -> {
+            try {
+                return hold.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        })));
+        this.waitUntil(() -> this.scheduler.getRunning() == 1);
+        return hold;
+    }
+
+    private void submit(GenerationPriority priority, Project project, String name) {
+        this.start(() -> priority.compute(() -> this.scheduler.execute(project, () -> this.order.add(name))));
+    }
+
+    private void start(Runnable action) {
+        Thread thread = new Thread(action);
+        thread.start();
+        this.threads.add(thread);
+    }
+
+    private void joinAll() throws InterruptedException {
+        for (Thread thread : this.threads) {
+            thread.join(10_000);
+        }
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("等待超时", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void setConcurrency(int concurrency) {
+        DocConfigService config = DocConfigService.getInstance();
+        config.aiConcurrency = concurrency;
+        config.publishSnapshot();
+    }
+}
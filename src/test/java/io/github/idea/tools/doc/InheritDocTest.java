@@ -0,0 +1,106 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.service.doc.JavaCommentGenerationStrategy;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 重写方法继承父方法注释的测试
+ */
+public class InheritDocTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private final JavaCommentGenerationStrategy strategy = new JavaCommentGenerationStrategy();
+
+    private String originalMode;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.originalMode = DocConfigService.getInstance().inheritDocMode;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            this.setMode(this.originalMode);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testInheritDocTag() {
+        this.setMode(DocConfigService.INHERIT_DOC_TAG);
+        Map<PsiElement, String> docs = this.renderImplementation();
+
+        assertEquals("/**\n * {@inheritDoc}\n */\n", docs.get(this.findMethod("find")));
+        assertFalse(docs.get(this.findMethod("helper")).contains("{@inheritDoc}"));
+    }
+
+    public void testCopyRenamesParameters() {
+        this.setMode(DocConfigService.INHERIT_DOC_COPY);
+        Map<PsiElement, String> docs = this.renderImplementation();
+
+        assertEquals("""
+                /**
+                 * 根据ID查找用户
+                 *
+                 * @param key 用户ID
+                 * @return 用户名称
+                 */
+                """, docs.get(this.findMethod("find")));
+    }
+
+    public void testOffRendersTemplate() {
+        this.setMode(DocConfigService.INHERIT_DOC_OFF);
+        Map<PsiElement, String> docs = this.renderImplementation();
+
+        assertTrue(docs.get(this.findMethod("find")).contains("@param key"));
+        assertFalse(docs.get(this.findMethod("find")).contains("{@inheritDoc}"));
+    }
+
+    private Map<PsiElement, String> renderImplementation() {
+        this.myFixture.addClass("""
+                public interface UserService {
+                    /**
+                     * 根据ID查找用户
+                     *
+                     * @param id 用户ID
+                     * @return 用户名称
+                     */
+                    String find(Long id);
+                }
+                """);
+        PsiFile file = this.myFixture.configureByText("UserServiceImpl.java", """
+                public class UserServiceImpl implements UserService {
+                    @Override
+                    public String find(Long key) {
+                        return null;
+                    }
+
+                    public void helper() {
+                    }
+                }
+                """);
+        PsiClass implementation = ((PsiJavaFile) file).getClasses()[0];
+        return this.strategy.render(file, List.of(implementation.getMethods()));
+    }
+
+    private PsiMethod findMethod(String name) {
+        PsiClass implementation = ((PsiJavaFile) this.myFixture.getFile()).getClasses()[0];
+        return implementation.findMethodsByName(name, false)[0];
+    }
+
+    private void setMode(String mode) {
+        DocConfigService config = DocConfigService.getInstance();
+        config.inheritDocMode = mode;
+        config.publishSnapshot();
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.idea.tools.doc;
+
+import io.github.easy.tools.service.doc.MinHashIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MinHash 相似度索引测试
+ */
+public class MinHashIndexTest {
+
+    private static final List<String> FIND_USER = tokens(
+            "public user find user by id ( long id ) { if ( id == null ) { return null ; } "
+                    + "return user repository . find by id ( id ) . or else ( null ) ; }");
+
+    private static final List<String> FIND_ORDER = tokens(
+            "public order find order by id ( long id ) { if ( id == null ) { return null ; } "
+                    + "return order repository . find by id ( id ) . or else ( null ) ; }");
+
+    private static final List<String> SAVE_USER = tokens(
+            "public void save ( user user ) { validator . validate ( user ) ; "
+                    + "user repository . save ( user ) ; event publisher . publish ( new user saved event ( user ) ) ; }");
+
+    @Test
+    public void testFindsIdenticalMember() {
+        MinHashIndex<String> index = new MinHashIndex<>();
+        index.add("A.java", FIND_USER, "根据ID查找用户");
+        index.add("A.java", SAVE_USER, "保存用户");
+
+        MinHashIndex.Match<String> match = index.findMostSimilar(FIND_USER, 0.9);
+        Assert.assertNotNull(match);
+        Assert.assertEquals("根据ID查找用户", match.getValue());
+        Assert.assertEquals(1.0, match.getSimilarity(), 0.0);
+    }
+
+    @Test
+    public void testFindsNearDuplicateAndRejectsUnrelated() {
+        MinHashIndex<String> index = new MinHashIndex<>();
+        index.add("A.java", FIND_USER, "根据ID查找用户");
+
+        List<String> renamedParameter = new ArrayList<>(FIND_USER);
+        renamedParameter.replaceAll(token -> token.equals("id") ? "key" : token);
+        List<String> extraStatement = new ArrayList<>(FIND_USER);
+        extraStatement.addAll(6, tokens("log . debug ( id ) ;"));
+
+        Assert.assertNotNull(index.findMostSimilar(extraStatement, 0.6));
+        Assert.assertNull(index.findMostSimilar(SAVE_USER, 0.6));
+        Assert.assertNull(index.findMostSimilar(renamedParameter, 0.6));
+        Assert.assertNull(index.findMostSimilar(FIND_ORDER, 0.9));
+    }
+
+    @Test
+    public void testRemoveGroup() {
+        MinHashIndex<String> index = new MinHashIndex<>();
+        index.add("A.java", FIND_USER, "根据ID查找用户");
+        index.add("B.java", SAVE_USER, "保存用户");
+        Assert.assertEquals(2, index.size());
+
+        index.remove("A.java");
+        Assert.assertEquals(1, index.size());
+        Assert.assertNull(index.findMostSimilar(FIND_USER, 0.5));
+        Assert.assertNotNull(index.findMostSimilar(SAVE_USER, 0.9));
+
+        index.add("A.java", FIND_ORDER, "根据ID查找订单");
+        Assert.assertEquals("根据ID查找订单", index.findMostSimilar(FIND_ORDER, 0.9).getValue());
+        Assert.assertFalse(index.add("C.java", List.of(), "空"));
+    }
+
+    private static List<String> tokens(String text) {
+        return Arrays.asList(text.split(" "));
+    }
+}
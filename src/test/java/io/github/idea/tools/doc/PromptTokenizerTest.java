@@ -0,0 +1,74 @@
+package io.github.idea.tools.doc;
+
+import io.github.easy.tools.service.doc.TokenBudget;
+import io.github.easy.tools.service.doc.ai.PromptTokenizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+/**
+ * 提示词分词器和令牌预算测试
+ */
+public class PromptTokenizerTest {
+
+    @Test
+    public void testBpeMergesByRank() throws Exception {
+        StringBuilder vocabulary = new StringBuilder();
+        for (int i = 0; i < 256; i++) {
+            vocabulary.append(encode(new byte[]{(byte) i})).append(' ').append(i).append('\n');
+        }
+        vocabulary.append(encode("ab".getBytes(StandardCharsets.US_ASCII))).append(" 256\n");
+        vocabulary.append(encode("abab".getBytes(StandardCharsets.US_ASCII))).append(" 257\n");
+        vocabulary.append(encode("cd".getBytes(StandardCharsets.US_ASCII))).append(" 258\n");
+        Path file = Files.createTempFile("vocabulary", ".tiktoken");
+        Files.writeString(file, vocabulary.toString(), StandardCharsets.US_ASCII);
+        try {
+            PromptTokenizer tokenizer = PromptTokenizer.getInstance(file.toString());
+            Assert.assertTrue(tokenizer.isExact());
+            Assert.assertEquals(1, tokenizer.count("abab"));
+            Assert.assertEquals(2, tokenizer.count("ababx"));
+            Assert.assertEquals(3, tokenizer.count("cd cd"));
+            // 非ASCII字符没有合并规则时每个UTF-8字节一个令牌
+            Assert.assertEquals(3, tokenizer.count("注"));
+            Assert.assertSame(tokenizer, PromptTokenizer.getInstance(file.toString()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testApproximateWithoutVocabulary() {
+        PromptTokenizer tokenizer = PromptTokenizer.getInstance("");
+        Assert.assertFalse(tokenizer.isExact());
+        Assert.assertEquals(0, tokenizer.count(""));
+        Assert.assertEquals(4, tokenizer.count("hello world"));
+        Assert.assertEquals(4, tokenizer.count("生成注释"));
+    }
+
+    @Test
+    public void testBudgetStopsWhenExceeded() {
+        TokenBudget budget = new TokenBudget(100);
+        Assert.assertNull(TokenBudget.current());
+        budget.run(() -> Assert.assertSame(budget, TokenBudget.current()));
+        Assert.assertNull(TokenBudget.current());
+
+        budget.reserve(60);
+        Assert.assertThrows(TokenBudget.ExceededException.class, () -> budget.reserve(50));
+        Assert.assertEquals(60, budget.getUsed());
+        Assert.assertFalse(budget.isExhausted());
+        budget.add(40);
+        Assert.assertTrue(budget.isExhausted());
+
+        TokenBudget unlimited = new TokenBudget(0);
+        unlimited.reserve(Long.MAX_VALUE / 2);
+        Assert.assertFalse(unlimited.isExhausted());
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.idea.tools.doc;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import io.github.easy.tools.service.doc.JavaCommentGenerationStrategy;
+import io.github.easy.tools.service.doc.metrics.DocCounter;
+import io.github.easy.tools.service.doc.metrics.DocMetrics;
+import io.github.easy.tools.ui.config.DocConfigService;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模板解析缓存测试
+ */
+public class TemplateCacheTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final int FIELD_COUNT = 300;
+
+    private final JavaCommentGenerationStrategy strategy = new JavaCommentGenerationStrategy();
+
+    public void testConfiguredTemplateCompiledOnce() {
+        StringBuilder source = new StringBuilder("public class Dto {\n");
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            source.append("    private String field").append(i).append(";\n");
+        }
+        PsiFile file = this.myFixture.configureByText("Dto.java", source.append("}\n").toString());
+        List<PsiElement> fields = List.of(((PsiJavaFile) file).getClasses()[0].getFields());
+        // 发布新的快照，字段模板使用新的标识，与其他测试缓存的模板无关
+        DocConfigService.getInstance().publishSnapshot();
+
+        DocMetrics metrics = DocMetrics.getInstance();
+        long compiled = metrics.getCount(DocCounter.TEMPLATES_COMPILED);
+        Map<PsiElement, String> docs = this.strategy.render(file, fields);
+        assertEquals(FIELD_COUNT, docs.size());
+        assertTrue(docs.get(fields.get(FIELD_COUNT - 1)).startsWith("/**"));
+        assertEquals(1, metrics.getCount(DocCounter.TEMPLATES_COMPILED) - compiled);
+
+        // 再次渲染直接使用缓存
+        this.strategy.render(file, fields);
+        assertEquals(1, metrics.getCount(DocCounter.TEMPLATES_COMPILED) - compiled);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.idea.tools.doc;
+
+import io.github.easy.tools.starter.doc.UnifiedDiffBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * unified diff 生成测试
+ */
+public class UnifiedDiffBuilderTest {
+
+    private final UnifiedDiffBuilder builder = new UnifiedDiffBuilder();
+
+    @Test
+    public void testSameContentHasNoDiff() throws Exception {
+        Assert.assertEquals("", this.builder.build("A.java", "class A {\n}", "class A {\n}"));
+    }
+
+    @Test
+    public void testInsertedDocComment() throws Exception {
+        String before = "class A {\n    void f();\n}";
+        String after = "class A {\n    /** f */\n    void f();\n}";
+        Assert.assertEquals("""
+                --- a/src/A.java
+                +++ b/src/A.java
+                @@ -1,3 +1,4 @@
+                 class A {
+                +    /** f */
+                     void f();
+                 }
+                """, this.builder.build("src/A.java", before, after));
+    }
+
+    @Test
+    public void testChangedLineKeepsThreeLinesOfContext() throws Exception {
+        List<String> before = lines(10);
+        List<String> after = new ArrayList<>(before);
+        after.set(4, "L5");
+        Assert.assertEquals("""
+                --- a/A.java
+                +++ b/A.java
+                @@ -2,7 +2,7 @@
+                 l2
+                 l3
+                 l4
+                -l5
+                +L5
+                 l6
+                 l7
+                 l8
+                """, this.builder.build("A.java", String.join("\n", before), String.join("\n", after)));
+    }
+
+    @Test
+    public void testDistantChangesUseSeparateHunks() throws Exception {
+        List<String> before = lines(20);
+        List<String> after = new ArrayList<>(before);
+        after.set(1, "L2");
+        after.set(17, "L18");
+        Assert.assertEquals("""
+                --- a/A.java
+                +++ b/A.java
+                @@ -1,5 +1,5 @@
+                 l1
+                -l2
+                +L2
+                 l3
+                 l4
+                 l5
+                @@ -15,6 +15,6 @@
+                 l15
+                 l16
+                 l17
+                -l18
+                +L18
+                 l19
+                 l20
+                """, this.builder.build("A.java", String.join("\n", before), String.join("\n", after)));
+    }
+
+    private static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            lines.add("l" + i);
+        }
+        return lines;
+    }
+}
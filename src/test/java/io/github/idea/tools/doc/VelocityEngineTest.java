@@ -2,6 +2,7 @@ package io.github.idea.tools.doc;
 
 import io.github.easy.tools.service.doc.VelocityTemplateService;
 import org.apache.velocity.VelocityContext;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -20,8 +21,26 @@ public class VelocityEngineTest {
         VelocityTemplateService service = new VelocityTemplateService();
         VelocityContext context = new VelocityContext();
         context.put("name", "张三");
-        String render = service.render("${name}", context);
+        String render = service.render("name", "${name}", context);
         System.out.println(render);
     }
 
+    @Test
+    public void testMacroLibrary() {
+        VelocityTemplateService service = new VelocityTemplateService("#macro( greet )hello ${name}#end");
+        VelocityContext context = new VelocityContext();
+        context.put("name", "张三");
+        Assert.assertEquals("hello 张三!", service.render("greet", "#greet()!", context));
+        // 第二次渲染使用缓存的模板
+        Assert.assertEquals("hello 张三!", service.render("greet", "#greet()!", context));
+    }
+
+    @Test
+    public void testEvaluateUsesMacros() {
+        VelocityTemplateService service = new VelocityTemplateService("#macro( greet )hello ${name}#end");
+        VelocityContext context = new VelocityContext();
+        context.put("name", "张三");
+        Assert.assertEquals("hello 张三!", service.evaluate("#greet()!", context));
+    }
+
 }